@@ -0,0 +1,21 @@
+-- Forum Database Migration: denormalized counters
+-- Adds the comment and reply counter columns to a database created before they
+-- existed, then fills them from the current rows. Run once, before deploying the
+-- version that reads them; new installations get the columns from database_schema.sql
+
+USE forum_db;
+
+-- Add the counter columns
+ALTER TABLE users ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+ALTER TABLE topics ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+
+-- Backfill the counters from the existing comments and replies
+UPDATE topics t SET comment_count =
+    (SELECT COUNT(*) FROM comments c WHERE c.topic_id = t.topic_id AND c.is_active = TRUE);
+UPDATE comments c SET reply_count =
+    (SELECT COUNT(*) FROM replies r WHERE r.comment_id = c.comment_id AND r.is_active = TRUE);
+UPDATE users u SET
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.user_id = u.user_id AND c.is_active = TRUE),
+    reply_count = (SELECT COUNT(*) FROM replies r WHERE r.user_id = u.user_id AND r.is_active = TRUE);
@@ -0,0 +1,21 @@
+-- Forum Database Migration: keyset pagination
+-- Gives a database created before keyset pagination the indexes its page queries
+-- seek on, and makes the sort columns NOT NULL so every row has a cursor position.
+-- Run once, before database_migration_counters.sql; new installations get all of
+-- this from database_schema.sql
+
+USE forum_db;
+
+-- Rows without a sort time would have no cursor position
+UPDATE topics SET last_activity = COALESCE(date_created, CURRENT_TIMESTAMP) WHERE last_activity IS NULL;
+UPDATE comments SET date_posted = CURRENT_TIMESTAMP WHERE date_posted IS NULL;
+UPDATE replies SET date_posted = CURRENT_TIMESTAMP WHERE date_posted IS NULL;
+
+ALTER TABLE topics MODIFY last_activity TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE comments MODIFY date_posted TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE replies MODIFY date_posted TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Composite indexes backing keyset (seek) pagination
+CREATE INDEX idx_topics_activity ON topics(is_active, last_activity, topic_id);
+CREATE INDEX idx_comments_topic_posted ON comments(topic_id, date_posted, comment_id);
+CREATE INDEX idx_replies_comment_posted ON replies(comment_id, date_posted, reply_id);
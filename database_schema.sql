@@ -15,6 +15,8 @@ CREATE TABLE users (
     date_registered TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_login TIMESTAMP NULL,
     is_active BOOLEAN DEFAULT TRUE,
+    comment_count INT NOT NULL DEFAULT 0,
+    reply_count INT NOT NULL DEFAULT 0,
     password_reset_token VARCHAR(255) NULL,
     password_reset_expires TIMESTAMP NULL
 );
@@ -26,8 +28,9 @@ CREATE TABLE topics (
     description TEXT NOT NULL,
     user_id INT NOT NULL,
     date_created TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    last_activity TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_activity TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE,
+    comment_count INT NOT NULL DEFAULT 0,
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
 
@@ -37,8 +40,9 @@ CREATE TABLE comments (
     topic_id INT NOT NULL,
     user_id INT NOT NULL,
     comment_text TEXT NOT NULL,
-    date_posted TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    date_posted TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE,
+    reply_count INT NOT NULL DEFAULT 0,
     FOREIGN KEY (topic_id) REFERENCES topics(topic_id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
@@ -49,7 +53,7 @@ CREATE TABLE replies (
     comment_id INT NOT NULL,
     user_id INT NOT NULL,
     reply_text TEXT NOT NULL,
-    date_posted TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    date_posted TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE,
     FOREIGN KEY (comment_id) REFERENCES comments(comment_id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
@@ -63,6 +67,11 @@ CREATE INDEX idx_comments_user ON comments(user_id);
 CREATE INDEX idx_replies_comment ON replies(comment_id);
 CREATE INDEX idx_replies_user ON replies(user_id);
 
+-- Composite indexes backing keyset (seek) pagination
+CREATE INDEX idx_topics_activity ON topics(is_active, last_activity, topic_id);
+CREATE INDEX idx_comments_topic_posted ON comments(topic_id, date_posted, comment_id);
+CREATE INDEX idx_replies_comment_posted ON replies(comment_id, date_posted, reply_id);
+
 -- Insert sample data for testing
 INSERT INTO users (email, password_hash, first_name, last_name, phone) VALUES
 ('admin@forum.com', '$2b$12$LQv3c1yqBWVHxkd0LHAkCOYz6TtxMQJqhN8/LewdBfBx9rE4w8H2i', 'Admin', 'User', '0123456789'),
@@ -84,4 +93,13 @@ INSERT INTO replies (comment_id, user_id, reply_text) VALUES
 (1, 1, 'Welcome to the forum John! Feel free to ask any questions.'),
 (2, 2, 'Thank you Jane! I appreciate the warm welcome.'),
 (3, 3, 'Great tip! Also important to follow naming conventions.'),
-(4, 1, 'Absolutely! And don\'t forget about proper indexing.');
\ No newline at end of file
+(4, 1, 'Absolutely! And don\'t forget about proper indexing.');
+
+-- Initialise the denormalized counters for the sample data
+UPDATE topics t SET comment_count =
+    (SELECT COUNT(*) FROM comments c WHERE c.topic_id = t.topic_id AND c.is_active = TRUE);
+UPDATE comments c SET reply_count =
+    (SELECT COUNT(*) FROM replies r WHERE r.comment_id = c.comment_id AND r.is_active = TRUE);
+UPDATE users u SET
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.user_id = u.user_id AND c.is_active = TRUE),
+    reply_count = (SELECT COUNT(*) FROM replies r WHERE r.user_id = u.user_id AND r.is_active = TRUE);
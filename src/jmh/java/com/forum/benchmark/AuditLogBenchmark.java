@@ -0,0 +1,74 @@
+package com.forum.benchmark;
+
+import com.forum.util.ForumLogUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing audit log entries through ForumLogUtil
+ * The appender runs with the BLOCK overflow policy so the score reflects the
+ * sustained rate the flusher can write, not how fast entries can be dropped
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    /** Comment text written with each entry */
+    private String commentText;
+
+    /**
+     * Configures the appender before ForumLogUtil first uses it
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.configure();
+        System.setProperty("log.async.overflowPolicy", "BLOCK");
+        commentText = BenchmarkDatabase.text(3, 300);
+    }
+
+    /**
+     * Flushes queued entries so the next trial starts from an empty queue
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ForumLogUtil.shutdown();
+    }
+
+    /**
+     * Logs a comment from a single thread
+     */
+    @Benchmark
+    public void logComment() {
+        ForumLogUtil.logComment(1234, 56, 7, "Simphiwe Radebe", commentText);
+    }
+
+    /**
+     * Logs comments from four threads sharing the appender
+     */
+    @Benchmark
+    @Threads(4)
+    public void logCommentContended() {
+        ForumLogUtil.logComment(1234, 56, 7, "Simphiwe Radebe", commentText);
+    }
+}
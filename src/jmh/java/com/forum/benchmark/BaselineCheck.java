@@ -0,0 +1,166 @@
+package com.forum.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the committed baseline
+ * A benchmark regresses when its score is worse than the baseline by more than
+ * the threshold: higher for time-per-operation modes, lower for throughput.
+ * Benchmarks missing from either file are reported but do not fail the check
+ *
+ * Usage: BaselineCheck &lt;baseline.json&gt; &lt;result.json&gt; [thresholdPercent]
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class BaselineCheck {
+
+    /** Threshold used when none is given, in percent */
+    private static final double DEFAULT_THRESHOLD_PERCENT = 25.0;
+
+    /**
+     * Prevents instantiation
+     */
+    private BaselineCheck() {
+    }
+
+    /**
+     * Runs the comparison and exits non-zero on regression
+     *
+     * @param args Baseline file, result file and optional threshold percent
+     * @throws IOException if either file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+
+        Path baselineFile = Paths.get(args[0]);
+        Path resultFile = Paths.get(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile + ", skipping regression check");
+            return;
+        }
+
+        Map<String, Score> baseline = load(baselineFile);
+        Map<String, Score> results = load(resultFile);
+        int regressions = 0;
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", current.value, "new");
+                continue;
+            }
+
+            double change = (current.value - previous.value) / previous.value * 100.0;
+            boolean worse = current.lowerIsBetter() ? change > threshold : -change > threshold;
+            if (worse) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), previous.value, current.value,
+                    change, current.unit, worse ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                System.out.printf("%-70s %14.3f %14s %9s%n", name, baseline.get(name).value, "-", "not run");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("No regressions beyond %.1f%%%n", threshold);
+    }
+
+    /**
+     * Reads a JMH JSON result file keyed by benchmark, mode and parameters
+     *
+     * @param file Result file
+     * @return Scores by key, in a stable order
+     * @throws IOException if the file cannot be read
+     */
+    private static Map<String, Score> load(Path file) throws IOException {
+        JSONArray runs = new JSONArray(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (int i = 0; i < runs.length(); i++) {
+            JSONObject run = runs.getJSONObject(i);
+            String benchmark = run.getString("benchmark");
+            String mode = run.getString("mode");
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                    benchmark.lastIndexOf('.') - 1) + 1));
+
+            JSONObject params = run.optJSONObject("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<String> names = params.keys();
+                while (names.hasNext()) {
+                    String name = names.next();
+                    sorted.put(name, params.get(name).toString());
+                }
+                key.append(sorted);
+            }
+            key.append(" [").append(mode).append(']');
+
+            JSONObject metric = run.getJSONObject("primaryMetric");
+            scores.put(key.toString(), new Score(mode, metric.getDouble("score"), metric.getString("scoreUnit")));
+        }
+        return scores;
+    }
+
+    /**
+     * Primary score of one benchmark run
+     */
+    private static final class Score {
+
+        /** JMH mode, e.g. avgt or thrpt */
+        private final String mode;
+
+        /** Score value */
+        private final double value;
+
+        /** Score unit, e.g. us/op */
+        private final String unit;
+
+        /**
+         * Creates a score
+         *
+         * @param mode JMH mode
+         * @param value Score value
+         * @param unit Score unit
+         */
+        private Score(String mode, double value, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.unit = unit;
+        }
+
+        /**
+         * Whether a smaller score is an improvement
+         *
+         * @return true for time-per-operation modes
+         */
+        private boolean lowerIsBetter() {
+            return !"thrpt".equals(mode);
+        }
+    }
+}
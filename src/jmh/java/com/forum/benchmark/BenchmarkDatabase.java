@@ -0,0 +1,225 @@
+package com.forum.benchmark;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.service.CounterReconciler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Embedded H2 database in MySQL mode standing in for the forum database during benchmarks
+ * The tables are created from database_schema.sql and filled with a fixed,
+ * reproducible data set so runs on different commits are comparable
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class BenchmarkDatabase {
+
+    /** In-memory H2 URL kept alive for the life of the JVM */
+    private static final String H2_URL = "jdbc:h2:mem:forum_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /** Number of seeded users */
+    public static final int USERS = 50;
+
+    /** Number of seeded topics */
+    public static final int TOPICS = 200;
+
+    /** Comments seeded per topic */
+    public static final int COMMENTS_PER_TOPIC = 60;
+
+    /** Replies seeded per comment */
+    public static final int REPLIES_PER_COMMENT = 4;
+
+    /** Whether the schema and data have been loaded in this JVM */
+    private static boolean seeded;
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private BenchmarkDatabase() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Points DatabaseConfig at the embedded database unless db.* properties were given explicitly
+     * Must run before DatabaseConfig is first used
+     */
+    public static void configure() {
+        setDefault("db.url", H2_URL);
+        setDefault("db.driver", "org.h2.Driver");
+        setDefault("db.username", "sa");
+        setDefault("db.password", "");
+    }
+
+    /**
+     * Creates the schema and seeds the benchmark data set once per JVM
+     *
+     * @throws SQLException if the database cannot be initialized
+     * @throws IOException if database_schema.sql cannot be read
+     */
+    public static synchronized void seed() throws SQLException, IOException {
+        if (seeded) {
+            return;
+        }
+        configure();
+
+        String schema = new String(Files.readAllBytes(Paths.get(
+                System.getProperty("forum.schema", "database_schema.sql"))), StandardCharsets.UTF_8);
+        // Only the table and index definitions; database selection and sample data are MySQL-specific
+        schema = schema.substring(schema.indexOf("CREATE TABLE users"), schema.indexOf("-- Insert sample data"));
+
+        try (Connection connection = DatabaseConfig.getInstance().getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : schema.split(";")) {
+                    if (!sql.trim().isEmpty()) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+
+            connection.setAutoCommit(false);
+            insertUsers(connection);
+            insertTopics(connection);
+            insertComments(connection);
+            insertReplies(connection);
+            connection.commit();
+        }
+
+        CounterReconciler.getInstance().reconcileNow();
+        seeded = true;
+    }
+
+    /**
+     * Inserts the users
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (email, password_hash, first_name, last_name) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= USERS; i++) {
+                statement.setString(1, "user" + i + "@example.com");
+                statement.setString(2, "not-a-real-hash");
+                statement.setString(3, "First" + i);
+                statement.setString(4, "Last" + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the topics with staggered activity times
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertTopics(Connection connection) throws SQLException {
+        String sql = "INSERT INTO topics (title, description, user_id, date_created, last_activity) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-01 00:00:00").getTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= TOPICS; i++) {
+                Timestamp created = new Timestamp(base + i * 60_000L);
+                statement.setString(1, "Benchmark topic " + i + " about connection pooling and caching");
+                statement.setString(2, text(i, 400));
+                statement.setInt(3, 1 + i % USERS);
+                statement.setTimestamp(4, created);
+                statement.setTimestamp(5, new Timestamp(created.getTime() + (i % 7) * 3_600_000L));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the comments of every topic
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertComments(Connection connection) throws SQLException {
+        String sql = "INSERT INTO comments (topic_id, user_id, comment_text, date_posted) VALUES (?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-02 00:00:00").getTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int topic = 1; topic <= TOPICS; topic++) {
+                for (int c = 0; c < COMMENTS_PER_TOPIC; c++) {
+                    statement.setInt(1, topic);
+                    statement.setInt(2, 1 + (topic + c) % USERS);
+                    statement.setString(3, text(topic * 31 + c, 240));
+                    statement.setTimestamp(4, new Timestamp(base + (topic * COMMENTS_PER_TOPIC + c) * 1_000L));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Inserts the replies of every comment
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertReplies(Connection connection) throws SQLException {
+        String sql = "INSERT INTO replies (comment_id, user_id, reply_text, date_posted) VALUES (?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-03 00:00:00").getTime();
+        int comments = TOPICS * COMMENTS_PER_TOPIC;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int comment = 1; comment <= comments; comment++) {
+                for (int r = 0; r < REPLIES_PER_COMMENT; r++) {
+                    statement.setInt(1, comment);
+                    statement.setInt(2, 1 + (comment + r) % USERS);
+                    statement.setString(3, text(comment * 7 + r, 120));
+                    statement.setTimestamp(4, new Timestamp(base + (comment * REPLIES_PER_COMMENT + r) * 1_000L));
+                    statement.addBatch();
+                }
+                if (comment % 500 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Builds deterministic filler text of roughly the given length
+     *
+     * @param seed Varies the wording
+     * @param length Approximate length in characters
+     * @return Filler text
+     */
+    public static String text(int seed, int length) {
+        String[] words = {"forum", "thread", "reply", "servlet", "database", "index", "query", "latency",
+                "pool", "cache", "stream", "page", "cursor", "java", "tomcat", "mysql"};
+        StringBuilder text = new StringBuilder(length + 16);
+        int i = seed;
+        while (text.length() < length) {
+            text.append(words[Math.floorMod(i * 7 + 3, words.length)]).append(' ');
+            i++;
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Sets a system property unless it is already set
+     *
+     * @param key Property name
+     * @param value Default value
+     */
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.forum.benchmark;
+
+import com.forum.dao.CommentDAO;
+import com.forum.dao.ReplyDAO;
+import com.forum.dao.TopicDAO;
+import com.forum.model.Comment;
+import com.forum.model.Page;
+import com.forum.model.Reply;
+import com.forum.model.Topic;
+import com.forum.util.PageCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query and result-set mapping cost of the hot DAO reads against the embedded H2 stand-in
+ * Each benchmark covers one request's worth of work: a page of topics, a page of
+ * comments with their replies, a page of replies, a batch of comments by id, and a
+ * whole thread loaded with one reply query per comment or one for all of them
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoMappingBenchmark {
+
+    /** Topic DAO under test */
+    private TopicDAO topicDAO;
+
+    /** Comment DAO under test */
+    private CommentDAO commentDAO;
+
+    /** Reply DAO under test */
+    private ReplyDAO replyDAO;
+
+    /** Thread loading as it was before replies were fetched set-based */
+    private LegacyThreadLoader legacyThreadLoader;
+
+    /** Cursor of the second page of topics */
+    private PageCursor secondTopicPage;
+
+    /** Ids fetched by the batch lookup, as the search path does */
+    private List<Integer> commentIds;
+
+    /**
+     * Seeds the database and resolves cursors used by the benchmarks
+     *
+     * @throws Exception if the database cannot be initialized
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.seed();
+        topicDAO = new TopicDAO();
+        commentDAO = new CommentDAO();
+        replyDAO = new ReplyDAO();
+        legacyThreadLoader = new LegacyThreadLoader();
+
+        secondTopicPage = PageCursor.decode(topicDAO.getTopicsPage(null, 20).getNextCursor());
+
+        commentIds = new ArrayList<>();
+        for (int id = 1; id <= BenchmarkDatabase.TOPICS * BenchmarkDatabase.COMMENTS_PER_TOPIC; id += 97) {
+            commentIds.add(id);
+            if (commentIds.size() == 50) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * First page of the forum index
+     *
+     * @return Page of topics
+     */
+    @Benchmark
+    public Page<Topic> topicsFirstPage() {
+        return topicDAO.getTopicsPage(null, 20);
+    }
+
+    /**
+     * A later page of the forum index, seeking past a cursor
+     *
+     * @return Page of topics
+     */
+    @Benchmark
+    public Page<Topic> topicsSecondPage() {
+        return topicDAO.getTopicsPage(secondTopicPage, 20);
+    }
+
+    /**
+     * First page of a topic's comments, including each comment's replies
+     *
+     * @return Page of comments
+     */
+    @Benchmark
+    public Page<Comment> commentsPage() {
+        return commentDAO.getCommentsPage(7, null, 50);
+    }
+
+    /**
+     * First page of a comment's replies
+     *
+     * @return Page of replies
+     */
+    @Benchmark
+    public Page<Reply> repliesPage() {
+        return replyDAO.getRepliesPage(123, null, 50);
+    }
+
+    /**
+     * Batch lookup of comments by id, preserving order
+     *
+     * @return Comments
+     */
+    @Benchmark
+    public List<Comment> commentsByIds() {
+        return commentDAO.getCommentsByIds(commentIds);
+    }
+
+    /**
+     * A whole thread with one reply query, and connection, per comment
+     *
+     * @return Comments with replies
+     */
+    @Benchmark
+    public List<Comment> threadPerCommentReplies() {
+        return legacyThreadLoader.load(7);
+    }
+
+    /**
+     * A whole thread with all replies fetched in one query on the comments' connection
+     *
+     * @return Comments with replies
+     */
+    @Benchmark
+    public List<Comment> threadSetBasedReplies() {
+        return commentDAO.getCommentsByTopicId(7);
+    }
+}
@@ -0,0 +1,42 @@
+package com.forum.benchmark;
+
+import com.forum.dao.CommentDAO;
+import com.forum.dao.ReplyDAO;
+import com.forum.model.Comment;
+
+import java.util.List;
+
+/**
+ * The way CommentDAO loaded a topic's thread before replies were fetched set-based:
+ * one query for the comments, then one query per comment for its replies, each on a
+ * connection of its own. Kept as the reference for the round-trip check and benchmark
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class LegacyThreadLoader {
+
+    /** More comments than any benchmark topic has, so the page holds the whole thread */
+    private static final int ALL_COMMENTS = 10_000;
+
+    /** Comment DAO for the comment query */
+    private final CommentDAO commentDAO = new CommentDAO();
+
+    /** Reply DAO for the per-comment reply queries */
+    private final ReplyDAO replyDAO = new ReplyDAO();
+
+    /**
+     * Loads every comment of a topic with its replies, one reply query per comment
+     *
+     * @param topicId Topic ID
+     * @return Comments in posting order, each with its replies
+     */
+    public List<Comment> load(int topicId) {
+        List<Comment> comments = commentDAO.getCommentsPage(topicId, null, ALL_COMMENTS, false).getItems();
+        for (Comment comment : comments) {
+            comment.setReplies(replyDAO.getRepliesByCommentId(comment.getCommentId()));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,66 @@
+package com.forum.benchmark;
+
+import com.forum.util.PasswordHashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of hashing a password at registration and verifying it at login
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    /** Password used by both benchmarks */
+    private static final String PASSWORD = "Correct-Horse-Battery-9";
+
+    /** Stored hash of PASSWORD */
+    private String storedHash;
+
+    /**
+     * Hashes the password once for the verify benchmark
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        storedHash = PasswordHashUtil.hashPassword(PASSWORD);
+    }
+
+    /**
+     * Hashes a password with a fresh salt
+     *
+     * @return Stored hash
+     */
+    @Benchmark
+    public String hash() {
+        return PasswordHashUtil.hashPassword(PASSWORD);
+    }
+
+    /**
+     * Verifies a password against its stored hash
+     *
+     * @return Whether the password matched
+     */
+    @Benchmark
+    public boolean verify() {
+        return PasswordHashUtil.verifyPassword(PASSWORD, storedHash);
+    }
+}
@@ -0,0 +1,167 @@
+package com.forum.benchmark;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.dao.CommentDAO;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.Comment;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Counts the database round trips of loading a topic's thread, per-comment against set-based
+ * Statement executes are read from forum_db_query_seconds and connection borrows from the
+ * pool. The set-based path must return the same comments and replies as the per-comment
+ * path, in at most {@link #MAX_SET_BASED_EXECUTES} executes on one connection whatever
+ * the number of comments
+ *
+ * Usage: RoundTripCheck [topicId]
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class RoundTripCheck {
+
+    /** Executes allowed per set-based load: the comments, then all of their replies */
+    private static final int MAX_SET_BASED_EXECUTES = 2;
+
+    /** Loads measured per path */
+    private static final int LOADS = 20;
+
+    /** Statement execute times, whose counts give executes per fingerprint */
+    private static final MetricFamily<LatencyHistogram> EXECUTES = MetricsRegistry.getInstance().histogramFamily(
+            "forum_db_query_seconds", "Time spent in the JDBC driver executing statements", "statement");
+
+    /**
+     * Prevents instantiation
+     */
+    private RoundTripCheck() {
+    }
+
+    /**
+     * Runs the check and exits non-zero if the set-based path differs or makes too many round trips
+     *
+     * @param args Optional topic ID
+     * @throws SQLException if the database cannot be initialized
+     * @throws IOException if database_schema.sql cannot be read
+     */
+    public static void main(String[] args) throws SQLException, IOException {
+        BenchmarkDatabase.seed();
+        int topicId = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+
+        LegacyThreadLoader legacy = new LegacyThreadLoader();
+        CommentDAO commentDAO = new CommentDAO();
+
+        List<Comment> expected = legacy.load(topicId);
+        List<Comment> actual = commentDAO.getCommentsByTopicId(topicId);
+        String difference = compare(expected, actual);
+
+        RoundTrips perComment = measure(legacy::load, topicId);
+        RoundTrips setBased = measure(commentDAO::getCommentsByTopicId, topicId);
+
+        int replies = 0;
+        for (Comment comment : actual) {
+            replies += comment.getReplies().size();
+        }
+        System.out.printf("Round-trip check: topic %d, %d comments, %d replies%n", topicId, actual.size(), replies);
+        System.out.printf("%-22s %14s %18s%n", "Thread load", "Executes/load", "Connections/load");
+        System.out.printf("%-22s %14.1f %18.1f%n", "per-comment replies", perComment.executes, perComment.connections);
+        System.out.printf("%-22s %14.1f %18.1f%n", "set-based replies", setBased.executes, setBased.connections);
+
+        if (difference != null) {
+            System.out.println("Set-based load differs from per-comment load: " + difference);
+            System.exit(1);
+        }
+        if (setBased.executes > MAX_SET_BASED_EXECUTES || setBased.connections > 1) {
+            System.out.println("Set-based load made more than " + MAX_SET_BASED_EXECUTES
+                    + " executes on one connection");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads a thread repeatedly and averages its executes and connection borrows
+     *
+     * @param loader Thread loader
+     * @param topicId Topic ID
+     * @return Round trips per load
+     */
+    private static RoundTrips measure(IntFunction<List<Comment>> loader, int topicId) {
+        long executesBefore = executeCount();
+        long borrowsBefore = DatabaseConfig.getInstance().getConnectionPool().getBorrowCount();
+        for (int i = 0; i < LOADS; i++) {
+            loader.apply(topicId);
+        }
+        long executes = executeCount() - executesBefore;
+        long borrows = DatabaseConfig.getInstance().getConnectionPool().getBorrowCount() - borrowsBefore;
+        return new RoundTrips((double) executes / LOADS, (double) borrows / LOADS);
+    }
+
+    /**
+     * Gets the number of statement executes so far, across all fingerprints
+     *
+     * @return execute count
+     */
+    private static long executeCount() {
+        long count = 0;
+        for (LatencyHistogram histogram : EXECUTES.getChildren().values()) {
+            count += histogram.snapshot().getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Compares two loads of the same thread
+     *
+     * @param expected Per-comment load
+     * @param actual Set-based load
+     * @return Description of the first difference, or null if they match
+     */
+    private static String compare(List<Comment> expected, List<Comment> actual) {
+        if (expected.size() != actual.size()) {
+            return expected.size() + " comments against " + actual.size();
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Comment want = expected.get(i);
+            Comment got = actual.get(i);
+            if (want.getCommentId() != got.getCommentId()) {
+                return "comment " + i + " is " + got.getCommentId() + ", expected " + want.getCommentId();
+            }
+            for (int r = 0; r < Math.max(want.getReplies().size(), got.getReplies().size()); r++) {
+                if (r >= want.getReplies().size() || r >= got.getReplies().size()
+                        || want.getReplies().get(r).getReplyId() != got.getReplies().get(r).getReplyId()) {
+                    return "replies of comment " + want.getCommentId() + " differ at position " + r;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Average round trips of one load
+     */
+    private static final class RoundTrips {
+
+        /** Statement executes per load */
+        private final double executes;
+
+        /** Connections borrowed per load */
+        private final double connections;
+
+        /**
+         * Creates the averages
+         *
+         * @param executes Statement executes per load
+         * @param connections Connections borrowed per load
+         */
+        RoundTrips(double executes, double connections) {
+            this.executes = executes;
+            this.connections = connections;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.forum.benchmark;
+
+import com.forum.service.UserService;
+import com.forum.util.LegacySanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of UserService.sanitizeInput on typical form input, against the regular
+ * expressions it used before
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizeInputBenchmark {
+
+    /** Shape of the input being sanitized */
+    @Param({"plainName", "plainComment", "markupComment"})
+    public String input;
+
+    /** Service under test */
+    private UserService userService;
+
+    /** Input text for the selected shape */
+    private String text;
+
+    /**
+     * Builds the input text
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.configure();
+        userService = new UserService();
+
+        switch (input) {
+            case "plainName":
+                text = "  Simphiwe Radebe ";
+                break;
+            case "plainComment":
+                text = BenchmarkDatabase.text(1, 1000);
+                break;
+            case "markupComment":
+                text = "<p>Check <b>this</b> out: <a href=\"javascript:alert(1)\" onclick=\"x()\">link</a></p>" +
+                        "<script type=\"text/javascript\">steal()</script>" + BenchmarkDatabase.text(2, 800) +
+                        "<img src=x onerror=alert(2)>";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input shape: " + input);
+        }
+    }
+
+    /**
+     * Sanitizes the input
+     *
+     * @return Sanitized text
+     */
+    @Benchmark
+    public String sanitize() {
+        return userService.sanitizeInput(text);
+    }
+
+    /**
+     * Sanitizes the input with the previous regular-expression implementation
+     *
+     * @return Sanitized text
+     */
+    @Benchmark
+    public String legacyRegex() {
+        return LegacySanitizer.sanitize(text);
+    }
+}
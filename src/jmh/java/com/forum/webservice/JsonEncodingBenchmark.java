@@ -0,0 +1,124 @@
+package com.forum.webservice;
+
+import com.forum.model.Topic;
+import com.forum.model.User;
+import com.forum.util.JsonStreamWriter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a GET /api/topics response with the streaming writer versus the
+ * org.json tree the servlet built before
+ * Both variants produce the UTF-8 bytes that would be written to the response
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncodingBenchmark {
+
+    /** Number of topics in the response */
+    @Param({"20", "500"})
+    public int topicCount;
+
+    /** Topics to encode */
+    private List<Topic> topics;
+
+    /** Response body buffer, reused like a container's output buffer */
+    private ByteArrayOutputStream body;
+
+    /**
+     * Builds the topics
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        topics = new ArrayList<>(topicCount);
+        for (int i = 1; i <= topicCount; i++) {
+            User user = new User();
+            user.setUserId(i % 50);
+            user.setFirstName("First" + i);
+            user.setLastName("Last \"" + i + "\"");
+
+            Topic topic = new Topic();
+            topic.setTopicId(i);
+            topic.setTitle("Topic " + i + " about caching & streaming </script>");
+            topic.setDescription("Description of topic " + i + " with some longer text, a tab\tand unicode é ✓");
+            topic.setUserId(user.getUserId());
+            topic.setDateCreated(new Timestamp(1_760_000_000_000L + i * 1000L));
+            topic.setLastActivity(new Timestamp(1_760_000_500_000L + i * 1000L));
+            topic.setActive(true);
+            topic.setUser(user);
+            topics.add(topic);
+        }
+        body = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    /**
+     * Streams the topics straight into the body buffer
+     *
+     * @return Encoded size in bytes
+     * @throws IOException never, the buffer is in memory
+     */
+    @Benchmark
+    public int streaming() throws IOException {
+        body.reset();
+        JsonStreamWriter writer = new JsonStreamWriter(body);
+        ApiJson.writeArray(writer, topics, ApiJson::writeTopic);
+        writer.flush();
+        return body.size();
+    }
+
+    /**
+     * Builds a JSONArray tree, renders it to a String and encodes it, as the servlet did before
+     *
+     * @return Encoded size in bytes
+     */
+    @Benchmark
+    public int orgJsonTree() {
+        body.reset();
+        JSONArray jsonArray = new JSONArray();
+        for (Topic topic : topics) {
+            JSONObject json = new JSONObject();
+            json.put("topicId", topic.getTopicId());
+            json.put("title", topic.getTitle());
+            json.put("description", topic.getDescription());
+            json.put("userId", topic.getUserId());
+            json.put("dateCreated", topic.getDateCreated());
+            json.put("lastActivity", topic.getLastActivity());
+            json.put("isActive", topic.isActive());
+            if (topic.getUser() != null) {
+                json.put("userFullName", topic.getUser().getFullName());
+            }
+            jsonArray.put(json);
+        }
+        byte[] bytes = jsonArray.toString().getBytes(StandardCharsets.UTF_8);
+        body.write(bytes, 0, bytes.length);
+        return body.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.forum.loadtest;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.File;
+
+/**
+ * Runs the forum web application in an embedded Tomcat on the loopback interface
+ * The webapp is served straight from its source directory; classes come from the
+ * launching classpath, so web.xml is the only source of servlet and filter mappings
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class EmbeddedForumServer {
+
+    /** Context path the application is deployed under, as in the Tomcat plugin configuration */
+    public static final String CONTEXT_PATH = "/forum-app";
+
+    /** Embedded Tomcat instance */
+    private final Tomcat tomcat = new Tomcat();
+
+    /**
+     * Configures the server
+     *
+     * @param webappDir Directory containing WEB-INF/web.xml and the JSPs
+     * @param baseDir Working directory for compiled JSPs and temporary files
+     * @param port Port to listen on, or 0 for any free port
+     */
+    public EmbeddedForumServer(File webappDir, File baseDir, int port) {
+        tomcat.setBaseDir(baseDir.getAbsolutePath());
+        tomcat.setHostname("localhost");
+        tomcat.setPort(port);
+        tomcat.getConnector().setProperty("address", "127.0.0.1");
+        tomcat.addWebapp(CONTEXT_PATH, webappDir.getAbsolutePath());
+    }
+
+    /**
+     * Starts the server and the web application
+     *
+     * @throws LifecycleException if Tomcat or the application fails to start
+     */
+    public void start() throws LifecycleException {
+        tomcat.start();
+    }
+
+    /**
+     * Stops the application and the server
+     *
+     * @throws LifecycleException if shutdown fails
+     */
+    public void stop() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    /**
+     * Base URL of the application, without a trailing slash
+     *
+     * @return Base URL
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + tomcat.getConnector().getLocalPort() + CONTEXT_PATH;
+    }
+}
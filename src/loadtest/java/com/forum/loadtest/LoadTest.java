@@ -0,0 +1,198 @@
+package com.forum.loadtest;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.servlet.RequestExecutor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * End-to-end load test: seeds an in-memory database, boots the application in an
+ * embedded Tomcat and drives it with a fixed number of virtual users
+ * Prints throughput and latency percentiles per route, and exits non-zero when the
+ * share of failed requests exceeds loadtest.maxErrorRate
+ *
+ * Settings are system properties: loadtest.users, loadtest.warmupSeconds,
+ * loadtest.durationSeconds, loadtest.thinkMillis, loadtest.maxErrorRate,
+ * loadtest.replicas, loadtest.port, loadtest.webapp, loadtest.baseDir and forum.schema;
+ * async.mode selects platform or virtual request threads, for comparing the two
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+public final class LoadTest {
+
+    /** Logger for this class */
+    private static final Logger LOGGER = Logger.getLogger(LoadTest.class.getName());
+
+    /** Nanoseconds per millisecond, for the report */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Statistics per route */
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+
+    /** Whether virtual users should keep issuing requests */
+    private volatile boolean running = true;
+
+    /** Whether completed requests are recorded */
+    private volatile boolean measuring;
+
+    /**
+     * Creates a run with empty statistics
+     */
+    private LoadTest() {
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    /**
+     * Runs the load test
+     *
+     * @param args Unused; settings are system properties
+     * @throws Exception if the database or server cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 15);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+        long thinkMillis = Long.getLong("loadtest.thinkMillis", 0L);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+        int port = Integer.getInteger("loadtest.port", 0);
+        File webappDir = new File(System.getProperty("loadtest.webapp", "src/main/webapp"));
+        File baseDir = new File(System.getProperty("loadtest.baseDir", "target/loadtest-tomcat"));
+
+        LOGGER.info("Seeding in-memory database");
+        LoadTestDatabase.seed();
+
+        EmbeddedForumServer server = new EmbeddedForumServer(webappDir, baseDir, port);
+        server.start();
+        LOGGER.info("Application started at " + server.getBaseUrl());
+
+        LoadTest loadTest = new LoadTest();
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            int userNumber = 1 + i % LoadTestDatabase.USERS;
+            Thread thread = new Thread(new VirtualUser(loadTest, userNumber, server.getBaseUrl(), thinkMillis),
+                    "virtual-user-" + userNumber);
+            threads.add(thread);
+            thread.start();
+        }
+
+        LOGGER.info(users + " virtual users warming up for " + warmupSeconds + "s");
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+
+        LOGGER.info("Measuring for " + durationSeconds + "s");
+        loadTest.measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        loadTest.measuring = false;
+        long elapsed = System.nanoTime() - start;
+
+        loadTest.running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        server.stop();
+
+        double errorRate = loadTest.report(users, thinkMillis, elapsed);
+        if (errorRate > maxErrorRate) {
+            System.out.printf("Error rate %.2f%% exceeds loadtest.maxErrorRate %.2f%%%n",
+                    errorRate * 100.0, maxErrorRate * 100.0);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Whether virtual users should keep issuing requests
+     *
+     * @return true until the run ends
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Whether completed requests are recorded
+     *
+     * @return true during the measured part of the run
+     */
+    boolean isMeasuring() {
+        return measuring;
+    }
+
+    /**
+     * Gets the statistics of a route
+     *
+     * @param route Route
+     * @return Statistics
+     */
+    RouteStats getStats(Route route) {
+        return stats.get(route);
+    }
+
+    /**
+     * Prints the per-route report
+     *
+     * @param users Number of virtual users
+     * @param thinkMillis Pause between requests
+     * @param elapsedNanos Length of the measured period
+     * @return Share of failed requests over all routes
+     */
+    private double report(int users, long thinkMillis, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long totalRequests = 0;
+        long totalFailures = 0;
+
+        RequestExecutor requestExecutor = RequestExecutor.getInstance();
+        System.out.printf("%nLoad test: %d virtual users, %d ms think time, %.1f s measured%n",
+                users, thinkMillis, seconds);
+        System.out.printf("Requests run on %s, %d at once%n%n",
+                requestExecutor.isVirtual() ? "virtual threads" : "pooled platform threads",
+                requestExecutor.getThreads());
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Route", "Requests", "Errors", "Req/s", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+
+        for (Route route : Route.values()) {
+            RouteStats routeStats = stats.get(route);
+            LatencyHistogram.Snapshot snapshot = routeStats.snapshot();
+            totalRequests += snapshot.getCount();
+            totalFailures += routeStats.getFailures();
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    route.getLabel(), snapshot.getCount(), routeStats.getFailures(),
+                    snapshot.getCount() / seconds,
+                    snapshot.getMean() / NANOS_PER_MILLI,
+                    snapshot.getPercentile(50) / NANOS_PER_MILLI,
+                    snapshot.getPercentile(95) / NANOS_PER_MILLI,
+                    snapshot.getPercentile(99) / NANOS_PER_MILLI,
+                    snapshot.getMax() / NANOS_PER_MILLI);
+        }
+        System.out.printf("%-28s %9d %7d %9.1f%n%n", "Total", totalRequests, totalFailures, totalRequests / seconds);
+
+        if (DatabaseConfig.getInstance().getReplicaRouter() != null) {
+            Map<String, Counter> reads = MetricsRegistry.getInstance().counterFamily("forum_db_reads_total",
+                    "Read-only DAO operations by the database that served them", "target").getChildren();
+            for (Map.Entry<String, Counter> target : reads.entrySet()) {
+                System.out.printf("Reads served by %-20s %9d%n", target.getKey(), target.getValue().get());
+            }
+            System.out.println();
+        }
+
+        for (Route route : Route.values()) {
+            String failure = stats.get(route).getFirstFailure();
+            if (failure != null) {
+                System.out.println("First failure on " + route.getLabel() + ": " + failure);
+            }
+        }
+        return totalRequests == 0 ? 1.0 : (double) totalFailures / totalRequests;
+    }
+}
@@ -0,0 +1,346 @@
+package com.forum.loadtest;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.service.CounterReconciler;
+import com.forum.util.PasswordHashUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded H2 database in MySQL mode standing in for the forum database during load tests
+ * The data set mixes many short topics with a few deep threads of several hundred
+ * comments, and every user can log in with {@link #PASSWORD}
+ * With loadtest.replicas set, that many further in-memory databases receive a copy
+ * of the seeded data and serve as read replicas
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+public final class LoadTestDatabase {
+
+    /** In-memory H2 URL kept alive for the life of the JVM */
+    private static final String H2_URL = h2Url("forum_load");
+
+    /** User of the embedded databases */
+    public static final String DB_USERNAME = "sa";
+
+    /** Password of the embedded databases; DatabaseConfig treats an empty password as unset */
+    public static final String DB_PASSWORD = "loadtest";
+
+    /** Password of every seeded user */
+    public static final String PASSWORD = "LoadTest-Password-1";
+
+    /** Number of seeded users */
+    public static final int USERS = 200;
+
+    /** Number of seeded topics */
+    public static final int TOPICS = 500;
+
+    /** Every this many topics is a deep thread */
+    public static final int DEEP_TOPIC_INTERVAL = 25;
+
+    /** Comments seeded on a deep thread */
+    public static final int DEEP_TOPIC_COMMENTS = 400;
+
+    /** Comments seeded on any other topic */
+    public static final int SHALLOW_TOPIC_COMMENTS = 15;
+
+    /** Words used for filler text and search terms */
+    static final String[] WORDS = {"forum", "thread", "reply", "servlet", "database", "index", "query",
+            "latency", "pool", "cache", "stream", "page", "cursor", "java", "tomcat", "mysql"};
+
+    /** Id of the first comment of each topic, indexed by topic id; the last entry is one past the final comment */
+    private static final int[] FIRST_COMMENT = new int[TOPICS + 2];
+
+    /** URLs of the replica databases created by configure() */
+    private static final List<String> REPLICA_URLS = new ArrayList<>();
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private LoadTestDatabase() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Builds the URL of a named in-memory H2 database in MySQL mode
+     *
+     * @param name Database name
+     * @return JDBC URL; the database lives until the JVM exits
+     */
+    public static String h2Url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Points DatabaseConfig at the embedded database unless db.* properties were given explicitly
+     * Adds loadtest.replicas embedded replicas. Must run before DatabaseConfig is first used
+     */
+    public static void configure() {
+        setDefault("db.url", H2_URL);
+        setDefault("db.driver", "org.h2.Driver");
+        setDefault("db.username", DB_USERNAME);
+        setDefault("db.password", DB_PASSWORD);
+
+        int replicas = Integer.getInteger("loadtest.replicas", 0);
+        if (replicas > 0 && System.getProperty("db.replicas.urls") == null && REPLICA_URLS.isEmpty()) {
+            for (int i = 1; i <= replicas; i++) {
+                REPLICA_URLS.add(h2Url("forum_load_replica" + i));
+            }
+            System.setProperty("db.replicas.urls", String.join(",", REPLICA_URLS));
+        }
+    }
+
+    /**
+     * Creates the schema and seeds the load test data set
+     *
+     * @throws SQLException if the database cannot be initialized
+     * @throws IOException if database_schema.sql cannot be read
+     */
+    public static void seed() throws SQLException, IOException {
+        configure();
+
+        try (Connection connection = DatabaseConfig.getInstance().getConnection()) {
+            createSchema(connection);
+
+            connection.setAutoCommit(false);
+            insertUsers(connection);
+            insertTopics(connection);
+            insertComments(connection);
+            insertReplies(connection);
+            connection.commit();
+        }
+
+        CounterReconciler.getInstance().reconcileNow();
+
+        if (!REPLICA_URLS.isEmpty()) {
+            try (Connection connection = DatabaseConfig.getInstance().getConnection()) {
+                for (String replicaUrl : REPLICA_URLS) {
+                    copyDatabase(connection, replicaUrl);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the forum tables and indexes from database_schema.sql
+     *
+     * @param connection Connection to an empty H2 database
+     * @throws SQLException if a statement fails
+     * @throws IOException if database_schema.sql cannot be read
+     */
+    public static void createSchema(Connection connection) throws SQLException, IOException {
+        String schema = new String(Files.readAllBytes(Paths.get(
+                System.getProperty("forum.schema", "database_schema.sql"))), StandardCharsets.UTF_8);
+        // Only the table and index definitions; database selection and sample data are MySQL-specific
+        schema = schema.substring(schema.indexOf("CREATE TABLE users"), schema.indexOf("-- Insert sample data"));
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies an H2 database into another one, standing in for replication
+     *
+     * @param source Connection to the database to copy
+     * @param targetUrl URL of an empty H2 database
+     * @throws SQLException if the copy fails
+     */
+    public static void copyDatabase(Connection source, String targetUrl) throws SQLException {
+        try (Statement script = source.createStatement();
+             ResultSet statements = script.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS");
+             Connection target = DriverManager.getConnection(targetUrl, DB_USERNAME, DB_PASSWORD);
+             Statement statement = target.createStatement()) {
+            while (statements.next()) {
+                statement.execute(statements.getString(1));
+            }
+        }
+    }
+
+    /**
+     * Whether a topic is one of the deep threads
+     *
+     * @param topicId Topic ID
+     * @return true for deep threads
+     */
+    public static boolean isDeepTopic(int topicId) {
+        return topicId % DEEP_TOPIC_INTERVAL == 0;
+    }
+
+    /**
+     * Number of comments seeded on a topic
+     *
+     * @param topicId Topic ID
+     * @return Comment count
+     */
+    public static int commentCount(int topicId) {
+        return isDeepTopic(topicId) ? DEEP_TOPIC_COMMENTS : SHALLOW_TOPIC_COMMENTS;
+    }
+
+    /**
+     * Id of a seeded comment on a topic
+     *
+     * @param topicId Topic ID
+     * @param index Position of the comment in the topic, from zero
+     * @return Comment ID
+     */
+    public static int commentId(int topicId, int index) {
+        return FIRST_COMMENT[topicId] + index;
+    }
+
+    /**
+     * Email address of a seeded user
+     *
+     * @param user User number, from one
+     * @return Email address
+     */
+    public static String email(int user) {
+        return "loaduser" + user + "@example.com";
+    }
+
+    /**
+     * Inserts the users, all sharing the load test password
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (email, password_hash, first_name, last_name) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= USERS; i++) {
+                statement.setString(1, email(i));
+                statement.setString(2, PasswordHashUtil.hashPassword(PASSWORD));
+                statement.setString(3, "Load" + i);
+                statement.setString(4, "Tester" + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the topics with staggered activity times
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertTopics(Connection connection) throws SQLException {
+        String sql = "INSERT INTO topics (title, description, user_id, date_created, last_activity) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-01 00:00:00").getTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= TOPICS; i++) {
+                Timestamp created = new Timestamp(base + i * 60_000L);
+                statement.setString(1, "Load test topic " + i + " on " + WORDS[i % WORDS.length] +
+                        " and " + WORDS[(i * 5) % WORDS.length]);
+                statement.setString(2, text(i, 400));
+                statement.setInt(3, 1 + i % USERS);
+                statement.setTimestamp(4, created);
+                statement.setTimestamp(5, new Timestamp(created.getTime() + (i % 7) * 3_600_000L));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the comments of every topic, recording where each topic's comments start
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertComments(Connection connection) throws SQLException {
+        String sql = "INSERT INTO comments (topic_id, user_id, comment_text, date_posted) VALUES (?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-02 00:00:00").getTime();
+        int commentId = 1;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int topic = 1; topic <= TOPICS; topic++) {
+                FIRST_COMMENT[topic] = commentId;
+                for (int c = 0; c < commentCount(topic); c++) {
+                    statement.setInt(1, topic);
+                    statement.setInt(2, 1 + (topic + c) % USERS);
+                    statement.setString(3, text(topic * 31 + c, 240));
+                    statement.setTimestamp(4, new Timestamp(base + commentId * 1_000L));
+                    statement.addBatch();
+                    commentId++;
+                }
+                statement.executeBatch();
+            }
+        }
+        FIRST_COMMENT[TOPICS + 1] = commentId;
+    }
+
+    /**
+     * Inserts between zero and four replies on every comment
+     *
+     * @param connection Open connection
+     * @throws SQLException if the insert fails
+     */
+    private static void insertReplies(Connection connection) throws SQLException {
+        String sql = "INSERT INTO replies (comment_id, user_id, reply_text, date_posted) VALUES (?, ?, ?, ?)";
+        long base = Timestamp.valueOf("2026-01-03 00:00:00").getTime();
+        int comments = FIRST_COMMENT[TOPICS + 1] - 1;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int comment = 1; comment <= comments; comment++) {
+                for (int r = 0; r < comment % 5; r++) {
+                    statement.setInt(1, comment);
+                    statement.setInt(2, 1 + (comment + r) % USERS);
+                    statement.setString(3, text(comment * 7 + r, 120));
+                    statement.setTimestamp(4, new Timestamp(base + (comment * 5L + r) * 1_000L));
+                    statement.addBatch();
+                }
+                if (comment % 500 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Builds deterministic filler text of roughly the given length
+     *
+     * @param seed Varies the wording
+     * @param length Approximate length in characters
+     * @return Filler text
+     */
+    static String text(int seed, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        int i = seed;
+        while (text.length() < length) {
+            text.append(WORDS[Math.floorMod(i * 7 + 3, WORDS.length)]).append(' ');
+            i++;
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Sets a system property unless it is already set
+     *
+     * @param key Property name
+     * @param value Default value
+     */
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.forum.loadtest;
+
+import com.forum.config.ConnectionPool;
+import com.forum.config.DatabaseConfig;
+import com.forum.config.ReadConsistency;
+import com.forum.config.ReplicaRouter;
+import com.forum.dao.TopicDAO;
+import com.forum.model.Topic;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks read/write splitting against three embedded databases: a primary and two replicas
+ * Each database holds topic 1 under a title naming the database, so every read shows
+ * where it was served. Verifies round-robin routing, writes on the primary,
+ * read-your-writes pinning, failover when a replica goes down and its return once it
+ * is back, and least-loaded selection. Exits non-zero on the first failed check
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ReplicaRoutingCheck {
+
+    /** Health check interval used by the check */
+    private static final long HEALTH_CHECK_MILLIS = 200L;
+
+    /** Read-your-writes window used by the check */
+    private static final long WINDOW_MILLIS = 400L;
+
+    /** Database names; the primary first */
+    private static final String[] DATABASES = {"forum_rw_primary", "forum_rw_replica1", "forum_rw_replica2"};
+
+    /** Title marker of topic 1 in each database, as reported by the check */
+    private static final String[] TARGETS = {"primary", "replica-1", "replica-2"};
+
+    /** Reads issued per routing check */
+    private static final int READS = 20;
+
+    /**
+     * Utility class
+     */
+    private ReplicaRoutingCheck() {
+    }
+
+    /**
+     * Runs the checks
+     *
+     * @param args Unused
+     * @throws Exception if a database cannot be created
+     */
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < DATABASES.length; i++) {
+            createDatabase(i);
+        }
+
+        // Pools only open existing databases, so a replica that was shut down stays down until re-created
+        System.setProperty("db.url", poolUrl(0));
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.username", LoadTestDatabase.DB_USERNAME);
+        System.setProperty("db.password", LoadTestDatabase.DB_PASSWORD);
+        System.setProperty("db.pool.minSize", "1");
+        System.setProperty("db.replicas.urls", poolUrl(1) + "," + poolUrl(2));
+        System.setProperty("db.replicas.selection", "ROUND_ROBIN");
+        System.setProperty("db.replicas.pool.minSize", "1");
+        System.setProperty("db.replicas.healthCheckIntervalMs", String.valueOf(HEALTH_CHECK_MILLIS));
+        System.setProperty("db.readYourWritesWindowMs", String.valueOf(WINDOW_MILLIS));
+
+        TopicDAO topicDAO = new TopicDAO();
+
+        Map<String, Integer> reads = readTargets(topicDAO);
+        expect("round-robin reads use both replicas evenly",
+                reads.getOrDefault("replica-1", 0) == READS / 2 && reads.getOrDefault("replica-2", 0) == READS / 2);
+
+        ReadConsistency.begin(0L);
+        long pinnedUntil;
+        try {
+            try (Connection connection = DatabaseConfig.getInstance().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "UPDATE topics SET description = ? WHERE topic_id = 1")) {
+                statement.setString(1, "written");
+                statement.executeUpdate();
+            }
+            expect("reads after a write go to the primary", readTargets(topicDAO).keySet().equals(setOf("primary")));
+        } finally {
+            pinnedUntil = ReadConsistency.end();
+        }
+
+        ReadConsistency.begin(pinnedUntil);
+        try {
+            expect("a carried-over deadline keeps reads on the primary",
+                    readTargets(topicDAO).keySet().equals(setOf("primary")));
+        } finally {
+            ReadConsistency.end();
+        }
+
+        TimeUnit.MILLISECONDS.sleep(Math.max(0L, pinnedUntil - System.currentTimeMillis()) + 50L);
+        ReadConsistency.begin(pinnedUntil);
+        try {
+            expect("reads return to the replicas once the window has passed",
+                    !readTargets(topicDAO).containsKey("primary"));
+        } finally {
+            ReadConsistency.end();
+        }
+
+        try (Connection connection = DriverManager.getConnection(LoadTestDatabase.h2Url(DATABASES[2]), LoadTestDatabase.DB_USERNAME, LoadTestDatabase.DB_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        waitForHealthChecks();
+        expect("a replica that went down is taken out of rotation",
+                readTargets(topicDAO).equals(mapOf("replica-1", READS)));
+
+        createDatabase(2);
+        waitForHealthChecks();
+        reads = readTargets(topicDAO);
+        expect("a replica that came back is used again",
+                reads.containsKey("replica-2") && !reads.containsKey("primary") && !reads.containsKey("failed"));
+
+        checkLeastLoaded();
+
+        DatabaseConfig.getInstance().shutdown();
+        System.out.println("Replica routing checks passed");
+    }
+
+    /**
+     * Checks that least-loaded selection avoids a replica whose pool is in use
+     *
+     * @throws SQLException if a connection cannot be borrowed
+     */
+    private static void checkLeastLoaded() throws SQLException {
+        // Names of their own, as read counters are shared with the application's replicas
+        Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+        for (int i = 1; i <= 2; i++) {
+            pools.put("least-loaded-" + i, new ConnectionPool(poolUrl(i), LoadTestDatabase.DB_USERNAME, LoadTestDatabase.DB_PASSWORD,
+                    1, 2, 600_000L, 5_000L, 60_000L, 2, 60_000L, 0));
+        }
+        ReplicaRouter router = new ReplicaRouter(pools, ReplicaRouter.Selection.LEAST_LOADED, 60_000L, 2);
+        try (Connection busy = pools.get("least-loaded-1").borrowConnection()) {
+            for (int i = 0; i < READS; i++) {
+                try (Connection connection = router.borrowConnection(null)) {
+                    connection.isValid(1);
+                }
+            }
+            expect("least-loaded selection avoids the busy replica", busy.isValid(1)
+                    && router.getReplicas().get(0).getReadCount() == 0
+                    && router.getReplicas().get(1).getReadCount() == READS);
+        } finally {
+            router.shutdown();
+        }
+    }
+
+    /**
+     * Reads topic 1 repeatedly and counts the databases that served it
+     *
+     * @param topicDAO DAO under test
+     * @return Reads per target; failed reads are counted under "failed"
+     */
+    private static Map<String, Integer> readTargets(TopicDAO topicDAO) {
+        Map<String, Integer> targets = new TreeMap<>();
+        for (int i = 0; i < READS; i++) {
+            Topic topic = topicDAO.getTopicById(1);
+            targets.merge(topic == null ? "failed" : topic.getTitle(), 1, Integer::sum);
+        }
+        return targets;
+    }
+
+    /**
+     * Creates one of the databases with a user and topic 1 titled after the database
+     *
+     * @param index Index into DATABASES
+     * @throws Exception if the database cannot be created
+     */
+    private static void createDatabase(int index) throws Exception {
+        try (Connection connection = DriverManager.getConnection(LoadTestDatabase.h2Url(DATABASES[index]), LoadTestDatabase.DB_USERNAME, LoadTestDatabase.DB_PASSWORD)) {
+            LoadTestDatabase.createSchema(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO users (email, password_hash, first_name, last_name) " +
+                        "VALUES ('check@loadtest.local', 'x', 'Replica', 'Check')");
+                statement.execute("INSERT INTO topics (title, description, user_id) " +
+                        "VALUES ('" + TARGETS[index] + "', 'check', 1)");
+            }
+        }
+    }
+
+    /**
+     * Builds the pool URL of a database, which refuses to create it when missing
+     *
+     * @param index Index into DATABASES
+     * @return JDBC URL
+     */
+    private static String poolUrl(int index) {
+        return LoadTestDatabase.h2Url(DATABASES[index]) + ";IFEXISTS=TRUE";
+    }
+
+    /**
+     * Waits long enough for the replica health checks to have run
+     *
+     * @throws InterruptedException if interrupted
+     */
+    private static void waitForHealthChecks() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(HEALTH_CHECK_MILLIS * 4);
+    }
+
+    /**
+     * Prints the outcome of a check and exits on failure
+     *
+     * @param description What was checked
+     * @param passed Whether the check passed
+     */
+    private static void expect(String description, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + description);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Builds a set of targets
+     *
+     * @param target Target name
+     * @return Single-element set
+     */
+    private static Set<String> setOf(String target) {
+        return Collections.singleton(target);
+    }
+
+    /**
+     * Builds a read count map
+     *
+     * @param target Target name
+     * @param count Read count
+     * @return Single-entry map
+     */
+    private static Map<String, Integer> mapOf(String target, int count) {
+        return Collections.singletonMap(target, count);
+    }
+}
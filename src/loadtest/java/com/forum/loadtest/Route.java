@@ -0,0 +1,93 @@
+package com.forum.loadtest;
+
+/**
+ * Actions a virtual user performs, with their share of the traffic mix
+ * Names match the route labels MetricsFilter uses, so client-side and
+ * server-side latencies can be compared line by line
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+enum Route {
+
+    /** Forum index, first page of topics */
+    INDEX("GET /forum", 35),
+
+    /** Topic view with its first page of comments */
+    TOPIC("GET /forum/topic/{id}", 35),
+
+    /** Full-text search */
+    SEARCH("GET /forum/search", 12),
+
+    /** Comment on a topic */
+    POST_COMMENT("POST /forum/add-comment", 7),
+
+    /** Reply to a comment */
+    POST_REPLY("POST /forum/add-reply", 6),
+
+    /** Log in again, re-verifying the password */
+    LOGIN("POST /user/login", 5);
+
+    /** Sum of all weights */
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Route route : values()) {
+            total += route.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    /** Route label */
+    private final String label;
+
+    /** Relative share of requests */
+    private final int weight;
+
+    /**
+     * Creates a route
+     *
+     * @param label Route label
+     * @param weight Relative share of requests
+     */
+    Route(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the route label
+     *
+     * @return Label such as "GET /forum"
+     */
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * Picks a route according to the weights
+     *
+     * @param roll Uniform random number in [0, total weight)
+     * @return Route
+     */
+    static Route pick(int roll) {
+        for (Route route : values()) {
+            roll -= route.weight;
+            if (roll < 0) {
+                return route;
+            }
+        }
+        return INDEX;
+    }
+
+    /**
+     * Gets the sum of all weights
+     *
+     * @return Total weight
+     */
+    static int totalWeight() {
+        return TOTAL_WEIGHT;
+    }
+}
@@ -0,0 +1,66 @@
+package com.forum.loadtest;
+
+import com.forum.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side latency and failures of one route during the measured part of a run
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class RouteStats {
+
+    /** Response times of all requests, successful or not */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /** Requests that failed */
+    private final LongAdder failures = new LongAdder();
+
+    /** Description of the first failure, for the report */
+    private final AtomicReference<String> firstFailure = new AtomicReference<>();
+
+    /**
+     * Records a completed request
+     *
+     * @param startNanos System.nanoTime() when the request was sent
+     * @param failure Failure description, or null if the request succeeded
+     */
+    void record(long startNanos, String failure) {
+        latency.recordSince(startNanos);
+        if (failure != null) {
+            failures.increment();
+            firstFailure.compareAndSet(null, failure);
+        }
+    }
+
+    /**
+     * Gets the latency snapshot
+     *
+     * @return Snapshot
+     */
+    LatencyHistogram.Snapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    /**
+     * Gets the number of failed requests
+     *
+     * @return Failures
+     */
+    long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Gets the first failure description
+     *
+     * @return Description, or null if nothing failed
+     */
+    String getFirstFailure() {
+        return firstFailure.get();
+    }
+}
@@ -0,0 +1,239 @@
+package com.forum.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated forum user: logs in, then issues requests from the traffic mix
+ * back to back, optionally pausing between them
+ * Each user has its own HTTP client and cookie store, so it keeps its own session
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class VirtualUser implements Runnable {
+
+    /** Per-request timeout */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Run this user belongs to */
+    private final LoadTest loadTest;
+
+    /** Number of the seeded user this virtual user logs in as */
+    private final int userNumber;
+
+    /** Base URL of the application */
+    private final String baseUrl;
+
+    /** Pause between requests in milliseconds */
+    private final long thinkMillis;
+
+    /** Random source, seeded per user so runs are repeatable */
+    private final SplittableRandom random;
+
+    /** HTTP client holding this user's session cookie */
+    private final HttpClient client;
+
+    /**
+     * Creates a virtual user
+     *
+     * @param loadTest Run this user belongs to
+     * @param userNumber Number of the seeded user to log in as
+     * @param baseUrl Base URL of the application
+     * @param thinkMillis Pause between requests in milliseconds
+     */
+    VirtualUser(LoadTest loadTest, int userNumber, String baseUrl, long thinkMillis) {
+        this.loadTest = loadTest;
+        this.userNumber = userNumber;
+        this.baseUrl = baseUrl;
+        this.thinkMillis = thinkMillis;
+        this.random = new SplittableRandom(userNumber);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .cookieHandler(new CookieManager())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Logs in, then issues requests until the run stops
+     */
+    @Override
+    public void run() {
+        perform(Route.LOGIN);
+        while (loadTest.isRunning()) {
+            perform(Route.pick(random.nextInt(Route.totalWeight())));
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs one request and records it if the run is measuring
+     *
+     * @param route Route to request
+     */
+    private void perform(Route route) {
+        boolean measured = loadTest.isMeasuring();
+        long start = System.nanoTime();
+        String failure;
+        try {
+            failure = execute(route);
+        } catch (IOException e) {
+            failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            loadTest.getStats(route).record(start, failure);
+        }
+    }
+
+    /**
+     * Sends the request for a route and checks the response
+     *
+     * @param route Route to request
+     * @return Failure description, or null if the response was as expected
+     * @throws IOException if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    private String execute(Route route) throws IOException, InterruptedException {
+        switch (route) {
+            case INDEX:
+                return expectOk(get("/forum"));
+            case TOPIC:
+                return expectOk(get("/forum/topic/" + pickTopic()));
+            case SEARCH:
+                return expectOk(get("/forum/search?q=" + encode(word() + " " + word())));
+            case POST_COMMENT: {
+                int topicId = pickTopic();
+                return expectRedirect(post("/forum/add-comment",
+                        "topicId=" + topicId +
+                        "&commentText=" + encode(LoadTestDatabase.text(random.nextInt(), 160))), "#comment-");
+            }
+            case POST_REPLY: {
+                int topicId = pickTopic();
+                int commentId = LoadTestDatabase.commentId(topicId,
+                        random.nextInt(LoadTestDatabase.commentCount(topicId)));
+                return expectRedirect(post("/forum/add-reply",
+                        "topicId=" + topicId + "&commentId=" + commentId +
+                        "&replyText=" + encode(LoadTestDatabase.text(random.nextInt(), 80))), "#reply-");
+            }
+            case LOGIN:
+                return expectRedirect(post("/user/login",
+                        "email=" + encode(LoadTestDatabase.email(userNumber)) +
+                        "&password=" + encode(LoadTestDatabase.PASSWORD)), "/forum");
+            default:
+                throw new IllegalStateException("Unknown route: " + route);
+        }
+    }
+
+    /**
+     * Picks a topic, sending half of the traffic to the deep threads
+     *
+     * @return Topic ID
+     */
+    private int pickTopic() {
+        if (random.nextBoolean()) {
+            int deepTopics = LoadTestDatabase.TOPICS / LoadTestDatabase.DEEP_TOPIC_INTERVAL;
+            return (1 + random.nextInt(deepTopics)) * LoadTestDatabase.DEEP_TOPIC_INTERVAL;
+        }
+        return 1 + random.nextInt(LoadTestDatabase.TOPICS);
+    }
+
+    /**
+     * Picks a search word
+     *
+     * @return Word
+     */
+    private String word() {
+        return LoadTestDatabase.WORDS[random.nextInt(LoadTestDatabase.WORDS.length)];
+    }
+
+    /**
+     * Sends a GET request, reading and discarding the body
+     *
+     * @param path Path below the context path, including any query string
+     * @return Response
+     * @throws IOException if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    private HttpResponse<Void> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Sends a form POST request, reading and discarding the body
+     *
+     * @param path Path below the context path
+     * @param form URL-encoded form body
+     * @return Response
+     * @throws IOException if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    private HttpResponse<Void> post(String path, String form) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Checks that a page rendered
+     *
+     * @param response Response
+     * @return Failure description, or null on 200
+     */
+    private static String expectOk(HttpResponse<Void> response) {
+        return response.statusCode() == 200 ? null : "HTTP " + response.statusCode() + " for " + response.uri();
+    }
+
+    /**
+     * Checks that a form submission redirected to the expected place
+     * Validation failures also redirect, but to a different location
+     *
+     * @param response Response
+     * @param expected Text the Location header must contain
+     * @return Failure description, or null if it redirected as expected
+     */
+    private static String expectRedirect(HttpResponse<Void> response, String expected) {
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || !location.contains(expected) || location.contains("error=")) {
+            return "HTTP " + response.statusCode() + " for " + response.uri() + " -> " + location;
+        }
+        return null;
+    }
+
+    /**
+     * URL-encodes a form value
+     *
+     * @param value Value
+     * @return Encoded value
+     */
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,407 @@
+package com.forum.cache;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.MetricsRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared cache of rendered HTML fragments, bounded by size in bytes
+ * Keys carry the version stamp of the data a fragment was rendered from, so a changed
+ * thread or comment misses on its own. ForumService and UserService write paths also
+ * invalidate the fragments of what they changed, which frees their memory at once and
+ * covers changes the stamps do not, such as edits and author name changes.
+ *
+ * Fragments are stored as UTF-8 and the least recently used are evicted once the total
+ * exceeds fragments.maxBytes. With fragments.offHeap, fragments of at least
+ * fragments.offHeapThresholdBytes are kept in direct buffers outside the Java heap, so
+ * large threads do not add to garbage collection work
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class FragmentCache {
+
+    /**
+     * Kinds of fragment, each with its own hit and miss counts
+     */
+    public enum Region {
+
+        /** The comment list and pagination of one page of a topic, for guests or members, with a slot per comment */
+        THREAD("fragments-thread"),
+
+        /** One comment with its replies, for a guest, a member or the comment's author */
+        COMMENT("fragments-comment"),
+
+        /** One topic's row in the forum index */
+        TOPIC_ROW("fragments-topic-row");
+
+        /** Cache name in metrics */
+        private final String metricName;
+
+        /** Number of lookups served from the cache */
+        private final AtomicLong hits = new AtomicLong();
+
+        /** Number of lookups that found nothing */
+        private final AtomicLong misses = new AtomicLong();
+
+        /**
+         * Creates a region
+         *
+         * @param metricName Cache name in metrics
+         */
+        Region(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * Gets the share of lookups served from the cache
+         *
+         * @return hit ratio between 0 and 1, or 0 before the first lookup
+         */
+        double hitRatio() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+
+    /** Whether fragments are cached at all */
+    private final boolean enabled;
+
+    /** Most bytes held across all fragments */
+    private final long maxBytes;
+
+    /** Smallest fragment kept off the heap, or Long.MAX_VALUE to keep every fragment on it */
+    private final long offHeapThresholdBytes;
+
+    /** Fragments by key in access order, guarded by itself */
+    private final LinkedHashMap<String, Fragment> fragments = new LinkedHashMap<>(256, 0.75f, true);
+
+    /** Keys by invalidation group, guarded by fragments */
+    private final Map<String, Set<String>> keysByGroup = new HashMap<>();
+
+    /** Bytes held on the heap, guarded by fragments */
+    private long heapBytes;
+
+    /** Bytes held in direct buffers, guarded by fragments */
+    private long offHeapBytes;
+
+    /** Number of fragments evicted to stay within the byte bound */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /** Number of fragments removed by invalidation */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Private constructor; reads the size bound and storage settings from application.properties
+     */
+    private FragmentCache() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("fragments.enabled", "true"));
+        this.maxBytes = config.getLongProperty("fragments.maxBytes", 32L * 1024 * 1024);
+        this.offHeapThresholdBytes = Boolean.parseBoolean(config.getProperty("fragments.offHeap", "false"))
+                ? config.getLongProperty("fragments.offHeapThresholdBytes", 64L * 1024) : Long.MAX_VALUE;
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        for (Region region : Region.values()) {
+            String name = region.metricName;
+            metrics.registerGauge("forum_cache_hits", "Cache hits", "cache", name, region.hits::get);
+            metrics.registerGauge("forum_cache_misses", "Cache misses", "cache", name, region.misses::get);
+            metrics.registerGauge("forum_cache_hit_ratio", "Share of cache lookups that hit", "cache", name,
+                    region::hitRatio);
+        }
+        metrics.registerGauge("forum_cache_entries", "Entries held by the cache", "cache", "fragments", this::size);
+        metrics.registerGauge("forum_cache_evictions", "Cache evictions", "cache", "fragments",
+                evictionCount::get);
+        metrics.registerGauge("forum_fragment_cache_invalidations", "Fragments removed by invalidation",
+                invalidationCount::get);
+        metrics.registerGauge("forum_fragment_cache_bytes", "Bytes held by cached fragments", "storage", "heap",
+                () -> getBytes(false));
+        metrics.registerGauge("forum_fragment_cache_bytes", "Bytes held by cached fragments", "storage", "offheap",
+                () -> getBytes(true));
+    }
+
+    /**
+     * Gets the singleton instance of FragmentCache
+     *
+     * @return FragmentCache singleton instance
+     */
+    public static FragmentCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Whether fragments are cached
+     *
+     * @return false if fragments.enabled is false, in which case every lookup misses
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets a fragment
+     *
+     * @param region Kind of fragment, for hit ratios
+     * @param key Key including the version stamp of the fragment's data
+     * @return Rendered HTML, or null if not cached
+     */
+    public String get(Region region, String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        Fragment fragment;
+        synchronized (fragments) {
+            fragment = fragments.get(key);
+        }
+        if (fragment == null) {
+            region.misses.incrementAndGet();
+            return null;
+        }
+        region.hits.incrementAndGet();
+        return fragment.html();
+    }
+
+    /**
+     * Stores a fragment, evicting the least recently used ones beyond the byte bound
+     * A fragment larger than the whole bound is not stored
+     *
+     * @param key Key including the version stamp of the fragment's data
+     * @param html Rendered HTML
+     * @param groups Invalidation groups the fragment belongs to, such as {@link #topicGroup(int)}
+     */
+    public void put(String key, String html, String... groups) {
+        if (!enabled) {
+            return;
+        }
+
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        Fragment fragment = bytes.length >= offHeapThresholdBytes
+                ? new Fragment(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip(), groups)
+                : new Fragment(bytes, groups);
+
+        synchronized (fragments) {
+            Fragment previous = fragments.put(key, fragment);
+            if (previous != null) {
+                release(key, previous);
+            }
+            account(fragment, 1);
+            for (String group : groups) {
+                keysByGroup.computeIfAbsent(group, g -> new HashSet<>()).add(key);
+            }
+
+            Iterator<Map.Entry<String, Fragment>> eldest = fragments.entrySet().iterator();
+            while (heapBytes + offHeapBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Fragment> entry = eldest.next();
+                eldest.remove();
+                release(entry.getKey(), entry.getValue());
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes every fragment in a group
+     *
+     * @param group Invalidation group, such as {@link #topicGroup(int)}
+     */
+    public void invalidateGroup(String group) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (fragments) {
+            Set<String> keys = keysByGroup.remove(group);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                Fragment fragment = fragments.remove(key);
+                if (fragment != null) {
+                    release(key, fragment);
+                    invalidationCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the fragments showing a topic: its index row and its thread pages
+     * Comment fragments are kept, so a new comment does not re-render its neighbours
+     *
+     * @param topicId Topic ID
+     */
+    public void invalidateTopic(int topicId) {
+        invalidateGroup(topicGroup(topicId));
+    }
+
+    /**
+     * Removes the fragments showing a comment and its replies
+     *
+     * @param commentId Comment ID
+     */
+    public void invalidateComment(int commentId) {
+        invalidateGroup(commentGroup(commentId));
+    }
+
+    /**
+     * Removes every fragment, for changes that can appear anywhere, such as an author's name
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (fragments) {
+            invalidationCount.addAndGet(fragments.size());
+            fragments.clear();
+            keysByGroup.clear();
+            heapBytes = 0;
+            offHeapBytes = 0;
+        }
+    }
+
+    /**
+     * Gets the invalidation group of the fragments showing a topic
+     *
+     * @param topicId Topic ID
+     * @return Group name
+     */
+    public static String topicGroup(int topicId) {
+        return "topic:" + topicId;
+    }
+
+    /**
+     * Gets the invalidation group of the fragments showing a comment
+     *
+     * @param commentId Comment ID
+     * @return Group name
+     */
+    public static String commentGroup(int commentId) {
+        return "comment:" + commentId;
+    }
+
+    /**
+     * Gets the number of cached fragments
+     *
+     * @return fragment count
+     */
+    public int size() {
+        synchronized (fragments) {
+            return fragments.size();
+        }
+    }
+
+    /**
+     * Gets the bytes held by cached fragments
+     *
+     * @param offHeap true for direct buffers, false for the heap
+     * @return byte count
+     */
+    public long getBytes(boolean offHeap) {
+        synchronized (fragments) {
+            return offHeap ? offHeapBytes : heapBytes;
+        }
+    }
+
+    /**
+     * Drops a removed fragment from its groups and the byte totals; the caller holds the lock
+     *
+     * @param key Key the fragment was stored under
+     * @param fragment Removed fragment
+     */
+    private void release(String key, Fragment fragment) {
+        account(fragment, -1);
+        for (String group : fragment.groups) {
+            Set<String> keys = keysByGroup.get(group);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByGroup.remove(group);
+            }
+        }
+    }
+
+    /**
+     * Adds a fragment's size to, or subtracts it from, the byte totals; the caller holds the lock
+     *
+     * @param fragment Fragment
+     * @param sign 1 when storing, -1 when removing
+     */
+    private void account(Fragment fragment, int sign) {
+        if (fragment.offHeap != null) {
+            offHeapBytes += sign * (long) fragment.offHeap.capacity();
+        } else {
+            heapBytes += sign * (long) fragment.heap.length;
+        }
+    }
+
+    /**
+     * One rendered fragment, held as UTF-8 on the heap or in a direct buffer
+     */
+    private static final class Fragment {
+
+        /** UTF-8 bytes on the heap, or null if held off the heap */
+        private final byte[] heap;
+
+        /** UTF-8 bytes in a direct buffer, or null if held on the heap; never read through its position */
+        private final ByteBuffer offHeap;
+
+        /** Invalidation groups the fragment belongs to */
+        private final String[] groups;
+
+        /**
+         * Creates a fragment held on the heap
+         *
+         * @param heap UTF-8 bytes
+         * @param groups Invalidation groups
+         */
+        Fragment(byte[] heap, String[] groups) {
+            this.heap = heap;
+            this.offHeap = null;
+            this.groups = groups;
+        }
+
+        /**
+         * Creates a fragment held in a direct buffer
+         *
+         * @param offHeap UTF-8 bytes, positioned at the start
+         * @param groups Invalidation groups
+         */
+        Fragment(ByteBuffer offHeap, String[] groups) {
+            this.heap = null;
+            this.offHeap = offHeap;
+            this.groups = groups;
+        }
+
+        /**
+         * Decodes the fragment
+         *
+         * @return Rendered HTML
+         */
+        String html() {
+            return heap != null
+                    ? new String(heap, StandardCharsets.UTF_8)
+                    : StandardCharsets.UTF_8.decode(offHeap.duplicate()).toString();
+        }
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final FragmentCache INSTANCE = new FragmentCache();
+    }
+}
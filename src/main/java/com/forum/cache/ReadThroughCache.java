@@ -0,0 +1,293 @@
+package com.forum.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based read-through cache with single-flight loading
+ * Concurrent misses for the same key share one load instead of each querying the database
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class ReadThroughCache<K, V> {
+
+    /** Cache name used in statistics */
+    private final String name;
+
+    /** Maximum number of entries before the least recently used is evicted */
+    private final int maxEntries;
+
+    /** Time an entry stays fresh */
+    private final long ttlNanos;
+
+    /** Cached entries in access order (guarded by itself) */
+    private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Loads currently running, shared by concurrent callers of the same key */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /** Incremented on invalidation so loads that started earlier are not stored */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Number of lookups served from the cache */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** Number of lookups that missed the cache */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /** Number of misses that waited on another caller's load */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /** Number of loads executed */
+    private final AtomicLong loadCount = new AtomicLong();
+
+    /** Number of loads that threw */
+    private final AtomicLong loadFailureCount = new AtomicLong();
+
+    /** Accumulated load time */
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+
+    /** Number of entries evicted for size */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache
+     *
+     * @param name Cache name used in statistics
+     * @param maxEntries Maximum number of entries
+     * @param ttlMillis Time an entry stays fresh in milliseconds
+     */
+    public ReadThroughCache(String name, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Gets a value, loading it on a miss
+     * Only one load runs per key at a time; concurrent callers wait for its result
+     *
+     * @param key Cache key
+     * @param loader Loads the value on a miss; must not return null
+     * @return Cached or freshly loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+        CacheEntry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+            hitCount.incrementAndGet();
+            return entry.value;
+        }
+
+        missCount.incrementAndGet();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlightLoads.putIfAbsent(key, load);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return await(existing);
+        }
+
+        long loadGeneration = generation.get();
+        long start = System.nanoTime();
+
+        try {
+            V value = loader.get();
+            loadCount.incrementAndGet();
+            totalLoadNanos.addAndGet(System.nanoTime() - start);
+
+            if (loadGeneration == generation.get()) {
+                store(key, value);
+            }
+
+            load.complete(value);
+            return value;
+
+        } catch (RuntimeException e) {
+            loadFailureCount.incrementAndGet();
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * Removes every entry; loads already running will not be stored
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlightLoads.clear();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Removes one entry; loads already running, for any key, will not be stored
+     *
+     * @param key Cache key
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        inFlightLoads.remove(key);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entries beyond the size bound
+     */
+    private void store(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+
+            Iterator<Map.Entry<K, CacheEntry<V>>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Waits for another caller's load and rethrows its failure unchanged
+     */
+    private V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the cache name
+     *
+     * @return cache name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of cached entries
+     *
+     * @return entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of lookups served from the cache
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups that missed the cache
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of misses that shared another caller's load
+     *
+     * @return coalesced miss count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Gets the number of loads executed
+     *
+     * @return load count
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * Gets the number of loads that failed
+     *
+     * @return load failure count
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount.get();
+    }
+
+    /**
+     * Gets the average load time
+     *
+     * @return average load time in milliseconds
+     */
+    public double getAverageLoadMillis() {
+        long loads = loadCount.get();
+        return loads == 0 ? 0.0 : totalLoadNanos.get() / (double) loads / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of entries evicted for size
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the fraction of lookups served from the cache
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+
+    /**
+     * Cached value with its load time
+     */
+    private static final class CacheEntry<V> {
+
+        /** Cached value */
+        private final V value;
+
+        /** System.nanoTime() when the value was loaded */
+        private final long loadedAt;
+
+        private CacheEntry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
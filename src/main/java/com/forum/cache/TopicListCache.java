@@ -0,0 +1,164 @@
+package com.forum.cache;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.Page;
+import com.forum.model.Topic;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shared read-through cache for the forum index topic listings and counters
+ * Entries expire after a TTL and are invalidated by the ForumService write paths
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class TopicListCache {
+
+    /** Cache key for the full topic list */
+    private static final String ALL_TOPICS_KEY = "all";
+
+    /** Cache key for the active topic count */
+    private static final String TOPIC_COUNT_KEY = "topics";
+
+    /** Cache key for the active user count */
+    private static final String USER_COUNT_KEY = "users";
+
+    /** Topic pages keyed by cursor token and page size */
+    private final ReadThroughCache<String, Page<Topic>> topicPages;
+
+    /** Full list of active topics */
+    private final ReadThroughCache<String, List<Topic>> allTopics;
+
+    /** Topic count for the index statistics */
+    private final ReadThroughCache<String, Integer> topicCount;
+
+    /** User count for the index statistics */
+    private final ReadThroughCache<String, Integer> userCount;
+
+    /**
+     * Private constructor; reads size and TTL from application.properties
+     */
+    private TopicListCache() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        int maxEntries = config.getIntProperty("cache.topics.maxEntries", 256);
+        long ttlMillis = config.getLongProperty("cache.topics.ttlMs", 30_000L);
+
+        this.topicPages = new ReadThroughCache<>("topicPages", maxEntries, ttlMillis);
+        this.allTopics = new ReadThroughCache<>("allTopics", 1, ttlMillis);
+        this.topicCount = new ReadThroughCache<>("topicCount", 1, ttlMillis);
+        this.userCount = new ReadThroughCache<>("userCount", 1, ttlMillis);
+
+        registerMetrics(MetricsRegistry.getInstance());
+    }
+
+    /**
+     * Exports the statistics of every cache, labelled by cache name
+     *
+     * @param metrics Registry to export to
+     */
+    private void registerMetrics(MetricsRegistry metrics) {
+        for (ReadThroughCache<String, ?> cache : getCaches()) {
+            String name = cache.getName();
+            metrics.registerGauge("forum_cache_entries", "Entries held by the cache", "cache", name, cache::size);
+            metrics.registerGauge("forum_cache_hits", "Cache hits", "cache", name, cache::getHitCount);
+            metrics.registerGauge("forum_cache_misses", "Cache misses", "cache", name, cache::getMissCount);
+            metrics.registerGauge("forum_cache_load_failures", "Failed cache loads", "cache", name,
+                    cache::getLoadFailureCount);
+            metrics.registerGauge("forum_cache_evictions", "Cache evictions", "cache", name, cache::getEvictionCount);
+        }
+    }
+
+    /**
+     * Gets the singleton instance of TopicListCache
+     *
+     * @return TopicListCache singleton instance
+     */
+    public static TopicListCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets a page of topics, loading it on a miss
+     *
+     * @param cursorToken Cursor token of the page (null for the first page)
+     * @param limit Page size
+     * @param loader Loads the page from the database
+     * @return Page of topics
+     */
+    public Page<Topic> getTopicsPage(String cursorToken, int limit, Supplier<Page<Topic>> loader) {
+        String key = (cursorToken == null ? "" : cursorToken) + ":" + limit;
+        return topicPages.get(key, () -> {
+            Page<Topic> page = loader.get();
+            return new Page<>(Collections.unmodifiableList(page.getItems()),
+                    page.getNextCursor(), page.getPrevCursor());
+        });
+    }
+
+    /**
+     * Gets all active topics, loading them on a miss
+     *
+     * @param loader Loads the topics from the database
+     * @return Unmodifiable list of topics
+     */
+    public List<Topic> getAllTopics(Supplier<List<Topic>> loader) {
+        return allTopics.get(ALL_TOPICS_KEY, () -> Collections.unmodifiableList(loader.get()));
+    }
+
+    /**
+     * Gets the active topic count, loading it on a miss
+     *
+     * @param loader Counts topics in the database
+     * @return Topic count
+     */
+    public int getTopicCount(Supplier<Integer> loader) {
+        return topicCount.get(TOPIC_COUNT_KEY, loader);
+    }
+
+    /**
+     * Gets the active user count, loading it on a miss
+     *
+     * @param loader Counts users in the database
+     * @return User count
+     */
+    public int getUserCount(Supplier<Integer> loader) {
+        return userCount.get(USER_COUNT_KEY, loader);
+    }
+
+    /**
+     * Drops every cached topic listing after a topic, comment or reply changes
+     */
+    public void invalidateTopics() {
+        topicPages.invalidateAll();
+        allTopics.invalidateAll();
+        topicCount.invalidateAll();
+    }
+
+    /**
+     * Drops the cached user count after a registration
+     */
+    public void invalidateUsers() {
+        userCount.invalidateAll();
+    }
+
+    /**
+     * Gets the underlying caches for statistics reporting
+     *
+     * @return list of caches
+     */
+    public List<ReadThroughCache<String, ?>> getCaches() {
+        return Arrays.asList(topicPages, allTopics, topicCount, userCount);
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final TopicListCache INSTANCE = new TopicListCache();
+    }
+}
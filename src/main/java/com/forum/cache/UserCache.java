@@ -0,0 +1,149 @@
+package com.forum.cache;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Shared read-through cache of user records keyed by user ID
+ * Serves session checks and author lookups. Cached records carry no password hash or
+ * reset token, so credential checks must load the user from the database. Within a
+ * request opened by {@link #beginRequest()}, each user is looked up at most once.
+ * Entries are invalidated by the UserService write paths and expire after a TTL
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UserCache {
+
+    /** Users looked up by the request on the current thread, or null outside a request */
+    private static final ThreadLocal<Map<Integer, Optional<User>>> REQUEST_MEMO = new ThreadLocal<>();
+
+    /** User records without credentials; an empty value records a missing or inactive user */
+    private final ReadThroughCache<Integer, Optional<User>> users;
+
+    /**
+     * Private constructor; reads size and TTL from application.properties
+     */
+    private UserCache() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.users = new ReadThroughCache<>("users",
+                config.getIntProperty("cache.users.maxEntries", 10_000),
+                config.getLongProperty("cache.users.ttlMs", 300_000L));
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        String name = users.getName();
+        metrics.registerGauge("forum_cache_entries", "Entries held by the cache", "cache", name, users::size);
+        metrics.registerGauge("forum_cache_hits", "Cache hits", "cache", name, users::getHitCount);
+        metrics.registerGauge("forum_cache_misses", "Cache misses", "cache", name, users::getMissCount);
+        metrics.registerGauge("forum_cache_load_failures", "Failed cache loads", "cache", name,
+                users::getLoadFailureCount);
+        metrics.registerGauge("forum_cache_evictions", "Cache evictions", "cache", name, users::getEvictionCount);
+    }
+
+    /**
+     * Gets the singleton instance of UserCache
+     *
+     * @return UserCache singleton instance
+     */
+    public static UserCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Opens the request memo on the current thread
+     */
+    public static void beginRequest() {
+        REQUEST_MEMO.set(new HashMap<>());
+    }
+
+    /**
+     * Closes the request memo on the current thread
+     */
+    public static void endRequest() {
+        REQUEST_MEMO.remove();
+    }
+
+    /**
+     * Gets a user, loading it on a miss
+     * Within a request, repeated lookups of the same user return the same copy
+     *
+     * @param userId User ID
+     * @param loader Loads the user from the database, returning null if not found
+     * @return Copy of the user without credentials, or null if not found
+     */
+    public User getUser(int userId, IntFunction<User> loader) {
+        Map<Integer, Optional<User>> memo = REQUEST_MEMO.get();
+        Optional<User> user = memo != null ? memo.get(userId) : null;
+
+        if (user == null) {
+            Optional<User> cached = users.get(userId,
+                    () -> Optional.ofNullable(withoutCredentials(loader.apply(userId))));
+            // Callers may modify what they get, so the shared entry is never handed out
+            user = cached.map(UserCache::withoutCredentials);
+            if (memo != null) {
+                memo.put(userId, user);
+            }
+        }
+
+        return user.orElse(null);
+    }
+
+    /**
+     * Drops a user after their record changes
+     *
+     * @param userId User ID
+     */
+    public void invalidate(int userId) {
+        users.invalidate(userId);
+        Map<Integer, Optional<User>> memo = REQUEST_MEMO.get();
+        if (memo != null) {
+            memo.remove(userId);
+        }
+    }
+
+    /**
+     * Gets the underlying cache for statistics reporting
+     *
+     * @return cache
+     */
+    public ReadThroughCache<Integer, Optional<User>> getCache() {
+        return users;
+    }
+
+    /**
+     * Copies a user, leaving out the password hash and reset token
+     *
+     * @param user User to copy, or null
+     * @return Copy, or null if user was null
+     */
+    private static User withoutCredentials(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        User copy = new User();
+        copy.setUserId(user.getUserId());
+        copy.setEmail(user.getEmail());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setPhone(user.getPhone());
+        copy.setDateRegistered(user.getDateRegistered());
+        copy.setLastLogin(user.getLastLogin());
+        copy.setActive(user.isActive());
+        return copy;
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final UserCache INSTANCE = new UserCache();
+    }
+}
@@ -0,0 +1,1217 @@
+package com.forum.config;
+
+import com.forum.metrics.LatencyHistogram;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool used behind DatabaseConfig.getConnection()
+ * Hands out proxied connections whose close() returns the physical connection to the pool
+ * Each physical connection keeps the statements prepared from {@link NamedStatement} SQL
+ * open in a small LRU cache, so closing one hands it back for the next borrower.
+ * Every statement handed out times its executes and counts the rows it returns or
+ * changes, reporting them per statement fingerprint through {@link StatementStats}
+ *
+ * @author Simphiwe Radebe
+ * @version 1.4
+ * @since 2026-10-18
+ */
+public class ConnectionPool {
+
+    /** Logger instance for pool operations */
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    /** Connections used within this window are handed out again without a validation ping */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    /** JDBC URL for new physical connections */
+    private final String url;
+
+    /** Database username */
+    private final String username;
+
+    /** Database password */
+    private final String password;
+
+    /** Minimum number of physical connections kept open */
+    private final int minSize;
+
+    /** Maximum number of physical connections */
+    private final int maxSize;
+
+    /** Idle time after which surplus connections are closed */
+    private final long idleTimeoutMillis;
+
+    /** Maximum time a caller waits for a connection */
+    private final long borrowTimeoutMillis;
+
+    /** Borrow duration after which a connection is reported as leaked (0 disables) */
+    private final long leakDetectionThresholdMillis;
+
+    /** Timeout passed to Connection.isValid() when validating on borrow */
+    private final int validationTimeoutSeconds;
+
+    /** Maximum number of prepared statements cached per connection (0 disables) */
+    private final int statementCacheSize;
+
+    /** Idle connections, most recently used first */
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+
+    /** Connections currently handed out */
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+
+    /** Permits bounding the number of connections in use */
+    private final Semaphore permits;
+
+    /** Background thread for eviction, top-up and leak detection */
+    private final ScheduledExecutorService housekeeper;
+
+    /** Number of open physical connections */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    /** Number of successful borrows */
+    private final AtomicLong borrowCount = new AtomicLong();
+
+    /** Accumulated time callers spent waiting for a connection */
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /** Longest time a caller spent waiting for a connection */
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /** Distribution of time callers spent waiting for a connection */
+    private final LatencyHistogram acquireTimes = new LatencyHistogram();
+
+    /** Distribution of time borrowers held a connection, from acquiring it to closing it */
+    private final LatencyHistogram holdTimes = new LatencyHistogram();
+
+    /** Number of borrows that timed out */
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /** Number of leaked connections reported */
+    private final AtomicLong leakCount = new AtomicLong();
+
+    /** Number of connections closed by eviction or failed validation */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /** Number of prepares served from a statement cache */
+    private final AtomicLong statementCacheHits = new AtomicLong();
+
+    /** Number of prepares of declared SQL that reached the driver */
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /** Whether the pool has been shut down */
+    private volatile boolean closed;
+
+    /**
+     * Creates a connection pool and schedules its housekeeping task
+     *
+     * @param url JDBC URL
+     * @param username Database username
+     * @param password Database password
+     * @param minSize Minimum number of connections kept open
+     * @param maxSize Maximum number of connections
+     * @param idleTimeoutMillis Idle time before surplus connections are closed
+     * @param borrowTimeoutMillis Maximum wait for a connection
+     * @param leakDetectionThresholdMillis Borrow duration reported as a leak (0 disables)
+     * @param validationTimeoutSeconds Timeout for validation on borrow
+     * @param housekeepingIntervalMillis Interval between housekeeping runs
+     * @param statementCacheSize Prepared statements cached per connection (0 disables)
+     */
+    public ConnectionPool(String url, String username, String password,
+                          int minSize, int maxSize, long idleTimeoutMillis,
+                          long borrowTimeoutMillis, long leakDetectionThresholdMillis,
+                          int validationTimeoutSeconds, long housekeepingIntervalMillis,
+                          int statementCacheSize) {
+        if (maxSize <= 0 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Invalid statement cache size: " + statementCacheSize);
+        }
+
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0,
+                housekeepingIntervalMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Connection pool created (min=" + minSize + ", max=" + maxSize +
+                ", statementCacheSize=" + statementCacheSize + ")");
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle
+     *
+     * @return Pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection becomes available within the borrow timeout
+     */
+    public Connection borrowConnection() throws SQLException {
+        return borrowConnection(null);
+    }
+
+    /**
+     * Borrows a connection and times its use
+     * The time from the borrow request until close() is recorded in the given
+     * histogram, so it covers any wait for a connection plus all work done on it
+     *
+     * @param useTimer Histogram receiving the use time, or null for none
+     * @return Pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection becomes available within the borrow timeout
+     */
+    public Connection borrowConnection(LatencyHistogram useTimer) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + borrowTimeoutMillis +
+                        "ms waiting for a database connection (active=" + borrowedConnections.size() +
+                        ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                discard(pooled);
+            }
+
+            if (pooled == null) {
+                pooled = openConnection();
+            }
+
+            long acquiredAt = System.nanoTime();
+            recordWait(acquiredAt - start);
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakDetectionThresholdMillis > 0
+                    ? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+                    : null;
+            pooled.leakReported = false;
+            borrowedConnections.add(pooled);
+
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandle(pooled, useTimer, start, acquiredAt));
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Shuts the pool down, closing idle connections immediately and borrowed ones on return
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+
+        LOGGER.info("Connection pool shut down (" + borrowedConnections.size() +
+                " connections still borrowed)");
+    }
+
+    /**
+     * Returns a borrowed connection to the pool
+     *
+     * @param pooled Connection being returned
+     */
+    private void release(PooledConnection pooled) {
+        borrowedConnections.remove(pooled);
+
+        try {
+            if (closed || pooled.broken || pooled.connection.isClosed()) {
+                discard(pooled);
+                return;
+            }
+
+            // Undo any transaction state left behind by the borrower
+            pooled.releaseStatements();
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+            pooled.connection.clearWarnings();
+
+            pooled.lastUsedAt = System.currentTimeMillis();
+            idleConnections.offerFirst(pooled);
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding connection that failed to reset", e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Validates an idle connection before handing it out
+     *
+     * @param pooled Idle connection
+     * @return true if the connection can be reused, false otherwise
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsedAt < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+
+        try {
+            return pooled.connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new physical connection
+     *
+     * @return Pooled connection wrapper
+     * @throws SQLException if the connection cannot be established
+     */
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(url, username, password);
+            totalConnections.incrementAndGet();
+            LOGGER.fine("Opened new pooled database connection");
+            return new PooledConnection(connection, statementCacheSize);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Failed to establish database connection", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the pool's accounting
+     *
+     * @param pooled Connection to discard
+     */
+    private void discard(PooledConnection pooled) {
+        evictionCount.incrementAndGet();
+        closeQuietly(pooled);
+    }
+
+    /**
+     * Closes a physical connection, ignoring errors
+     *
+     * @param pooled Connection to close
+     */
+    private void closeQuietly(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Records how long a borrower waited for a connection
+     *
+     * @param waitNanos Wait time in nanoseconds
+     */
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        acquireTimes.record(waitNanos);
+    }
+
+    /**
+     * Evicts idle connections, tops the pool up to its minimum size and reports leaks
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evict surplus connections that have been idle too long
+            Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+            while (iterator.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.lastUsedAt > idleTimeoutMillis && idleConnections.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+
+            // Keep the minimum number of connections warm, holding a permit for each one opened
+            // so that concurrent borrowers opening their own cannot take the pool past maxSize
+            while (!closed && totalConnections.get() < minSize && permits.tryAcquire()) {
+                try {
+                    idleConnections.offerLast(openConnection());
+                } finally {
+                    permits.release();
+                }
+            }
+
+            // Report connections held longer than the leak threshold
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowedConnections) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMillis) {
+                        pooled.leakReported = true;
+                        leakCount.incrementAndGet();
+                        LOGGER.log(Level.WARNING, "Possible connection leak: connection held for " +
+                                (now - pooled.borrowedAt) + "ms", pooled.borrowSite);
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping could not open a connection", e);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * Gets the number of connections currently borrowed
+     *
+     * @return active connection count
+     */
+    public int getActiveConnections() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * Gets the number of idle connections
+     *
+     * @return idle connection count
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Gets the number of open physical connections
+     *
+     * @return total connection count
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Gets the maximum pool size
+     *
+     * @return maximum number of connections
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of callers currently waiting for a connection
+     *
+     * @return waiting thread count
+     */
+    public int getPendingBorrowers() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Gets the number of successful borrows
+     *
+     * @return borrow count
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * Gets the average time callers waited for a connection
+     *
+     * @return average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0.0 : totalWaitNanos.get() / (double) borrows / 1_000_000.0;
+    }
+
+    /**
+     * Gets the longest time a caller waited for a connection
+     *
+     * @return maximum wait in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of borrows that timed out
+     *
+     * @return timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Gets the number of leaked connections reported
+     *
+     * @return leak count
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    /**
+     * Gets the number of connections closed by eviction or failed validation
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the number of prepares served from a statement cache
+     *
+     * @return statement cache hit count
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    /**
+     * Gets the number of prepares of declared SQL that reached the driver
+     *
+     * @return statement cache miss count
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Gets the share of prepares of declared SQL served from a statement cache
+     *
+     * @return hit ratio between 0 and 1, or 0 before the first prepare
+     */
+    public double getStatementCacheHitRatio() {
+        long hits = statementCacheHits.get();
+        long total = hits + statementCacheMisses.get();
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+
+    /**
+     * Gets the distribution of time callers waited for a connection
+     *
+     * @return acquire time histogram
+     */
+    public LatencyHistogram getAcquireHistogram() {
+        return acquireTimes;
+    }
+
+    /**
+     * Gets the distribution of time borrowers held a connection
+     *
+     * @return hold time histogram
+     */
+    public LatencyHistogram getHoldHistogram() {
+        return holdTimes;
+    }
+
+    /**
+     * Physical connection plus its pool bookkeeping
+     * The statement cache is only touched by the thread that has the connection borrowed
+     */
+    private static final class PooledConnection {
+
+        /** Underlying JDBC connection */
+        private final Connection connection;
+
+        /** Open prepared statements by SQL, least recently used first */
+        private final LinkedHashMap<String, CachedStatement> statements;
+
+        /** Number of cached statements currently handed out */
+        private int statementsInUse;
+
+        /** Last time the connection was returned to the pool */
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        /** Time the connection was last borrowed */
+        private volatile long borrowedAt;
+
+        /** Stack captured at borrow time for leak reports */
+        private volatile Throwable borrowSite;
+
+        /** Whether a leak has already been reported for the current borrow */
+        private volatile boolean leakReported;
+
+        /** Whether the connection failed with a connection-level error */
+        private volatile boolean broken;
+
+        private PooledConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.statements = new StatementLru(statementCacheSize);
+        }
+
+        /**
+         * Frees cached statements the borrower did not close
+         * Their handles stay unusable because the connection handle has been returned
+         */
+        private void releaseStatements() {
+            if (statementsInUse == 0) {
+                return;
+            }
+            for (CachedStatement cached : statements.values()) {
+                cached.inUse = false;
+            }
+            statementsInUse = 0;
+        }
+    }
+
+    /**
+     * Access-ordered statement map that closes the least recently used statement when full
+     */
+    private static final class StatementLru extends LinkedHashMap<String, CachedStatement> {
+
+        /** Serialization version; the map is never serialized */
+        private static final long serialVersionUID = 1L;
+
+        /** Maximum number of statements kept */
+        private final int capacity;
+
+        private StatementLru(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            CachedStatement cached = eldest.getValue();
+            cached.evicted = true;
+            if (!cached.inUse) {
+                cached.closeQuietly();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Prepared statement kept open in a connection's statement cache
+     */
+    private static final class CachedStatement {
+
+        /** Physical prepared statement */
+        private final PreparedStatement statement;
+
+        /** SQL the statement was prepared with */
+        private final String sql;
+
+        /** Execution statistics of the statement's SQL */
+        private final StatementStats stats;
+
+        /** Whether a borrower currently holds the statement */
+        private boolean inUse;
+
+        /** Whether the statement has left the cache and must be closed once returned */
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+            this.stats = StatementStats.forSql(sql);
+        }
+
+        /**
+         * Closes the physical statement, ignoring errors
+         */
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error closing cached statement", e);
+            }
+        }
+    }
+
+    /**
+     * Per-borrow handle that intercepts close() and guards against use after return
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+
+        /** Pooled connection backing this handle */
+        private final PooledConnection pooled;
+
+        /** Histogram receiving the use time, or null */
+        private final LatencyHistogram useTimer;
+
+        /** System.nanoTime() at the borrow request */
+        private final long requestedAt;
+
+        /** System.nanoTime() once the connection was acquired */
+        private final long acquiredAt;
+
+        /** Whether this handle has been returned to the pool */
+        private boolean returned;
+
+        private ConnectionHandle(PooledConnection pooled, LatencyHistogram useTimer, long requestedAt,
+                                 long acquiredAt) {
+            this.pooled = pooled;
+            this.useTimer = useTimer;
+            this.requestedAt = requestedAt;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                        holdTimes.recordSince(acquiredAt);
+                        if (useTimer != null) {
+                            useTimer.recordSince(requestedAt);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.connection + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return prepareStatement(proxy, method, args);
+                case "prepareCall":
+                    return instrument(proxy, method, (Statement) delegate(pooled.connection, method, args),
+                            (String) args[0]);
+                case "createStatement":
+                    return instrument(proxy, method, (Statement) delegate(pooled.connection, method, args),
+                            null);
+                default:
+                    return delegate(pooled.connection, method, args);
+            }
+        }
+
+        /**
+         * Prepares a statement, serving declared SQL from the connection's statement cache
+         * Only the plain prepareStatement(String) form is cached; a statement already held
+         * by the borrower is prepared again without caching
+         *
+         * @param proxy Connection proxy handed to the borrower
+         * @param method prepareStatement overload being called
+         * @param args Call arguments, SQL first
+         * @return Prepared statement
+         * @throws Throwable whatever the driver throws
+         */
+        private Object prepareStatement(Object proxy, Method method, Object[] args) throws Throwable {
+            String sql = (String) args[0];
+            NamedStatement named = NamedStatement.forSql(sql);
+            boolean cacheable = named != null && args.length == 1 && statementCacheSize > 0;
+
+            CachedStatement cached = cacheable ? pooled.statements.get(sql) : null;
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.incrementAndGet();
+                named.recordHit();
+                return checkOut(proxy, cached);
+            }
+
+            long start = System.nanoTime();
+            Object statement = delegate(pooled.connection, method, args);
+            long prepareNanos = System.nanoTime() - start;
+            if (named == null) {
+                NamedStatement.recordUnnamedPrepare(prepareNanos);
+                return instrument(proxy, method, (Statement) statement, sql);
+            }
+
+            named.recordPrepare(prepareNanos, cacheable);
+            if (!cacheable) {
+                return instrument(proxy, method, (Statement) statement, sql);
+            }
+            statementCacheMisses.incrementAndGet();
+            if (cached != null) {
+                // The cached copy is held by this borrower; this one is closed normally
+                return instrument(proxy, method, (Statement) statement, sql);
+            }
+            cached = new CachedStatement((PreparedStatement) statement, sql);
+            pooled.statements.put(sql, cached);
+            return checkOut(proxy, cached);
+        }
+
+        /**
+         * Hands a cached statement to the borrower
+         *
+         * @param proxy Connection proxy handed to the borrower
+         * @param cached Cached statement
+         * @return Statement proxy whose close() returns the statement to the cache
+         */
+        private PreparedStatement checkOut(Object proxy, CachedStatement cached) {
+            cached.inUse = true;
+            pooled.statementsInUse++;
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandle(this, (Connection) proxy, cached.statement, cached.sql, cached.stats, cached));
+        }
+
+        /**
+         * Wraps a statement that is not cached so its executes are timed
+         *
+         * @param proxy Connection proxy handed to the borrower
+         * @param method Connection method that created the statement; its return type is the proxy's interface
+         * @param statement Physical statement
+         * @param sql SQL it was prepared with, or null for a plain statement
+         * @return Statement proxy
+         */
+        private Statement instrument(Object proxy, Method method, Statement statement, String sql) {
+            StatementStats stats = sql != null ? StatementStats.forSql(sql) : null;
+            return (Statement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()},
+                    new StatementHandle(this, (Connection) proxy, statement, sql, stats, null));
+        }
+
+        /**
+         * Takes back a cached statement the borrower closed
+         * Parameters are cleared so values do not outlive the call; statements evicted
+         * meanwhile, or on a broken connection, are closed
+         *
+         * @param cached Cached statement
+         */
+        private void checkIn(CachedStatement cached) {
+            if (returned) {
+                // release() already freed it, and it may belong to the next borrower by now
+                return;
+            }
+            cached.inUse = false;
+            pooled.statementsInUse--;
+
+            if (cached.evicted || pooled.broken) {
+                cached.closeQuietly();
+                return;
+            }
+            try {
+                cached.statement.clearParameters();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Dropping cached statement that failed to reset", e);
+                pooled.statements.values().remove(cached);
+                cached.closeQuietly();
+            }
+        }
+
+        /**
+         * Calls a JDBC method, marking the connection broken on connection-level errors
+         *
+         * @param target Physical connection or statement
+         * @param method Method to call
+         * @param args Call arguments
+         * @return Method result
+         * @throws Throwable whatever the driver throws
+         */
+        private Object delegate(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String sqlState = ((SQLException) cause).getSQLState();
+                    // SQLSTATE class 08 means the connection itself is unusable
+                    if (sqlState != null && sqlState.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * Borrower's view of a statement
+     * Times each execute and records the types of bound parameters for the slow-query log.
+     * Query results are wrapped to count the rows read, and the execute is recorded once the
+     * result is closed. Closing a cached statement hands it back to the cache
+     */
+    private static final class StatementHandle implements InvocationHandler {
+
+        /** Connection handle the statement was prepared through */
+        private final ConnectionHandle owner;
+
+        /** Connection proxy returned from getConnection() */
+        private final Connection connection;
+
+        /** Physical statement */
+        private final Statement statement;
+
+        /** Cached statement backing this handle, or null if the statement is closed normally */
+        private final CachedStatement cached;
+
+        /** SQL the statement was prepared with, or null for a plain statement */
+        private final String sql;
+
+        /** Statistics of the prepared SQL, or null for a plain statement */
+        private final StatementStats stats;
+
+        /** Bound parameters by index: the setter name, or "set" plus the class for setObject */
+        private String[] parameterTypes;
+
+        /** Length of each bound string or byte array, or -1 */
+        private int[] parameterLengths;
+
+        /** Rows added to the current batch */
+        private int batchSize;
+
+        /** First SQL added to the batch of a plain statement */
+        private String batchSql;
+
+        /** Result of the last query, recorded when it is closed */
+        private ResultHandle openResult;
+
+        /** Whether the borrower has closed this handle */
+        private boolean closed;
+
+        private StatementHandle(ConnectionHandle owner, Connection connection, Statement statement, String sql,
+                                StatementStats stats, CachedStatement cached) {
+            this.owner = owner;
+            this.connection = connection;
+            this.statement = statement;
+            this.sql = sql;
+            this.stats = stats;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        finishResult();
+                        if (cached != null) {
+                            owner.checkIn(cached);
+                        } else {
+                            statement.close();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || owner.returned || statement.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return (cached != null ? "CachedStatement[" : "PooledStatement[") + statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed || owner.returned) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            if ("clearParameters".equals(name)) {
+                parameterTypes = null;
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+                if (args != null && batchSql == null) {
+                    batchSql = (String) args[0];
+                }
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], name, args[1]);
+            }
+            return owner.delegate(statement, method, args);
+        }
+
+        /**
+         * Runs an execute method, timing it and recording its row count
+         *
+         * @param proxy Statement proxy handed to the borrower
+         * @param method Execute method being called
+         * @param args Call arguments; the SQL first for plain statements
+         * @return Method result, with query results wrapped to count rows
+         * @throws Throwable whatever the driver throws
+         */
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            // The driver closes the previous result on re-execute
+            finishResult();
+
+            String executedSql = sql;
+            if (executedSql == null) {
+                executedSql = args != null && args.length > 0 ? (String) args[0] : batchSql;
+            }
+            StatementStats executedStats = stats != null ? stats : StatementStats.forSql(String.valueOf(executedSql));
+            int batchRows = -1;
+            if (method.getName().endsWith("Batch")) {
+                // The driver empties the batch whether or not it succeeds
+                batchRows = batchSize;
+                batchSize = 0;
+                batchSql = null;
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = owner.delegate(statement, method, args);
+            } catch (Throwable e) {
+                long elapsed = System.nanoTime() - start;
+                executedStats.record(elapsed, -1L, true, describeParameters(elapsed, batchRows), executedSql);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                openResult = new ResultHandle(proxy, (ResultSet) result, executedStats, executedSql, elapsed,
+                        describeParameters(elapsed, -1));
+                return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, openResult);
+            }
+            executedStats.record(elapsed, rowCount(result), false, describeParameters(elapsed, batchRows),
+                    executedSql);
+            return result;
+        }
+
+        /**
+         * Records the open query result, if any, with the rows read so far
+         */
+        private void finishResult() {
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+
+        /**
+         * Records the type of a bound parameter
+         *
+         * @param index Parameter index, starting at 1
+         * @param setter Setter name, such as "setInt"
+         * @param value Bound value
+         */
+        private void bind(int index, String setter, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (parameterTypes == null || parameterTypes.length < index) {
+                int size = Math.max(index, parameterTypes == null ? 8 : parameterTypes.length * 2);
+                String[] types = new String[size];
+                int[] lengths = new int[size];
+                if (parameterTypes != null) {
+                    System.arraycopy(parameterTypes, 0, types, 0, parameterTypes.length);
+                    System.arraycopy(parameterLengths, 0, lengths, 0, parameterLengths.length);
+                }
+                parameterTypes = types;
+                parameterLengths = lengths;
+            }
+
+            String type = setter;
+            int length = -1;
+            if (value == null) {
+                type = "setNull";
+            } else if (value instanceof String) {
+                length = ((String) value).length();
+            } else if (value instanceof byte[]) {
+                length = ((byte[]) value).length;
+            } else if ("setObject".equals(setter)) {
+                type = "set" + value.getClass().getSimpleName();
+            }
+            parameterTypes[index - 1] = type;
+            parameterLengths[index - 1] = length;
+        }
+
+        /**
+         * Describes the bound parameters of a slow execute
+         *
+         * @param elapsedNanos Time the execute took
+         * @param batchRows Rows in the batch that ran, or -1 if the execute was not a batch
+         * @return Parameter types such as "[int, string(12)]", or null if the execute was not slow
+         */
+        private String describeParameters(long elapsedNanos, int batchRows) {
+            if (!StatementStats.isSlow(elapsedNanos)) {
+                return null;
+            }
+
+            StringBuilder description = new StringBuilder("[");
+            if (parameterTypes != null) {
+                int count = parameterTypes.length;
+                while (count > 0 && parameterTypes[count - 1] == null) {
+                    count--;
+                }
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        description.append(", ");
+                    }
+                    String type = parameterTypes[i];
+                    description.append(type == null ? "unset" : type.substring(3).toLowerCase());
+                    if (type != null && parameterLengths[i] >= 0) {
+                        description.append('(').append(parameterLengths[i]).append(')');
+                    }
+                }
+            }
+            description.append(']');
+            if (batchRows >= 0) {
+                description.append(" x ").append(batchRows).append(" rows");
+            }
+            return description.toString();
+        }
+
+        /**
+         * Counts the rows an update or batch changed
+         *
+         * @param result Result of an execute method
+         * @return Rows changed, or -1 if the driver did not say
+         */
+        private static long rowCount(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            long rows = -1L;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows = count >= 0 ? Math.max(rows, 0L) + count : rows;
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows = count >= 0 ? Math.max(rows, 0L) + count : rows;
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Borrower's view of a query result, counting the rows read
+         */
+        private final class ResultHandle implements InvocationHandler {
+
+            /** Statement proxy returned from getStatement() */
+            private final Object statementProxy;
+
+            /** Physical result set */
+            private final ResultSet resultSet;
+
+            /** Statistics the query is recorded under */
+            private final StatementStats executedStats;
+
+            /** SQL that was executed */
+            private final String executedSql;
+
+            /** Time the execute took */
+            private final long elapsedNanos;
+
+            /** Bound parameter types, or null if the execute was not slow */
+            private final String parameters;
+
+            /** Rows read so far */
+            private long rows;
+
+            /** Whether the query has been recorded */
+            private boolean finished;
+
+            private ResultHandle(Object statementProxy, ResultSet resultSet, StatementStats executedStats,
+                                 String executedSql, long elapsedNanos, String parameters) {
+                this.statementProxy = statementProxy;
+                this.resultSet = resultSet;
+                this.executedStats = executedStats;
+                this.executedSql = executedSql;
+                this.elapsedNanos = elapsedNanos;
+                this.parameters = parameters;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "next":
+                        Object hasRow = owner.delegate(resultSet, method, args);
+                        if (Boolean.TRUE.equals(hasRow)) {
+                            rows++;
+                        }
+                        return hasRow;
+                    case "close":
+                        finish();
+                        return owner.delegate(resultSet, method, args);
+                    case "getStatement":
+                        return statementProxy;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledResultSet[" + resultSet + "]";
+                    default:
+                        return owner.delegate(resultSet, method, args);
+                }
+            }
+
+            /**
+             * Records the query with the rows read, once
+             */
+            private void finish() {
+                if (!finished) {
+                    finished = true;
+                    executedStats.record(elapsedNanos, rows, false, parameters, executedSql);
+                    if (openResult == this) {
+                        openResult = null;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.forum.config;
 
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Database configuration class for managing database connections
- * Implements singleton pattern for efficient connection management
+ * Implements singleton pattern and hands out connections from a bounded pool
+ * Writes go to the primary; when read replicas are configured, read-only DAO
+ * operations go to a healthy replica unless the current session wrote recently
  *
  * @author Simphiwe Radebe
- * @version 1.2
+ * @version 1.9
  * @since 2025-06-03
  */
 public class DatabaseConfig {
@@ -19,67 +30,287 @@ public class DatabaseConfig {
     /** Logger instance for database operations */
     private static final Logger LOGGER = Logger.getLogger(DatabaseConfig.class.getName());
 
-    /** Database connection URL */
-    private static final String DATABASE_URL = "jdbc:mysql://localhost:3306/forum_db";
+    /** Classpath resource holding database settings */
+    private static final String PROPERTIES_FILE = "application.properties";
+
+    /** Default database connection URL, with server-side prepared statements and the driver's statement cache */
+    private static final String DATABASE_URL = "jdbc:mysql://localhost:3306/forum_db" +
+            "?useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048";
 
-    /** Database username */
+    /** Default database username */
     private static final String DATABASE_USERNAME = "forum_user";
 
-    /** Database password */
+    /** Default database password */
     private static final String DATABASE_PASSWORD = "forum_password_2025";
 
-    /** MySQL JDBC driver class name */
+    /** Default MySQL JDBC driver class name */
     private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
 
-    /** Singleton instance */
-    private static DatabaseConfig instance;
+    /** Loaded configuration properties */
+    private final Properties properties;
+
+    /** Connection pool for the primary database, backing getConnection() */
+    private final ConnectionPool connectionPool;
+
+    /** Read replica router, or null when every query goes to the primary */
+    private final ReplicaRouter replicaRouter;
+
+    /** How long a session's reads stay on the primary after it borrows a primary connection */
+    private final long readYourWritesWindowMillis;
+
+    /** Reads sent to the primary because the session wrote recently */
+    private final Counter pinnedReads;
+
+    /** Reads sent to the primary because no replica was available */
+    private final Counter fallbackReads;
+
+    /** Reads sent to the primary because their result fills a shared cache */
+    private final Counter sharedReads;
+
+    /** Per-operation DAO latency, measured from borrowing a connection to returning it */
+    private final MetricFamily<LatencyHistogram> operationLatency;
 
     /**
      * Private constructor to prevent direct instantiation
-     * Loads the MySQL JDBC driver
+     * Loads the JDBC driver and creates the connection pools
      */
     private DatabaseConfig() {
+        this.properties = loadProperties();
+
+        String driver = getProperty("db.driver", JDBC_DRIVER);
         try {
-            Class.forName(JDBC_DRIVER);
-            LOGGER.info("MySQL JDBC Driver loaded successfully");
+            Class.forName(driver);
+            LOGGER.info("JDBC Driver loaded successfully: " + driver);
         } catch (ClassNotFoundException e) {
-            LOGGER.log(Level.SEVERE, "Failed to load MySQL JDBC Driver", e);
+            LOGGER.log(Level.SEVERE, "Failed to load JDBC Driver: " + driver, e);
             throw new RuntimeException("Database driver not found", e);
         }
+
+        String username = getProperty("db.username", DATABASE_USERNAME);
+        String password = getProperty("db.password", DATABASE_PASSWORD);
+        StatementStats.configure(getLongProperty("db.slowQuery.thresholdMs", 200L));
+        this.connectionPool = createPool(getProperty("db.url", DATABASE_URL), username, password,
+                getIntProperty("db.pool.minSize", 2), getIntProperty("db.pool.maxSize", 20));
+        this.replicaRouter = createReplicaRouter(username, password);
+        this.readYourWritesWindowMillis = getLongProperty("db.readYourWritesWindowMs", 5_000L);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.operationLatency = metrics.histogramFamily("forum_dao_operation_seconds",
+                "DAO method latency including connection acquisition", "operation");
+        MetricFamily<Counter> reads = metrics.counterFamily("forum_db_reads_total",
+                "Read-only DAO operations by the database that served them", "target");
+        this.pinnedReads = reads.get("primary-pinned");
+        this.fallbackReads = reads.get("primary-fallback");
+        this.sharedReads = reads.get("primary-shared");
+        registerPoolMetrics(metrics);
+    }
+
+    /**
+     * Creates a connection pool with the db.pool.* settings
+     *
+     * @param url JDBC URL
+     * @param username Database username
+     * @param password Database password
+     * @param minSize Minimum number of connections kept open
+     * @param maxSize Maximum number of connections
+     * @return Connection pool
+     */
+    private ConnectionPool createPool(String url, String username, String password, int minSize, int maxSize) {
+        return new ConnectionPool(url, username, password, minSize, maxSize,
+                getLongProperty("db.pool.idleTimeoutMs", 600_000L),
+                getLongProperty("db.pool.borrowTimeoutMs", 5_000L),
+                getLongProperty("db.pool.leakDetectionThresholdMs", 60_000L),
+                getIntProperty("db.pool.validationTimeoutSeconds", 2),
+                getLongProperty("db.pool.housekeepingIntervalMs", 30_000L),
+                getIntProperty("db.pool.statementCacheSize", 64));
+    }
+
+    /**
+     * Creates one pool per URL in db.replicas.urls and a router over them
+     * Replica credentials and pool sizes default to the primary's
+     *
+     * @param primaryUsername Primary database username
+     * @param primaryPassword Primary database password
+     * @return Replica router, or null if no replicas are configured
+     */
+    private ReplicaRouter createReplicaRouter(String primaryUsername, String primaryPassword) {
+        String urls = getProperty("db.replicas.urls", "");
+        if (urls.isEmpty()) {
+            return null;
+        }
+
+        ReplicaRouter.Selection selection;
+        try {
+            selection = ReplicaRouter.Selection.valueOf(
+                    getProperty("db.replicas.selection", "ROUND_ROBIN").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid db.replicas.selection, using ROUND_ROBIN");
+            selection = ReplicaRouter.Selection.ROUND_ROBIN;
+        }
+
+        String username = getProperty("db.replicas.username", primaryUsername);
+        String password = getProperty("db.replicas.password", primaryPassword);
+        int minSize = getIntProperty("db.replicas.pool.minSize", getIntProperty("db.pool.minSize", 2));
+        int maxSize = getIntProperty("db.replicas.pool.maxSize", getIntProperty("db.pool.maxSize", 20));
+
+        Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+        for (String url : urls.split(",")) {
+            if (!url.trim().isEmpty()) {
+                pools.put("replica-" + (pools.size() + 1),
+                        createPool(url.trim(), username, password, minSize, maxSize));
+            }
+        }
+        return new ReplicaRouter(pools, selection,
+                getLongProperty("db.replicas.healthCheckIntervalMs", 5_000L),
+                getIntProperty("db.pool.validationTimeoutSeconds", 2));
+    }
+
+    /**
+     * Exports the connection pool statistics
+     *
+     * @param metrics Registry to export to
+     */
+    private void registerPoolMetrics(MetricsRegistry metrics) {
+        ConnectionPool pool = connectionPool;
+        metrics.registerHistogram("forum_db_connection_acquire_seconds",
+                "Time spent waiting to borrow a pooled connection", pool.getAcquireHistogram());
+        metrics.registerHistogram("forum_db_connection_hold_seconds",
+                "Time borrowers held a pooled connection before closing it", pool.getHoldHistogram());
+        metrics.registerGauge("forum_db_connections_active", "Borrowed connections", pool::getActiveConnections);
+        metrics.registerGauge("forum_db_connections_idle", "Idle pooled connections", pool::getIdleConnections);
+        metrics.registerGauge("forum_db_connections_max", "Maximum pool size", pool::getMaxSize);
+        metrics.registerGauge("forum_db_connections_pending", "Callers waiting for a connection",
+                pool::getPendingBorrowers);
+        metrics.registerGauge("forum_db_connection_timeouts", "Borrows that timed out", pool::getTimeoutCount);
+        metrics.registerGauge("forum_db_connection_leaks", "Connections reported as leaked", pool::getLeakCount);
+        metrics.registerGauge("forum_db_statement_cache_hit_ratio",
+                "Share of declared statements served from a connection's statement cache",
+                pool::getStatementCacheHitRatio);
+
+        if (replicaRouter != null) {
+            for (ReplicaRouter.Replica replica : replicaRouter.getReplicas()) {
+                metrics.registerGauge("forum_db_replica_healthy", "Whether a read replica is in rotation",
+                        "replica", replica.getName(), () -> replica.isHealthy() ? 1 : 0);
+                metrics.registerGauge("forum_db_replica_connections_active", "Borrowed read replica connections",
+                        "replica", replica.getName(), replica.getPool()::getActiveConnections);
+            }
+        }
     }
 
     /**
      * Gets the singleton instance of DatabaseConfig
+     * Every DAO call goes through here, so the lookup takes no lock; a synchronized
+     * method would also pin a virtual thread to its carrier while the first call
+     * opens the connection pool
      *
      * @return DatabaseConfig singleton instance
      */
-    public static synchronized DatabaseConfig getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConfig();
-        }
-        return instance;
+    public static DatabaseConfig getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
-     * Establishes and returns a database connection
+     * Borrows a connection to the primary database from the pool
+     * Closing the returned connection hands it back to the pool. Within a request,
+     * the session's reads then stay on the primary for the read-your-writes window
      *
      * @return Connection object to the database
-     * @throws SQLException if connection cannot be established
+     * @throws SQLException if no connection is available within the borrow timeout
      */
     public Connection getConnection() throws SQLException {
+        pinToPrimary();
         try {
-            Connection connection = DriverManager.getConnection(
-                    DATABASE_URL, DATABASE_USERNAME, DATABASE_PASSWORD);
-            LOGGER.info("Database connection established successfully");
+            return connectionPool.borrowConnection();
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Failed to obtain database connection", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows a connection to the primary database on behalf of a named DAO operation
+     * The time until the connection is closed is recorded as that operation's latency.
+     * Use this for writes and for reads that must see the latest committed data
+     *
+     * @param operation Operation name, such as "TopicDAO.createTopic"; use a constant so lookups do not allocate
+     * @return Connection object to the database
+     * @throws SQLException if no connection is available within the borrow timeout
+     */
+    public Connection getConnection(String operation) throws SQLException {
+        pinToPrimary();
+        return borrowPrimary(operation);
+    }
+
+    /**
+     * Borrows a connection for a read-only DAO operation
+     * Goes to a healthy read replica, or to the primary when none is configured or
+     * available, or when the session wrote within the read-your-writes window
+     *
+     * @param operation Operation name, such as "TopicDAO.getTopicById"; use a constant so lookups do not allocate
+     * @return Connection object to a replica or the primary
+     * @throws SQLException if no connection is available within the borrow timeout
+     */
+    public Connection getReadConnection(String operation) throws SQLException {
+        if (replicaRouter == null) {
+            return borrowPrimary(operation);
+        }
+        if (ReadConsistency.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return borrowPrimary(operation);
+        }
+
+        Connection connection = replicaRouter.borrowConnection(operationLatency.get(operation));
+        if (connection != null) {
             return connection;
+        }
+        fallbackReads.increment();
+        return borrowPrimary(operation);
+    }
+
+    /**
+     * Borrows a primary connection for a read whose result fills a shared cache
+     * A replica could still return the rows from before a write that just invalidated the
+     * cache, and the cache would then serve them to everyone until they expire. Unlike
+     * {@link #getConnection(String)}, this does not keep the session's other reads on the primary
+     *
+     * @param operation Operation name, such as "TopicDAO.getAllTopics"; use a constant so lookups do not allocate
+     * @return Connection object to the primary
+     * @throws SQLException if no connection is available within the borrow timeout
+     */
+    public Connection getSharedReadConnection(String operation) throws SQLException {
+        if (replicaRouter != null) {
+            sharedReads.increment();
+        }
+        return borrowPrimary(operation);
+    }
+
+    /**
+     * Borrows a primary connection timed as a named operation
+     *
+     * @param operation Operation name
+     * @return Connection object to the primary
+     * @throws SQLException if no connection is available within the borrow timeout
+     */
+    private Connection borrowPrimary(String operation) throws SQLException {
+        try {
+            return connectionPool.borrowConnection(operationLatency.get(operation));
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Failed to establish database connection", e);
+            LOGGER.log(Level.SEVERE, "Failed to obtain database connection for " + operation, e);
             throw e;
         }
     }
 
     /**
-     * Safely closes a database connection
+     * Keeps the current request's reads on the primary after it borrows a primary connection
+     */
+    private void pinToPrimary() {
+        if (replicaRouter != null) {
+            ReadConsistency.recordWrite(readYourWritesWindowMillis);
+        }
+    }
+
+    /**
+     * Returns a database connection to the pool
      *
      * @param connection Connection to close
      */
@@ -87,9 +318,8 @@ public class DatabaseConfig {
         if (connection != null) {
             try {
                 connection.close();
-                LOGGER.info("Database connection closed successfully");
             } catch (SQLException e) {
-                LOGGER.log(Level.WARNING, "Error closing database connection", e);
+                LOGGER.log(Level.WARNING, "Error returning database connection to pool", e);
             }
         }
     }
@@ -107,4 +337,107 @@ public class DatabaseConfig {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the primary connection pool for statistics reporting
+     *
+     * @return ConnectionPool instance
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Gets the read replica router for statistics reporting
+     *
+     * @return ReplicaRouter instance, or null when no replicas are configured
+     */
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    /**
+     * Shuts down the connection pools
+     */
+    public void shutdown() {
+        connectionPool.shutdown();
+        if (replicaRouter != null) {
+            replicaRouter.shutdown();
+        }
+    }
+
+    /**
+     * Gets a configuration value; system properties override application.properties
+     *
+     * @param key Property key
+     * @param defaultValue Value used when the key is not set
+     * @return Property value
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Gets an integer configuration value
+     *
+     * @param key Property key
+     * @param defaultValue Value used when the key is not set or invalid
+     * @return Property value
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid integer for " + key + ", using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a long configuration value
+     *
+     * @param key Property key
+     * @param defaultValue Value used when the key is not set or invalid
+     * @return Property value
+     */
+    public long getLongProperty(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid number for " + key + ", using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Loads application.properties from the classpath
+     *
+     * @return Loaded properties (empty if the file is missing)
+     */
+    private static Properties loadProperties() {
+        Properties loaded = new Properties();
+
+        try (InputStream input = DatabaseConfig.class.getClassLoader().getResourceAsStream(PROPERTIES_FILE)) {
+            if (input != null) {
+                loaded.load(input);
+            } else {
+                LOGGER.warning(PROPERTIES_FILE + " not found on classpath, using defaults");
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error reading " + PROPERTIES_FILE, e);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Lazily initialized holder for the singleton instance
+     */
+    private static final class Holder {
+        private static final DatabaseConfig INSTANCE = new DatabaseConfig();
+    }
+}
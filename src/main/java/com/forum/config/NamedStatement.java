@@ -0,0 +1,162 @@
+package com.forum.config;
+
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL statement declared once by a DAO under a stable name
+ * Pooled connections keep statements prepared from declared SQL open in their
+ * statement cache, so repeated calls skip parsing on the client and, with server-side
+ * prepares enabled, on the server. Cache hits, misses and prepare time are reported
+ * per statement name. SQL built at run time is prepared as before and not cached
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class NamedStatement {
+
+    /** Label used for the prepare time of SQL that was not declared */
+    private static final String UNNAMED = "unnamed";
+
+    /** Declared statements by SQL text; identical SQL declared twice shares the first declaration */
+    private static final ConcurrentHashMap<String, NamedStatement> BY_SQL = new ConcurrentHashMap<>();
+
+    /** Statement cache hits per statement */
+    private static final MetricFamily<Counter> HITS = MetricsRegistry.getInstance().counterFamily(
+            "forum_db_statement_cache_hits_total", "Prepares served from a connection's statement cache", "statement");
+
+    /** Statement cache misses per statement */
+    private static final MetricFamily<Counter> MISSES = MetricsRegistry.getInstance().counterFamily(
+            "forum_db_statement_cache_misses_total", "Prepares of declared SQL that reached the driver", "statement");
+
+    /** Time spent in the driver preparing statements */
+    private static final MetricFamily<LatencyHistogram> PREPARE_TIMES = MetricsRegistry.getInstance().histogramFamily(
+            "forum_db_statement_prepare_seconds", "Time spent preparing statements in the JDBC driver", "statement");
+
+    /** Prepare time of SQL that was not declared */
+    private static final LatencyHistogram UNNAMED_PREPARE_TIME = PREPARE_TIMES.get(UNNAMED);
+
+    /** Statement name, such as "TopicDAO.getTopicById" */
+    private final String name;
+
+    /** SQL text */
+    private final String sql;
+
+    /** Cache hits for this statement */
+    private final Counter hits;
+
+    /** Cache misses for this statement */
+    private final Counter misses;
+
+    /** Prepare time for this statement */
+    private final LatencyHistogram prepareTime;
+
+    /**
+     * Creates a statement; use {@link #of(String, String)}
+     *
+     * @param name Statement name
+     * @param sql SQL text
+     */
+    private NamedStatement(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+        this.hits = HITS.get(name);
+        this.misses = MISSES.get(name);
+        this.prepareTime = PREPARE_TIMES.get(name);
+    }
+
+    /**
+     * Declares a statement; call once per statement and keep the result in a constant
+     *
+     * @param name Statement name, conventionally "DAOClass.method"
+     * @param sql SQL text
+     * @return Declared statement
+     */
+    public static NamedStatement of(String name, String sql) {
+        NamedStatement statement = new NamedStatement(name, sql);
+        NamedStatement existing = BY_SQL.putIfAbsent(sql, statement);
+        return existing != null ? existing : statement;
+    }
+
+    /**
+     * Finds the declaration of a SQL text
+     *
+     * @param sql SQL text passed to prepareStatement()
+     * @return Declared statement, or null if the SQL was not declared
+     */
+    static NamedStatement forSql(String sql) {
+        return BY_SQL.get(sql);
+    }
+
+    /**
+     * Prepares this statement on a connection
+     * Closing the returned statement hands it back to the connection's statement cache
+     *
+     * @param connection Connection borrowed from the pool
+     * @return Prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(Connection connection) throws SQLException {
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Gets the statement name
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the SQL text
+     *
+     * @return SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Records a prepare served from a statement cache
+     */
+    void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Records a prepare of this statement that reached the driver
+     *
+     * @param prepareNanos Time spent in the driver
+     * @param cacheable Whether the prepare was a statement cache miss rather than an uncacheable variant
+     */
+    void recordPrepare(long prepareNanos, boolean cacheable) {
+        if (cacheable) {
+            misses.increment();
+        }
+        prepareTime.record(prepareNanos);
+    }
+
+    /**
+     * Records a prepare of SQL that was not declared
+     *
+     * @param prepareNanos Time spent in the driver
+     */
+    static void recordUnnamedPrepare(long prepareNanos) {
+        UNNAMED_PREPARE_TIME.record(prepareNanos);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,115 @@
+package com.forum.config;
+
+/**
+ * Read-your-writes state of the request running on the current thread
+ * While a request is open, borrowing a primary connection pins its reads to the
+ * primary until the read-your-writes window has passed, so a user sees their own
+ * writes even when the replicas lag behind. The deadline is carried from request to
+ * request by ReadYourWritesFilter, which keeps it in the user's session.
+ * A request handed to another thread takes its state along with {@link #current()}
+ * and {@link #attach(ReadConsistency)}
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class ReadConsistency {
+
+    /** State of the request on the current thread, or null outside a request */
+    private static final ThreadLocal<ReadConsistency> CURRENT = new ThreadLocal<>();
+
+    /** Time until which reads go to the primary, in epoch milliseconds; read on the completing thread */
+    private volatile long pinnedUntil;
+
+    /**
+     * Creates the state for one request
+     *
+     * @param pinnedUntil Deadline carried over from earlier requests
+     */
+    private ReadConsistency(long pinnedUntil) {
+        this.pinnedUntil = pinnedUntil;
+    }
+
+    /**
+     * Opens the state for a request on the current thread
+     *
+     * @param pinnedUntil Deadline carried over from earlier requests in the session, or 0
+     */
+    public static void begin(long pinnedUntil) {
+        CURRENT.set(new ReadConsistency(pinnedUntil));
+    }
+
+    /**
+     * Closes the state of the current thread's request
+     *
+     * @return Deadline to carry over to later requests, or 0 if no request was open
+     */
+    public static long end() {
+        ReadConsistency current = CURRENT.get();
+        CURRENT.remove();
+        return current == null ? 0L : current.pinnedUntil;
+    }
+
+    /**
+     * Gets the state of the current thread's request, so it can follow the request to another thread
+     *
+     * @return State, or null outside a request
+     */
+    public static ReadConsistency current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Continues a request's state on the current thread
+     * Writes on this thread update the same state, and the request's owner reads
+     * the resulting deadline once the request completes
+     *
+     * @param state State from {@link #current()}, or null to run outside a request
+     */
+    public static void attach(ReadConsistency state) {
+        if (state != null) {
+            CURRENT.set(state);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Removes the request state from the current thread without ending the request
+     */
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the deadline to carry over to later requests
+     *
+     * @return Time until which reads go to the primary, in epoch milliseconds
+     */
+    public long getPinnedUntil() {
+        return pinnedUntil;
+    }
+
+    /**
+     * Whether reads of the current request must go to the primary
+     *
+     * @return true while the current request's deadline has not passed
+     */
+    static boolean isPinnedToPrimary() {
+        ReadConsistency current = CURRENT.get();
+        return current != null && System.currentTimeMillis() < current.pinnedUntil;
+    }
+
+    /**
+     * Pins the current request's reads to the primary after a write
+     * Does nothing outside a request
+     *
+     * @param windowMillis How long reads stay on the primary
+     */
+    static void recordWrite(long windowMillis) {
+        ReadConsistency current = CURRENT.get();
+        if (current != null) {
+            current.pinnedUntil = Math.max(current.pinnedUntil, System.currentTimeMillis() + windowMillis);
+        }
+    }
+}
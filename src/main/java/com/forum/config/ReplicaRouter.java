@@ -0,0 +1,290 @@
+package com.forum.config;
+
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Routes read-only queries across read replicas
+ * Replicas are picked round-robin or by the lowest pool utilisation among those that
+ * passed their last health check. A replica that cannot hand out a connection is
+ * marked down until a later health check succeeds; when no replica is up, callers
+ * fall back to the primary
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ReplicaRouter {
+
+    /** Logger instance for routing operations */
+    private static final Logger LOGGER = Logger.getLogger(ReplicaRouter.class.getName());
+
+    /**
+     * How a replica is picked for each read
+     */
+    public enum Selection {
+        /** Each replica in turn */
+        ROUND_ROBIN,
+        /** The replica with the smallest share of its pool in use */
+        LEAST_LOADED
+    }
+
+    /** Replicas in configuration order */
+    private final List<Replica> replicas;
+
+    /** Selection strategy */
+    private final Selection selection;
+
+    /** Timeout passed to Connection.isValid() by health checks */
+    private final int validationTimeoutSeconds;
+
+    /** Rotating start position; also breaks ties between equally loaded replicas */
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /** Background thread running health checks */
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * Creates a router and schedules its health checks
+     *
+     * @param pools Connection pools by replica name, in the order they should be tried
+     * @param selection Selection strategy
+     * @param healthCheckIntervalMillis Interval between health checks
+     * @param validationTimeoutSeconds Timeout for each health check query
+     */
+    public ReplicaRouter(Map<String, ConnectionPool> pools, Selection selection,
+                         long healthCheckIntervalMillis, int validationTimeoutSeconds) {
+        if (pools.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+
+        MetricFamily<Counter> reads = MetricsRegistry.getInstance().counterFamily(
+                "forum_db_reads_total", "Read-only DAO operations by the database that served them", "target");
+        List<Replica> list = new ArrayList<>(pools.size());
+        for (Map.Entry<String, ConnectionPool> entry : pools.entrySet()) {
+            list.add(new Replica(entry.getKey(), entry.getValue(), reads.get(entry.getKey())));
+        }
+        this.replicas = Collections.unmodifiableList(list);
+        this.selection = selection;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-db-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckIntervalMillis,
+                healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Replica router created (" + replicas.size() + " replicas, selection=" + selection + ")");
+    }
+
+    /**
+     * Borrows a connection from a healthy replica
+     * Replicas are tried from the selected one onwards; one whose pool is merely
+     * exhausted is skipped without being marked down
+     *
+     * @param useTimer Histogram receiving the use time, or null for none
+     * @return Replica connection, or null if no replica could provide one
+     */
+    public Connection borrowConnection(LatencyHistogram useTimer) {
+        int count = replicas.size();
+        int start = selection == Selection.LEAST_LOADED ? leastLoadedIndex() : nextStart();
+
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.borrowConnection(useTimer);
+                replica.reads.increment();
+                return connection;
+            } catch (SQLTransientConnectionException e) {
+                LOGGER.log(Level.FINE, "Replica " + replica.name + " has no free connection", e);
+            } catch (SQLException e) {
+                markHealth(replica, false, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the replicas
+     *
+     * @return Replicas in configuration order
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Gets the selection strategy
+     *
+     * @return selection
+     */
+    public Selection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Stops health checks and shuts down the replica pools
+     */
+    public void shutdown() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.shutdown();
+        }
+    }
+
+    /**
+     * Gets the next round-robin start position
+     *
+     * @return Replica index
+     */
+    private int nextStart() {
+        return Math.floorMod(nextIndex.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Finds the healthy replica with the smallest share of its pool in use
+     * Ties go to the first one after the rotating start position
+     *
+     * @return Replica index, or the rotating start if none is healthy
+     */
+    private int leastLoadedIndex() {
+        int count = replicas.size();
+        int start = nextStart();
+        int best = start;
+        double bestLoad = Double.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            Replica replica = replicas.get(index);
+            if (replica.healthy) {
+                ConnectionPool pool = replica.pool;
+                double load = (pool.getActiveConnections() + pool.getPendingBorrowers()) / (double) pool.getMaxSize();
+                if (load < bestLoad) {
+                    best = index;
+                    bestLoad = load;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Validates a connection from every replica and updates its health
+     * A replica whose pool is fully borrowed is evidently serving and is left as is
+     */
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            if (replica.pool.getActiveConnections() >= replica.pool.getMaxSize()) {
+                continue;
+            }
+            try (Connection connection = replica.pool.borrowConnection()) {
+                boolean valid = connection.isValid(validationTimeoutSeconds);
+                markHealth(replica, valid, valid ? null : new SQLException("Connection validation failed"));
+            } catch (SQLException e) {
+                markHealth(replica, false, e);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Replica health check failed for " + replica.name, e);
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a health check or borrow, logging changes
+     *
+     * @param replica Replica
+     * @param healthy Whether the replica is usable
+     * @param cause Failure, or null when healthy
+     */
+    private void markHealth(Replica replica, boolean healthy, SQLException cause) {
+        if (replica.healthy == healthy) {
+            return;
+        }
+        replica.healthy = healthy;
+        if (healthy) {
+            LOGGER.info("Replica " + replica.name + " is back in rotation");
+        } else {
+            LOGGER.log(Level.WARNING, "Replica " + replica.name + " taken out of rotation", cause);
+        }
+    }
+
+    /**
+     * One read replica with its pool and health
+     */
+    public static final class Replica {
+
+        /** Replica name used in logs and metrics */
+        private final String name;
+
+        /** Connection pool for the replica */
+        private final ConnectionPool pool;
+
+        /** Reads served by the replica */
+        private final Counter reads;
+
+        /** Whether the replica passed its last health check */
+        private volatile boolean healthy = true;
+
+        private Replica(String name, ConnectionPool pool, Counter reads) {
+            this.name = name;
+            this.pool = pool;
+            this.reads = reads;
+        }
+
+        /**
+         * Gets the replica name
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the replica's connection pool
+         *
+         * @return pool
+         */
+        public ConnectionPool getPool() {
+            return pool;
+        }
+
+        /**
+         * Whether the replica is in rotation
+         *
+         * @return true if it passed its last health check
+         */
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * Gets the number of reads the replica served
+         *
+         * @return read count
+         */
+        public long getReadCount() {
+            return reads.get();
+        }
+    }
+}
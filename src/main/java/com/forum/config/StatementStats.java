@@ -0,0 +1,189 @@
+package com.forum.config;
+
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.util.ForumLogUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Execution statistics for one statement fingerprint
+ * Declared SQL is fingerprinted by its {@link NamedStatement} name; other SQL by its text
+ * with literals replaced by placeholders and IN lists and VALUES rows collapsed, so SQL
+ * built at run time groups with its other shapes. Pooled connections report each execute
+ * here; executes over the slow-query threshold also go to the slow-query log together
+ * with the types of their bound parameters, never the values
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class StatementStats {
+
+    /** Fingerprint used once MAX_FINGERPRINTS distinct fingerprints have been seen */
+    private static final String OTHER = "other";
+
+    /** Most distinct fingerprints reported before further SQL is grouped under OTHER */
+    private static final int MAX_FINGERPRINTS = 500;
+
+    /** Longest fingerprint kept; longer SQL is cut off */
+    private static final int MAX_FINGERPRINT_LENGTH = 200;
+
+    /** Quoted string literals */
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    /** Numeric literals not part of an identifier */
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?");
+
+    /** Placeholder lists such as "IN (?, ?, ?)" */
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    /** Repeated placeholder rows such as "VALUES (?, ?), (?, ?)" */
+    private static final Pattern VALUES_ROWS = Pattern.compile(
+            "(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+
+    /** Runs of whitespace */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Statistics by fingerprint */
+    private static final ConcurrentHashMap<String, StatementStats> BY_FINGERPRINT = new ConcurrentHashMap<>();
+
+    /** Statistics of undeclared SQL by SQL text, bounded like BY_FINGERPRINT */
+    private static final ConcurrentHashMap<String, StatementStats> BY_SQL = new ConcurrentHashMap<>();
+
+    /** Execute time per fingerprint */
+    private static final MetricFamily<LatencyHistogram> EXECUTE_TIMES = MetricsRegistry.getInstance().histogramFamily(
+            "forum_db_query_seconds", "Time spent in the JDBC driver executing statements", "statement");
+
+    /** Rows returned or affected per fingerprint */
+    private static final MetricFamily<Counter> ROWS = MetricsRegistry.getInstance().counterFamily(
+            "forum_db_query_rows_total", "Rows read from query results or affected by updates", "statement");
+
+    /** Failed executes per fingerprint */
+    private static final MetricFamily<Counter> ERRORS = MetricsRegistry.getInstance().counterFamily(
+            "forum_db_query_errors_total", "Statement executes that threw", "statement");
+
+    /** Slow executes per fingerprint */
+    private static final MetricFamily<Counter> SLOW = MetricsRegistry.getInstance().counterFamily(
+            "forum_db_slow_queries_total", "Statement executes over the slow-query threshold", "statement");
+
+    /** Executes taking at least this long are logged; negative disables the slow-query log */
+    private static volatile long slowThresholdNanos = 200_000_000L;
+
+    /** Fingerprint reported as the statement label */
+    private final String fingerprint;
+
+    /** Execute time of this fingerprint */
+    private final LatencyHistogram executeTime;
+
+    /** Rows of this fingerprint */
+    private final Counter rows;
+
+    /** Failed executes of this fingerprint */
+    private final Counter errors;
+
+    /** Slow executes of this fingerprint */
+    private final Counter slow;
+
+    /**
+     * Creates the statistics of a fingerprint; use {@link #forSql(String)}
+     *
+     * @param fingerprint Fingerprint
+     */
+    private StatementStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+        this.executeTime = EXECUTE_TIMES.get(fingerprint);
+        this.rows = ROWS.get(fingerprint);
+        this.errors = ERRORS.get(fingerprint);
+        this.slow = SLOW.get(fingerprint);
+    }
+
+    /**
+     * Sets the slow-query threshold
+     *
+     * @param thresholdMillis Executes taking at least this long are logged; negative disables logging
+     */
+    static void configure(long thresholdMillis) {
+        slowThresholdNanos = thresholdMillis < 0 ? -1L : thresholdMillis * 1_000_000L;
+    }
+
+    /**
+     * Finds the statistics for a SQL text
+     *
+     * @param sql SQL text being prepared or executed
+     * @return Statistics of its fingerprint
+     */
+    static StatementStats forSql(String sql) {
+        NamedStatement named = NamedStatement.forSql(sql);
+        if (named != null) {
+            return BY_FINGERPRINT.computeIfAbsent(named.getName(), StatementStats::new);
+        }
+
+        StatementStats stats = BY_SQL.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String fingerprint = BY_FINGERPRINT.size() < MAX_FINGERPRINTS ? fingerprint(sql) : OTHER;
+        stats = BY_FINGERPRINT.computeIfAbsent(fingerprint, StatementStats::new);
+        if (BY_SQL.size() < MAX_FINGERPRINTS) {
+            BY_SQL.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Normalizes SQL text so statements differing only in literals or list lengths match
+     *
+     * @param sql SQL text
+     * @return Fingerprint
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (...)");
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("$1, ...");
+        return normalized.length() <= MAX_FINGERPRINT_LENGTH
+                ? normalized : normalized.substring(0, MAX_FINGERPRINT_LENGTH);
+    }
+
+    /**
+     * Checks whether an execute is over the slow-query threshold
+     * Callers describe the bound parameters only for executes that will be logged
+     *
+     * @param elapsedNanos Time spent in the driver
+     * @return true if the execute goes to the slow-query log
+     */
+    static boolean isSlow(long elapsedNanos) {
+        long threshold = slowThresholdNanos;
+        return threshold >= 0 && elapsedNanos >= threshold;
+    }
+
+    /**
+     * Records one execute, logging it if it was slow
+     *
+     * @param elapsedNanos Time spent in the driver
+     * @param rowCount Rows read or affected, or -1 if not known
+     * @param failed Whether the execute threw
+     * @param parameters Types of the bound parameters, such as "[int, string(12)]"; only read when slow
+     * @param sql SQL text that was executed
+     */
+    void record(long elapsedNanos, long rowCount, boolean failed, String parameters, String sql) {
+        executeTime.record(elapsedNanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (failed) {
+            errors.increment();
+        }
+
+        if (isSlow(elapsedNanos)) {
+            slow.increment();
+            ForumLogUtil.logSlowQuery(fingerprint, elapsedNanos / 1_000_000L, rowCount, failed,
+                    parameters, sql);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.forum.dao;
 
 import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
 import com.forum.model.Comment;
+import com.forum.model.Page;
 import com.forum.model.User;
 import com.forum.model.Reply;
+import com.forum.util.PageCursor;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,7 +23,7 @@ import java.util.logging.Logger;
  * Handles all database operations related to comments
  *
  * @author Simphiwe Radebe
- * @version 1.5
+ * @version 1.14
  * @since 2025-06-04
  */
 public class CommentDAO {
@@ -24,60 +31,208 @@ public class CommentDAO {
     /** Logger instance for database operations */
     private static final Logger LOGGER = Logger.getLogger(CommentDAO.class.getName());
 
+    /** Statement for createComment */
+    private static final NamedStatement CREATE_COMMENT = NamedStatement.of("CommentDAO.createComment",
+            "INSERT INTO comments (topic_id, user_id, comment_text) " +
+            "SELECT t.topic_id, u.user_id, ? FROM topics t " +
+            "JOIN users u ON u.user_id = ? AND u.is_active = TRUE " +
+            "WHERE t.topic_id = ? AND t.is_active = TRUE");
+
+    /** Statement for getTopicId */
+    private static final NamedStatement GET_TOPIC_ID = NamedStatement.of("CommentDAO.getTopicId",
+            "SELECT topic_id FROM comments WHERE comment_id = ?");
+
+    /** Statement for getCommentById */
+    private static final NamedStatement GET_COMMENT_BY_ID = NamedStatement.of("CommentDAO.getCommentById",
+            "SELECT c.*, u.first_name, u.last_name, u.email " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "WHERE c.comment_id = ? AND c.is_active = TRUE");
+
+    /** Statement for getCommentsByTopicId */
+    private static final NamedStatement GET_COMMENTS_BY_TOPIC_ID = NamedStatement.of("CommentDAO.getCommentsByTopicId",
+            "SELECT c.*, u.first_name, u.last_name, u.email " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "WHERE c.topic_id = ? AND c.is_active = TRUE " +
+            "ORDER BY c.date_posted ASC");
+
+    /** Columns and filter shared by the comment page statements */
+    private static final String COMMENT_PAGE_SELECT = "SELECT c.*, u.first_name, u.last_name, u.email " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "WHERE c.topic_id = ? AND c.is_active = TRUE ";
+
+    /** Statement for the first page of getCommentsPage */
+    private static final NamedStatement COMMENTS_FIRST_PAGE = NamedStatement.of("CommentDAO.getCommentsPage.first",
+            COMMENT_PAGE_SELECT +
+            "ORDER BY c.date_posted ASC, c.comment_id ASC " +
+            "LIMIT ?");
+
+    /** Statement for getCommentsPage after a cursor */
+    private static final NamedStatement COMMENTS_PAGE_AFTER = NamedStatement.of("CommentDAO.getCommentsPage.after",
+            COMMENT_PAGE_SELECT +
+            "AND (c.date_posted > ? OR (c.date_posted = ? AND c.comment_id > ?)) " +
+            "ORDER BY c.date_posted ASC, c.comment_id ASC " +
+            "LIMIT ?");
+
+    /** Statement for getCommentsPage before a cursor, in reverse order */
+    private static final NamedStatement COMMENTS_PAGE_BEFORE = NamedStatement.of("CommentDAO.getCommentsPage.before",
+            COMMENT_PAGE_SELECT +
+            "AND (c.date_posted < ? OR (c.date_posted = ? AND c.comment_id < ?)) " +
+            "ORDER BY c.date_posted DESC, c.comment_id DESC " +
+            "LIMIT ?");
+
+    /** Statement for getCommentsByUserId */
+    private static final NamedStatement GET_COMMENTS_BY_USER_ID = NamedStatement.of("CommentDAO.getCommentsByUserId",
+            "SELECT c.*, u.first_name, u.last_name, u.email, " +
+            "t.title as topic_title " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE c.user_id = ? AND c.is_active = TRUE " +
+            "ORDER BY c.date_posted DESC");
+
+    /** Statement for updateComment */
+    private static final NamedStatement UPDATE_COMMENT = NamedStatement.of("CommentDAO.updateComment",
+            "UPDATE comments SET comment_text = ? WHERE comment_id = ? AND user_id = ?");
+
+    /** Statement for deactivateComment (row lock) */
+    private static final NamedStatement DEACTIVATE_COMMENT_SELECT = NamedStatement.of(
+            "CommentDAO.deactivateComment.select",
+            "SELECT topic_id FROM comments " +
+            "WHERE comment_id = ? AND user_id = ? AND is_active = TRUE FOR UPDATE");
+
+    /** Statement for deactivateComment */
+    private static final NamedStatement DEACTIVATE_COMMENT = NamedStatement.of("CommentDAO.deactivateComment",
+            "UPDATE comments SET is_active = FALSE WHERE comment_id = ?");
+
+    /** Statement for getCommentCountByTopicId */
+    private static final NamedStatement GET_COMMENT_COUNT_BY_TOPIC_ID = NamedStatement.of(
+            "CommentDAO.getCommentCountByTopicId",
+            "SELECT comment_count FROM topics WHERE topic_id = ?");
+
+    /** Statement for getCommentCountByUserId */
+    private static final NamedStatement GET_COMMENT_COUNT_BY_USER_ID = NamedStatement.of(
+            "CommentDAO.getCommentCountByUserId",
+            "SELECT comment_count FROM users WHERE user_id = ?");
+
+    /** Statement for searchComments */
+    private static final NamedStatement SEARCH_COMMENTS = NamedStatement.of("CommentDAO.searchComments",
+            "SELECT c.*, u.first_name, u.last_name, u.email, " +
+            "t.title as topic_title " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE c.comment_text LIKE ? AND c.is_active = TRUE " +
+            "ORDER BY c.date_posted DESC");
+
+    /** Statement for getRecentComments */
+    private static final NamedStatement GET_RECENT_COMMENTS = NamedStatement.of("CommentDAO.getRecentComments",
+            "SELECT c.*, u.first_name, u.last_name, u.email, " +
+            "t.title as topic_title " +
+            "FROM comments c " +
+            "LEFT JOIN users u ON c.user_id = u.user_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE c.is_active = TRUE AND t.is_active = TRUE " +
+            "ORDER BY c.date_posted DESC " +
+            "LIMIT ?");
+
     /** Database configuration instance */
     private final DatabaseConfig databaseConfig;
 
     /** Reply DAO for reply-related operations */
     private final ReplyDAO replyDAO;
 
+    /** Counter DAO for the denormalized comment counts */
+    private final CounterDAO counterDAO;
+
     /**
      * Constructor to initialize CommentDAO with database configuration
      */
     public CommentDAO() {
         this.databaseConfig = DatabaseConfig.getInstance();
         this.replyDAO = new ReplyDAO();
+        this.counterDAO = new CounterDAO();
     }
 
     /**
-     * Creates a new comment in the database
+     * Creates a new comment in its own transaction
+     * The topic and user counters are bumped after the insert commits, in a transaction of their own
      *
      * @param comment Comment object to create
      * @return true if comment created successfully, false otherwise
      */
     public boolean createComment(Comment comment) {
-        String sql = "INSERT INTO comments (topic_id, user_id, comment_text) VALUES (?, ?, ?)";
+        if (UnitOfWork.execute("CommentDAO.createComment",
+                work -> createComment(work, comment) ? Boolean.TRUE : null) == null) {
+            return false;
+        }
+        counterDAO.applyDeltas(new TreeMap<>(Map.of(comment.getTopicId(), 1)), new TreeMap<>(),
+                new TreeMap<>(Map.of(comment.getUserId(), 1)), new TreeMap<>());
+        return true;
+    }
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    /**
+     * Creates a new comment inside a unit of work
+     * The insert only takes place when the topic and the user exist and are active, so
+     * no separate lookups are needed; the generated ID comes back with the insert.
+     * The denormalized counters are left to the caller once the unit of work commits:
+     * updating them here would ask for row locks on the topic and user after the insert
+     * has taken shared ones, and two concurrent posts would deadlock
+     *
+     * @param work Unit of work holding the transaction
+     * @param comment Comment object to create; its ID is set on success
+     * @return true if the comment was created, false if the topic or user was not found
+     * @throws SQLException if a statement fails
+     */
+    public boolean createComment(UnitOfWork work, Comment comment) throws SQLException {
+        Connection connection = work.getConnection();
+
+        try (PreparedStatement statement = connection.prepareStatement(CREATE_COMMENT.getSql(),
+                Statement.RETURN_GENERATED_KEYS)) {
 
             // Set parameters
-            statement.setInt(1, comment.getTopicId());
+            statement.setString(1, comment.getCommentText());
             statement.setInt(2, comment.getUserId());
-            statement.setString(3, comment.getCommentText());
+            statement.setInt(3, comment.getTopicId());
 
-            // Execute insert
-            int rowsAffected = statement.executeUpdate();
+            // No row means the topic or user is missing or inactive
+            if (statement.executeUpdate() == 0) {
+                LOGGER.warning("Comment not created; topic " + comment.getTopicId() + " or user " +
+                        comment.getUserId() + " not found");
+                return false;
+            }
 
             // Get generated comment ID
-            if (rowsAffected > 0) {
-                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        comment.setCommentId(generatedKeys.getInt(1));
-                        LOGGER.info("Comment created successfully with ID: " + comment.getCommentId());
-
-                        // Update topic last activity
-                        updateTopicLastActivity(comment.getTopicId());
-
-                        return true;
-                    }
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    return false;
                 }
+                comment.setCommentId(generatedKeys.getInt(1));
             }
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error creating comment for topic: " + comment.getTopicId(), e);
         }
 
-        return false;
+        LOGGER.info("Comment created successfully with ID: " + comment.getCommentId());
+        return true;
+    }
+
+    /**
+     * Looks up the topic a comment belongs to inside a unit of work
+     *
+     * @param work Unit of work holding the transaction
+     * @param commentId Comment ID
+     * @return Topic ID, or 0 if the comment does not exist
+     * @throws SQLException if the query fails
+     */
+    public int getTopicId(UnitOfWork work, int commentId) throws SQLException {
+        try (PreparedStatement statement = GET_TOPIC_ID.prepare(work.getConnection())) {
+            statement.setInt(1, commentId);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
     }
 
     /**
@@ -87,21 +242,16 @@ public class CommentDAO {
      * @return Comment object if found, null otherwise
      */
     public Comment getCommentById(int commentId) {
-        String sql = "SELECT c.*, u.first_name, u.last_name, u.email " +
-                "FROM comments c " +
-                "LEFT JOIN users u ON c.user_id = u.user_id " +
-                "WHERE c.comment_id = ? AND c.is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentById");
+             PreparedStatement statement = GET_COMMENT_BY_ID.prepare(connection)) {
 
             statement.setInt(1, commentId);
 
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
                     Comment comment = mapResultSetToComment(resultSet);
-                    // Load replies for this comment
-                    comment.setReplies(replyDAO.getRepliesByCommentId(commentId));
+                    // Load replies for this comment on the same connection
+                    attachReplies(connection, Collections.singletonList(comment));
                     return comment;
                 }
             }
@@ -121,23 +271,24 @@ public class CommentDAO {
      */
     public List<Comment> getCommentsByTopicId(int topicId) {
         List<Comment> comments = new ArrayList<>();
-        String sql = "SELECT c.*, u.first_name, u.last_name, u.email " +
-                "FROM comments c " +
-                "LEFT JOIN users u ON c.user_id = u.user_id " +
-                "WHERE c.topic_id = ? AND c.is_active = TRUE " +
-                "ORDER BY c.date_posted ASC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentsByTopicId");
+             PreparedStatement statement = GET_COMMENTS_BY_TOPIC_ID.prepare(connection)) {
 
             statement.setInt(1, topicId);
 
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    Comment comment = mapResultSetToComment(resultSet);
-                    // Load replies for each comment
-                    comment.setReplies(replyDAO.getRepliesByCommentId(comment.getCommentId()));
-                    comments.add(comment);
+                    comments.add(mapResultSetToComment(resultSet));
+                }
+            }
+
+            // Load every reply in the thread with one query and stitch them in memory
+            if (!comments.isEmpty()) {
+                Map<Integer, List<Reply>> repliesByComment =
+                        replyDAO.getRepliesGroupedByTopicId(connection, topicId);
+                for (Comment comment : comments) {
+                    comment.setReplies(repliesByComment.getOrDefault(comment.getCommentId(), new ArrayList<>()));
                 }
             }
 
@@ -148,6 +299,70 @@ public class CommentDAO {
         return comments;
     }
 
+    /**
+     * Gets one page of a topic's comments in posting order using keyset pagination
+     * Seeks on (date_posted, comment_id); replies for the page are loaded in one batch
+     *
+     * @param topicId Topic ID to get comments for
+     * @param cursor Cursor from a previous page, null for the first page
+     * @param limit Number of comments per page
+     * @return Page of Comment objects with replies
+     */
+    public Page<Comment> getCommentsPage(int topicId, PageCursor cursor, int limit) {
+        return getCommentsPage(topicId, cursor, limit, true);
+    }
+
+    /**
+     * Gets one page of a topic's comments in posting order using keyset pagination
+     * Without replies, the connection is returned as soon as the comments are read, and
+     * {@link #loadReplies(List)} can fetch the replies separately
+     *
+     * @param topicId Topic ID to get comments for
+     * @param cursor Cursor from a previous page, null for the first page
+     * @param limit Number of comments per page
+     * @param withReplies Whether to load each comment's replies in the same call
+     * @return Page of Comment objects, with replies if requested
+     */
+    public Page<Comment> getCommentsPage(int topicId, PageCursor cursor, int limit, boolean withReplies) {
+        List<Comment> comments = new ArrayList<>();
+        boolean backward = cursor != null && cursor.isBackward();
+
+        NamedStatement query = cursor == null ? COMMENTS_FIRST_PAGE
+                : backward ? COMMENTS_PAGE_BEFORE : COMMENTS_PAGE_AFTER;
+
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentsPage");
+             PreparedStatement statement = query.prepare(connection)) {
+
+            int index = 1;
+            statement.setInt(index++, topicId);
+            if (cursor != null) {
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setInt(index++, cursor.getId());
+            }
+            // Fetch one extra row to learn whether another page exists
+            statement.setInt(index, limit + 1);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    comments.add(mapResultSetToComment(resultSet));
+                }
+            }
+
+            Page<Comment> page = Page.fromKeysetRows(comments, limit, cursor,
+                    Comment::getDatePosted, Comment::getCommentId);
+            if (withReplies) {
+                attachReplies(connection, page.getItems());
+            }
+            return page;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving comment page for topic: " + topicId, e);
+        }
+
+        return new Page<>(new ArrayList<>(), null, null);
+    }
+
     /**
      * Retrieves comments posted by a specific user
      *
@@ -156,28 +371,21 @@ public class CommentDAO {
      */
     public List<Comment> getCommentsByUserId(int userId) {
         List<Comment> comments = new ArrayList<>();
-        String sql = "SELECT c.*, u.first_name, u.last_name, u.email, " +
-                "t.title as topic_title " +
-                "FROM comments c " +
-                "LEFT JOIN users u ON c.user_id = u.user_id " +
-                "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE c.user_id = ? AND c.is_active = TRUE " +
-                "ORDER BY c.date_posted DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentsByUserId");
+             PreparedStatement statement = GET_COMMENTS_BY_USER_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    Comment comment = mapResultSetToComment(resultSet);
-                    // Load replies for each comment
-                    comment.setReplies(replyDAO.getRepliesByCommentId(comment.getCommentId()));
-                    comments.add(comment);
+                    comments.add(mapResultSetToComment(resultSet));
                 }
             }
 
+            // Load replies for all comments in one batch
+            attachReplies(connection, comments);
+
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving comments for user: " + userId, e);
         }
@@ -194,10 +402,8 @@ public class CommentDAO {
      * @return true if update successful, false otherwise
      */
     public boolean updateComment(int commentId, String newText, int userId) {
-        String sql = "UPDATE comments SET comment_text = ? WHERE comment_id = ? AND user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("CommentDAO.updateComment");
+             PreparedStatement statement = UPDATE_COMMENT.prepare(connection)) {
 
             statement.setString(1, newText);
             statement.setInt(2, commentId);
@@ -218,46 +424,72 @@ public class CommentDAO {
     }
 
     /**
-     * Deactivates a comment (soft delete)
+     * Deactivates a comment (soft delete) in its own transaction
+     * The topic and user counters are lowered after the update commits, in a transaction of their own
      *
      * @param commentId Comment ID to deactivate
      * @param userId User ID requesting the deactivation (must be comment owner)
      * @return true if deactivation successful, false otherwise
      */
     public boolean deactivateComment(int commentId, int userId) {
-        String sql = "UPDATE comments SET is_active = FALSE WHERE comment_id = ? AND user_id = ?";
+        Integer topicId = UnitOfWork.execute("CommentDAO.deactivateComment", work -> {
+            int deactivatedFrom = deactivateComment(work, commentId, userId);
+            return deactivatedFrom > 0 ? deactivatedFrom : null;
+        });
+        if (topicId == null) {
+            return false;
+        }
+        counterDAO.applyDeltas(new TreeMap<>(Map.of(topicId, -1)), new TreeMap<>(),
+                new TreeMap<>(Map.of(userId, -1)), new TreeMap<>());
+        return true;
+    }
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+    /**
+     * Deactivates a comment (soft delete) inside a unit of work
+     * Only an active comment is deactivated, so repeating the call changes nothing. The
+     * denormalized counters are left to the caller once the unit of work commits, as for
+     * {@link #createComment(UnitOfWork, Comment)}
+     *
+     * @param work Unit of work holding the transaction
+     * @param commentId Comment ID to deactivate
+     * @param userId User ID requesting the deactivation (must be comment owner)
+     * @return Topic ID of the deactivated comment, or 0 if no active comment of the user was found
+     * @throws SQLException if a statement fails
+     */
+    public int deactivateComment(UnitOfWork work, int commentId, int userId) throws SQLException {
+        Connection connection = work.getConnection();
 
-            statement.setInt(1, commentId);
-            statement.setInt(2, userId);
+        try (PreparedStatement selectStatement = DEACTIVATE_COMMENT_SELECT.prepare(connection);
+             PreparedStatement statement = DEACTIVATE_COMMENT.prepare(connection)) {
 
-            int rowsAffected = statement.executeUpdate();
+            selectStatement.setInt(1, commentId);
+            selectStatement.setInt(2, userId);
 
-            if (rowsAffected > 0) {
-                LOGGER.info("Comment deactivated successfully: " + commentId);
-                return true;
+            int topicId;
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                topicId = resultSet.getInt("topic_id");
             }
 
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error deactivating comment: " + commentId, e);
-        }
+            statement.setInt(1, commentId);
+            statement.executeUpdate();
 
-        return false;
+            LOGGER.info("Comment deactivated successfully: " + commentId);
+            return topicId;
+        }
     }
 
     /**
-     * Gets the total number of comments for a topic
+     * Gets the total number of comments for a topic from the maintained counter
      *
      * @param topicId Topic ID
      * @return Number of comments
      */
     public int getCommentCountByTopicId(int topicId) {
-        String sql = "SELECT COUNT(*) FROM comments WHERE topic_id = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentCountByTopicId");
+             PreparedStatement statement = GET_COMMENT_COUNT_BY_TOPIC_ID.prepare(connection)) {
 
             statement.setInt(1, topicId);
 
@@ -275,16 +507,14 @@ public class CommentDAO {
     }
 
     /**
-     * Gets the total number of comments posted by a user
+     * Gets the total number of comments posted by a user from the maintained counter
      *
      * @param userId User ID
      * @return Number of comments
      */
     public int getCommentCountByUserId(int userId) {
-        String sql = "SELECT COUNT(*) FROM comments WHERE user_id = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentCountByUserId");
+             PreparedStatement statement = GET_COMMENT_COUNT_BY_USER_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
@@ -309,31 +539,80 @@ public class CommentDAO {
      */
     public List<Comment> searchComments(String searchTerm) {
         List<Comment> comments = new ArrayList<>();
-        String sql = "SELECT c.*, u.first_name, u.last_name, u.email, " +
+
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.searchComments");
+             PreparedStatement statement = SEARCH_COMMENTS.prepare(connection)) {
+
+            String searchPattern = "%" + searchTerm + "%";
+            statement.setString(1, searchPattern);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    comments.add(mapResultSetToComment(resultSet));
+                }
+            }
+
+            // Load replies for all comments in one batch
+            attachReplies(connection, comments);
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error searching comments with term: " + searchTerm, e);
+        }
+
+        return comments;
+    }
+
+    /**
+     * Retrieves active comments by ID with their replies, preserving the order of the given IDs
+     * Used to load ranked search results in one query
+     *
+     * @param commentIds Comment IDs in the desired order
+     * @return List of Comment objects in the same order; inactive or missing IDs are skipped
+     */
+    public List<Comment> getCommentsByIds(List<Integer> commentIds) {
+        List<Comment> comments = new ArrayList<>();
+        if (commentIds.isEmpty()) {
+            return comments;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT c.*, u.first_name, u.last_name, u.email, " +
                 "t.title as topic_title " +
                 "FROM comments c " +
                 "LEFT JOIN users u ON c.user_id = u.user_id " +
                 "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE c.comment_text LIKE ? AND c.is_active = TRUE " +
-                "ORDER BY c.date_posted DESC";
+                "WHERE c.is_active = TRUE AND c.comment_id IN (");
+        for (int i = 0; i < commentIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getCommentsByIds");
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
 
-            String searchPattern = "%" + searchTerm + "%";
-            statement.setString(1, searchPattern);
+            for (int i = 0; i < commentIds.size(); i++) {
+                statement.setInt(i + 1, commentIds.get(i));
+            }
 
+            Map<Integer, Comment> commentsById = new HashMap<>();
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     Comment comment = mapResultSetToComment(resultSet);
-                    // Load replies for each comment
-                    comment.setReplies(replyDAO.getRepliesByCommentId(comment.getCommentId()));
+                    commentsById.put(comment.getCommentId(), comment);
+                }
+            }
+
+            for (Integer commentId : commentIds) {
+                Comment comment = commentsById.get(commentId);
+                if (comment != null) {
                     comments.add(comment);
                 }
             }
 
+            // Load replies for all comments in one batch
+            attachReplies(connection, comments);
+
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error searching comments with term: " + searchTerm, e);
+            LOGGER.log(Level.SEVERE, "Error retrieving comments by IDs", e);
         }
 
         return comments;
@@ -347,17 +626,9 @@ public class CommentDAO {
      */
     public List<Comment> getRecentComments(int limit) {
         List<Comment> comments = new ArrayList<>();
-        String sql = "SELECT c.*, u.first_name, u.last_name, u.email, " +
-                "t.title as topic_title " +
-                "FROM comments c " +
-                "LEFT JOIN users u ON c.user_id = u.user_id " +
-                "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE c.is_active = TRUE AND t.is_active = TRUE " +
-                "ORDER BY c.date_posted DESC " +
-                "LIMIT ?";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.getRecentComments");
+             PreparedStatement statement = GET_RECENT_COMMENTS.prepare(connection)) {
 
             statement.setInt(1, limit);
 
@@ -376,21 +647,44 @@ public class CommentDAO {
     }
 
     /**
-     * Updates the last activity timestamp for a topic when a comment is added
+     * Loads the replies for a list of comments in one batch and sets them on each comment
+     * On a database error the comments keep their current replies
      *
-     * @param topicId Topic ID to update
+     * @param comments Comments to attach replies to
      */
-    private void updateTopicLastActivity(int topicId) {
-        String sql = "UPDATE topics SET last_activity = CURRENT_TIMESTAMP WHERE topic_id = ?";
+    public void loadReplies(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("CommentDAO.loadReplies")) {
+            attachReplies(connection, comments);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error loading replies for " + comments.size() + " comments", e);
+        }
+    }
 
-            statement.setInt(1, topicId);
-            statement.executeUpdate();
+    /**
+     * Loads the replies for a list of comments in one batch and sets them on each comment
+     *
+     * @param connection Connection to run the query on
+     * @param comments Comments to attach replies to
+     * @throws SQLException if the query fails
+     */
+    private void attachReplies(Connection connection, List<Comment> comments) throws SQLException {
+        if (comments.isEmpty()) {
+            return;
+        }
 
-        } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error updating topic last activity: " + topicId, e);
+        List<Integer> commentIds = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            commentIds.add(comment.getCommentId());
+        }
+
+        Map<Integer, List<Reply>> repliesByComment =
+                replyDAO.getRepliesGroupedByCommentIds(connection, commentIds);
+        for (Comment comment : comments) {
+            comment.setReplies(repliesByComment.getOrDefault(comment.getCommentId(), new ArrayList<>()));
         }
     }
 
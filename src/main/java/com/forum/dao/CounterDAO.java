@@ -0,0 +1,225 @@
+package com.forum.dao;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object (DAO) for the denormalized counter columns
+ * Keeps topics.comment_count, comments.reply_count and the per-user post counts in step
+ * with the rows they count, and recomputes them when they drift
+ *
+ * @author Simphiwe Radebe
+ * @version 1.3
+ * @since 2026-10-18
+ */
+public class CounterDAO {
+
+    /** Logger instance for database operations */
+    private static final Logger LOGGER = Logger.getLogger(CounterDAO.class.getName());
+
+    /**
+     * Counter columns, each recomputed by the reconciler in ranges of its table's primary key
+     */
+    public enum Column {
+
+        /** topics.comment_count */
+        TOPIC_COMMENTS("topics.comment_count", "topics", "topic_id",
+                "UPDATE topics t SET comment_count = " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.topic_id = t.topic_id AND c.is_active = TRUE) " +
+                "WHERE t.topic_id BETWEEN ? AND ? AND t.comment_count <> " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.topic_id = t.topic_id AND c.is_active = TRUE)"),
+
+        /** comments.reply_count */
+        COMMENT_REPLIES("comments.reply_count", "comments", "comment_id",
+                "UPDATE comments c SET reply_count = " +
+                "(SELECT COUNT(*) FROM replies r WHERE r.comment_id = c.comment_id AND r.is_active = TRUE) " +
+                "WHERE c.comment_id BETWEEN ? AND ? AND c.reply_count <> " +
+                "(SELECT COUNT(*) FROM replies r WHERE r.comment_id = c.comment_id AND r.is_active = TRUE)"),
+
+        /** users.comment_count */
+        USER_COMMENTS("users.comment_count", "users", "user_id",
+                "UPDATE users u SET comment_count = " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.user_id = u.user_id AND c.is_active = TRUE) " +
+                "WHERE u.user_id BETWEEN ? AND ? AND u.comment_count <> " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.user_id = u.user_id AND c.is_active = TRUE)"),
+
+        /** users.reply_count */
+        USER_REPLIES("users.reply_count", "users", "user_id",
+                "UPDATE users u SET reply_count = " +
+                "(SELECT COUNT(*) FROM replies r WHERE r.user_id = u.user_id AND r.is_active = TRUE) " +
+                "WHERE u.user_id BETWEEN ? AND ? AND u.reply_count <> " +
+                "(SELECT COUNT(*) FROM replies r WHERE r.user_id = u.user_id AND r.is_active = TRUE)");
+
+        /** Column name for logging */
+        private final String counterName;
+
+        /** Statement for getMaxId */
+        private final NamedStatement maxId;
+
+        /** Statement for reconcileRange, taking the first and last ID of the range */
+        private final NamedStatement reconcile;
+
+        /**
+         * Creates a column
+         *
+         * @param counterName Column name for logging
+         * @param table Table holding the column
+         * @param key Primary key column of the table
+         * @param reconcileSql Update recomputing drifted values in a key range
+         */
+        Column(String counterName, String table, String key, String reconcileSql) {
+            this.counterName = counterName;
+            this.maxId = NamedStatement.of("CounterDAO.getMaxId." + table, "SELECT MAX(" + key + ") FROM " + table);
+            this.reconcile = NamedStatement.of("CounterDAO.reconcileRange." + counterName, reconcileSql);
+        }
+
+        /**
+         * Gets the column name
+         *
+         * @return Name such as "topics.comment_count"
+         */
+        public String getCounterName() {
+            return counterName;
+        }
+    }
+
+    /** Statement for applyDeltas on topics */
+    private static final NamedStatement ADD_TOPIC_COMMENTS = NamedStatement.of("CounterDAO.addTopicComments",
+            "UPDATE topics SET comment_count = GREATEST(comment_count + ?, 0) WHERE topic_id = ?");
+
+    /** Statement for applyDeltas on comments */
+    private static final NamedStatement ADD_COMMENT_REPLIES = NamedStatement.of("CounterDAO.addCommentReplies",
+            "UPDATE comments SET reply_count = GREATEST(reply_count + ?, 0) WHERE comment_id = ?");
+
+    /** Statement for applyDeltas on users; both counts in one update so each user row is locked once */
+    private static final NamedStatement ADD_USER_POSTS = NamedStatement.of("CounterDAO.addUserPosts",
+            "UPDATE users SET comment_count = GREATEST(comment_count + ?, 0), " +
+            "reply_count = GREATEST(reply_count + ?, 0) WHERE user_id = ?");
+
+    /** Database configuration instance */
+    private final DatabaseConfig databaseConfig;
+
+    /**
+     * Constructor to initialize CounterDAO with database configuration
+     */
+    public CounterDAO() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Adds buffered counter changes in one transaction
+     * Tables are updated in a fixed order and rows in ID order, so concurrent batches lock
+     * rows in the same order and cannot deadlock with each other
+     *
+     * @param topicComments Comment count changes per topic ID
+     * @param commentReplies Reply count changes per comment ID
+     * @param userComments Comment count changes per user ID
+     * @param userReplies Reply count changes per user ID
+     * @return Number of counter rows updated, or -1 if the batch failed and nothing was written
+     */
+    public int applyDeltas(SortedMap<Integer, Integer> topicComments, SortedMap<Integer, Integer> commentReplies,
+                           SortedMap<Integer, Integer> userComments, SortedMap<Integer, Integer> userReplies) {
+        TreeSet<Integer> userIds = new TreeSet<>(userComments.keySet());
+        userIds.addAll(userReplies.keySet());
+        if (topicComments.isEmpty() && commentReplies.isEmpty() && userIds.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = databaseConfig.getConnection("CounterDAO.applyDeltas")) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement topics = ADD_TOPIC_COMMENTS.prepare(connection);
+                 PreparedStatement comments = ADD_COMMENT_REPLIES.prepare(connection);
+                 PreparedStatement users = ADD_USER_POSTS.prepare(connection)) {
+
+                for (Map.Entry<Integer, Integer> entry : topicComments.entrySet()) {
+                    topics.setInt(1, entry.getValue());
+                    topics.setInt(2, entry.getKey());
+                    topics.addBatch();
+                }
+                for (Map.Entry<Integer, Integer> entry : commentReplies.entrySet()) {
+                    comments.setInt(1, entry.getValue());
+                    comments.setInt(2, entry.getKey());
+                    comments.addBatch();
+                }
+                for (Integer userId : userIds) {
+                    users.setInt(1, userComments.getOrDefault(userId, 0));
+                    users.setInt(2, userReplies.getOrDefault(userId, 0));
+                    users.setInt(3, userId);
+                    users.addBatch();
+                }
+
+                int updated = 0;
+                for (PreparedStatement statement : new PreparedStatement[]{topics, comments, users}) {
+                    for (int rows : statement.executeBatch()) {
+                        // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+                        updated += rows == Statement.SUCCESS_NO_INFO ? 1 : Math.max(rows, 0);
+                    }
+                }
+                connection.commit();
+                return updated;
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error applying counter changes", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the highest primary key of a counter column's table
+     *
+     * @param column Counter column
+     * @return Highest ID, 0 if the table is empty, or -1 if the query failed
+     */
+    public int getMaxId(Column column) {
+        try (Connection connection = databaseConfig.getConnection("CounterDAO.getMaxId");
+             PreparedStatement statement = column.maxId.prepare(connection);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error reading the ID range of " + column.counterName, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Recomputes a counter column for one range of IDs, touching only rows that drifted
+     * Runs as one short statement, so only the rows of the range are locked, and only briefly
+     *
+     * @param column Counter column
+     * @param fromId First ID of the range
+     * @param toId Last ID of the range
+     * @return Number of counter rows repaired, or -1 if the statement failed
+     */
+    public int reconcileRange(Column column, int fromId, int toId) {
+        try (Connection connection = databaseConfig.getConnection("CounterDAO.reconcileRange");
+             PreparedStatement statement = column.reconcile.prepare(connection)) {
+
+            statement.setInt(1, fromId);
+            statement.setInt(2, toId);
+            return statement.executeUpdate();
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error reconciling " + column.counterName + " for IDs " + fromId + "-" + toId, e);
+            return -1;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.forum.dao;
 
 import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
+import com.forum.model.Page;
 import com.forum.model.Reply;
 import com.forum.model.User;
+import com.forum.util.PageCursor;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,7 +22,7 @@ import java.util.logging.Logger;
  * Handles all database operations related to replies
  *
  * @author Simphiwe Radebe
- * @version 1.2
+ * @version 1.11
  * @since 2025-06-04
  */
 public class ReplyDAO {
@@ -23,56 +30,195 @@ public class ReplyDAO {
     /** Logger instance for database operations */
     private static final Logger LOGGER = Logger.getLogger(ReplyDAO.class.getName());
 
+    /** Statement for createReply */
+    private static final NamedStatement CREATE_REPLY = NamedStatement.of("ReplyDAO.createReply",
+            "INSERT INTO replies (comment_id, user_id, reply_text) " +
+            "SELECT c.comment_id, u.user_id, ? FROM comments c " +
+            "JOIN users u ON u.user_id = ? AND u.is_active = TRUE " +
+            "WHERE c.comment_id = ? AND c.is_active = TRUE");
+
+    /** Statement for getReplyById */
+    private static final NamedStatement GET_REPLY_BY_ID = NamedStatement.of("ReplyDAO.getReplyById",
+            "SELECT r.*, u.first_name, u.last_name, u.email " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "WHERE r.reply_id = ? AND r.is_active = TRUE");
+
+    /** Statement for getRepliesByCommentId */
+    private static final NamedStatement GET_REPLIES_BY_COMMENT_ID = NamedStatement.of("ReplyDAO.getRepliesByCommentId",
+            "SELECT r.*, u.first_name, u.last_name, u.email " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "WHERE r.comment_id = ? AND r.is_active = TRUE " +
+            "ORDER BY r.date_posted ASC");
+
+    /** Columns and filter shared by the reply page statements */
+    private static final String REPLY_PAGE_SELECT = "SELECT r.*, u.first_name, u.last_name, u.email " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "WHERE r.comment_id = ? AND r.is_active = TRUE ";
+
+    /** Statement for the first page of getRepliesPage */
+    private static final NamedStatement REPLIES_FIRST_PAGE = NamedStatement.of("ReplyDAO.getRepliesPage.first",
+            REPLY_PAGE_SELECT +
+            "ORDER BY r.date_posted ASC, r.reply_id ASC " +
+            "LIMIT ?");
+
+    /** Statement for getRepliesPage after a cursor */
+    private static final NamedStatement REPLIES_PAGE_AFTER = NamedStatement.of("ReplyDAO.getRepliesPage.after",
+            REPLY_PAGE_SELECT +
+            "AND (r.date_posted > ? OR (r.date_posted = ? AND r.reply_id > ?)) " +
+            "ORDER BY r.date_posted ASC, r.reply_id ASC " +
+            "LIMIT ?");
+
+    /** Statement for getRepliesPage before a cursor, in reverse order */
+    private static final NamedStatement REPLIES_PAGE_BEFORE = NamedStatement.of("ReplyDAO.getRepliesPage.before",
+            REPLY_PAGE_SELECT +
+            "AND (r.date_posted < ? OR (r.date_posted = ? AND r.reply_id < ?)) " +
+            "ORDER BY r.date_posted DESC, r.reply_id DESC " +
+            "LIMIT ?");
+
+    /** Statement for getRepliesGroupedByTopicId */
+    private static final NamedStatement GET_REPLIES_BY_TOPIC_ID = NamedStatement.of(
+            "ReplyDAO.getRepliesGroupedByTopicId",
+            "SELECT r.*, u.first_name, u.last_name, u.email " +
+            "FROM replies r " +
+            "JOIN comments c ON r.comment_id = c.comment_id " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "WHERE c.topic_id = ? AND c.is_active = TRUE AND r.is_active = TRUE " +
+            "ORDER BY r.date_posted ASC, r.reply_id ASC");
+
+    /** Statement for getRepliesByUserId */
+    private static final NamedStatement GET_REPLIES_BY_USER_ID = NamedStatement.of("ReplyDAO.getRepliesByUserId",
+            "SELECT r.*, u.first_name, u.last_name, u.email, " +
+            "c.comment_text, t.title as topic_title " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE r.user_id = ? AND r.is_active = TRUE " +
+            "ORDER BY r.date_posted DESC");
+
+    /** Statement for updateReply */
+    private static final NamedStatement UPDATE_REPLY = NamedStatement.of("ReplyDAO.updateReply",
+            "UPDATE replies SET reply_text = ? WHERE reply_id = ? AND user_id = ?");
+
+    /** Statement for deactivateReply (row lock) */
+    private static final NamedStatement DEACTIVATE_REPLY_SELECT = NamedStatement.of("ReplyDAO.deactivateReply.select",
+            "SELECT comment_id FROM replies " +
+            "WHERE reply_id = ? AND user_id = ? AND is_active = TRUE FOR UPDATE");
+
+    /** Statement for deactivateReply */
+    private static final NamedStatement DEACTIVATE_REPLY = NamedStatement.of("ReplyDAO.deactivateReply",
+            "UPDATE replies SET is_active = FALSE WHERE reply_id = ?");
+
+    /** Statement for getReplyCountByCommentId */
+    private static final NamedStatement GET_REPLY_COUNT_BY_COMMENT_ID = NamedStatement.of(
+            "ReplyDAO.getReplyCountByCommentId",
+            "SELECT reply_count FROM comments WHERE comment_id = ?");
+
+    /** Statement for getReplyCountByUserId */
+    private static final NamedStatement GET_REPLY_COUNT_BY_USER_ID = NamedStatement.of("ReplyDAO.getReplyCountByUserId",
+            "SELECT reply_count FROM users WHERE user_id = ?");
+
+    /** Statement for searchReplies */
+    private static final NamedStatement SEARCH_REPLIES = NamedStatement.of("ReplyDAO.searchReplies",
+            "SELECT r.*, u.first_name, u.last_name, u.email, " +
+            "c.comment_text, t.title as topic_title " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE r.reply_text LIKE ? AND r.is_active = TRUE " +
+            "ORDER BY r.date_posted DESC");
+
+    /** Statement for getRecentReplies */
+    private static final NamedStatement GET_RECENT_REPLIES = NamedStatement.of("ReplyDAO.getRecentReplies",
+            "SELECT r.*, u.first_name, u.last_name, u.email, " +
+            "c.comment_text, t.title as topic_title " +
+            "FROM replies r " +
+            "LEFT JOIN users u ON r.user_id = u.user_id " +
+            "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
+            "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
+            "WHERE r.is_active = TRUE AND c.is_active = TRUE AND t.is_active = TRUE " +
+            "ORDER BY r.date_posted DESC " +
+            "LIMIT ?");
+
+    /** Maximum number of comment IDs bound into a single IN list */
+    private static final int MAX_IN_LIST_SIZE = 500;
+
     /** Database configuration instance */
     private final DatabaseConfig databaseConfig;
 
+    /** Counter DAO for the denormalized reply counts */
+    private final CounterDAO counterDAO;
+
     /**
      * Constructor to initialize ReplyDAO with database configuration
      */
     public ReplyDAO() {
         this.databaseConfig = DatabaseConfig.getInstance();
+        this.counterDAO = new CounterDAO();
     }
 
     /**
-     * Creates a new reply in the database
+     * Creates a new reply in its own transaction
+     * The comment and user counters are bumped after the insert commits, in a transaction of their own
      *
      * @param reply Reply object to create
      * @return true if reply created successfully, false otherwise
      */
     public boolean createReply(Reply reply) {
-        String sql = "INSERT INTO replies (comment_id, user_id, reply_text) VALUES (?, ?, ?)";
+        if (UnitOfWork.execute("ReplyDAO.createReply",
+                work -> createReply(work, reply) ? Boolean.TRUE : null) == null) {
+            return false;
+        }
+        counterDAO.applyDeltas(new TreeMap<>(), new TreeMap<>(Map.of(reply.getCommentId(), 1)),
+                new TreeMap<>(), new TreeMap<>(Map.of(reply.getUserId(), 1)));
+        return true;
+    }
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    /**
+     * Creates a new reply inside a unit of work
+     * The insert only takes place when the comment and the user exist and are active, so
+     * no separate lookups are needed; the generated ID comes back with the insert.
+     * The denormalized counters are left to the caller once the unit of work commits,
+     * as for {@link CommentDAO#createComment(UnitOfWork, com.forum.model.Comment)}
+     *
+     * @param work Unit of work holding the transaction
+     * @param reply Reply object to create; its ID is set on success
+     * @return true if the reply was created, false if the comment or user was not found
+     * @throws SQLException if a statement fails
+     */
+    public boolean createReply(UnitOfWork work, Reply reply) throws SQLException {
+        Connection connection = work.getConnection();
+
+        try (PreparedStatement statement = connection.prepareStatement(CREATE_REPLY.getSql(),
+                Statement.RETURN_GENERATED_KEYS)) {
 
             // Set parameters
-            statement.setInt(1, reply.getCommentId());
+            statement.setString(1, reply.getReplyText());
             statement.setInt(2, reply.getUserId());
-            statement.setString(3, reply.getReplyText());
+            statement.setInt(3, reply.getCommentId());
 
-            // Execute insert
-            int rowsAffected = statement.executeUpdate();
+            // No row means the comment or user is missing or inactive
+            if (statement.executeUpdate() == 0) {
+                LOGGER.warning("Reply not created; comment " + reply.getCommentId() + " or user " +
+                        reply.getUserId() + " not found");
+                return false;
+            }
 
             // Get generated reply ID
-            if (rowsAffected > 0) {
-                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        reply.setReplyId(generatedKeys.getInt(1));
-                        LOGGER.info("Reply created successfully with ID: " + reply.getReplyId());
-
-                        // Update topic last activity
-                        updateTopicLastActivityFromReply(reply.getCommentId());
-
-                        return true;
-                    }
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    return false;
                 }
+                reply.setReplyId(generatedKeys.getInt(1));
             }
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error creating reply for comment: " + reply.getCommentId(), e);
         }
 
-        return false;
+        LOGGER.info("Reply created successfully with ID: " + reply.getReplyId());
+        return true;
     }
 
     /**
@@ -82,13 +228,8 @@ public class ReplyDAO {
      * @return Reply object if found, null otherwise
      */
     public Reply getReplyById(int replyId) {
-        String sql = "SELECT r.*, u.first_name, u.last_name, u.email " +
-                "FROM replies r " +
-                "LEFT JOIN users u ON r.user_id = u.user_id " +
-                "WHERE r.reply_id = ? AND r.is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getReplyById");
+             PreparedStatement statement = GET_REPLY_BY_ID.prepare(connection)) {
 
             statement.setInt(1, replyId);
 
@@ -113,14 +254,9 @@ public class ReplyDAO {
      */
     public List<Reply> getRepliesByCommentId(int commentId) {
         List<Reply> replies = new ArrayList<>();
-        String sql = "SELECT r.*, u.first_name, u.last_name, u.email " +
-                "FROM replies r " +
-                "LEFT JOIN users u ON r.user_id = u.user_id " +
-                "WHERE r.comment_id = ? AND r.is_active = TRUE " +
-                "ORDER BY r.date_posted ASC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getRepliesByCommentId");
+             PreparedStatement statement = GET_REPLIES_BY_COMMENT_ID.prepare(connection)) {
 
             statement.setInt(1, commentId);
 
@@ -137,6 +273,114 @@ public class ReplyDAO {
         return replies;
     }
 
+    /**
+     * Gets one page of a comment's replies in posting order using keyset pagination
+     * Seeks on (date_posted, reply_id) so page cost does not grow with depth
+     *
+     * @param commentId Comment ID to get replies for
+     * @param cursor Cursor from a previous page, null for the first page
+     * @param limit Number of replies per page
+     * @return Page of Reply objects
+     */
+    public Page<Reply> getRepliesPage(int commentId, PageCursor cursor, int limit) {
+        List<Reply> replies = new ArrayList<>();
+        boolean backward = cursor != null && cursor.isBackward();
+
+        NamedStatement query = cursor == null ? REPLIES_FIRST_PAGE
+                : backward ? REPLIES_PAGE_BEFORE : REPLIES_PAGE_AFTER;
+
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getRepliesPage");
+             PreparedStatement statement = query.prepare(connection)) {
+
+            int index = 1;
+            statement.setInt(index++, commentId);
+            if (cursor != null) {
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setInt(index++, cursor.getId());
+            }
+            // Fetch one extra row to learn whether another page exists
+            statement.setInt(index, limit + 1);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    replies.add(mapResultSetToReply(resultSet));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving reply page for comment: " + commentId, e);
+        }
+
+        return Page.fromKeysetRows(replies, limit, cursor, Reply::getDatePosted, Reply::getReplyId);
+    }
+
+    /**
+     * Loads every active reply under a topic's active comments in one query,
+     * grouped by comment ID in posting order
+     *
+     * @param connection Connection to run the query on
+     * @param topicId Topic ID
+     * @return Map of comment ID to its replies
+     * @throws SQLException if the query fails
+     */
+    Map<Integer, List<Reply>> getRepliesGroupedByTopicId(Connection connection, int topicId) throws SQLException {
+        Map<Integer, List<Reply>> repliesByComment = new HashMap<>();
+
+        try (PreparedStatement statement = GET_REPLIES_BY_TOPIC_ID.prepare(connection)) {
+            statement.setInt(1, topicId);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                collectReplies(resultSet, repliesByComment);
+            }
+        }
+
+        return repliesByComment;
+    }
+
+    /**
+     * Loads the active replies for a set of comments, grouped by comment ID in posting order
+     * Uses one query per {@value #MAX_IN_LIST_SIZE} comment IDs
+     *
+     * @param connection Connection to run the queries on
+     * @param commentIds Comment IDs to load replies for
+     * @return Map of comment ID to its replies
+     * @throws SQLException if a query fails
+     */
+    Map<Integer, List<Reply>> getRepliesGroupedByCommentIds(Connection connection, List<Integer> commentIds)
+            throws SQLException {
+        if (commentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, List<Reply>> repliesByComment = new HashMap<>();
+
+        for (int from = 0; from < commentIds.size(); from += MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = commentIds.subList(from, Math.min(from + MAX_IN_LIST_SIZE, commentIds.size()));
+
+            StringBuilder sql = new StringBuilder("SELECT r.*, u.first_name, u.last_name, u.email " +
+                    "FROM replies r " +
+                    "LEFT JOIN users u ON r.user_id = u.user_id " +
+                    "WHERE r.is_active = TRUE AND r.comment_id IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(") ORDER BY r.date_posted ASC, r.reply_id ASC");
+
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setInt(i + 1, chunk.get(i));
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    collectReplies(resultSet, repliesByComment);
+                }
+            }
+        }
+
+        return repliesByComment;
+    }
+
     /**
      * Retrieves replies posted by a specific user
      *
@@ -145,17 +389,9 @@ public class ReplyDAO {
      */
     public List<Reply> getRepliesByUserId(int userId) {
         List<Reply> replies = new ArrayList<>();
-        String sql = "SELECT r.*, u.first_name, u.last_name, u.email, " +
-                "c.comment_text, t.title as topic_title " +
-                "FROM replies r " +
-                "LEFT JOIN users u ON r.user_id = u.user_id " +
-                "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
-                "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE r.user_id = ? AND r.is_active = TRUE " +
-                "ORDER BY r.date_posted DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getRepliesByUserId");
+             PreparedStatement statement = GET_REPLIES_BY_USER_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
@@ -181,10 +417,8 @@ public class ReplyDAO {
      * @return true if update successful, false otherwise
      */
     public boolean updateReply(int replyId, String newText, int userId) {
-        String sql = "UPDATE replies SET reply_text = ? WHERE reply_id = ? AND user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("ReplyDAO.updateReply");
+             PreparedStatement statement = UPDATE_REPLY.prepare(connection)) {
 
             statement.setString(1, newText);
             statement.setInt(2, replyId);
@@ -205,46 +439,71 @@ public class ReplyDAO {
     }
 
     /**
-     * Deactivates a reply (soft delete)
+     * Deactivates a reply (soft delete) in its own transaction
+     * The comment and user counters are lowered after the update commits, in a transaction of their own
      *
      * @param replyId Reply ID to deactivate
      * @param userId User ID requesting the deactivation (must be reply owner)
      * @return true if deactivation successful, false otherwise
      */
     public boolean deactivateReply(int replyId, int userId) {
-        String sql = "UPDATE replies SET is_active = FALSE WHERE reply_id = ? AND user_id = ?";
+        Integer commentId = UnitOfWork.execute("ReplyDAO.deactivateReply", work -> {
+            int deactivatedFrom = deactivateReply(work, replyId, userId);
+            return deactivatedFrom > 0 ? deactivatedFrom : null;
+        });
+        if (commentId == null) {
+            return false;
+        }
+        counterDAO.applyDeltas(new TreeMap<>(), new TreeMap<>(Map.of(commentId, -1)),
+                new TreeMap<>(), new TreeMap<>(Map.of(userId, -1)));
+        return true;
+    }
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+    /**
+     * Deactivates a reply (soft delete) inside a unit of work
+     * Only an active reply is deactivated, so repeating the call changes nothing. The
+     * denormalized counters are left to the caller once the unit of work commits
+     *
+     * @param work Unit of work holding the transaction
+     * @param replyId Reply ID to deactivate
+     * @param userId User ID requesting the deactivation (must be reply owner)
+     * @return Comment ID of the deactivated reply, or 0 if no active reply of the user was found
+     * @throws SQLException if a statement fails
+     */
+    public int deactivateReply(UnitOfWork work, int replyId, int userId) throws SQLException {
+        Connection connection = work.getConnection();
 
-            statement.setInt(1, replyId);
-            statement.setInt(2, userId);
+        try (PreparedStatement selectStatement = DEACTIVATE_REPLY_SELECT.prepare(connection);
+             PreparedStatement statement = DEACTIVATE_REPLY.prepare(connection)) {
 
-            int rowsAffected = statement.executeUpdate();
+            selectStatement.setInt(1, replyId);
+            selectStatement.setInt(2, userId);
 
-            if (rowsAffected > 0) {
-                LOGGER.info("Reply deactivated successfully: " + replyId);
-                return true;
+            int commentId;
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                commentId = resultSet.getInt("comment_id");
             }
 
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error deactivating reply: " + replyId, e);
-        }
+            statement.setInt(1, replyId);
+            statement.executeUpdate();
 
-        return false;
+            LOGGER.info("Reply deactivated successfully: " + replyId);
+            return commentId;
+        }
     }
 
     /**
-     * Gets the total number of replies for a comment
+     * Gets the total number of replies for a comment from the maintained counter
      *
      * @param commentId Comment ID
      * @return Number of replies
      */
     public int getReplyCountByCommentId(int commentId) {
-        String sql = "SELECT COUNT(*) FROM replies WHERE comment_id = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getReplyCountByCommentId");
+             PreparedStatement statement = GET_REPLY_COUNT_BY_COMMENT_ID.prepare(connection)) {
 
             statement.setInt(1, commentId);
 
@@ -262,16 +521,14 @@ public class ReplyDAO {
     }
 
     /**
-     * Gets the total number of replies posted by a user
+     * Gets the total number of replies posted by a user from the maintained counter
      *
      * @param userId User ID
      * @return Number of replies
      */
     public int getReplyCountByUserId(int userId) {
-        String sql = "SELECT COUNT(*) FROM replies WHERE user_id = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getReplyCountByUserId");
+             PreparedStatement statement = GET_REPLY_COUNT_BY_USER_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
@@ -296,17 +553,9 @@ public class ReplyDAO {
      */
     public List<Reply> searchReplies(String searchTerm) {
         List<Reply> replies = new ArrayList<>();
-        String sql = "SELECT r.*, u.first_name, u.last_name, u.email, " +
-                "c.comment_text, t.title as topic_title " +
-                "FROM replies r " +
-                "LEFT JOIN users u ON r.user_id = u.user_id " +
-                "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
-                "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE r.reply_text LIKE ? AND r.is_active = TRUE " +
-                "ORDER BY r.date_posted DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.searchReplies");
+             PreparedStatement statement = SEARCH_REPLIES.prepare(connection)) {
 
             String searchPattern = "%" + searchTerm + "%";
             statement.setString(1, searchPattern);
@@ -325,60 +574,98 @@ public class ReplyDAO {
     }
 
     /**
-     * Gets recent replies across all comments
+     * Retrieves active replies by ID, preserving the order of the given IDs
+     * Used to load ranked search results in one query
      *
-     * @param limit Maximum number of replies to retrieve
-     * @return List of recent Reply objects
+     * @param replyIds Reply IDs in the desired order
+     * @return List of Reply objects in the same order; inactive or missing IDs are skipped
      */
-    public List<Reply> getRecentReplies(int limit) {
+    public List<Reply> getRepliesByIds(List<Integer> replyIds) {
         List<Reply> replies = new ArrayList<>();
-        String sql = "SELECT r.*, u.first_name, u.last_name, u.email, " +
+        if (replyIds.isEmpty()) {
+            return replies;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT r.*, u.first_name, u.last_name, u.email, " +
                 "c.comment_text, t.title as topic_title " +
                 "FROM replies r " +
                 "LEFT JOIN users u ON r.user_id = u.user_id " +
                 "LEFT JOIN comments c ON r.comment_id = c.comment_id " +
                 "LEFT JOIN topics t ON c.topic_id = t.topic_id " +
-                "WHERE r.is_active = TRUE AND c.is_active = TRUE AND t.is_active = TRUE " +
-                "ORDER BY r.date_posted DESC " +
-                "LIMIT ?";
+                "WHERE r.is_active = TRUE AND r.reply_id IN (");
+        for (int i = 0; i < replyIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getRepliesByIds");
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
 
-            statement.setInt(1, limit);
+            for (int i = 0; i < replyIds.size(); i++) {
+                statement.setInt(i + 1, replyIds.get(i));
+            }
 
+            Map<Integer, Reply> repliesById = new HashMap<>();
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    replies.add(mapResultSetToReply(resultSet));
+                    Reply reply = mapResultSetToReply(resultSet);
+                    repliesById.put(reply.getReplyId(), reply);
+                }
+            }
+
+            for (Integer replyId : replyIds) {
+                Reply reply = repliesById.get(replyId);
+                if (reply != null) {
+                    replies.add(reply);
                 }
             }
 
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error retrieving recent replies", e);
+            LOGGER.log(Level.SEVERE, "Error retrieving replies by IDs", e);
         }
 
         return replies;
     }
 
     /**
-     * Updates the last activity timestamp for a topic when a reply is added
+     * Gets recent replies across all comments
      *
-     * @param commentId Comment ID to get topic from
+     * @param limit Maximum number of replies to retrieve
+     * @return List of recent Reply objects
      */
-    private void updateTopicLastActivityFromReply(int commentId) {
-        String sql = "UPDATE topics t " +
-                "JOIN comments c ON t.topic_id = c.topic_id " +
-                "SET t.last_activity = CURRENT_TIMESTAMP " +
-                "WHERE c.comment_id = ?";
+    public List<Reply> getRecentReplies(int limit) {
+        List<Reply> replies = new ArrayList<>();
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("ReplyDAO.getRecentReplies");
+             PreparedStatement statement = GET_RECENT_REPLIES.prepare(connection)) {
 
-            statement.setInt(1, commentId);
-            statement.executeUpdate();
+            statement.setInt(1, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    replies.add(mapResultSetToReply(resultSet));
+                }
+            }
 
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error updating topic last activity from reply", e);
+            LOGGER.log(Level.SEVERE, "Error retrieving recent replies", e);
+        }
+
+        return replies;
+    }
+
+    /**
+     * Maps every row of a reply result set and groups the replies by comment ID
+     *
+     * @param resultSet ResultSet of reply rows
+     * @param repliesByComment Map to add the replies to
+     * @throws SQLException if error occurs during mapping
+     */
+    private void collectReplies(ResultSet resultSet, Map<Integer, List<Reply>> repliesByComment)
+            throws SQLException {
+        while (resultSet.next()) {
+            Reply reply = mapResultSetToReply(resultSet);
+            repliesByComment.computeIfAbsent(reply.getCommentId(), id -> new ArrayList<>()).add(reply);
         }
     }
 
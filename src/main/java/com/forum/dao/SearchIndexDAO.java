@@ -0,0 +1,129 @@
+package com.forum.dao;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Data Access Object (DAO) that streams searchable text for building the search index
+ *
+ * @author Simphiwe Radebe
+ * @version 1.3
+ * @since 2026-10-18
+ */
+public class SearchIndexDAO {
+
+    /** Rows fetched per round trip while streaming */
+    private static final int FETCH_SIZE = 1000;
+
+    /** Statement for forEachTopic */
+    private static final NamedStatement TOPICS = NamedStatement.of("SearchIndexDAO.forEachTopic",
+            "SELECT topic_id, title, description FROM topics WHERE is_active = TRUE");
+
+    /** Statement for forEachComment */
+    private static final NamedStatement COMMENTS = NamedStatement.of("SearchIndexDAO.forEachComment",
+            "SELECT comment_id, comment_text FROM comments WHERE is_active = TRUE");
+
+    /** Statement for forEachReply */
+    private static final NamedStatement REPLIES = NamedStatement.of("SearchIndexDAO.forEachReply",
+            "SELECT reply_id, reply_text FROM replies WHERE is_active = TRUE");
+
+    /**
+     * Receives one document's ID and text fields
+     */
+    @FunctionalInterface
+    public interface DocumentVisitor {
+
+        /**
+         * Visits one document
+         *
+         * @param documentId Document ID
+         * @param fields Text fields of the document
+         */
+        void visit(int documentId, String... fields);
+    }
+
+    /** Database configuration instance */
+    private final DatabaseConfig databaseConfig;
+
+    /**
+     * Constructor to initialize SearchIndexDAO with database configuration
+     */
+    public SearchIndexDAO() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Streams the title and description of every active topic
+     *
+     * @param visitor Receives each topic
+     * @throws SQLException if the query fails
+     */
+    public void forEachTopic(DocumentVisitor visitor) throws SQLException {
+        stream("SearchIndexDAO.forEachTopic", TOPICS,
+                resultSet -> visitor.visit(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3)));
+    }
+
+    /**
+     * Streams the text of every active comment
+     *
+     * @param visitor Receives each comment
+     * @throws SQLException if the query fails
+     */
+    public void forEachComment(DocumentVisitor visitor) throws SQLException {
+        stream("SearchIndexDAO.forEachComment", COMMENTS,
+                resultSet -> visitor.visit(resultSet.getInt(1), resultSet.getString(2)));
+    }
+
+    /**
+     * Streams the text of every active reply
+     *
+     * @param visitor Receives each reply
+     * @throws SQLException if the query fails
+     */
+    public void forEachReply(DocumentVisitor visitor) throws SQLException {
+        stream("SearchIndexDAO.forEachReply", REPLIES,
+                resultSet -> visitor.visit(resultSet.getInt(1), resultSet.getString(2)));
+    }
+
+    /**
+     * Runs a query and hands each row to a callback
+     *
+     * @param operation Operation name used for latency metrics
+     * @param query Query to run
+     * @param rowHandler Callback for each row
+     * @throws SQLException if the query fails
+     */
+    private void stream(String operation, NamedStatement query, RowHandler rowHandler) throws SQLException {
+        try (Connection connection = databaseConfig.getReadConnection(operation);
+             PreparedStatement statement = query.prepare(connection)) {
+
+            statement.setFetchSize(FETCH_SIZE);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rowHandler.handle(resultSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles one result set row
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+
+        /**
+         * Handles the current row
+         *
+         * @param resultSet Result set positioned on the row
+         * @throws SQLException if a column cannot be read
+         */
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+}
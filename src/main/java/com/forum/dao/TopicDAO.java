@@ -1,12 +1,18 @@
 package com.forum.dao;
 
 import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
+import com.forum.model.Page;
 import com.forum.model.Topic;
 import com.forum.model.User;
+import com.forum.util.PageCursor;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,7 +21,7 @@ import java.util.logging.Logger;
  * Handles all database operations related to topics
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.7
  * @since 2025-06-03
  */
 public class TopicDAO {
@@ -23,6 +29,103 @@ public class TopicDAO {
     /** Logger instance for database operations */
     private static final Logger LOGGER = Logger.getLogger(TopicDAO.class.getName());
 
+    /** Statement for createTopic */
+    private static final NamedStatement CREATE_TOPIC = NamedStatement.of("TopicDAO.createTopic",
+            "INSERT INTO topics (title, description, user_id) VALUES (?, ?, ?)");
+
+    /** Statement for getTopicById */
+    private static final NamedStatement GET_TOPIC_BY_ID = NamedStatement.of("TopicDAO.getTopicById",
+            "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE t.topic_id = ? AND t.is_active = TRUE");
+
+    /** Statement for getTopicVersion */
+    private static final NamedStatement GET_TOPIC_VERSION = NamedStatement.of("TopicDAO.getTopicVersion",
+            "SELECT topic_id, last_activity, comment_count FROM topics WHERE topic_id = ? AND is_active = TRUE");
+
+    /** Statement for getAllTopics */
+    private static final NamedStatement GET_ALL_TOPICS = NamedStatement.of("TopicDAO.getAllTopics",
+            "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE t.is_active = TRUE " +
+            "ORDER BY t.last_activity DESC");
+
+    /** Statement for getTopicsByUserId */
+    private static final NamedStatement GET_TOPICS_BY_USER_ID = NamedStatement.of("TopicDAO.getTopicsByUserId",
+            "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE t.user_id = ? AND t.is_active = TRUE " +
+            "ORDER BY t.date_created DESC");
+
+    /** Statement for updateTopic */
+    private static final NamedStatement UPDATE_TOPIC = NamedStatement.of("TopicDAO.updateTopic",
+            "UPDATE topics SET title = ?, description = ?, last_activity = CURRENT_TIMESTAMP " +
+            "WHERE topic_id = ? AND user_id = ?");
+
+    /** Statement for updateLastActivity */
+    private static final NamedStatement UPDATE_LAST_ACTIVITY = NamedStatement.of("TopicDAO.updateLastActivity",
+            "UPDATE topics SET last_activity = CURRENT_TIMESTAMP WHERE topic_id = ?");
+
+    /** Statement for updateLastActivities; never moves a topic's activity backwards */
+    private static final NamedStatement UPDATE_LAST_ACTIVITIES = NamedStatement.of("TopicDAO.updateLastActivities",
+            "UPDATE topics SET last_activity = ? " +
+            "WHERE topic_id = ? AND (last_activity IS NULL OR last_activity < ?)");
+
+    /** Statement for deactivateTopic */
+    private static final NamedStatement DEACTIVATE_TOPIC = NamedStatement.of("TopicDAO.deactivateTopic",
+            "UPDATE topics SET is_active = FALSE WHERE topic_id = ? AND user_id = ?");
+
+    /** Statement for searchTopics */
+    private static final NamedStatement SEARCH_TOPICS = NamedStatement.of("TopicDAO.searchTopics",
+            "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE (t.title LIKE ? OR t.description LIKE ?) AND t.is_active = TRUE " +
+            "ORDER BY t.last_activity DESC");
+
+    /** Statement for getTotalTopicCount */
+    private static final NamedStatement GET_TOTAL_TOPIC_COUNT = NamedStatement.of("TopicDAO.getTotalTopicCount",
+            "SELECT COUNT(*) FROM topics WHERE is_active = TRUE");
+
+    /** Statement for getTopicsWithPagination */
+    private static final NamedStatement GET_TOPICS_WITH_PAGINATION = NamedStatement.of(
+            "TopicDAO.getTopicsWithPagination",
+            "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE t.is_active = TRUE " +
+            "ORDER BY t.last_activity DESC " +
+            "LIMIT ? OFFSET ?");
+
+    /** Columns and filter shared by the topic page statements */
+    private static final String TOPIC_PAGE_SELECT = "SELECT t.*, u.first_name, u.last_name, u.email " +
+            "FROM topics t " +
+            "LEFT JOIN users u ON t.user_id = u.user_id " +
+            "WHERE t.is_active = TRUE ";
+
+    /** Statement for the first page of getTopicsPage */
+    private static final NamedStatement TOPICS_FIRST_PAGE = NamedStatement.of("TopicDAO.getTopicsPage.first",
+            TOPIC_PAGE_SELECT +
+            "ORDER BY t.last_activity DESC, t.topic_id DESC " +
+            "LIMIT ?");
+
+    /** Statement for getTopicsPage after a cursor */
+    private static final NamedStatement TOPICS_PAGE_AFTER = NamedStatement.of("TopicDAO.getTopicsPage.after",
+            TOPIC_PAGE_SELECT +
+            "AND (t.last_activity < ? OR (t.last_activity = ? AND t.topic_id < ?)) " +
+            "ORDER BY t.last_activity DESC, t.topic_id DESC " +
+            "LIMIT ?");
+
+    /** Statement for getTopicsPage before a cursor, in reverse order */
+    private static final NamedStatement TOPICS_PAGE_BEFORE = NamedStatement.of("TopicDAO.getTopicsPage.before",
+            TOPIC_PAGE_SELECT +
+            "AND (t.last_activity > ? OR (t.last_activity = ? AND t.topic_id > ?)) " +
+            "ORDER BY t.last_activity ASC, t.topic_id ASC " +
+            "LIMIT ?");
+
     /** Database configuration instance */
     private final DatabaseConfig databaseConfig;
 
@@ -44,10 +147,9 @@ public class TopicDAO {
      * @return true if topic created successfully, false otherwise
      */
     public boolean createTopic(Topic topic) {
-        String sql = "INSERT INTO topics (title, description, user_id) VALUES (?, ?, ?)";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = databaseConfig.getConnection("TopicDAO.createTopic");
+             PreparedStatement statement = connection.prepareStatement(CREATE_TOPIC.getSql(),
+                     Statement.RETURN_GENERATED_KEYS)) {
 
             // Set parameters
             statement.setString(1, topic.getTitle());
@@ -82,13 +184,8 @@ public class TopicDAO {
      * @return Topic object if found, null otherwise
      */
     public Topic getTopicById(int topicId) {
-        String sql = "SELECT t.*, u.first_name, u.last_name, u.email " +
-                "FROM topics t " +
-                "LEFT JOIN users u ON t.user_id = u.user_id " +
-                "WHERE t.topic_id = ? AND t.is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.getTopicById");
+             PreparedStatement statement = GET_TOPIC_BY_ID.prepare(connection)) {
 
             statement.setInt(1, topicId);
 
@@ -106,29 +203,50 @@ public class TopicDAO {
     }
 
     /**
-     * Retrieves all active topics with user information and comment counts
+     * Retrieves the columns that change whenever a topic's thread does, by primary key
+     * Used to validate cached copies of a thread without loading it
+     *
+     * @param topicId Topic ID
+     * @return Topic with only ID, last activity and comment count set, or null if not found
+     */
+    public Topic getTopicVersion(int topicId) {
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.getTopicVersion");
+             PreparedStatement statement = GET_TOPIC_VERSION.prepare(connection)) {
+
+            statement.setInt(1, topicId);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    Topic topic = new Topic();
+                    topic.setTopicId(resultSet.getInt("topic_id"));
+                    topic.setLastActivity(resultSet.getTimestamp("last_activity"));
+                    topic.setCommentCount(resultSet.getInt("comment_count"));
+                    return topic;
+                }
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving topic version: " + topicId, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves all active topics with user information and their maintained comment counts
+     * Reads from the primary, since the result fills the shared topic list cache
      *
      * @return List of Topic objects
      */
     public List<Topic> getAllTopics() {
         List<Topic> topics = new ArrayList<>();
-        String sql = "SELECT t.*, u.first_name, u.last_name, u.email, " +
-                "COUNT(c.comment_id) as comment_count " +
-                "FROM topics t " +
-                "LEFT JOIN users u ON t.user_id = u.user_id " +
-                "LEFT JOIN comments c ON t.topic_id = c.topic_id AND c.is_active = TRUE " +
-                "WHERE t.is_active = TRUE " +
-                "GROUP BY t.topic_id " +
-                "ORDER BY t.last_activity DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = databaseConfig.getSharedReadConnection("TopicDAO.getAllTopics");
+             PreparedStatement statement = GET_ALL_TOPICS.prepare(connection);
              ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
-                Topic topic = mapResultSetToTopic(resultSet);
-                topic.setCommentCount(resultSet.getInt("comment_count"));
-                topics.add(topic);
+                topics.add(mapResultSetToTopic(resultSet));
             }
 
         } catch (SQLException e) {
@@ -146,25 +264,15 @@ public class TopicDAO {
      */
     public List<Topic> getTopicsByUserId(int userId) {
         List<Topic> topics = new ArrayList<>();
-        String sql = "SELECT t.*, u.first_name, u.last_name, u.email, " +
-                "COUNT(c.comment_id) as comment_count " +
-                "FROM topics t " +
-                "LEFT JOIN users u ON t.user_id = u.user_id " +
-                "LEFT JOIN comments c ON t.topic_id = c.topic_id AND c.is_active = TRUE " +
-                "WHERE t.user_id = ? AND t.is_active = TRUE " +
-                "GROUP BY t.topic_id " +
-                "ORDER BY t.date_created DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.getTopicsByUserId");
+             PreparedStatement statement = GET_TOPICS_BY_USER_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    Topic topic = mapResultSetToTopic(resultSet);
-                    topic.setCommentCount(resultSet.getInt("comment_count"));
-                    topics.add(topic);
+                    topics.add(mapResultSetToTopic(resultSet));
                 }
             }
 
@@ -182,11 +290,8 @@ public class TopicDAO {
      * @return true if update successful, false otherwise
      */
     public boolean updateTopic(Topic topic) {
-        String sql = "UPDATE topics SET title = ?, description = ?, last_activity = CURRENT_TIMESTAMP " +
-                "WHERE topic_id = ? AND user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("TopicDAO.updateTopic");
+             PreparedStatement statement = UPDATE_TOPIC.prepare(connection)) {
 
             statement.setString(1, topic.getTitle());
             statement.setString(2, topic.getDescription());
@@ -214,10 +319,8 @@ public class TopicDAO {
      * @return true if update successful, false otherwise
      */
     public boolean updateLastActivity(int topicId) {
-        String sql = "UPDATE topics SET last_activity = CURRENT_TIMESTAMP WHERE topic_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("TopicDAO.updateLastActivity");
+             PreparedStatement statement = UPDATE_LAST_ACTIVITY.prepare(connection)) {
 
             statement.setInt(1, topicId);
 
@@ -235,6 +338,48 @@ public class TopicDAO {
         return false;
     }
 
+    /**
+     * Moves the last activity of several topics forward in one batch and one transaction
+     * Rows are updated in the map's key order, so concurrent batches lock topics in the same order
+     *
+     * @param activityByTopic Latest activity time per topic ID, sorted by topic ID
+     * @return Number of topics updated, or -1 if the batch failed and nothing was written
+     */
+    public int updateLastActivities(SortedMap<Integer, Timestamp> activityByTopic) {
+        if (activityByTopic.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = databaseConfig.getConnection("TopicDAO.updateLastActivities")) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = UPDATE_LAST_ACTIVITIES.prepare(connection)) {
+                for (Map.Entry<Integer, Timestamp> entry : activityByTopic.entrySet()) {
+                    statement.setTimestamp(1, entry.getValue());
+                    statement.setInt(2, entry.getKey());
+                    statement.setTimestamp(3, entry.getValue());
+                    statement.addBatch();
+                }
+
+                int updated = 0;
+                for (int rows : statement.executeBatch()) {
+                    // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+                    updated += rows == Statement.SUCCESS_NO_INFO ? 1 : Math.max(rows, 0);
+                }
+                connection.commit();
+                return updated;
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error updating last activity of " + activityByTopic.size() + " topics", e);
+            return -1;
+        }
+    }
+
     /**
      * Deactivates a topic (soft delete)
      *
@@ -243,10 +388,8 @@ public class TopicDAO {
      * @return true if deactivation successful, false otherwise
      */
     public boolean deactivateTopic(int topicId, int userId) {
-        String sql = "UPDATE topics SET is_active = FALSE WHERE topic_id = ? AND user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("TopicDAO.deactivateTopic");
+             PreparedStatement statement = DEACTIVATE_TOPIC.prepare(connection)) {
 
             statement.setInt(1, topicId);
             statement.setInt(2, userId);
@@ -273,32 +416,73 @@ public class TopicDAO {
      */
     public List<Topic> searchTopics(String searchTerm) {
         List<Topic> topics = new ArrayList<>();
-        String sql = "SELECT t.*, u.first_name, u.last_name, u.email, " +
-                "COUNT(c.comment_id) as comment_count " +
-                "FROM topics t " +
-                "LEFT JOIN users u ON t.user_id = u.user_id " +
-                "LEFT JOIN comments c ON t.topic_id = c.topic_id AND c.is_active = TRUE " +
-                "WHERE (t.title LIKE ? OR t.description LIKE ?) AND t.is_active = TRUE " +
-                "GROUP BY t.topic_id " +
-                "ORDER BY t.last_activity DESC";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.searchTopics");
+             PreparedStatement statement = SEARCH_TOPICS.prepare(connection)) {
 
             String searchPattern = "%" + searchTerm + "%";
             statement.setString(1, searchPattern);
             statement.setString(2, searchPattern);
 
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    topics.add(mapResultSetToTopic(resultSet));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error searching topics with term: " + searchTerm, e);
+        }
+
+        return topics;
+    }
+
+    /**
+     * Retrieves active topics by ID, preserving the order of the given IDs
+     * Used to load ranked search results in one query
+     *
+     * @param topicIds Topic IDs in the desired order
+     * @return List of Topic objects in the same order; inactive or missing IDs are skipped
+     */
+    public List<Topic> getTopicsByIds(List<Integer> topicIds) {
+        List<Topic> topics = new ArrayList<>();
+        if (topicIds.isEmpty()) {
+            return topics;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT t.*, u.first_name, u.last_name, u.email " +
+                "FROM topics t " +
+                "LEFT JOIN users u ON t.user_id = u.user_id " +
+                "WHERE t.is_active = TRUE AND t.topic_id IN (");
+        for (int i = 0; i < topicIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.getTopicsByIds");
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < topicIds.size(); i++) {
+                statement.setInt(i + 1, topicIds.get(i));
+            }
+
+            Map<Integer, Topic> topicsById = new HashMap<>();
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     Topic topic = mapResultSetToTopic(resultSet);
-                    topic.setCommentCount(resultSet.getInt("comment_count"));
+                    topicsById.put(topic.getTopicId(), topic);
+                }
+            }
+
+            for (Integer topicId : topicIds) {
+                Topic topic = topicsById.get(topicId);
+                if (topic != null) {
                     topics.add(topic);
                 }
             }
 
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error searching topics with term: " + searchTerm, e);
+            LOGGER.log(Level.SEVERE, "Error retrieving topics by IDs", e);
         }
 
         return topics;
@@ -306,14 +490,13 @@ public class TopicDAO {
 
     /**
      * Gets the total number of active topics
+     * Reads from the primary, since the result fills the shared topic list cache
      *
      * @return Total number of topics
      */
     public int getTotalTopicCount() {
-        String sql = "SELECT COUNT(*) FROM topics WHERE is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = databaseConfig.getSharedReadConnection("TopicDAO.getTotalTopicCount");
+             PreparedStatement statement = GET_TOTAL_TOPIC_COUNT.prepare(connection);
              ResultSet resultSet = statement.executeQuery()) {
 
             if (resultSet.next()) {
@@ -333,30 +516,21 @@ public class TopicDAO {
      * @param offset Starting position
      * @param limit Number of records to fetch
      * @return List of Topic objects
+     * @deprecated OFFSET pagination scans every skipped row; use {@link #getTopicsPage(PageCursor, int)}
      */
+    @Deprecated
     public List<Topic> getTopicsWithPagination(int offset, int limit) {
         List<Topic> topics = new ArrayList<>();
-        String sql = "SELECT t.*, u.first_name, u.last_name, u.email, " +
-                "COUNT(c.comment_id) as comment_count " +
-                "FROM topics t " +
-                "LEFT JOIN users u ON t.user_id = u.user_id " +
-                "LEFT JOIN comments c ON t.topic_id = c.topic_id AND c.is_active = TRUE " +
-                "WHERE t.is_active = TRUE " +
-                "GROUP BY t.topic_id " +
-                "ORDER BY t.last_activity DESC " +
-                "LIMIT ? OFFSET ?";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getReadConnection("TopicDAO.getTopicsWithPagination");
+             PreparedStatement statement = GET_TOPICS_WITH_PAGINATION.prepare(connection)) {
 
             statement.setInt(1, limit);
             statement.setInt(2, offset);
 
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    Topic topic = mapResultSetToTopic(resultSet);
-                    topic.setCommentCount(resultSet.getInt("comment_count"));
-                    topics.add(topic);
+                    topics.add(mapResultSetToTopic(resultSet));
                 }
             }
 
@@ -367,6 +541,46 @@ public class TopicDAO {
         return topics;
     }
 
+    /**
+     * Gets one page of active topics ordered by most recent activity using keyset pagination
+     * Seeks on (last_activity, topic_id) so page cost does not grow with depth. Reads from
+     * the primary, since the result fills the shared topic list cache
+     *
+     * @param cursor Cursor from a previous page, null for the first page
+     * @param limit Number of topics per page
+     * @return Page of Topic objects with neighbouring cursors
+     */
+    public Page<Topic> getTopicsPage(PageCursor cursor, int limit) {
+        List<Topic> topics = new ArrayList<>();
+        boolean backward = cursor != null && cursor.isBackward();
+
+        NamedStatement query = cursor == null ? TOPICS_FIRST_PAGE : backward ? TOPICS_PAGE_BEFORE : TOPICS_PAGE_AFTER;
+
+        try (Connection connection = databaseConfig.getSharedReadConnection("TopicDAO.getTopicsPage");
+             PreparedStatement statement = query.prepare(connection)) {
+
+            int index = 1;
+            if (cursor != null) {
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setTimestamp(index++, cursor.getTimestamp());
+                statement.setInt(index++, cursor.getId());
+            }
+            // Fetch one extra row to learn whether another page exists
+            statement.setInt(index, limit + 1);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    topics.add(mapResultSetToTopic(resultSet));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving topic page", e);
+        }
+
+        return Page.fromKeysetRows(topics, limit, cursor, Topic::getLastActivity, Topic::getTopicId);
+    }
+
     /**
      * Maps ResultSet to Topic object with User information
      *
@@ -384,6 +598,7 @@ public class TopicDAO {
         topic.setDateCreated(resultSet.getTimestamp("date_created"));
         topic.setLastActivity(resultSet.getTimestamp("last_activity"));
         topic.setActive(resultSet.getBoolean("is_active"));
+        topic.setCommentCount(resultSet.getInt("comment_count"));
 
         // Create and set user object if user data is available
         String firstName = resultSet.getString("first_name");
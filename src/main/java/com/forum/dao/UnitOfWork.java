@@ -0,0 +1,216 @@
+package com.forum.dao;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.Counter;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One transaction on one primary connection, shared by the DAO calls of a business operation
+ * DAO methods taking a UnitOfWork run on its connection and leave committing to the caller,
+ * so a create flow costs a single connection borrow and a single commit. Work that the
+ * database aborts as a deadlock victim or after a lock wait timeout is run again in a
+ * fresh transaction, up to db.transaction.maxRetries times
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    /** Logger instance for transaction operations */
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    /** SQLSTATE of a transaction rolled back by the database, such as a deadlock victim */
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    /** MySQL error code for a deadlock */
+    private static final int MYSQL_DEADLOCK = 1213;
+
+    /** MySQL error code for a lock wait timeout */
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+
+    /** Connection holding the open transaction */
+    private final Connection connection;
+
+    /** Whether the transaction was committed */
+    private boolean committed;
+
+    /**
+     * Work run inside a unit of work
+     *
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+
+        /**
+         * Runs the work
+         *
+         * @param unitOfWork Unit of work to pass to DAO methods
+         * @return Result to commit, or null to roll back
+         * @throws SQLException if a statement fails; the transaction is rolled back
+         */
+        T run(UnitOfWork unitOfWork) throws SQLException;
+    }
+
+    /**
+     * Creates a unit of work on a borrowed connection
+     *
+     * @param connection Connection with auto-commit disabled
+     */
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Borrows a primary connection and opens a transaction on it
+     *
+     * @param operation Operation name recorded as the connection's DAO latency
+     * @return Open unit of work; close it to roll back anything not committed
+     * @throws SQLException if no connection is available
+     */
+    public static UnitOfWork begin(String operation) throws SQLException {
+        Connection connection = DatabaseConfig.getInstance().getConnection(operation);
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new UnitOfWork(connection);
+    }
+
+    /**
+     * Runs work in its own unit of work, committing when it returns a result
+     *
+     * @param operation Operation name recorded as the connection's DAO latency
+     * @param work Work to run
+     * @param <T> Result type
+     * @return Result of the work, or null if it returned null or failed
+     */
+    public static <T> T execute(String operation, Work<T> work) {
+        for (int attempt = 0; ; attempt++) {
+            try (UnitOfWork unitOfWork = begin(operation)) {
+                T result = work.run(unitOfWork);
+                if (result != null) {
+                    unitOfWork.commit();
+                }
+                return result;
+            } catch (SQLException e) {
+                if (attempt >= RetryPolicy.MAX_RETRIES || !isTransient(e)) {
+                    LOGGER.log(Level.SEVERE, "Transaction failed: " + operation, e);
+                    return null;
+                }
+                RetryPolicy.RETRIES.get(operation).increment();
+                LOGGER.warning("Transaction aborted, retrying (" + (attempt + 1) + "/" + RetryPolicy.MAX_RETRIES
+                        + "): " + operation + ": " + e.getMessage());
+                if (!backOff(attempt)) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failure aborted the transaction for a reason that running it again can fix
+     * Looks through chained exceptions, since drivers may wrap the database error
+     *
+     * @param e Failure
+     * @return true for a deadlock, serialization failure or lock wait timeout
+     */
+    static boolean isTransient(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (SERIALIZATION_FAILURE.equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == MYSQL_DEADLOCK
+                        || sqlException.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT) {
+                    return true;
+                }
+                if (sqlException.getNextException() != null && isTransient(sqlException.getNextException())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits before a retry, longer after each attempt and with jitter so the
+     * transactions that collided do not collide again
+     *
+     * @param attempt Number of the attempt that failed, from 0
+     * @return false if the thread was interrupted and the work should not be retried
+     */
+    private static boolean backOff(int attempt) {
+        long baseMillis = RetryPolicy.BACKOFF_MILLIS << Math.min(attempt, 10);
+        try {
+            Thread.sleep(baseMillis + ThreadLocalRandom.current().nextLong(baseMillis + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the connection for DAO statements
+     *
+     * @return Connection holding the open transaction
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Commits the transaction
+     *
+     * @throws SQLException if the commit fails
+     */
+    public void commit() throws SQLException {
+        connection.commit();
+        committed = true;
+    }
+
+    /**
+     * Rolls back anything not committed and returns the connection to the pool
+     *
+     * @throws SQLException if the connection cannot be returned
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!committed) {
+                connection.rollback();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Retry settings, read from application.properties on first use
+     */
+    private static final class RetryPolicy {
+
+        /** Most times a transaction is run again after being aborted */
+        private static final int MAX_RETRIES = Math.max(0,
+                DatabaseConfig.getInstance().getIntProperty("db.transaction.maxRetries", 3));
+
+        /** Wait before the first retry in milliseconds, doubled for each further retry */
+        private static final long BACKOFF_MILLIS = Math.max(1L,
+                DatabaseConfig.getInstance().getLongProperty("db.transaction.retryBackoffMs", 10L));
+
+        /** Retries per operation */
+        private static final MetricFamily<Counter> RETRIES = MetricsRegistry.getInstance().counterFamily(
+                "forum_transaction_retries_total", "Transactions run again after a deadlock or lock timeout",
+                "operation");
+    }
+}
@@ -1,6 +1,7 @@
 package com.forum.dao;
 
 import com.forum.config.DatabaseConfig;
+import com.forum.config.NamedStatement;
 import com.forum.model.User;
 import com.forum.util.PasswordHashUtil;
 
@@ -15,7 +16,7 @@ import java.util.logging.Logger;
  * Handles all database operations related to users
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.4
  * @since 2025-06-03
  */
 public class UserDAO {
@@ -23,6 +24,56 @@ public class UserDAO {
     /** Logger instance for database operations */
     private static final Logger LOGGER = Logger.getLogger(UserDAO.class.getName());
 
+    /** Statement for createUser */
+    private static final NamedStatement CREATE_USER = NamedStatement.of("UserDAO.createUser",
+            "INSERT INTO users (email, password_hash, first_name, last_name, phone) VALUES (?, ?, ?, ?, ?)");
+
+    /** Statement for getUserByEmail */
+    private static final NamedStatement GET_USER_BY_EMAIL = NamedStatement.of("UserDAO.getUserByEmail",
+            "SELECT * FROM users WHERE email = ? AND is_active = TRUE");
+
+    /** Statement for getUserById */
+    private static final NamedStatement GET_USER_BY_ID = NamedStatement.of("UserDAO.getUserById",
+            "SELECT * FROM users WHERE user_id = ? AND is_active = TRUE");
+
+    /** Statement for updateUser */
+    private static final NamedStatement UPDATE_USER = NamedStatement.of("UserDAO.updateUser",
+            "UPDATE users SET first_name = ?, last_name = ?, phone = ? WHERE user_id = ?");
+
+    /** Statement for updatePassword */
+    private static final NamedStatement UPDATE_PASSWORD = NamedStatement.of("UserDAO.updatePassword",
+            "UPDATE users SET password_hash = ? WHERE user_id = ?");
+
+    /** Statement for updateLastLogin */
+    private static final NamedStatement UPDATE_LAST_LOGIN = NamedStatement.of("UserDAO.updateLastLogin",
+            "UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE user_id = ?");
+
+    /** Statement for setPasswordResetToken */
+    private static final NamedStatement SET_PASSWORD_RESET_TOKEN = NamedStatement.of("UserDAO.setPasswordResetToken",
+            "UPDATE users SET password_reset_token = ?, password_reset_expires = ? WHERE email = ?");
+
+    /** Statement for validatePasswordResetToken */
+    private static final NamedStatement VALIDATE_PASSWORD_RESET_TOKEN = NamedStatement.of(
+            "UserDAO.validatePasswordResetToken",
+            "SELECT * FROM users WHERE password_reset_token = ? AND password_reset_expires > CURRENT_TIMESTAMP");
+
+    /** Statement for clearPasswordResetToken */
+    private static final NamedStatement CLEAR_PASSWORD_RESET_TOKEN = NamedStatement.of(
+            "UserDAO.clearPasswordResetToken",
+            "UPDATE users SET password_reset_token = NULL, password_reset_expires = NULL WHERE user_id = ?");
+
+    /** Statement for emailExists */
+    private static final NamedStatement EMAIL_EXISTS = NamedStatement.of("UserDAO.emailExists",
+            "SELECT COUNT(*) FROM users WHERE email = ?");
+
+    /** Statement for getAllUsers */
+    private static final NamedStatement GET_ALL_USERS = NamedStatement.of("UserDAO.getAllUsers",
+            "SELECT * FROM users WHERE is_active = TRUE ORDER BY first_name, last_name");
+
+    /** Statement for getActiveUserCount */
+    private static final NamedStatement GET_ACTIVE_USER_COUNT = NamedStatement.of("UserDAO.getActiveUserCount",
+            "SELECT COUNT(*) FROM users WHERE is_active = TRUE");
+
     /** Database configuration instance */
     private final DatabaseConfig databaseConfig;
 
@@ -40,10 +91,9 @@ public class UserDAO {
      * @return true if user created successfully, false otherwise
      */
     public boolean createUser(User user) {
-        String sql = "INSERT INTO users (email, password_hash, first_name, last_name, phone) VALUES (?, ?, ?, ?, ?)";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.createUser");
+             PreparedStatement statement = connection.prepareStatement(CREATE_USER.getSql(),
+                     Statement.RETURN_GENERATED_KEYS)) {
 
             // Hash the password before storing
             String hashedPassword = PasswordHashUtil.hashPassword(user.getPasswordHash());
@@ -83,10 +133,8 @@ public class UserDAO {
      * @return User object if found, null otherwise
      */
     public User getUserByEmail(String email) {
-        String sql = "SELECT * FROM users WHERE email = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.getUserByEmail");
+             PreparedStatement statement = GET_USER_BY_EMAIL.prepare(connection)) {
 
             statement.setString(1, email);
 
@@ -105,15 +153,15 @@ public class UserDAO {
 
     /**
      * Retrieves a user by user ID
+     * Reads from the primary, since the result fills the shared user cache; a replica could
+     * return the record from before a profile change, password change or deactivation
      *
      * @param userId User ID to search for
      * @return User object if found, null otherwise
      */
     public User getUserById(int userId) {
-        String sql = "SELECT * FROM users WHERE user_id = ? AND is_active = TRUE";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getSharedReadConnection("UserDAO.getUserById");
+             PreparedStatement statement = GET_USER_BY_ID.prepare(connection)) {
 
             statement.setInt(1, userId);
 
@@ -137,10 +185,8 @@ public class UserDAO {
      * @return true if update successful, false otherwise
      */
     public boolean updateUser(User user) {
-        String sql = "UPDATE users SET first_name = ?, last_name = ?, phone = ? WHERE user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.updateUser");
+             PreparedStatement statement = UPDATE_USER.prepare(connection)) {
 
             statement.setString(1, user.getFirstName());
             statement.setString(2, user.getLastName());
@@ -169,10 +215,8 @@ public class UserDAO {
      * @return true if password updated successfully, false otherwise
      */
     public boolean updatePassword(int userId, String newPassword) {
-        String sql = "UPDATE users SET password_hash = ? WHERE user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.updatePassword");
+             PreparedStatement statement = UPDATE_PASSWORD.prepare(connection)) {
 
             // Hash the new password
             String hashedPassword = PasswordHashUtil.hashPassword(newPassword);
@@ -227,10 +271,8 @@ public class UserDAO {
      * @param userId User ID
      */
     private void updateLastLogin(int userId) {
-        String sql = "UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.updateLastLogin");
+             PreparedStatement statement = UPDATE_LAST_LOGIN.prepare(connection)) {
 
             statement.setInt(1, userId);
             statement.executeUpdate();
@@ -249,10 +291,8 @@ public class UserDAO {
      * @return true if token set successfully, false otherwise
      */
     public boolean setPasswordResetToken(String email, String token, Timestamp expiryTime) {
-        String sql = "UPDATE users SET password_reset_token = ?, password_reset_expires = ? WHERE email = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.setPasswordResetToken");
+             PreparedStatement statement = SET_PASSWORD_RESET_TOKEN.prepare(connection)) {
 
             statement.setString(1, token);
             statement.setTimestamp(2, expiryTime);
@@ -279,10 +319,8 @@ public class UserDAO {
      * @return User object if token valid, null otherwise
      */
     public User validatePasswordResetToken(String token) {
-        String sql = "SELECT * FROM users WHERE password_reset_token = ? AND password_reset_expires > CURRENT_TIMESTAMP";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.validatePasswordResetToken");
+             PreparedStatement statement = VALIDATE_PASSWORD_RESET_TOKEN.prepare(connection)) {
 
             statement.setString(1, token);
 
@@ -306,10 +344,8 @@ public class UserDAO {
      * @return true if token cleared successfully, false otherwise
      */
     public boolean clearPasswordResetToken(int userId) {
-        String sql = "UPDATE users SET password_reset_token = NULL, password_reset_expires = NULL WHERE user_id = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.clearPasswordResetToken");
+             PreparedStatement statement = CLEAR_PASSWORD_RESET_TOKEN.prepare(connection)) {
 
             statement.setInt(1, userId);
 
@@ -334,10 +370,8 @@ public class UserDAO {
      * @return true if email exists, false otherwise
      */
     public boolean emailExists(String email) {
-        String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = databaseConfig.getConnection("UserDAO.emailExists");
+             PreparedStatement statement = EMAIL_EXISTS.prepare(connection)) {
 
             statement.setString(1, email);
 
@@ -361,10 +395,9 @@ public class UserDAO {
      */
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE is_active = TRUE ORDER BY first_name, last_name";
 
-        try (Connection connection = databaseConfig.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = databaseConfig.getReadConnection("UserDAO.getAllUsers");
+             PreparedStatement statement = GET_ALL_USERS.prepare(connection);
              ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
@@ -378,6 +411,28 @@ public class UserDAO {
         return users;
     }
 
+    /**
+     * Counts active users without loading them
+     * Reads from the primary, since the result fills the shared topic list cache
+     *
+     * @return Number of active users
+     */
+    public int getActiveUserCount() {
+        try (Connection connection = databaseConfig.getSharedReadConnection("UserDAO.getActiveUserCount");
+             PreparedStatement statement = GET_ACTIVE_USER_COUNT.prepare(connection);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            if (resultSet.next()) {
+                return resultSet.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error counting active users", e);
+        }
+
+        return 0;
+    }
+
     /**
      * Maps ResultSet to User object
      *
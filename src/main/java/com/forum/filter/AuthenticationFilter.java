@@ -13,7 +13,7 @@ import java.util.logging.Logger;
  * Ensures users are logged in before accessing protected resources
  *
  * @author Simphiwe Radebe
- * @version 1.2
+ * @version 1.3
  * @since 2025-06-04
  */
 @WebFilter(filterName = "AuthenticationFilter", urlPatterns = {
@@ -21,7 +21,7 @@ import java.util.logging.Logger;
         "/user/profile",
         "/user/update-profile",
         "/user/change-password"
-})
+}, asyncSupported = true)
 public class AuthenticationFilter implements Filter {
 
     /** Logger instance for filter operations */
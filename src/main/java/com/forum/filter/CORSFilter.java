@@ -12,10 +12,10 @@ import java.util.logging.Logger;
  * Allows API access from different domains for external integration
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.2
  * @since 2025-06-04
  */
-@WebFilter(filterName = "CORSFilter", urlPatterns = {"/api/*"})
+@WebFilter(filterName = "CORSFilter", urlPatterns = {"/api/*"}, asyncSupported = true)
 public class CORSFilter implements Filter {
 
     /** Logger instance for filter operations */
@@ -55,7 +55,10 @@ public class CORSFilter implements Filter {
 
         httpResponse.setHeader("Access-Control-Allow-Headers",
                 "Origin, X-Requested-With, Content-Type, Accept, Authorization, " +
-                        "X-CSRF-Token, X-Requested-With");
+                        "X-CSRF-Token, X-Requested-With, If-None-Match, If-Modified-Since");
+
+        // Let scripts read the validators they send back on conditional GETs
+        httpResponse.setHeader("Access-Control-Expose-Headers", "ETag, Last-Modified");
 
         httpResponse.setHeader("Access-Control-Allow-Credentials", "true");
 
@@ -11,12 +11,13 @@ import java.util.logging.Logger;
  * Prevents character encoding issues with international characters
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.1
  * @since 2025-06-04
  */
 @WebFilter(
         filterName = "CharacterEncodingFilter",
         urlPatterns = {"/*"},
+        asyncSupported = true,
         initParams = {
                 @WebInitParam(name = "encoding", value = "UTF-8"),
                 @WebInitParam(name = "forceEncoding", value = "true")
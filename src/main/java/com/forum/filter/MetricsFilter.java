@@ -0,0 +1,289 @@
+package com.forum.filter;
+
+import com.forum.metrics.Counter;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Records request latency and server errors per servlet route
+ * Routes are matched against fixed templates such as /forum/topic/{id}, and
+ * every histogram and counter is resolved in init(), so timing a request
+ * performs no lookups and allocates nothing. Requests that go async are
+ * recorded when they complete, including their time on worker threads
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@WebFilter(filterName = "MetricsFilter", urlPatterns = {"/user/*", "/forum/*", "/api/*"}, asyncSupported = true)
+public class MetricsFilter implements Filter {
+
+    /** Logger instance for filter operations */
+    private static final Logger LOGGER = Logger.getLogger(MetricsFilter.class.getName());
+
+    /** Path segment matching any single non-empty segment */
+    private static final String WILDCARD = "{id}";
+
+    /** HTTP methods with their own series; everything else is reported as OTHER */
+    private static final String[] METHODS = {"GET", "POST", "OTHER"};
+
+    /** Route templates per servlet path, relative to that path */
+    private static final String[][] ROUTES = {
+            {"/forum", "/", "/create-topic", "/my-topics", "/search", "/topic/{id}", "/add-comment", "/add-reply"},
+            {"/user", "/login", "/register", "/profile", "/logout", "/forgot-password", "/reset-password",
+                    "/update-profile", "/change-password"},
+            {"/api", "/", "/topics", "/topics/{id}", "/topics/{id}/stream", "/comments", "/comments/{id}/replies", "/users",
+                    "/users/{id}", "/health", "/metrics"}
+    };
+
+    /** Template segments per servlet and route */
+    private String[][][] routeSegments;
+
+    /** Latency histograms indexed by method, servlet and route; the last route slot is for unmatched paths */
+    private LatencyHistogram[][][] latencies;
+
+    /** Server error counters indexed like latencies */
+    private Counter[][][] errors;
+
+    /** Latency of requests outside the known servlets, by method */
+    private LatencyHistogram[] unknownLatencies;
+
+    /** Server errors outside the known servlets, by method */
+    private Counter[] unknownErrors;
+
+    /**
+     * Initializes the filter and resolves one histogram and counter per route
+     */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        MetricFamily<LatencyHistogram> latencyFamily = registry.histogramFamily(
+                "forum_http_request_seconds", "HTTP request latency by route", "route");
+        MetricFamily<Counter> errorFamily = registry.counterFamily(
+                "forum_http_server_errors_total", "HTTP requests that failed with a 5xx status or exception", "route");
+
+        routeSegments = new String[ROUTES.length][][];
+        latencies = new LatencyHistogram[METHODS.length][ROUTES.length][];
+        errors = new Counter[METHODS.length][ROUTES.length][];
+        unknownLatencies = new LatencyHistogram[METHODS.length];
+        unknownErrors = new Counter[METHODS.length];
+
+        for (int s = 0; s < ROUTES.length; s++) {
+            String servletPath = ROUTES[s][0];
+            int routeCount = ROUTES[s].length - 1;
+
+            routeSegments[s] = new String[routeCount][];
+            for (int r = 0; r < routeCount; r++) {
+                routeSegments[s][r] = split(ROUTES[s][r + 1]);
+            }
+
+            for (int m = 0; m < METHODS.length; m++) {
+                latencies[m][s] = new LatencyHistogram[routeCount + 1];
+                errors[m][s] = new Counter[routeCount + 1];
+                for (int r = 0; r <= routeCount; r++) {
+                    String template = r < routeCount ? ROUTES[s][r + 1] : "/other";
+                    String route = METHODS[m] + " " + servletPath + ("/".equals(template) ? "" : template);
+                    latencies[m][s][r] = latencyFamily.get(route);
+                    errors[m][s][r] = errorFamily.get(route);
+                }
+            }
+        }
+
+        for (int m = 0; m < METHODS.length; m++) {
+            unknownLatencies[m] = latencyFamily.get(METHODS[m] + " other");
+            unknownErrors[m] = errorFamily.get(METHODS[m] + " other");
+        }
+
+        LOGGER.info("MetricsFilter initialized");
+    }
+
+    /**
+     * Times the request and records it against its route
+     * Requests that go async are recorded when they complete
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            failed = ((HttpServletResponse) response).getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, start, ((HttpServletResponse) event.getSuppliedResponse()).getStatus()
+                                >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        // onComplete follows
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        // onComplete follows
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // Listeners are not carried over to a new async cycle
+                    }
+                });
+            } else {
+                record(request, start, failed);
+            }
+        }
+    }
+
+    /**
+     * Records a finished request against its route
+     *
+     * @param request HTTP request
+     * @param start Start time from System.nanoTime()
+     * @param failed Whether the request ended with a server error
+     */
+    private void record(ServletRequest request, long start, boolean failed) {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        int method = methodIndex(httpRequest.getMethod());
+        int servlet = servletIndex(httpRequest.getServletPath());
+
+        LatencyHistogram latency;
+        Counter errorCounter;
+        if (servlet < 0) {
+            latency = unknownLatencies[method];
+            errorCounter = unknownErrors[method];
+        } else {
+            int route = routeIndex(routeSegments[servlet], httpRequest.getPathInfo());
+            latency = latencies[method][servlet][route];
+            errorCounter = errors[method][servlet][route];
+        }
+
+        latency.recordSince(start);
+        if (failed) {
+            errorCounter.increment();
+        }
+    }
+
+    /**
+     * Destroys the filter
+     */
+    @Override
+    public void destroy() {
+        LOGGER.info("MetricsFilter destroyed");
+    }
+
+    /**
+     * Maps an HTTP method to its series
+     *
+     * @param method HTTP method
+     * @return Index into METHODS
+     */
+    private static int methodIndex(String method) {
+        if ("GET".equals(method)) {
+            return 0;
+        }
+        return "POST".equals(method) ? 1 : 2;
+    }
+
+    /**
+     * Finds the servlet a request was mapped to
+     *
+     * @param servletPath Servlet path of the request
+     * @return Index into ROUTES, or -1 if unknown
+     */
+    private static int servletIndex(String servletPath) {
+        for (int s = 0; s < ROUTES.length; s++) {
+            if (ROUTES[s][0].equals(servletPath)) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first route template matching a path without allocating
+     *
+     * @param templates Template segments of the servlet's routes
+     * @param pathInfo Path info of the request, may be null
+     * @return Route index, or templates.length when no route matches
+     */
+    private static int routeIndex(String[][] templates, String pathInfo) {
+        String path = pathInfo != null ? pathInfo : "";
+        for (int r = 0; r < templates.length; r++) {
+            if (matches(templates[r], path)) {
+                return r;
+            }
+        }
+        return templates.length;
+    }
+
+    /**
+     * Checks a path against a template segment by segment
+     * A single trailing slash is ignored
+     *
+     * @param segments Template segments
+     * @param path Request path
+     * @return true if the path matches the template
+     */
+    private static boolean matches(String[] segments, String path) {
+        int position = 0;
+        int length = path.length();
+        if (length > 0 && path.charAt(length - 1) == '/') {
+            length--;
+        }
+
+        for (String segment : segments) {
+            if (position >= length || path.charAt(position) != '/') {
+                return false;
+            }
+            int start = position + 1;
+            int end = path.indexOf('/', start);
+            if (end < 0 || end > length) {
+                end = length;
+            }
+
+            if (segment == WILDCARD) {
+                if (end == start) {
+                    return false;
+                }
+            } else if (end - start != segment.length() || !path.regionMatches(start, segment, 0, segment.length())) {
+                return false;
+            }
+            position = end;
+        }
+
+        return position == length;
+    }
+
+    /**
+     * Splits a template into its segments, sharing the WILDCARD instance for placeholders
+     *
+     * @param template Route template
+     * @return Template segments
+     */
+    private static String[] split(String template) {
+        String[] parts = template.substring(1).isEmpty() ? new String[0] : template.substring(1).split("/");
+        for (int i = 0; i < parts.length; i++) {
+            if (WILDCARD.equals(parts[i])) {
+                parts[i] = WILDCARD;
+            }
+        }
+        return parts;
+    }
+}
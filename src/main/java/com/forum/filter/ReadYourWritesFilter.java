@@ -0,0 +1,142 @@
+package com.forum.filter;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.config.ReadConsistency;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Carries the read-your-writes deadline between requests of a session
+ * A session that wrote keeps reading from the primary database for a short window,
+ * so a redirect after a post shows the new content even if the replicas lag behind.
+ * Does nothing when no read replicas are configured. For requests that go async, the
+ * deadline is stored when the request completes
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@WebFilter(filterName = "ReadYourWritesFilter", urlPatterns = {"/user/*", "/forum/*", "/api/*"}, asyncSupported = true)
+public class ReadYourWritesFilter implements Filter {
+
+    /** Logger instance for filter operations */
+    private static final Logger LOGGER = Logger.getLogger(ReadYourWritesFilter.class.getName());
+
+    /** Session attribute holding the time until which reads go to the primary */
+    static final String PINNED_UNTIL_ATTRIBUTE = "primaryPinnedUntil";
+
+    /** Whether read replicas are configured */
+    private boolean enabled;
+
+    /**
+     * Initializes the filter
+     */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        enabled = DatabaseConfig.getInstance().getReplicaRouter() != null;
+        LOGGER.info("ReadYourWritesFilter initialized (" + (enabled ? "replicas configured" : "disabled") + ")");
+    }
+
+    /**
+     * Opens the read-your-writes state for the request and stores any new deadline in the session
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        long pinnedUntil = getPinnedUntil(httpRequest.getSession(false));
+
+        ReadConsistency.begin(pinnedUntil);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // The request continues on another thread; store its deadline once it completes
+                ReadConsistency state = ReadConsistency.current();
+                ReadConsistency.detach();
+                if (state != null) {
+                    request.getAsyncContext().addListener(new AsyncListener() {
+                        @Override
+                        public void onComplete(AsyncEvent event) {
+                            storePinnedUntil(httpRequest, pinnedUntil, state.getPinnedUntil());
+                        }
+
+                        @Override
+                        public void onTimeout(AsyncEvent event) {
+                            // onComplete follows
+                        }
+
+                        @Override
+                        public void onError(AsyncEvent event) {
+                            // onComplete follows
+                        }
+
+                        @Override
+                        public void onStartAsync(AsyncEvent event) {
+                            // Listeners are not carried over to a new async cycle
+                        }
+                    });
+                }
+            } else {
+                storePinnedUntil(httpRequest, pinnedUntil, ReadConsistency.end());
+            }
+        }
+    }
+
+    /**
+     * Stores a request's deadline in its session if the request moved it later
+     *
+     * @param request HTTP request
+     * @param previous Deadline the request started with
+     * @param updated Deadline the request ended with
+     */
+    private static void storePinnedUntil(HttpServletRequest request, long previous, long updated) {
+        if (updated > previous) {
+            // Logging in may have replaced the session, and logging out invalidates it
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                try {
+                    session.setAttribute(PINNED_UNTIL_ATTRIBUTE, updated);
+                } catch (IllegalStateException e) {
+                    LOGGER.fine("Session invalidated before the read-your-writes deadline was stored");
+                }
+            }
+        }
+    }
+
+    /**
+     * Destroys the filter
+     */
+    @Override
+    public void destroy() {
+        LOGGER.info("ReadYourWritesFilter destroyed");
+    }
+
+    /**
+     * Reads the deadline stored in a session
+     *
+     * @param session Session, or null
+     * @return Deadline in epoch milliseconds, or 0 if none is stored
+     */
+    private static long getPinnedUntil(HttpSession session) {
+        if (session == null) {
+            return 0L;
+        }
+        try {
+            Object value = session.getAttribute(PINNED_UNTIL_ATTRIBUTE);
+            return value instanceof Long ? (Long) value : 0L;
+        } catch (IllegalStateException e) {
+            return 0L;
+        }
+    }
+}
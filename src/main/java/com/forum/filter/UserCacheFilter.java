@@ -0,0 +1,54 @@
+package com.forum.filter;
+
+import com.forum.cache.UserCache;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Opens the user cache's request memo, so a request loads each user at most once
+ * however many times its handlers and views ask for them. Requests handed to
+ * RequestExecutor get their own memo on the worker thread
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@WebFilter(filterName = "UserCacheFilter", urlPatterns = {"/user/*", "/forum/*", "/api/*"}, asyncSupported = true)
+public class UserCacheFilter implements Filter {
+
+    /** Logger instance for filter operations */
+    private static final Logger LOGGER = Logger.getLogger(UserCacheFilter.class.getName());
+
+    /**
+     * Initializes the filter
+     */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        LOGGER.info("UserCacheFilter initialized");
+    }
+
+    /**
+     * Runs the request with a fresh user memo and discards it afterwards
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        UserCache.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            UserCache.endRequest();
+        }
+    }
+
+    /**
+     * Destroys the filter
+     */
+    @Override
+    public void destroy() {
+        LOGGER.info("UserCacheFilter destroyed");
+    }
+}
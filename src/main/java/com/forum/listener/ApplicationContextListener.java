@@ -1,6 +1,14 @@
 package com.forum.listener;
 
 import com.forum.config.DatabaseConfig;
+import com.forum.search.SearchIndex;
+import com.forum.service.CounterReconciler;
+import com.forum.service.CounterWriter;
+import com.forum.service.TopicActivityWriter;
+import com.forum.service.TopicViewAssembler;
+import com.forum.servlet.RequestExecutor;
+import com.forum.util.ForumLogUtil;
+import com.forum.webservice.TopicStreamHub;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
@@ -12,7 +20,7 @@ import java.util.logging.Logger;
  * Handles application startup and shutdown events
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.6
  * @since 2025-06-04
  */
 @WebListener
@@ -48,7 +56,7 @@ public class ApplicationContextListener implements ServletContextListener {
             sce.getServletContext().setAttribute("startupTime", System.currentTimeMillis());
 
             // Create logs directory if it doesn't exist
-            java.io.File logsDir = new java.io.File("logs");
+            java.io.File logsDir = new java.io.File(ForumLogUtil.getLogDirectory());
             if (!logsDir.exists()) {
                 boolean created = logsDir.mkdirs();
                 if (created) {
@@ -58,6 +66,27 @@ public class ApplicationContextListener implements ServletContextListener {
                 }
             }
 
+            // Build the full-text search index in the background
+            SearchIndex.getInstance().startBuild();
+
+            // Repair drift in the denormalized counters in the background
+            CounterReconciler.getInstance().start();
+
+            // Write topic last activity in batches
+            TopicActivityWriter.getInstance().start();
+
+            // Write comment and reply counters in batches
+            CounterWriter.getInstance().start();
+
+            // Push new comments and replies to open topic event streams
+            TopicStreamHub.getInstance().start();
+
+            // Load the topic page's independent queries concurrently
+            TopicViewAssembler.getInstance().start();
+
+            // Run database-bound requests on workers sized to the connection pool
+            RequestExecutor.getInstance().start();
+
             LOGGER.info("Forum Application startup completed successfully");
 
         } catch (Exception e) {
@@ -88,6 +117,28 @@ public class ApplicationContextListener implements ServletContextListener {
             sce.getServletContext().removeAttribute("appAuthor");
             sce.getServletContext().removeAttribute("startupTime");
 
+            // End open topic event streams so their requests complete
+            TopicStreamHub.getInstance().stop();
+
+            // Finish queued and running requests while the pool is still open
+            RequestExecutor.getInstance().stop();
+            TopicViewAssembler.getInstance().stop();
+
+            // Stop background tasks before closing their connections
+            CounterReconciler.getInstance().stop();
+
+            // Write buffered topic activity while the pool is still open
+            TopicActivityWriter.getInstance().stop();
+
+            // Write buffered counter changes while the pool is still open
+            CounterWriter.getInstance().stop();
+
+            // Flush queued audit log entries to disk
+            ForumLogUtil.shutdown();
+
+            // Close pooled database connections
+            DatabaseConfig.getInstance().shutdown();
+
             LOGGER.info("Forum Application shutdown completed successfully");
 
         } catch (Exception e) {
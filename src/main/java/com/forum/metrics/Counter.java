@@ -0,0 +1,41 @@
+package com.forum.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter backed by a LongAdder so concurrent increments do not contend
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class Counter {
+
+    /** Current count */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Adds one to the counter
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds to the counter
+     *
+     * @param delta Amount to add
+     */
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    /**
+     * Gets the current count
+     *
+     * @return Count
+     */
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,208 @@
+package com.forum.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets
+ * Values are grouped by power of two and each power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, as HdrHistogram does, giving a
+ * relative error of about 3% over the full range of a long. Recording is a
+ * couple of atomic increments and never allocates
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class LatencyHistogram {
+
+    /** Bits of precision within each power of two */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** Linear sub-buckets per power of two */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Values below this limit get a bucket of their own */
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+
+    /** Magnitude of the first power of two that is split into sub-buckets */
+    private static final int FIRST_SPLIT_MAGNITUDE = SUB_BUCKET_BITS + 1;
+
+    /** Total number of buckets needed to cover every non-negative long */
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - FIRST_SPLIT_MAGNITUDE + 1) * SUB_BUCKETS;
+
+    /** Recorded values per bucket */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /** Sum of all recorded values */
+    private final LongAdder sum = new LongAdder();
+
+    /** Largest recorded value */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration
+     *
+     * @param nanos Duration in nanoseconds; negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading
+     *
+     * @param startNanos Start time from System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Takes a point-in-time copy of the histogram for reporting
+     * Concurrent recordings may or may not be included
+     *
+     * @return Snapshot of the recorded values
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, sum.sum(), max.get());
+    }
+
+    /**
+     * Maps a value to its bucket
+     *
+     * @param value Non-negative value
+     * @return Bucket index
+     */
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (magnitude - FIRST_SPLIT_MAGNITUDE) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that maps to a bucket
+     *
+     * @param index Bucket index
+     * @return Highest value in the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long lower = (long) (SUB_BUCKETS + offset % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+
+    /**
+     * Immutable copy of a histogram's state
+     */
+    public static final class Snapshot {
+
+        /** Recorded values per bucket */
+        private final long[] counts;
+
+        /** Number of recorded values */
+        private final long count;
+
+        /** Sum of recorded values in nanoseconds */
+        private final long sum;
+
+        /** Largest recorded value in nanoseconds */
+        private final long max;
+
+        /**
+         * Creates a snapshot
+         *
+         * @param counts Recorded values per bucket
+         * @param count Number of recorded values
+         * @param sum Sum of recorded values
+         * @param max Largest recorded value
+         */
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of recorded values
+         *
+         * @return Value count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of recorded values
+         *
+         * @return Sum in nanoseconds
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Gets the largest recorded value
+         *
+         * @return Maximum in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the mean of recorded values
+         *
+         * @return Mean in nanoseconds, 0 when nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets the value at a percentile
+         * The result is the upper bound of the bucket holding the requested rank,
+         * capped at the recorded maximum
+         *
+         * @param percentile Percentile between 0 and 100
+         * @return Value in nanoseconds, 0 when nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.forum.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Named group of metrics of one kind, one child per value of a single label
+ * Children are created on first use and kept sorted by label value for reporting
+ *
+ * @param <M> Metric type
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class MetricFamily<M> {
+
+    /** Metric name as exported */
+    private final String name;
+
+    /** One-line description */
+    private final String help;
+
+    /** Name of the label distinguishing children, or null for an unlabelled metric */
+    private final String labelName;
+
+    /** Creates children on first use */
+    private final Supplier<M> factory;
+
+    /** Children by label value */
+    private final ConcurrentSkipListMap<String, M> children = new ConcurrentSkipListMap<>();
+
+    /**
+     * Creates a family
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param labelName Label name, or null for an unlabelled metric
+     * @param factory Creates children on first use
+     */
+    MetricFamily(String name, String help, String labelName, Supplier<M> factory) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the child for a label value, creating it on first use
+     * Lookups of existing children do not allocate
+     *
+     * @param labelValue Label value; use "" for an unlabelled metric
+     * @return Child metric
+     */
+    public M get(String labelValue) {
+        M child = children.get(labelValue);
+        if (child == null) {
+            M created = factory.get();
+            child = children.putIfAbsent(labelValue, created);
+            if (child == null) {
+                child = created;
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Registers an existing metric as a child
+     *
+     * @param labelValue Label value
+     * @param metric Metric to register
+     */
+    void put(String labelValue, M metric) {
+        children.put(labelValue, metric);
+    }
+
+    /**
+     * Gets the metric name
+     *
+     * @return Name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the description
+     *
+     * @return Help text
+     */
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Gets the label name
+     *
+     * @return Label name, or null for an unlabelled metric
+     */
+    public String getLabelName() {
+        return labelName;
+    }
+
+    /**
+     * Gets the children sorted by label value
+     *
+     * @return Read-only view of the children
+     */
+    public Map<String, M> getChildren() {
+        return Collections.unmodifiableMap(children);
+    }
+}
@@ -0,0 +1,370 @@
+package com.forum.metrics;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide registry of latency histograms, counters and gauges
+ * Hot paths resolve their metric once (or by constant label lookups that do
+ * not allocate) and record into it directly; the registry is only walked when
+ * metrics are exported in Prometheus text format or as JSON
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class MetricsRegistry {
+
+    /** Logger instance for metrics operations */
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+    /** Percentiles reported for every histogram */
+    private static final double[] PERCENTILES = {50.0, 95.0, 99.0};
+
+    /** Prometheus quantile label values matching PERCENTILES */
+    private static final String[] QUANTILES = {"0.5", "0.95", "0.99"};
+
+    /** JSON field names matching PERCENTILES */
+    private static final String[] PERCENTILE_FIELDS = {"p50Millis", "p95Millis", "p99Millis"};
+
+    /** Nanoseconds per second */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Nanoseconds per millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Histogram families by name */
+    private final Map<String, MetricFamily<LatencyHistogram>> histograms = new ConcurrentSkipListMap<>();
+
+    /** Counter families by name */
+    private final Map<String, MetricFamily<Counter>> counters = new ConcurrentSkipListMap<>();
+
+    /** Gauge families by name */
+    private final Map<String, MetricFamily<DoubleSupplier>> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * Private constructor to prevent direct instantiation
+     */
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Lazily initialized holder for the singleton instance
+     */
+    private static final class Holder {
+
+        /** Singleton instance */
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    /**
+     * Gets the singleton instance of MetricsRegistry
+     *
+     * @return MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets or creates a histogram family; durations are exported in seconds
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param labelName Label distinguishing children, or null for an unlabelled metric
+     * @return Histogram family
+     */
+    public MetricFamily<LatencyHistogram> histogramFamily(String name, String help, String labelName) {
+        return histograms.computeIfAbsent(name, n -> new MetricFamily<>(n, help, labelName, LatencyHistogram::new));
+    }
+
+    /**
+     * Gets or creates a counter family
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param labelName Label distinguishing children, or null for an unlabelled metric
+     * @return Counter family
+     */
+    public MetricFamily<Counter> counterFamily(String name, String help, String labelName) {
+        return counters.computeIfAbsent(name, n -> new MetricFamily<>(n, help, labelName, Counter::new));
+    }
+
+    /**
+     * Registers an existing histogram, such as one owned by the connection pool
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param histogram Histogram to export
+     */
+    public void registerHistogram(String name, String help, LatencyHistogram histogram) {
+        histogramFamily(name, help, null).put("", histogram);
+    }
+
+    /**
+     * Registers an unlabelled gauge read at export time
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param value Supplies the current value
+     */
+    public void registerGauge(String name, String help, DoubleSupplier value) {
+        registerGauge(name, help, null, "", value);
+    }
+
+    /**
+     * Registers a labelled gauge read at export time
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param labelName Label name
+     * @param labelValue Label value
+     * @param value Supplies the current value
+     */
+    public void registerGauge(String name, String help, String labelName, String labelValue, DoubleSupplier value) {
+        gauges.computeIfAbsent(name, n -> new MetricFamily<>(n, help, labelName, () -> null))
+                .put(labelValue, value);
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format
+     * Histograms are exported as summaries with 0.5/0.95/0.99 quantiles plus a
+     * separate _max gauge; histogram and counter series that have not recorded
+     * anything yet are skipped
+     *
+     * @param out Destination
+     */
+    public void writePrometheus(StringBuilder out) {
+        for (MetricFamily<LatencyHistogram> family : histograms.values()) {
+            writeHeader(out, family.getName(), family.getHelp(), "summary");
+            for (Map.Entry<String, LatencyHistogram> child : family.getChildren().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = child.getValue().snapshot();
+                if (snapshot.getCount() == 0) {
+                    continue;
+                }
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    writeSample(out, family.getName(), family.getLabelName(), child.getKey(), QUANTILES[i],
+                            snapshot.getPercentile(PERCENTILES[i]) / NANOS_PER_SECOND);
+                }
+                writeSample(out, family.getName() + "_sum", family.getLabelName(), child.getKey(), null,
+                        snapshot.getSum() / NANOS_PER_SECOND);
+                writeSample(out, family.getName() + "_count", family.getLabelName(), child.getKey(), null,
+                        snapshot.getCount());
+            }
+
+            String maxName = family.getName() + "_max";
+            writeHeader(out, maxName, "Maximum of " + family.getName(), "gauge");
+            for (Map.Entry<String, LatencyHistogram> child : family.getChildren().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = child.getValue().snapshot();
+                if (snapshot.getCount() > 0) {
+                    writeSample(out, maxName, family.getLabelName(), child.getKey(), null,
+                            snapshot.getMax() / NANOS_PER_SECOND);
+                }
+            }
+        }
+
+        for (MetricFamily<Counter> family : counters.values()) {
+            writeHeader(out, family.getName(), family.getHelp(), "counter");
+            for (Map.Entry<String, Counter> child : family.getChildren().entrySet()) {
+                long value = child.getValue().get();
+                if (value > 0) {
+                    writeSample(out, family.getName(), family.getLabelName(), child.getKey(), null, value);
+                }
+            }
+        }
+
+        for (MetricFamily<DoubleSupplier> family : gauges.values()) {
+            writeHeader(out, family.getName(), family.getHelp(), "gauge");
+            for (Map.Entry<String, DoubleSupplier> child : family.getChildren().entrySet()) {
+                writeSample(out, family.getName(), family.getLabelName(), child.getKey(), null,
+                        readGauge(family.getName(), child.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Builds a JSON report of all metrics; durations are reported in milliseconds
+     * and series that have not recorded anything yet are skipped
+     *
+     * @return JSON report
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("timestamp", System.currentTimeMillis());
+
+        JSONArray histogramArray = new JSONArray();
+        for (MetricFamily<LatencyHistogram> family : histograms.values()) {
+            JSONArray series = new JSONArray();
+            for (Map.Entry<String, LatencyHistogram> child : family.getChildren().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = child.getValue().snapshot();
+                if (snapshot.getCount() == 0) {
+                    continue;
+                }
+                JSONObject sample = newSample(family.getLabelName(), child.getKey());
+                sample.put("count", snapshot.getCount());
+                sample.put("meanMillis", round(snapshot.getMean() / NANOS_PER_MILLI));
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    sample.put(PERCENTILE_FIELDS[i],
+                            round(snapshot.getPercentile(PERCENTILES[i]) / NANOS_PER_MILLI));
+                }
+                sample.put("maxMillis", round(snapshot.getMax() / NANOS_PER_MILLI));
+                series.put(sample);
+            }
+            histogramArray.put(newFamily(family, series));
+        }
+        json.put("histograms", histogramArray);
+
+        JSONArray counterArray = new JSONArray();
+        for (MetricFamily<Counter> family : counters.values()) {
+            JSONArray series = new JSONArray();
+            for (Map.Entry<String, Counter> child : family.getChildren().entrySet()) {
+                long value = child.getValue().get();
+                if (value > 0) {
+                    JSONObject sample = newSample(family.getLabelName(), child.getKey());
+                    sample.put("value", value);
+                    series.put(sample);
+                }
+            }
+            counterArray.put(newFamily(family, series));
+        }
+        json.put("counters", counterArray);
+
+        JSONArray gaugeArray = new JSONArray();
+        for (MetricFamily<DoubleSupplier> family : gauges.values()) {
+            JSONArray series = new JSONArray();
+            for (Map.Entry<String, DoubleSupplier> child : family.getChildren().entrySet()) {
+                JSONObject sample = newSample(family.getLabelName(), child.getKey());
+                double value = readGauge(family.getName(), child.getValue());
+                sample.put("value", Double.isNaN(value) ? JSONObject.NULL : value);
+                series.put(sample);
+            }
+            gaugeArray.put(newFamily(family, series));
+        }
+        json.put("gauges", gaugeArray);
+
+        return json;
+    }
+
+    /**
+     * Reads a gauge, isolating failures of the supplier
+     *
+     * @param name Gauge name for logging
+     * @param gauge Gauge supplier
+     * @return Current value, or NaN if it could not be read
+     */
+    private double readGauge(String name, DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to read gauge " + name, e);
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Creates the JSON object describing a metric family
+     *
+     * @param family Metric family
+     * @param series Its samples
+     * @return JSON family object
+     */
+    private JSONObject newFamily(MetricFamily<?> family, JSONArray series) {
+        JSONObject json = new JSONObject();
+        json.put("name", family.getName());
+        json.put("help", family.getHelp());
+        json.put("series", series);
+        return json;
+    }
+
+    /**
+     * Creates a JSON sample carrying its label, if any
+     *
+     * @param labelName Label name, or null
+     * @param labelValue Label value
+     * @return JSON sample object
+     */
+    private JSONObject newSample(String labelName, String labelValue) {
+        JSONObject sample = new JSONObject();
+        if (labelName != null) {
+            sample.put(labelName, labelValue);
+        }
+        return sample;
+    }
+
+    /**
+     * Rounds a millisecond value to microsecond precision for reporting
+     *
+     * @param millis Value in milliseconds
+     * @return Rounded value
+     */
+    private double round(double millis) {
+        return Math.round(millis * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Writes the HELP and TYPE lines of a metric
+     *
+     * @param out Destination
+     * @param name Metric name
+     * @param help Description
+     * @param type Prometheus metric type
+     */
+    private void writeHeader(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes a single sample line
+     *
+     * @param out Destination
+     * @param name Sample name
+     * @param labelName Label name, or null
+     * @param labelValue Label value
+     * @param quantile Quantile label value, or null
+     * @param value Sample value
+     */
+    private void writeSample(StringBuilder out, String name, String labelName, String labelValue,
+                             String quantile, double value) {
+        out.append(name);
+        if (labelName != null || quantile != null) {
+            out.append('{');
+            if (labelName != null) {
+                out.append(labelName).append("=\"").append(escapeLabel(labelValue)).append('"');
+            }
+            if (quantile != null) {
+                if (labelName != null) {
+                    out.append(',');
+                }
+                out.append("quantile=\"").append(quantile).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Escapes a label value for the Prometheus text format
+     *
+     * @param value Raw label value
+     * @return Escaped label value
+     */
+    private String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
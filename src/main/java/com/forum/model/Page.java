@@ -0,0 +1,132 @@
+package com.forum.model;
+
+import com.forum.util.PageCursor;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Page model class holding one page of keyset-paginated results
+ * Carries opaque cursor tokens for the neighbouring pages
+ *
+ * @param <T> type of the items on the page
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Page<T> implements Serializable {
+
+    /** Serial version UID for serialization */
+    private static final long serialVersionUID = 1L;
+
+    /** Items on this page in display order */
+    private final List<T> items;
+
+    /** Cursor token for the following page, null if this is the last page */
+    private final String nextCursor;
+
+    /** Cursor token for the preceding page, null if this is the first page */
+    private final String prevCursor;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param items Items on this page
+     * @param nextCursor Cursor token for the following page
+     * @param prevCursor Cursor token for the preceding page
+     */
+    public Page(List<T> items, String nextCursor, String prevCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    /**
+     * Builds a page from keyset query rows
+     * Rows must be in query order and may contain one extra row beyond the limit,
+     * which signals that more rows exist in the paging direction
+     *
+     * @param rows Rows returned by the keyset query (up to limit + 1)
+     * @param limit Page size
+     * @param cursor Cursor the query was run with, null for the first page
+     * @param sortTime Extracts the sort key timestamp from an item
+     * @param sortId Extracts the tie-breaking ID from an item
+     * @param <T> type of the items
+     * @return Page in display order with neighbouring cursors
+     */
+    public static <T> Page<T> fromKeysetRows(List<T> rows, int limit, PageCursor cursor,
+                                             Function<T, Timestamp> sortTime, ToIntFunction<T> sortId) {
+        boolean backward = cursor != null && cursor.isBackward();
+        boolean hasMore = rows.size() > limit;
+
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        if (backward) {
+            Collections.reverse(items);
+        }
+
+        if (items.isEmpty()) {
+            return new Page<>(items, null, null);
+        }
+
+        T first = items.get(0);
+        T last = items.get(items.size() - 1);
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        String next = hasNext ? PageCursor.after(sortTime.apply(last), sortId.applyAsInt(last)).encode() : null;
+        String previous = hasPrevious ? PageCursor.before(sortTime.apply(first), sortId.applyAsInt(first)).encode() : null;
+
+        return new Page<>(items, next, previous);
+    }
+
+    /**
+     * Gets the items on this page
+     *
+     * @return list of items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor token for the following page
+     *
+     * @return next cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Gets the cursor token for the preceding page
+     *
+     * @return previous cursor, or null if this is the first page
+     */
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    /**
+     * Checks if a following page exists
+     *
+     * @return true if there is a next page
+     */
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Checks if a preceding page exists
+     *
+     * @return true if there is a previous page
+     */
+    public boolean isHasPrevious() {
+        return prevCursor != null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.forum.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * TopicView model class holding everything the topic page shows
+ * The topic with its author, one page of comments with their replies and authors,
+ * the topic's comment count, and how long each stage of loading them took
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TopicView implements Serializable {
+
+    /** Serial version UID for serialization */
+    private static final long serialVersionUID = 1L;
+
+    /** Topic with its author */
+    private final Topic topic;
+
+    /** One page of comments, each with its replies */
+    private final Page<Comment> comments;
+
+    /** Number of active comments on the topic */
+    private final int commentCount;
+
+    /** Stage durations in nanoseconds, in the order the stages were defined */
+    private final Map<String, Long> stageNanos;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param topic Topic with its author
+     * @param comments One page of comments with their replies
+     * @param commentCount Number of active comments on the topic
+     * @param stageNanos Stage durations in nanoseconds
+     */
+    public TopicView(Topic topic, Page<Comment> comments, int commentCount, Map<String, Long> stageNanos) {
+        this.topic = topic;
+        this.comments = comments;
+        this.commentCount = commentCount;
+        this.stageNanos = Collections.unmodifiableMap(stageNanos);
+    }
+
+    /**
+     * Gets the topic
+     *
+     * @return the topic, with its author
+     */
+    public Topic getTopic() {
+        return topic;
+    }
+
+    /**
+     * Gets the page of comments
+     *
+     * @return the comments, each with its replies
+     */
+    public Page<Comment> getComments() {
+        return comments;
+    }
+
+    /**
+     * Gets the number of active comments on the topic
+     *
+     * @return the comment count
+     */
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    /**
+     * Gets how long each stage took
+     *
+     * @return stage durations in nanoseconds by stage name
+     */
+    public Map<String, Long> getStageNanos() {
+        return stageNanos;
+    }
+}
@@ -0,0 +1,289 @@
+package com.forum.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory positional inverted index over one collection of documents, ranked with BM25
+ * Each term maps to the documents containing it and the positions it occurs at,
+ * which answers both scored term queries and exact phrase queries
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class InvertedIndex {
+
+    /** BM25 term frequency saturation */
+    private static final double K1 = 1.2;
+
+    /** BM25 document length normalisation */
+    private static final double B = 0.75;
+
+    /** Position gap between fields so phrases never span two fields */
+    private static final int FIELD_POSITION_GAP = 100;
+
+    /** Postings: term to (document ID to sorted positions) */
+    private final Map<String, Map<Integer, int[]>> postings = new HashMap<>();
+
+    /** Distinct terms of each document, used to remove it */
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+
+    /** Number of indexed terms in each document */
+    private final Map<Integer, Integer> documentLengths = new HashMap<>();
+
+    /** Sum of all document lengths */
+    private long totalLength;
+
+    /** Guards the maps; searches share the read lock */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or replaces a document
+     *
+     * @param documentId Document ID
+     * @param fields Text fields of the document, e.g. title and body
+     */
+    public void put(int documentId, String... fields) {
+        // Analyze outside the lock
+        Map<String, List<Integer>> positionsByTerm = new HashMap<>();
+        int position = 0;
+        int length = 0;
+        for (String field : fields) {
+            for (String term : TextAnalyzer.analyze(field)) {
+                if (term != null) {
+                    positionsByTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(position);
+                    length++;
+                }
+                position++;
+            }
+            position += FIELD_POSITION_GAP;
+        }
+
+        Map<String, int[]> documentPostings = new HashMap<>(positionsByTerm.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : positionsByTerm.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            int[] array = new int[positions.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = positions.get(i);
+            }
+            documentPostings.put(entry.getKey(), array);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+            if (documentPostings.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<String, int[]> entry : documentPostings.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(documentId, entry.getValue());
+            }
+            documentTerms.put(documentId, documentPostings.keySet().toArray(new String[0]));
+            documentLengths.put(documentId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document
+     *
+     * @param documentId Document ID
+     */
+    public void remove(int documentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document while holding the write lock
+     *
+     * @param documentId Document ID
+     */
+    private void removeLocked(int documentId) {
+        String[] terms = documentTerms.remove(documentId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, int[]> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(documentId);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = documentLengths.remove(documentId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    /**
+     * Finds the best matching documents for a query
+     *
+     * @param query Parsed query
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score, newest document first on ties
+     */
+    public List<SearchHit> search(SearchQuery query, int limit) {
+        if (query.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return new ArrayList<>();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Integer, double[]> scores = new HashMap<>();
+            for (String term : query.getTerms()) {
+                Map<Integer, int[]> documents = postings.get(term);
+                if (documents == null) {
+                    continue;
+                }
+
+                double df = documents.size();
+                double idf = Math.log(1.0 + (documentCount - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Integer, int[]> entry : documents.entrySet()) {
+                    int tf = entry.getValue().length;
+                    double norm = K1 * (1.0 - B + B * documentLengths.get(entry.getKey()) / averageLength);
+                    double termScore = idf * tf * (K1 + 1.0) / (tf + norm);
+                    scores.computeIfAbsent(entry.getKey(), id -> new double[1])[0] += termScore;
+                }
+            }
+
+            // Phrases are filters: keep only documents containing every phrase
+            for (List<String> phrase : query.getPhrases()) {
+                scores.keySet().retainAll(findPhrase(phrase));
+            }
+
+            return topHits(scores, limit);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents containing a phrase, honouring stop-word gaps
+     *
+     * @param phrase Positional term list starting and ending with a term
+     * @return IDs of matching documents
+     */
+    private Set<Integer> findPhrase(List<String> phrase) {
+        List<Map<Integer, int[]>> termPostings = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < phrase.size(); i++) {
+            String term = phrase.get(i);
+            if (term == null) {
+                continue;
+            }
+            Map<Integer, int[]> documents = postings.get(term);
+            if (documents == null) {
+                return Collections.emptySet();
+            }
+            termPostings.add(documents);
+            offsets.add(i);
+        }
+
+        Set<Integer> matches = new HashSet<>();
+        candidates:
+        for (Map.Entry<Integer, int[]> entry : termPostings.get(0).entrySet()) {
+            int documentId = entry.getKey();
+            int[][] positions = new int[termPostings.size()][];
+            for (int t = 0; t < positions.length; t++) {
+                positions[t] = termPostings.get(t).get(documentId);
+                if (positions[t] == null) {
+                    continue candidates;
+                }
+            }
+
+            for (int start : positions[0]) {
+                boolean all = true;
+                for (int t = 1; t < positions.length && all; t++) {
+                    all = Arrays.binarySearch(positions[t], start + offsets.get(t) - offsets.get(0)) >= 0;
+                }
+                if (all) {
+                    matches.add(documentId);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Selects the highest-scoring documents
+     *
+     * @param scores Score per document
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score
+     */
+    private List<SearchHit> topHits(Map<Integer, double[]> scores, int limit) {
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, scores.size())),
+                (a, b) -> a.getScore() != b.getScore()
+                        ? Double.compare(a.getScore(), b.getScore())
+                        : Integer.compare(a.getDocumentId(), b.getDocumentId()));
+
+        for (Map.Entry<Integer, double[]> entry : scores.entrySet()) {
+            heap.offer(new SearchHit(entry.getKey(), entry.getValue()[0]));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            hits.add(heap.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    /**
+     * Gets the number of indexed documents
+     *
+     * @return document count
+     */
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of distinct terms
+     *
+     * @return term count
+     */
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.forum.search;
+
+/**
+ * Porter stemming algorithm for English words
+ * Reduces inflected forms ("connected", "connecting", "connections") to a common stem ("connect")
+ * Follows M.F. Porter, "An algorithm for suffix stripping", Program 14(3), 1980
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class PorterStemmer {
+
+    /** Word buffer being stemmed */
+    private final char[] b;
+
+    /** Offset of the last character of the current word */
+    private int k;
+
+    /** General offset into the word, set by ends() */
+    private int j;
+
+    /**
+     * Creates a stemmer over a lowercase word
+     *
+     * @param word Lowercase ASCII word
+     */
+    private PorterStemmer(String word) {
+        this.b = new char[word.length() + 2];
+        word.getChars(0, word.length(), b, 0);
+        this.k = word.length() - 1;
+    }
+
+    /**
+     * Stems a lowercase word; words that are not plain ASCII letters are returned unchanged
+     *
+     * @param word Lowercase word
+     * @return Stem of the word
+     */
+    static String stem(String word) {
+        if (word.length() <= 2 || !isAsciiLetters(word)) {
+            return word;
+        }
+
+        PorterStemmer stemmer = new PorterStemmer(word);
+        stemmer.step1ab();
+        if (stemmer.k > 0) {
+            stemmer.step1c();
+            stemmer.step2();
+            stemmer.step3();
+            stemmer.step4();
+            stemmer.step5();
+        }
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    /**
+     * Checks that a word contains only the letters a to z
+     *
+     * @param word Word to check
+     * @return true if every character is a lowercase ASCII letter
+     */
+    private static boolean isAsciiLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch < 'a' || ch > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether b[i] is a consonant
+     *
+     * @param i Offset
+     * @return true for a consonant
+     */
+    private boolean cons(int i) {
+        switch (b[i]) {
+            case 'a':
+            case 'e':
+            case 'i':
+            case 'o':
+            case 'u':
+                return false;
+            case 'y':
+                return i == 0 || !cons(i - 1);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Measures the number of consonant sequences between 0 and j
+     * With [C](VC)^m[V], returns m
+     *
+     * @return measure m
+     */
+    private int m() {
+        int n = 0;
+        int i = 0;
+        while (true) {
+            if (i > j) {
+                return n;
+            }
+            if (!cons(i)) {
+                break;
+            }
+            i++;
+        }
+        i++;
+        while (true) {
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            n++;
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (!cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Checks whether 0..j contains a vowel
+     *
+     * @return true if a vowel is present
+     */
+    private boolean vowelInStem() {
+        for (int i = 0; i <= j; i++) {
+            if (!cons(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether i and i-1 hold the same consonant
+     *
+     * @param i Offset
+     * @return true for a double consonant
+     */
+    private boolean doubleC(int i) {
+        return i >= 1 && b[i] == b[i - 1] && cons(i);
+    }
+
+    /**
+     * Checks whether i-2, i-1, i is consonant-vowel-consonant and the last is not w, x or y
+     * Used to restore an e at the end of short words (cav(e), lov(e), hop(e))
+     *
+     * @param i Offset
+     * @return true for the cvc pattern
+     */
+    private boolean cvc(int i) {
+        if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+            return false;
+        }
+        char ch = b[i];
+        return ch != 'w' && ch != 'x' && ch != 'y';
+    }
+
+    /**
+     * Checks whether the word ends with s, setting j to the offset before the suffix
+     *
+     * @param s Suffix
+     * @return true if the word ends with s
+     */
+    private boolean ends(String s) {
+        int length = s.length();
+        int offset = k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        j = k - length;
+        return true;
+    }
+
+    /**
+     * Replaces j+1..k with s
+     *
+     * @param s Replacement
+     */
+    private void setTo(String s) {
+        int length = s.length();
+        s.getChars(0, length, b, j + 1);
+        k = j + length;
+    }
+
+    /**
+     * Replaces the suffix with s when the measure of the stem is positive
+     *
+     * @param s Replacement
+     */
+    private void r(String s) {
+        if (m() > 0) {
+            setTo(s);
+        }
+    }
+
+    /**
+     * Removes plurals and -ed or -ing
+     */
+    private void step1ab() {
+        if (b[k] == 's') {
+            if (ends("sses")) {
+                k -= 2;
+            } else if (ends("ies")) {
+                setTo("i");
+            } else if (b[k - 1] != 's') {
+                k--;
+            }
+        }
+        if (ends("eed")) {
+            if (m() > 0) {
+                k--;
+            }
+        } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+            k = j;
+            if (ends("at")) {
+                setTo("ate");
+            } else if (ends("bl")) {
+                setTo("ble");
+            } else if (ends("iz")) {
+                setTo("ize");
+            } else if (doubleC(k)) {
+                k--;
+                char ch = b[k];
+                if (ch == 'l' || ch == 's' || ch == 'z') {
+                    k++;
+                }
+            } else if (m() == 1 && cvc(k)) {
+                setTo("e");
+            }
+        }
+    }
+
+    /**
+     * Turns a terminal y into i when there is another vowel in the stem
+     */
+    private void step1c() {
+        if (ends("y") && vowelInStem()) {
+            b[k] = 'i';
+        }
+    }
+
+    /**
+     * Maps double suffixes to single ones (-ization to -ize, -ational to -ate, ...)
+     */
+    private void step2() {
+        if (k == 0) {
+            return;
+        }
+        switch (b[k - 1]) {
+            case 'a':
+                if (ends("ational")) { r("ate"); break; }
+                if (ends("tional")) { r("tion"); break; }
+                break;
+            case 'c':
+                if (ends("enci")) { r("ence"); break; }
+                if (ends("anci")) { r("ance"); break; }
+                break;
+            case 'e':
+                if (ends("izer")) { r("ize"); break; }
+                break;
+            case 'l':
+                if (ends("bli")) { r("ble"); break; }
+                if (ends("alli")) { r("al"); break; }
+                if (ends("entli")) { r("ent"); break; }
+                if (ends("eli")) { r("e"); break; }
+                if (ends("ousli")) { r("ous"); break; }
+                break;
+            case 'o':
+                if (ends("ization")) { r("ize"); break; }
+                if (ends("ation")) { r("ate"); break; }
+                if (ends("ator")) { r("ate"); break; }
+                break;
+            case 's':
+                if (ends("alism")) { r("al"); break; }
+                if (ends("iveness")) { r("ive"); break; }
+                if (ends("fulness")) { r("ful"); break; }
+                if (ends("ousness")) { r("ous"); break; }
+                break;
+            case 't':
+                if (ends("aliti")) { r("al"); break; }
+                if (ends("iviti")) { r("ive"); break; }
+                if (ends("biliti")) { r("ble"); break; }
+                break;
+            case 'g':
+                if (ends("logi")) { r("log"); break; }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Handles -ic-, -full, -ness and similar suffixes
+     */
+    private void step3() {
+        switch (b[k]) {
+            case 'e':
+                if (ends("icate")) { r("ic"); break; }
+                if (ends("ative")) { r(""); break; }
+                if (ends("alize")) { r("al"); break; }
+                break;
+            case 'i':
+                if (ends("iciti")) { r("ic"); break; }
+                break;
+            case 'l':
+                if (ends("ical")) { r("ic"); break; }
+                if (ends("ful")) { r(""); break; }
+                break;
+            case 's':
+                if (ends("ness")) { r(""); break; }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Removes -ant, -ence and similar suffixes when the stem measure exceeds one
+     */
+    private void step4() {
+        if (k == 0) {
+            return;
+        }
+        switch (b[k - 1]) {
+            case 'a':
+                if (ends("al")) break;
+                return;
+            case 'c':
+                if (ends("ance")) break;
+                if (ends("ence")) break;
+                return;
+            case 'e':
+                if (ends("er")) break;
+                return;
+            case 'i':
+                if (ends("ic")) break;
+                return;
+            case 'l':
+                if (ends("able")) break;
+                if (ends("ible")) break;
+                return;
+            case 'n':
+                if (ends("ant")) break;
+                if (ends("ement")) break;
+                if (ends("ment")) break;
+                if (ends("ent")) break;
+                return;
+            case 'o':
+                if (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) break;
+                if (ends("ou")) break;
+                return;
+            case 's':
+                if (ends("ism")) break;
+                return;
+            case 't':
+                if (ends("ate")) break;
+                if (ends("iti")) break;
+                return;
+            case 'u':
+                if (ends("ous")) break;
+                return;
+            case 'v':
+                if (ends("ive")) break;
+                return;
+            case 'z':
+                if (ends("ize")) break;
+                return;
+            default:
+                return;
+        }
+        if (m() > 1) {
+            k = j;
+        }
+    }
+
+    /**
+     * Removes a final -e and reduces -ll to -l when the stem measure exceeds one
+     */
+    private void step5() {
+        j = k;
+        if (b[k] == 'e') {
+            int measure = m();
+            if (measure > 1 || measure == 1 && !cvc(k - 1)) {
+                k--;
+            }
+        }
+        if (b[k] == 'l' && doubleC(k) && m() > 1) {
+            k--;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.forum.search;
+
+/**
+ * Ranked search result: a document ID and its BM25 score
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class SearchHit {
+
+    /** Matching document ID */
+    private final int documentId;
+
+    /** Relevance score, higher is better */
+    private final double score;
+
+    /**
+     * Creates a search hit
+     *
+     * @param documentId Matching document ID
+     * @param score Relevance score
+     */
+    SearchHit(int documentId, double score) {
+        this.documentId = documentId;
+        this.score = score;
+    }
+
+    /**
+     * Gets the matching document ID
+     *
+     * @return document ID
+     */
+    public int getDocumentId() {
+        return documentId;
+    }
+
+    /**
+     * Gets the relevance score
+     *
+     * @return score
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * String representation of the hit
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "SearchHit{documentId=" + documentId + ", score=" + score + "}";
+    }
+}
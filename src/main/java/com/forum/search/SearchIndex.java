@@ -0,0 +1,289 @@
+package com.forum.search;
+
+import com.forum.dao.SearchIndexDAO;
+import com.forum.metrics.MetricsRegistry;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Application-wide full-text index over topics, comments and replies
+ * Built from the database at startup and kept current by the ForumService write paths;
+ * until the first build completes, searches report that the index is unavailable
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class SearchIndex {
+
+    /** Logger instance for index operations */
+    private static final Logger LOGGER = Logger.getLogger(SearchIndex.class.getName());
+
+    /** Updates buffered while the initial build runs, beyond which buffering stops */
+    private static final int MAX_PENDING_UPDATES = 100_000;
+
+    /** Delay before retrying a failed build */
+    private static final long BUILD_RETRY_MILLIS = 30_000L;
+
+    /** DAO streaming the documents to index */
+    private final SearchIndexDAO searchIndexDAO;
+
+    /** Live indexes, null until the initial build completes */
+    private volatile Indexes indexes;
+
+    /** Updates received before the indexes were live; guarded by itself */
+    private final List<Consumer<Indexes>> pendingUpdates = new ArrayList<>();
+
+    /** Whether updates overflowed the buffer during the build */
+    private boolean pendingOverflow;
+
+    /** Duration of the last build in milliseconds */
+    private volatile long buildMillis = -1L;
+
+    /**
+     * Private constructor
+     */
+    private SearchIndex() {
+        this.searchIndexDAO = new SearchIndexDAO();
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerGauge("forum_search_ready", "Whether the search index has been built",
+                () -> isReady() ? 1 : 0);
+        metrics.registerGauge("forum_search_build_millis", "Duration of the last index build", this::getBuildMillis);
+        metrics.registerGauge("forum_search_documents", "Indexed documents", "type", "topic", this::getTopicCount);
+        metrics.registerGauge("forum_search_documents", "Indexed documents", "type", "comment", this::getCommentCount);
+        metrics.registerGauge("forum_search_documents", "Indexed documents", "type", "reply", this::getReplyCount);
+    }
+
+    /**
+     * Gets the singleton instance of SearchIndex
+     *
+     * @return SearchIndex singleton instance
+     */
+    public static SearchIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Builds the index on a background thread so startup is not delayed
+     * A failed build is retried until it succeeds
+     */
+    public void startBuild() {
+        Thread builder = new Thread(() -> {
+            while (!build()) {
+                try {
+                    Thread.sleep(BUILD_RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "forum-search-indexer");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Builds the index from the database and makes it live
+     *
+     * @return true if the build succeeded
+     */
+    public boolean build() {
+        long start = System.nanoTime();
+
+        while (true) {
+            Indexes built = new Indexes();
+            try {
+                searchIndexDAO.forEachTopic(built.topics::put);
+                searchIndexDAO.forEachComment(built.comments::put);
+                searchIndexDAO.forEachReply(built.replies::put);
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Error building search index; searches fall back to SQL", e);
+                return false;
+            }
+
+            synchronized (pendingUpdates) {
+                if (!pendingOverflow) {
+                    // Replay writes that raced the build; put is idempotent
+                    for (Consumer<Indexes> update : pendingUpdates) {
+                        update.accept(built);
+                    }
+                    pendingUpdates.clear();
+                    indexes = built;
+
+                    buildMillis = (System.nanoTime() - start) / 1_000_000L;
+                    LOGGER.info("Search index built in " + buildMillis + " ms: " + built.topics.getDocumentCount()
+                            + " topics, " + built.comments.getDocumentCount() + " comments, "
+                            + built.replies.getDocumentCount() + " replies");
+                    return true;
+                }
+                pendingUpdates.clear();
+                pendingOverflow = false;
+            }
+
+            LOGGER.warning("Search index missed updates during the build; rebuilding");
+        }
+    }
+
+    /**
+     * Indexes a new or edited topic
+     *
+     * @param topicId Topic ID
+     * @param title Topic title
+     * @param description Topic description
+     */
+    public void indexTopic(int topicId, String title, String description) {
+        update(current -> current.topics.put(topicId, title, description));
+    }
+
+    /**
+     * Indexes a new or edited comment
+     *
+     * @param commentId Comment ID
+     * @param text Comment text
+     */
+    public void indexComment(int commentId, String text) {
+        update(current -> current.comments.put(commentId, text));
+    }
+
+    /**
+     * Indexes a new or edited reply
+     *
+     * @param replyId Reply ID
+     * @param text Reply text
+     */
+    public void indexReply(int replyId, String text) {
+        update(current -> current.replies.put(replyId, text));
+    }
+
+    /**
+     * Searches topic titles and descriptions
+     *
+     * @param query Raw query text
+     * @param limit Maximum number of hits
+     * @return Ranked hits, or null if the index is not built yet
+     */
+    public List<SearchHit> searchTopics(String query, int limit) {
+        Indexes current = indexes;
+        return current == null ? null : current.topics.search(SearchQuery.parse(query), limit);
+    }
+
+    /**
+     * Searches comment text
+     *
+     * @param query Raw query text
+     * @param limit Maximum number of hits
+     * @return Ranked hits, or null if the index is not built yet
+     */
+    public List<SearchHit> searchComments(String query, int limit) {
+        Indexes current = indexes;
+        return current == null ? null : current.comments.search(SearchQuery.parse(query), limit);
+    }
+
+    /**
+     * Searches reply text
+     *
+     * @param query Raw query text
+     * @param limit Maximum number of hits
+     * @return Ranked hits, or null if the index is not built yet
+     */
+    public List<SearchHit> searchReplies(String query, int limit) {
+        Indexes current = indexes;
+        return current == null ? null : current.replies.search(SearchQuery.parse(query), limit);
+    }
+
+    /**
+     * Checks whether the index is built and serving searches
+     *
+     * @return true if ready
+     */
+    public boolean isReady() {
+        return indexes != null;
+    }
+
+    /**
+     * Gets the duration of the last build
+     *
+     * @return build time in milliseconds, -1 if never built
+     */
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Gets the number of indexed topics
+     *
+     * @return topic count, 0 before the build
+     */
+    public int getTopicCount() {
+        Indexes current = indexes;
+        return current == null ? 0 : current.topics.getDocumentCount();
+    }
+
+    /**
+     * Gets the number of indexed comments
+     *
+     * @return comment count, 0 before the build
+     */
+    public int getCommentCount() {
+        Indexes current = indexes;
+        return current == null ? 0 : current.comments.getDocumentCount();
+    }
+
+    /**
+     * Gets the number of indexed replies
+     *
+     * @return reply count, 0 before the build
+     */
+    public int getReplyCount() {
+        Indexes current = indexes;
+        return current == null ? 0 : current.replies.getDocumentCount();
+    }
+
+    /**
+     * Applies an update to the live indexes, or buffers it while the build runs
+     *
+     * @param update Index update
+     */
+    private void update(Consumer<Indexes> update) {
+        Indexes current;
+        synchronized (pendingUpdates) {
+            current = indexes;
+            if (current == null) {
+                if (pendingUpdates.size() < MAX_PENDING_UPDATES) {
+                    pendingUpdates.add(update);
+                } else {
+                    pendingOverflow = true;
+                }
+                return;
+            }
+        }
+        update.accept(current);
+    }
+
+    /**
+     * The three document collections
+     */
+    private static final class Indexes {
+
+        /** Topic titles and descriptions */
+        private final InvertedIndex topics = new InvertedIndex();
+
+        /** Comment text */
+        private final InvertedIndex comments = new InvertedIndex();
+
+        /** Reply text */
+        private final InvertedIndex replies = new InvertedIndex();
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final SearchIndex INSTANCE = new SearchIndex();
+    }
+}
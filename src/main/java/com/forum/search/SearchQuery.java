@@ -0,0 +1,133 @@
+package com.forum.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed search query
+ * Bare words are scored with BM25 and any of them may match; text in double quotes is a
+ * phrase that a document must contain in order, and its words also contribute to the score
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class SearchQuery {
+
+    /** Distinct terms contributing to the score */
+    private final Set<String> terms;
+
+    /** Required phrases as positional term lists (null marks a skipped stop word) */
+    private final List<List<String>> phrases;
+
+    /**
+     * Creates a parsed query
+     *
+     * @param terms Scoring terms
+     * @param phrases Required phrases
+     */
+    private SearchQuery(Set<String> terms, List<List<String>> phrases) {
+        this.terms = Collections.unmodifiableSet(terms);
+        this.phrases = Collections.unmodifiableList(phrases);
+    }
+
+    /**
+     * Parses a user query; an unmatched quote runs to the end of the query
+     *
+     * @param query Raw query text
+     * @return Parsed query
+     */
+    public static SearchQuery parse(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        List<List<String>> phrases = new ArrayList<>();
+
+        if (query != null) {
+            boolean inPhrase = false;
+            int start = 0;
+            for (int i = 0; i <= query.length(); i++) {
+                if (i < query.length() && query.charAt(i) != '"') {
+                    continue;
+                }
+
+                List<String> analyzed = TextAnalyzer.analyze(query.substring(start, i));
+                for (String term : analyzed) {
+                    if (term != null) {
+                        terms.add(term);
+                    }
+                }
+                if (inPhrase && countTerms(analyzed) > 1) {
+                    phrases.add(trimStopWords(analyzed));
+                }
+
+                inPhrase = !inPhrase;
+                start = i + 1;
+            }
+        }
+
+        return new SearchQuery(terms, phrases);
+    }
+
+    /**
+     * Counts the non-stop-word terms of a positional list
+     *
+     * @param analyzed Positional term list
+     * @return Number of real terms
+     */
+    private static int countTerms(List<String> analyzed) {
+        int count = 0;
+        for (String term : analyzed) {
+            if (term != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes leading and trailing stop-word gaps from a phrase
+     *
+     * @param analyzed Positional term list
+     * @return Phrase starting and ending with a real term
+     */
+    private static List<String> trimStopWords(List<String> analyzed) {
+        int from = 0;
+        int to = analyzed.size();
+        while (from < to && analyzed.get(from) == null) {
+            from++;
+        }
+        while (to > from && analyzed.get(to - 1) == null) {
+            to--;
+        }
+        return new ArrayList<>(analyzed.subList(from, to));
+    }
+
+    /**
+     * Gets the distinct scoring terms
+     *
+     * @return set of terms
+     */
+    public Set<String> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the required phrases
+     *
+     * @return list of positional term lists
+     */
+    public List<List<String>> getPhrases() {
+        return phrases;
+    }
+
+    /**
+     * Checks whether the query has nothing to search for
+     *
+     * @return true if no terms were found
+     */
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.forum.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns text into index terms: splits on non-alphanumeric characters, lowercases,
+ * drops stop words and applies the Porter stemmer
+ * Stop words keep their position so phrase queries line up with the indexed text
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class TextAnalyzer {
+
+    /** Tokens longer than this are ignored (encoded blobs, long URLs) */
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    /** Common English words that carry no search value */
+    private static final Set<String> STOP_WORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with")));
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private TextAnalyzer() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Analyzes text into a positional term list
+     * The list index is the token position; stop words and over-long tokens appear as null
+     *
+     * @param text Text to analyze
+     * @return Terms by position
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                token.append(Character.toLowerCase(ch));
+            } else if (token.length() > 0) {
+                terms.add(toTerm(token));
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            terms.add(toTerm(token));
+        }
+
+        return terms;
+    }
+
+    /**
+     * Converts a lowercase token into an index term
+     *
+     * @param token Lowercase token
+     * @return Stemmed term, or null for stop words and over-long tokens
+     */
+    private static String toTerm(StringBuilder token) {
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        String word = token.toString();
+        return STOP_WORDS.contains(word) ? null : PorterStemmer.stem(word);
+    }
+}
@@ -0,0 +1,162 @@
+package com.forum.service;
+
+import com.forum.cache.TopicListCache;
+import com.forum.config.DatabaseConfig;
+import com.forum.dao.CounterDAO;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Background task that repairs drift in the denormalized counter columns
+ * New posts reach the counters through {@link CounterWriter}; this catches rows changed outside
+ * the application. Each column is recomputed in ranges of its table's primary key, one short
+ * statement per range, and each range runs through {@link CounterWriter#reconcile} so that
+ * posts committing during the pass are counted exactly once
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+public class CounterReconciler {
+
+    /** Logger instance for reconciler operations */
+    private static final Logger LOGGER = Logger.getLogger(CounterReconciler.class.getName());
+
+    /** Counter DAO that runs the reconciliation statements */
+    private final CounterDAO counterDAO;
+
+    /** Interval between reconciliation runs in milliseconds */
+    private final long intervalMillis;
+
+    /** Number of IDs recomputed per statement */
+    private final int batchSize;
+
+    /** Number of completed runs */
+    private final AtomicLong runCount = new AtomicLong();
+
+    /** Total number of counter rows repaired */
+    private final AtomicLong repairedCount = new AtomicLong();
+
+    /** Scheduler running the reconciliation, null until started */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Private constructor; reads the interval and batch size from application.properties
+     */
+    private CounterReconciler() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.counterDAO = new CounterDAO();
+        this.intervalMillis = config.getLongProperty("counters.reconcile.intervalMs", 3_600_000L);
+        this.batchSize = Math.max(1, config.getIntProperty("counters.reconcile.batchSize", 1000));
+    }
+
+    /**
+     * Gets the singleton instance of CounterReconciler
+     *
+     * @return CounterReconciler singleton instance
+     */
+    public static CounterReconciler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts the background schedule; the first run happens shortly after startup
+     * A non-positive interval disables the reconciler
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-counter-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileNow, 10_000L, intervalMillis, TimeUnit.MILLISECONDS);
+        LOGGER.info("Counter reconciler started (interval " + intervalMillis + " ms)");
+    }
+
+    /**
+     * Runs one reconciliation pass on the calling thread
+     *
+     * @return Number of counter rows repaired, or -1 if the pass failed
+     */
+    public int reconcileNow() {
+        CounterWriter counterWriter = CounterWriter.getInstance();
+        int repaired = 0;
+
+        for (CounterDAO.Column column : CounterDAO.Column.values()) {
+            int maxId = counterDAO.getMaxId(column);
+            if (maxId < 0) {
+                return -1;
+            }
+
+            int columnRepaired = 0;
+            for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+                int from = (int) fromId;
+                int to = (int) Math.min(fromId + batchSize - 1, maxId);
+                int rows = counterWriter.reconcile(() -> counterDAO.reconcileRange(column, from, to));
+                if (rows < 0) {
+                    LOGGER.warning("Counter reconciliation stopped at " + column.getCounterName() + " ID " + from);
+                    return -1;
+                }
+                columnRepaired += rows;
+            }
+
+            if (columnRepaired > 0) {
+                LOGGER.warning("Repaired " + columnRepaired + " drifted " + column.getCounterName() + " values");
+            }
+            repaired += columnRepaired;
+        }
+        runCount.incrementAndGet();
+
+        if (repaired > 0) {
+            repairedCount.addAndGet(repaired);
+            // Cached listings may carry the drifted counts
+            TopicListCache.getInstance().invalidateTopics();
+        }
+
+        return repaired;
+    }
+
+    /**
+     * Stops the background schedule
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Counter reconciler stopped");
+        }
+    }
+
+    /**
+     * Gets the number of completed reconciliation runs
+     *
+     * @return run count
+     */
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    /**
+     * Gets the total number of counter rows repaired since startup
+     *
+     * @return repaired row count
+     */
+    public long getRepairedCount() {
+        return repairedCount.get();
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final CounterReconciler INSTANCE = new CounterReconciler();
+    }
+}
@@ -0,0 +1,377 @@
+package com.forum.service;
+
+import com.forum.cache.TopicListCache;
+import com.forum.config.DatabaseConfig;
+import com.forum.dao.CounterDAO;
+import com.forum.metrics.MetricsRegistry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for the denormalized counter columns
+ * New comments and replies record their counter changes here once their own transaction has
+ * committed; a background task adds the summed change per row in one batched transaction
+ * every flush interval. Posts therefore never lock the topic, comment or user rows they
+ * count, and a busy topic costs one counter update per interval instead of one per post.
+ * Until started, and after stopping, changes are written through on the caller's thread.
+ * Posts run inside {@link #recordPost} so that a reconcile batch never sees a committed
+ * post whose change is not yet recorded here, and so never counts one twice
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class CounterWriter {
+
+    /** Logger instance for writer operations */
+    private static final Logger LOGGER = Logger.getLogger(CounterWriter.class.getName());
+
+    /** Counter DAO that runs the batched update */
+    private final CounterDAO counterDAO;
+
+    /** Interval between flushes in milliseconds; non-positive writes every post through */
+    private final long flushIntervalMillis;
+
+    /** Unwritten comment count changes per topic ID */
+    private final ConcurrentHashMap<Integer, Integer> topicComments = new ConcurrentHashMap<>();
+
+    /** Unwritten reply count changes per comment ID */
+    private final ConcurrentHashMap<Integer, Integer> commentReplies = new ConcurrentHashMap<>();
+
+    /** Unwritten comment count changes per user ID */
+    private final ConcurrentHashMap<Integer, Integer> userComments = new ConcurrentHashMap<>();
+
+    /** Unwritten reply count changes per user ID */
+    private final ConcurrentHashMap<Integer, Integer> userReplies = new ConcurrentHashMap<>();
+
+    /** Number of counter rows written */
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /** Number of batches that failed and were kept for the next flush */
+    private final AtomicLong failedFlushCount = new AtomicLong();
+
+    /** Held shared by posts until their change is recorded, and exclusively by reconcile batches */
+    private final ReentrantReadWriteLock postLock = new ReentrantReadWriteLock();
+
+    /** Serializes flushes, so no batch is still being written once flushNow returns */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /** Scheduler running the flushes, null unless started */
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Private constructor; reads the flush interval from application.properties
+     */
+    private CounterWriter() {
+        this.counterDAO = new CounterDAO();
+        this.flushIntervalMillis = DatabaseConfig.getInstance()
+                .getLongProperty("counters.flushIntervalMs", 250L);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerGauge("forum_counter_pending", "Counter rows with unwritten changes",
+                this::getPendingCount);
+        metrics.registerGauge("forum_counter_written", "Counter rows written", writtenCount::get);
+        metrics.registerGauge("forum_counter_failed_flushes", "Counter batches that failed",
+                failedFlushCount::get);
+    }
+
+    /**
+     * Gets the singleton instance of CounterWriter
+     *
+     * @return CounterWriter singleton instance
+     */
+    public static CounterWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts the background flushes
+     * A non-positive interval leaves the writer writing through
+     */
+    public synchronized void start() {
+        if (scheduler != null || flushIntervalMillis <= 0) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-counter-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushNow, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        scheduler = executor;
+        LOGGER.info("Counter writer started (flush interval " + flushIntervalMillis + " ms)");
+    }
+
+    /**
+     * Records a committed comment
+     *
+     * @param topicId Topic the comment was posted on
+     * @param userId User who posted it
+     */
+    public void commentCreated(int topicId, int userId) {
+        add(topicComments, topicId, 1);
+        add(userComments, userId, 1);
+        writeThroughIfStopped();
+    }
+
+    /**
+     * Records a committed reply
+     *
+     * @param commentId Comment the reply was posted on
+     * @param userId User who posted it
+     */
+    public void replyCreated(int commentId, int userId) {
+        add(commentReplies, commentId, 1);
+        add(userReplies, userId, 1);
+        writeThroughIfStopped();
+    }
+
+    /**
+     * Records a deactivated comment
+     *
+     * @param topicId Topic the comment was posted on
+     * @param userId User who posted it
+     */
+    public void commentDeleted(int topicId, int userId) {
+        add(topicComments, topicId, -1);
+        add(userComments, userId, -1);
+        writeThroughIfStopped();
+    }
+
+    /**
+     * Records a deactivated reply
+     *
+     * @param commentId Comment the reply was posted on
+     * @param userId User who posted it
+     */
+    public void replyDeleted(int commentId, int userId) {
+        add(commentReplies, commentId, -1);
+        add(userReplies, userId, -1);
+        writeThroughIfStopped();
+    }
+
+    /**
+     * Runs a post's transaction and the recording of its counter change as one step
+     * with respect to reconcile batches
+     *
+     * @param post Work that commits the post and then records its change here
+     * @param <T> Result type
+     * @return Result of the work
+     */
+    public <T> T recordPost(Supplier<T> post) {
+        postLock.readLock().lock();
+        try {
+            return post.get();
+        } finally {
+            postLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a reconcile batch while no post is between its commit and the recording of its
+     * change, after writing every recorded change; the batch's recount then matches what
+     * the counters will hold once later changes are added
+     *
+     * @param batch Recount of one range of counter rows
+     * @return Result of the batch, or -1 if pending changes could not be written first
+     */
+    public int reconcile(IntSupplier batch) {
+        postLock.writeLock().lock();
+        try {
+            if (flushNow() < 0) {
+                // Recounting now would count the unwritten changes, then add them again
+                return -1;
+            }
+            return batch.getAsInt();
+        } finally {
+            postLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a topic's comment count change not yet written, for readers that need the count at once
+     *
+     * @param topicId Topic ID
+     * @return Change to add to the stored comment count
+     */
+    public int getPendingTopicComments(int topicId) {
+        return topicComments.getOrDefault(topicId, 0);
+    }
+
+    /**
+     * Writes all pending changes on the calling thread
+     * Failed batches go back into the buffer for the next flush
+     *
+     * @return Number of counter rows written, or -1 if the batch failed
+     */
+    public int flushNow() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes all pending changes; callers hold the flush lock
+     *
+     * @return Number of counter rows written, or -1 if the batch failed
+     */
+    private int flushPending() {
+        TreeMap<Integer, Integer> topicBatch = drain(topicComments);
+        TreeMap<Integer, Integer> commentBatch = drain(commentReplies);
+        TreeMap<Integer, Integer> userCommentBatch = drain(userComments);
+        TreeMap<Integer, Integer> userReplyBatch = drain(userReplies);
+        if (topicBatch.isEmpty() && commentBatch.isEmpty() && userCommentBatch.isEmpty() && userReplyBatch.isEmpty()) {
+            return 0;
+        }
+
+        int written = counterDAO.applyDeltas(topicBatch, commentBatch, userCommentBatch, userReplyBatch);
+        if (written < 0) {
+            failedFlushCount.incrementAndGet();
+            restore(topicComments, topicBatch);
+            restore(commentReplies, commentBatch);
+            restore(userComments, userCommentBatch);
+            restore(userReplies, userReplyBatch);
+            return -1;
+        }
+
+        writtenCount.addAndGet(written);
+        if (!topicBatch.isEmpty()) {
+            // Listings show comment counts, and may have been reloaded since the post
+            TopicListCache.getInstance().invalidateTopics();
+        }
+        return written;
+    }
+
+    /**
+     * Stops the background flushes and writes what is still pending
+     * Later changes are written through
+     */
+    public synchronized void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+
+        scheduler = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        int written = flushNow();
+        LOGGER.info("Counter writer stopped (" + written + " counter rows written on shutdown)");
+    }
+
+    /**
+     * Gets the number of counter rows with unwritten changes
+     *
+     * @return pending row count
+     */
+    public int getPendingCount() {
+        return topicComments.size() + commentReplies.size() + userComments.size() + userReplies.size();
+    }
+
+    /**
+     * Gets the number of counter rows written since startup
+     *
+     * @return written count
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Gets the number of batches that failed and were retried
+     *
+     * @return failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    /**
+     * Gets the flush interval
+     *
+     * @return interval in milliseconds; non-positive when writing through
+     */
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    /**
+     * Writes the pending changes at once when no background flush is running
+     */
+    private void writeThroughIfStopped() {
+        if (scheduler == null) {
+            flushNow();
+        }
+    }
+
+    /**
+     * Adds a change to a row's pending total, dropping totals that cancel out
+     *
+     * @param pending Pending changes by row ID
+     * @param id Row ID
+     * @param delta Change to add
+     */
+    private static void add(ConcurrentHashMap<Integer, Integer> pending, int id, int delta) {
+        pending.merge(id, delta, (current, added) -> current + added == 0 ? null : current + added);
+    }
+
+    /**
+     * Takes every pending change out of the buffer, sorted by row ID
+     *
+     * @param pending Pending changes by row ID
+     * @return Changes taken; a change arriving afterwards starts a new entry
+     */
+    private static TreeMap<Integer, Integer> drain(ConcurrentHashMap<Integer, Integer> pending) {
+        TreeMap<Integer, Integer> batch = new TreeMap<>();
+        for (Integer id : pending.keySet()) {
+            Integer delta = pending.remove(id);
+            if (delta != null) {
+                batch.put(id, delta);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Puts the changes of a failed batch back for the next flush
+     *
+     * @param pending Pending changes by row ID
+     * @param batch Changes that were not written
+     */
+    private static void restore(ConcurrentHashMap<Integer, Integer> pending, Map<Integer, Integer> batch) {
+        for (Map.Entry<Integer, Integer> entry : batch.entrySet()) {
+            add(pending, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final CounterWriter INSTANCE = new CounterWriter();
+    }
+}
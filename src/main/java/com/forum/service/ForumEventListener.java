@@ -0,0 +1,31 @@
+package com.forum.service;
+
+import com.forum.model.Comment;
+import com.forum.model.Reply;
+
+/**
+ * Receives forum posts as they are created
+ * Listeners are called on the posting thread after the post is committed, so they
+ * must return quickly and must not throw
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface ForumEventListener {
+
+    /**
+     * Called after a comment is created
+     *
+     * @param comment New comment, with its author set
+     */
+    void commentCreated(Comment comment);
+
+    /**
+     * Called after a reply is created
+     *
+     * @param topicId Topic ID of the comment replied to
+     * @param reply New reply, with its author set
+     */
+    void replyCreated(int topicId, Reply reply);
+}
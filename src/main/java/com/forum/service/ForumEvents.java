@@ -0,0 +1,97 @@
+package com.forum.service;
+
+import com.forum.model.Comment;
+import com.forum.model.Reply;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process registry of {@link ForumEventListener}s
+ * ForumService announces committed posts here; a failing listener is logged and
+ * skipped so it never fails the post that triggered it
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ForumEvents {
+
+    /** Logger instance for event dispatch */
+    private static final Logger LOGGER = Logger.getLogger(ForumEvents.class.getName());
+
+    /** Registered listeners */
+    private final CopyOnWriteArrayList<ForumEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor for singleton
+     */
+    private ForumEvents() {
+    }
+
+    /**
+     * Gets the singleton instance of ForumEvents
+     *
+     * @return ForumEvents singleton instance
+     */
+    public static ForumEvents getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Registers a listener
+     *
+     * @param listener Listener to add; registering it again has no effect
+     */
+    public void addListener(ForumEventListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Unregisters a listener
+     *
+     * @param listener Listener to remove
+     */
+    public void removeListener(ForumEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Announces a new comment to every listener
+     *
+     * @param comment New comment, with its author set
+     */
+    void commentCreated(Comment comment) {
+        for (ForumEventListener listener : listeners) {
+            try {
+                listener.commentCreated(comment);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Forum event listener failed on comment " + comment.getCommentId(), e);
+            }
+        }
+    }
+
+    /**
+     * Announces a new reply to every listener
+     *
+     * @param topicId Topic ID of the comment replied to
+     * @param reply New reply, with its author set
+     */
+    void replyCreated(int topicId, Reply reply) {
+        for (ForumEventListener listener : listeners) {
+            try {
+                listener.replyCreated(topicId, reply);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Forum event listener failed on reply " + reply.getReplyId(), e);
+            }
+        }
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final ForumEvents INSTANCE = new ForumEvents();
+    }
+}
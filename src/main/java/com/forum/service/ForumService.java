@@ -1,14 +1,23 @@
 package com.forum.service;
 
+import com.forum.cache.FragmentCache;
+import com.forum.cache.TopicListCache;
 import com.forum.dao.TopicDAO;
 import com.forum.dao.CommentDAO;
 import com.forum.dao.ReplyDAO;
+import com.forum.dao.UnitOfWork;
+import com.forum.model.Page;
 import com.forum.model.Topic;
 import com.forum.model.Comment;
 import com.forum.model.Reply;
 import com.forum.model.User;
+import com.forum.search.SearchHit;
+import com.forum.search.SearchIndex;
 import com.forum.util.ForumLogUtil;
+import com.forum.util.PageCursor;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -17,7 +26,7 @@ import java.util.logging.Logger;
  * Handles topic, comment, and reply operations
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.8
  * @since 2025-06-04
  */
 public class ForumService {
@@ -25,6 +34,12 @@ public class ForumService {
     /** Logger instance for service operations */
     private static final Logger LOGGER = Logger.getLogger(ForumService.class.getName());
 
+    /** Largest page size a caller may request */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Maximum number of ranked search results returned */
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     /** Topic DAO for database operations */
     private final TopicDAO topicDAO;
 
@@ -37,6 +52,27 @@ public class ForumService {
     /** User service for user-related operations */
     private final UserService userService;
 
+    /** Shared cache of topic listings */
+    private final TopicListCache topicListCache;
+
+    /** Full-text search index */
+    private final SearchIndex searchIndex;
+
+    /** Write-behind buffer for topic last activity */
+    private final TopicActivityWriter topicActivityWriter;
+
+    /** Write-behind buffer for the denormalized comment and reply counters */
+    private final CounterWriter counterWriter;
+
+    /** Last change per topic, for conditional GET validators */
+    private final TopicChangeTracker topicChangeTracker;
+
+    /** Listeners told about new comments and replies */
+    private final ForumEvents forumEvents;
+
+    /** Rendered topic threads, comments and index rows */
+    private final FragmentCache fragmentCache;
+
     /**
      * Constructor to initialize ForumService
      */
@@ -45,6 +81,13 @@ public class ForumService {
         this.commentDAO = new CommentDAO();
         this.replyDAO = new ReplyDAO();
         this.userService = new UserService();
+        this.topicListCache = TopicListCache.getInstance();
+        this.searchIndex = SearchIndex.getInstance();
+        this.topicActivityWriter = TopicActivityWriter.getInstance();
+        this.counterWriter = CounterWriter.getInstance();
+        this.topicChangeTracker = TopicChangeTracker.getInstance();
+        this.forumEvents = ForumEvents.getInstance();
+        this.fragmentCache = FragmentCache.getInstance();
     }
 
     /**
@@ -88,6 +131,9 @@ public class ForumService {
         Topic topic = new Topic(title, description, userId);
 
         if (topicDAO.createTopic(topic)) {
+            topicListCache.invalidateTopics();
+            searchIndex.indexTopic(topic.getTopicId(), title, description);
+
             // Log topic creation
             ForumLogUtil.logTopicCreation(topic.getTopicId(), userId,
                     user.getFullName(), title);
@@ -100,33 +146,48 @@ public class ForumService {
     }
 
     /**
-     * Retrieves a topic by ID with comments and replies
+     * Retrieves a topic by ID with its author
+     * Comments are loaded separately, a page at a time; the topic page loads both
+     * through {@link TopicViewAssembler}
      *
      * @param topicId Topic ID
-     * @return Topic object with comments and replies if found, null otherwise
+     * @return Topic object if found, null otherwise
      */
-    public Topic getTopicWithComments(int topicId) {
+    public Topic getTopic(int topicId) {
 
         if (topicId <= 0) {
             LOGGER.warning("Valid topic ID is required");
             return null;
         }
 
-        // Get topic
         Topic topic = topicDAO.getTopicById(topicId);
         if (topic == null) {
             LOGGER.warning("Topic not found: " + topicId);
-            return null;
         }
+        return topic;
+    }
 
-        // Get comments for topic
-        List<Comment> comments = commentDAO.getCommentsByTopicId(topicId);
-
-        // Set comments on topic (for display purposes)
-        // Note: Topic model would need a comments field for this
+    /**
+     * Gets the validator of a topic's thread without loading the thread
+     * The returned last activity is the latest of the stored last activity and the last
+     * change this server has seen, which includes edits and buffered activity; the comment
+     * count includes comments whose counter update is still buffered
+     *
+     * @param topicId Topic ID
+     * @return Topic with only ID, last modification time and comment count set, or null if not found
+     */
+    public Topic getTopicVersion(int topicId) {
+        if (topicId <= 0) {
+            return null;
+        }
 
-        LOGGER.info("Retrieved topic with comments: " + topicId);
-        return topic;
+        Topic version = topicDAO.getTopicVersion(topicId);
+        if (version != null) {
+            long stored = version.getLastActivity() != null ? version.getLastActivity().getTime() : 0L;
+            version.setLastActivity(new Timestamp(Math.max(stored, topicChangeTracker.getLastChange(topicId))));
+            version.setCommentCount(version.getCommentCount() + counterWriter.getPendingTopicComments(topicId));
+        }
+        return version;
     }
 
     /**
@@ -135,7 +196,29 @@ public class ForumService {
      * @return List of Topic objects
      */
     public List<Topic> getAllTopics() {
-        return topicDAO.getAllTopics();
+        return topicListCache.getAllTopics(topicDAO::getAllTopics);
+    }
+
+    /**
+     * Retrieves one page of active topics ordered by most recent activity
+     *
+     * @param cursorToken Cursor token from a previous page, null or empty for the first page
+     * @param limit Number of topics per page
+     * @return Page of Topic objects
+     */
+    public Page<Topic> getTopicsPage(String cursorToken, int limit) {
+        int pageSize = clampPageSize(limit);
+        return topicListCache.getTopicsPage(cursorToken, pageSize,
+                () -> topicDAO.getTopicsPage(PageCursor.decode(cursorToken), pageSize));
+    }
+
+    /**
+     * Gets the total number of active topics
+     *
+     * @return Total number of topics
+     */
+    public int getTotalTopicCount() {
+        return topicListCache.getTopicCount(topicDAO::getTotalTopicCount);
     }
 
     /**
@@ -156,6 +239,7 @@ public class ForumService {
 
     /**
      * Creates a new comment with validation and logging
+     * The insert checks that the topic and user exist, in one transaction on one connection
      *
      * @param topicId Topic ID
      * @param userId User ID posting the comment
@@ -180,30 +264,34 @@ public class ForumService {
             return null;
         }
 
-        // Validate topic exists
-        Topic topic = topicDAO.getTopicById(topicId);
-        if (topic == null) {
-            LOGGER.warning("Topic not found: " + topicId);
-            return null;
-        }
-
-        // Validate user exists
-        User user = userService.getUserById(userId);
-        if (user == null) {
-            LOGGER.warning("User not found: " + userId);
-            return null;
-        }
-
         // Sanitize input
         commentText = userService.sanitizeInput(commentText);
 
-        // Create new comment
+        // Create new comment; fails when the topic or user does not exist
         Comment comment = new Comment(topicId, userId, commentText);
 
-        if (commentDAO.createComment(comment)) {
+        boolean created = counterWriter.recordPost(() -> {
+            if (UnitOfWork.execute("ForumService.createComment",
+                    work -> commentDAO.createComment(work, comment) ? comment : null) == null) {
+                return false;
+            }
+            counterWriter.commentCreated(topicId, userId);
+            return true;
+        });
+
+        if (created) {
+            topicActivityWriter.record(topicId);
+            topicChangeTracker.record(topicId);
+            topicListCache.invalidateTopics();
+            fragmentCache.invalidateTopic(topicId);
+            searchIndex.indexComment(comment.getCommentId(), commentText);
+
+            comment.setUser(userService.getUserById(userId));
+            forumEvents.commentCreated(comment);
+
             // Log comment creation
             ForumLogUtil.logComment(comment.getCommentId(), topicId, userId,
-                    user.getFullName(), commentText);
+                    getAuditUserName(userId), commentText);
 
             LOGGER.info("Comment created successfully: " + comment.getCommentId());
             return comment;
@@ -228,8 +316,37 @@ public class ForumService {
         return commentDAO.getCommentsByTopicId(topicId);
     }
 
+    /**
+     * Retrieves one page of comments for a topic in posting order
+     *
+     * @param topicId Topic ID
+     * @param cursorToken Cursor token from a previous page, null or empty for the first page
+     * @param limit Number of comments per page
+     * @return Page of Comment objects with replies, null if the topic ID is invalid
+     */
+    public Page<Comment> getCommentsPage(int topicId, String cursorToken, int limit) {
+
+        if (topicId <= 0) {
+            LOGGER.warning("Valid topic ID is required");
+            return null;
+        }
+
+        return commentDAO.getCommentsPage(topicId, PageCursor.decode(cursorToken), clampPageSize(limit));
+    }
+
+    /**
+     * Gets the number of active comments on a topic
+     *
+     * @param topicId Topic ID
+     * @return Number of comments
+     */
+    public int getCommentCount(int topicId) {
+        return commentDAO.getCommentCountByTopicId(topicId);
+    }
+
     /**
      * Creates a new reply with validation and logging
+     * The insert checks that the comment and user exist, in one transaction on one connection
      *
      * @param commentId Comment ID
      * @param userId User ID posting the reply
@@ -254,30 +371,35 @@ public class ForumService {
             return null;
         }
 
-        // Validate comment exists
-        Comment comment = commentDAO.getCommentById(commentId);
-        if (comment == null) {
-            LOGGER.warning("Comment not found: " + commentId);
-            return null;
-        }
-
-        // Validate user exists
-        User user = userService.getUserById(userId);
-        if (user == null) {
-            LOGGER.warning("User not found: " + userId);
-            return null;
-        }
-
         // Sanitize input
         replyText = userService.sanitizeInput(replyText);
 
-        // Create new reply
+        // Create new reply; fails when the comment or user does not exist
         Reply reply = new Reply(commentId, userId, replyText);
 
-        if (replyDAO.createReply(reply)) {
+        Integer topicId = counterWriter.recordPost(() -> {
+            Integer postedOn = UnitOfWork.execute("ForumService.createReply",
+                    work -> replyDAO.createReply(work, reply) ? commentDAO.getTopicId(work, commentId) : null);
+            if (postedOn != null) {
+                counterWriter.replyCreated(commentId, userId);
+            }
+            return postedOn;
+        });
+
+        if (topicId != null) {
+            topicActivityWriter.record(topicId);
+            topicChangeTracker.record(topicId);
+            topicListCache.invalidateTopics();
+            fragmentCache.invalidateComment(commentId);
+            fragmentCache.invalidateTopic(topicId);
+            searchIndex.indexReply(reply.getReplyId(), replyText);
+
+            reply.setUser(userService.getUserById(userId));
+            forumEvents.replyCreated(topicId, reply);
+
             // Log reply creation
             ForumLogUtil.logReply(reply.getReplyId(), commentId, userId,
-                    user.getFullName(), replyText);
+                    getAuditUserName(userId), replyText);
 
             LOGGER.info("Reply created successfully: " + reply.getReplyId());
             return reply;
@@ -302,6 +424,24 @@ public class ForumService {
         return replyDAO.getRepliesByCommentId(commentId);
     }
 
+    /**
+     * Retrieves one page of replies for a comment in posting order
+     *
+     * @param commentId Comment ID
+     * @param cursorToken Cursor token from a previous page, null or empty for the first page
+     * @param limit Number of replies per page
+     * @return Page of Reply objects, null if the comment ID is invalid
+     */
+    public Page<Reply> getRepliesPage(int commentId, String cursorToken, int limit) {
+
+        if (commentId <= 0) {
+            LOGGER.warning("Valid comment ID is required");
+            return null;
+        }
+
+        return replyDAO.getRepliesPage(commentId, PageCursor.decode(cursorToken), clampPageSize(limit));
+    }
+
     /**
      * Updates a topic (only by owner)
      *
@@ -348,6 +488,10 @@ public class ForumService {
         boolean success = topicDAO.updateTopic(topic);
 
         if (success) {
+            topicChangeTracker.record(topicId);
+            topicListCache.invalidateTopics();
+            fragmentCache.invalidateTopic(topicId);
+            searchIndex.indexTopic(topicId, title, description);
             LOGGER.info("Topic updated successfully: " + topicId);
         } else {
             LOGGER.warning("Failed to update topic: " + topicId);
@@ -400,6 +544,13 @@ public class ForumService {
         // Update comment
         boolean success = commentDAO.updateComment(commentId, newText, userId);
 
+        if (success) {
+            topicChangeTracker.record(comment.getTopicId());
+            fragmentCache.invalidateComment(commentId);
+            fragmentCache.invalidateTopic(comment.getTopicId());
+            searchIndex.indexComment(commentId, newText);
+        }
+
         if (success && user != null) {
             // Log comment update
             ForumLogUtil.logCommentUpdate(commentId, userId, user.getFullName(),
@@ -456,6 +607,16 @@ public class ForumService {
         // Update reply
         boolean success = replyDAO.updateReply(replyId, newText, userId);
 
+        if (success) {
+            Comment parent = commentDAO.getCommentById(reply.getCommentId());
+            fragmentCache.invalidateComment(reply.getCommentId());
+            if (parent != null) {
+                topicChangeTracker.record(parent.getTopicId());
+                fragmentCache.invalidateTopic(parent.getTopicId());
+            }
+            searchIndex.indexReply(replyId, newText);
+        }
+
         if (success && user != null) {
             // Log reply update
             ForumLogUtil.logReplyUpdate(replyId, userId, user.getFullName(),
@@ -468,11 +629,102 @@ public class ForumService {
         return success;
     }
 
+    /**
+     * Deletes a comment (only by owner)
+     * The comment is deactivated; its counter changes go through the counter writer once the
+     * deactivation commits, so the delete never locks the topic or user rows
+     *
+     * @param commentId Comment ID
+     * @param userId User ID requesting the delete
+     * @return true if delete successful, false otherwise
+     */
+    public boolean deleteComment(int commentId, int userId) {
+
+        // Validate input parameters
+        if (commentId <= 0 || userId <= 0) {
+            LOGGER.warning("Valid comment ID and user ID are required");
+            return false;
+        }
+
+        Integer topicId = counterWriter.recordPost(() -> {
+            Integer deletedFrom = UnitOfWork.execute("ForumService.deleteComment", work -> {
+                int id = commentDAO.deactivateComment(work, commentId, userId);
+                return id > 0 ? id : null;
+            });
+            if (deletedFrom != null) {
+                counterWriter.commentDeleted(deletedFrom, userId);
+            }
+            return deletedFrom;
+        });
+
+        if (topicId == null) {
+            LOGGER.warning("Failed to delete comment: " + commentId);
+            return false;
+        }
+
+        topicChangeTracker.record(topicId);
+        topicListCache.invalidateTopics();
+        fragmentCache.invalidateComment(commentId);
+        fragmentCache.invalidateTopic(topicId);
+
+        LOGGER.info("Comment deleted successfully: " + commentId);
+        return true;
+    }
+
+    /**
+     * Deletes a reply (only by owner)
+     * The reply is deactivated; its counter changes go through the counter writer once the
+     * deactivation commits, so the delete never locks the comment or user rows
+     *
+     * @param replyId Reply ID
+     * @param userId User ID requesting the delete
+     * @return true if delete successful, false otherwise
+     */
+    public boolean deleteReply(int replyId, int userId) {
+
+        // Validate input parameters
+        if (replyId <= 0 || userId <= 0) {
+            LOGGER.warning("Valid reply ID and user ID are required");
+            return false;
+        }
+
+        // Get existing reply
+        Reply reply = replyDAO.getReplyById(replyId);
+        if (reply == null) {
+            LOGGER.warning("Reply not found: " + replyId);
+            return false;
+        }
+        int commentId = reply.getCommentId();
+
+        Integer topicId = counterWriter.recordPost(() -> {
+            Integer deletedFrom = UnitOfWork.execute("ForumService.deleteReply",
+                    work -> replyDAO.deactivateReply(work, replyId, userId) > 0
+                            ? commentDAO.getTopicId(work, commentId) : null);
+            if (deletedFrom != null) {
+                counterWriter.replyDeleted(commentId, userId);
+            }
+            return deletedFrom;
+        });
+
+        if (topicId == null) {
+            LOGGER.warning("Failed to delete reply: " + replyId);
+            return false;
+        }
+
+        topicChangeTracker.record(topicId);
+        fragmentCache.invalidateComment(commentId);
+        fragmentCache.invalidateTopic(topicId);
+
+        LOGGER.info("Reply deleted successfully: " + replyId);
+        return true;
+    }
+
     /**
      * Searches topics by title or description
+     * Results are ranked by relevance; quoted text must match as a phrase
      *
      * @param searchTerm Search term
-     * @return List of matching Topic objects
+     * @return List of matching Topic objects, best match first
      */
     public List<Topic> searchTopics(String searchTerm) {
 
@@ -484,7 +736,72 @@ public class ForumService {
         // Sanitize search term
         searchTerm = userService.sanitizeInput(searchTerm);
 
-        return topicDAO.searchTopics(searchTerm);
+        List<SearchHit> hits = searchIndex.searchTopics(searchTerm, MAX_SEARCH_RESULTS);
+        if (hits == null) {
+            // Index still building; fall back to a database scan
+            return topicDAO.searchTopics(searchTerm);
+        }
+        return topicDAO.getTopicsByIds(toDocumentIds(hits));
+    }
+
+    /**
+     * Searches comment text
+     * Results are ranked by relevance; quoted text must match as a phrase
+     *
+     * @param searchTerm Search term
+     * @return List of matching Comment objects, best match first
+     */
+    public List<Comment> searchComments(String searchTerm) {
+
+        if (isEmpty(searchTerm)) {
+            LOGGER.warning("Search term is required");
+            return null;
+        }
+
+        searchTerm = userService.sanitizeInput(searchTerm);
+
+        List<SearchHit> hits = searchIndex.searchComments(searchTerm, MAX_SEARCH_RESULTS);
+        if (hits == null) {
+            return commentDAO.searchComments(searchTerm);
+        }
+        return commentDAO.getCommentsByIds(toDocumentIds(hits));
+    }
+
+    /**
+     * Searches reply text
+     * Results are ranked by relevance; quoted text must match as a phrase
+     *
+     * @param searchTerm Search term
+     * @return List of matching Reply objects, best match first
+     */
+    public List<Reply> searchReplies(String searchTerm) {
+
+        if (isEmpty(searchTerm)) {
+            LOGGER.warning("Search term is required");
+            return null;
+        }
+
+        searchTerm = userService.sanitizeInput(searchTerm);
+
+        List<SearchHit> hits = searchIndex.searchReplies(searchTerm, MAX_SEARCH_RESULTS);
+        if (hits == null) {
+            return replyDAO.searchReplies(searchTerm);
+        }
+        return replyDAO.getRepliesByIds(toDocumentIds(hits));
+    }
+
+    /**
+     * Extracts the document IDs of ranked hits in rank order
+     *
+     * @param hits Ranked hits
+     * @return Document IDs
+     */
+    private List<Integer> toDocumentIds(List<SearchHit> hits) {
+        List<Integer> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.getDocumentId());
+        }
+        return ids;
     }
 
     /**
@@ -605,6 +922,28 @@ public class ForumService {
         return null; // No validation errors
     }
 
+    /**
+     * Helper method to keep a requested page size within 1..MAX_PAGE_SIZE
+     *
+     * @param limit Requested page size
+     * @return Page size to use
+     */
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Gets the name recorded in the audit log for a post that was just created
+     * Looked up after the commit, so it adds nothing to the transaction
+     *
+     * @param userId User ID
+     * @return User's full name, or a placeholder if the user cannot be loaded
+     */
+    private String getAuditUserName(int userId) {
+        User user = userService.getUserById(userId);
+        return user != null ? user.getFullName() : "user " + userId;
+    }
+
     /**
      * Helper method to check if string is null or empty
      *
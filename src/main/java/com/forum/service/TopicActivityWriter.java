@@ -0,0 +1,247 @@
+package com.forum.service;
+
+import com.forum.cache.TopicListCache;
+import com.forum.config.DatabaseConfig;
+import com.forum.dao.TopicDAO;
+import com.forum.metrics.MetricsRegistry;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for topics.last_activity
+ * New comments and replies record their topic's activity time in memory; a background
+ * task writes the latest time per topic in one batched update every flush interval.
+ * A busy topic therefore costs one row update per interval instead of one per post.
+ * Until started, and after stopping, activity is written through on the caller's thread
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TopicActivityWriter {
+
+    /** Logger instance for writer operations */
+    private static final Logger LOGGER = Logger.getLogger(TopicActivityWriter.class.getName());
+
+    /** Topic DAO that runs the batched update */
+    private final TopicDAO topicDAO;
+
+    /** Interval between flushes in milliseconds; non-positive writes every post through */
+    private final long flushIntervalMillis;
+
+    /** Latest unwritten activity time per topic ID, in epoch milliseconds */
+    private final ConcurrentHashMap<Integer, Long> pending = new ConcurrentHashMap<>();
+
+    /** Number of activity records received */
+    private final AtomicLong recordedCount = new AtomicLong();
+
+    /** Number of topic rows written */
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /** Number of batches written */
+    private final AtomicLong flushCount = new AtomicLong();
+
+    /** Number of batches that failed and were kept for the next flush */
+    private final AtomicLong failedFlushCount = new AtomicLong();
+
+    /** Scheduler running the flushes, null unless started */
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Private constructor; reads the flush interval from application.properties
+     */
+    private TopicActivityWriter() {
+        this.topicDAO = new TopicDAO();
+        this.flushIntervalMillis = DatabaseConfig.getInstance()
+                .getLongProperty("topics.activity.flushIntervalMs", 250L);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerGauge("forum_topic_activity_pending", "Topics with unwritten last activity",
+                pending::size);
+        metrics.registerGauge("forum_topic_activity_recorded", "Topic activity updates received",
+                recordedCount::get);
+        metrics.registerGauge("forum_topic_activity_written", "Topic last activity rows written",
+                writtenCount::get);
+        metrics.registerGauge("forum_topic_activity_failed_flushes", "Topic activity batches that failed",
+                failedFlushCount::get);
+    }
+
+    /**
+     * Gets the singleton instance of TopicActivityWriter
+     *
+     * @return TopicActivityWriter singleton instance
+     */
+    public static TopicActivityWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts the background flushes
+     * A non-positive interval leaves the writer writing through
+     */
+    public synchronized void start() {
+        if (scheduler != null || flushIntervalMillis <= 0) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-topic-activity-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushNow, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        scheduler = executor;
+        LOGGER.info("Topic activity writer started (flush interval " + flushIntervalMillis + " ms)");
+    }
+
+    /**
+     * Records activity on a topic at the current time
+     * Several records for the same topic before a flush collapse into one update
+     *
+     * @param topicId Topic ID
+     */
+    public void record(int topicId) {
+        recordedCount.incrementAndGet();
+        pending.merge(topicId, System.currentTimeMillis(), Math::max);
+
+        if (scheduler == null) {
+            flushNow();
+        }
+    }
+
+    /**
+     * Writes all pending activity on the calling thread
+     * Failed batches go back into the buffer for the next flush
+     *
+     * @return Number of topic rows written, or -1 if the batch failed
+     */
+    public int flushNow() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        TreeMap<Integer, Timestamp> batch = new TreeMap<>();
+        for (Integer topicId : pending.keySet()) {
+            // remove() takes the latest value; a record arriving afterwards starts a new entry
+            Long activity = pending.remove(topicId);
+            if (activity != null) {
+                batch.put(topicId, new Timestamp(activity));
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int written = topicDAO.updateLastActivities(batch);
+        if (written < 0) {
+            failedFlushCount.incrementAndGet();
+            for (Map.Entry<Integer, Timestamp> entry : batch.entrySet()) {
+                pending.merge(entry.getKey(), entry.getValue().getTime(), Math::max);
+            }
+            return -1;
+        }
+
+        flushCount.incrementAndGet();
+        writtenCount.addAndGet(written);
+        if (written > 0) {
+            // Listings are ordered by last activity, and may have been reloaded since the post
+            TopicListCache.getInstance().invalidateTopics();
+        }
+        return written;
+    }
+
+    /**
+     * Stops the background flushes and writes what is still pending
+     * Later records are written through
+     */
+    public synchronized void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+
+        scheduler = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        int written = flushNow();
+        LOGGER.info("Topic activity writer stopped (" + written + " topics written on shutdown)");
+    }
+
+    /**
+     * Gets the number of topics with unwritten activity
+     *
+     * @return pending topic count
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of activity records received since startup
+     *
+     * @return recorded count
+     */
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    /**
+     * Gets the number of topic rows written since startup
+     *
+     * @return written count
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Gets the number of batches written since startup
+     *
+     * @return flush count
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Gets the number of batches that failed and were retried
+     *
+     * @return failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    /**
+     * Gets the flush interval
+     *
+     * @return interval in milliseconds; non-positive when writing through
+     */
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final TopicActivityWriter INSTANCE = new TopicActivityWriter();
+    }
+}
@@ -0,0 +1,89 @@
+package com.forum.service;
+
+import com.forum.config.DatabaseConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of when each topic's thread last changed on this server
+ * Covers what topics.last_activity does not show yet or at all: posts whose activity
+ * is still in the write-behind buffer, and edits, which leave last_activity alone.
+ * Topic validators for conditional GETs combine it with the database row.
+ * Changes from before the tracker started, or before it last dropped its entries to
+ * stay within its size limit, are reported as having happened at that time
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TopicChangeTracker {
+
+    /** Most topics tracked before the entries are dropped */
+    private final int maxEntries;
+
+    /** Last change time per topic ID, in epoch milliseconds */
+    private final ConcurrentHashMap<Integer, Long> lastChanges = new ConcurrentHashMap<>();
+
+    /** Time reported for topics without an entry; raised whenever entries are dropped */
+    private volatile long floorMillis = System.currentTimeMillis();
+
+    /**
+     * Private constructor; reads the size limit from application.properties
+     */
+    private TopicChangeTracker() {
+        this.maxEntries = Math.max(1, DatabaseConfig.getInstance()
+                .getIntProperty("topics.changes.maxEntries", 10_000));
+    }
+
+    /**
+     * Gets the singleton instance of TopicChangeTracker
+     *
+     * @return TopicChangeTracker singleton instance
+     */
+    public static TopicChangeTracker getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Records a change to a topic's thread at the current time
+     *
+     * @param topicId Topic ID
+     */
+    public void record(int topicId) {
+        long now = System.currentTimeMillis();
+        if (lastChanges.size() >= maxEntries && !lastChanges.containsKey(topicId)) {
+            // Raising the floor first keeps every dropped change covered
+            floorMillis = now;
+            lastChanges.clear();
+        }
+        lastChanges.merge(topicId, now, Math::max);
+    }
+
+    /**
+     * Gets the last change time of a topic known to this server
+     *
+     * @param topicId Topic ID
+     * @return Last change in epoch milliseconds, at least the tracker's floor
+     */
+    public long getLastChange(int topicId) {
+        Long lastChange = lastChanges.get(topicId);
+        long floor = floorMillis;
+        return lastChange != null ? Math.max(lastChange, floor) : floor;
+    }
+
+    /**
+     * Gets the number of topics tracked
+     *
+     * @return tracked topic count
+     */
+    public int size() {
+        return lastChanges.size();
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final TopicChangeTracker INSTANCE = new TopicChangeTracker();
+    }
+}
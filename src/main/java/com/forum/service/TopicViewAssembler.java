@@ -0,0 +1,321 @@
+package com.forum.service;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.config.ReadConsistency;
+import com.forum.dao.CommentDAO;
+import com.forum.dao.TopicDAO;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricFamily;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.Comment;
+import com.forum.model.Page;
+import com.forum.model.Topic;
+import com.forum.model.TopicView;
+import com.forum.util.PageCursor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Loads everything the topic page shows, with independent queries running concurrently
+ * The topic and its author load on a small bounded pool while the calling thread loads
+ * the page of comments and then their replies, so the page costs the longer of the two
+ * instead of their sum. Authors come with each query's join. The comment count is taken
+ * from the version the caller already read for its conditional GET check.
+ *
+ * A forked stage that no worker has picked up by the time the caller needs it is run by
+ * the caller, so a busy pool makes a page no slower than loading it sequentially. Each
+ * stage's time is recorded in forum_topic_view_stage_seconds and returned with the view.
+ * Until started, and after stopping, every stage runs on the calling thread
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TopicViewAssembler {
+
+    /** Logger instance for assembler operations */
+    private static final Logger LOGGER = Logger.getLogger(TopicViewAssembler.class.getName());
+
+    /** Stage loading the topic and its author */
+    public static final String STAGE_TOPIC = "topic";
+
+    /** Stage loading the page of comments and their authors */
+    public static final String STAGE_COMMENTS = "comments";
+
+    /** Stage loading the replies of the page's comments and their authors */
+    public static final String STAGE_REPLIES = "replies";
+
+    /** The whole view, from the first stage starting to the last one ending */
+    public static final String STAGE_TOTAL = "total";
+
+    /** Topic DAO for the topic stage */
+    private final TopicDAO topicDAO;
+
+    /** Comment DAO for the comment and reply stages */
+    private final CommentDAO commentDAO;
+
+    /** Whether the topic stage runs concurrently with the others */
+    private final boolean parallel;
+
+    /** Number of pool threads */
+    private final int threads;
+
+    /** Most forked stages waiting for a pool thread; beyond this the caller runs them */
+    private final int queueDepth;
+
+    /** Time per stage */
+    private final MetricFamily<LatencyHistogram> stageLatency;
+
+    /** Number of forked stages the caller ran itself */
+    private final AtomicLong inlineStageCount = new AtomicLong();
+
+    /** Pool running forked stages, null unless started */
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * Private constructor; reads the pool settings from application.properties
+     */
+    private TopicViewAssembler() {
+        this.topicDAO = new TopicDAO();
+        this.commentDAO = new CommentDAO();
+
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.parallel = Boolean.parseBoolean(config.getProperty("view.parallel", "true"));
+        this.threads = Math.max(1, config.getIntProperty("view.threads", 4));
+        this.queueDepth = Math.max(1, config.getIntProperty("view.queueDepth", 64));
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.stageLatency = metrics.histogramFamily("forum_topic_view_stage_seconds",
+                "Time to load each part of the topic page", "stage");
+        metrics.registerGauge("forum_topic_view_inline_stages",
+                "Topic page stages run by the request thread because no pool thread took them",
+                inlineStageCount::get);
+    }
+
+    /**
+     * Gets the singleton instance of TopicViewAssembler
+     *
+     * @return TopicViewAssembler singleton instance
+     */
+    public static TopicViewAssembler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts the pool, unless view.parallel is false
+     */
+    public synchronized void start() {
+        if (executor != null || !parallel) {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // A full queue runs the stage on the caller, which is what it would do anyway
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), runnable -> {
+                    Thread thread = new Thread(runnable, "forum-topic-view-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        LOGGER.info("Topic view assembler started (" + threads + " threads, queue " + queueDepth + ")");
+    }
+
+    /**
+     * Stops the pool; queued stages are run by their callers
+     */
+    public synchronized void stop() {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            return;
+        }
+
+        executor = null;
+        pool.shutdown();
+        pool.getQueue().clear();
+        LOGGER.info("Topic view assembler stopped");
+    }
+
+    /**
+     * Loads the topic page
+     *
+     * @param version Topic version from {@link ForumService#getTopicVersion(int)}, giving the ID and comment count
+     * @param cursorToken Cursor token from a previous page, null or empty for the first page
+     * @param limit Number of comments per page
+     * @return Topic view, or null if the topic does not exist
+     */
+    public TopicView assemble(Topic version, String cursorToken, int limit) {
+        int topicId = version.getTopicId();
+        int pageSize = Math.max(1, Math.min(limit, ForumService.MAX_PAGE_SIZE));
+        long start = System.nanoTime();
+
+        ForkedStage<Topic> topicStage = fork(STAGE_TOPIC, () -> topicDAO.getTopicById(topicId));
+
+        long commentsStart = System.nanoTime();
+        Page<Comment> comments = commentDAO.getCommentsPage(topicId, PageCursor.decode(cursorToken), pageSize, false);
+        long commentsNanos = record(STAGE_COMMENTS, commentsStart);
+
+        long repliesStart = System.nanoTime();
+        commentDAO.loadReplies(comments.getItems());
+        long repliesNanos = record(STAGE_REPLIES, repliesStart);
+
+        Topic topic = topicStage.join();
+        long totalNanos = record(STAGE_TOTAL, start);
+        if (topic == null) {
+            return null;
+        }
+
+        Map<String, Long> stageNanos = new LinkedHashMap<>();
+        stageNanos.put(STAGE_TOPIC, topicStage.nanos);
+        stageNanos.put(STAGE_COMMENTS, commentsNanos);
+        stageNanos.put(STAGE_REPLIES, repliesNanos);
+        stageNanos.put(STAGE_TOTAL, totalNanos);
+        return new TopicView(topic, comments, version.getCommentCount(), stageNanos);
+    }
+
+    /**
+     * Hands a stage to the pool, carrying the request's read-your-writes state with it
+     *
+     * @param stage Stage name
+     * @param loader Loads the stage's result
+     * @param <T> type of the result
+     * @return Forked stage
+     */
+    private <T> ForkedStage<T> fork(String stage, Supplier<T> loader) {
+        ForkedStage<T> forked = new ForkedStage<>(stage, loader, ReadConsistency.current());
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            forked.run();
+        } else {
+            try {
+                pool.execute(forked);
+            } catch (RuntimeException e) {
+                // Stopped between the check and the call; join() runs it here
+                LOGGER.fine("Topic view pool unavailable: " + e.getMessage());
+            }
+        }
+        return forked;
+    }
+
+    /**
+     * Records a stage's time
+     *
+     * @param stage Stage name
+     * @param startNanos Stage start, from System.nanoTime()
+     * @return Stage time in nanoseconds
+     */
+    private long record(String stage, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        stageLatency.get(stage).record(nanos);
+        return nanos;
+    }
+
+    /**
+     * A stage run by whichever comes first: a pool thread, or its caller needing the result
+     *
+     * @param <T> type of the result
+     */
+    private final class ForkedStage<T> implements Runnable {
+
+        /** Stage name */
+        private final String stage;
+
+        /** Loads the stage's result */
+        private final Supplier<T> loader;
+
+        /** Read-your-writes state of the request that forked the stage */
+        private final ReadConsistency readConsistency;
+
+        /** Whether a thread has taken the stage */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /** Result, completed by whichever thread ran the stage */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /** Stage time in nanoseconds, written before the result is completed */
+        private long nanos;
+
+        /**
+         * Creates a stage on the request thread
+         *
+         * @param stage Stage name
+         * @param loader Loads the stage's result
+         * @param readConsistency Read-your-writes state of the request
+         */
+        ForkedStage(String stage, Supplier<T> loader, ReadConsistency readConsistency) {
+            this.stage = stage;
+            this.loader = loader;
+            this.readConsistency = readConsistency;
+        }
+
+        /**
+         * Runs the stage unless another thread already took it
+         */
+        @Override
+        public void run() {
+            tryRun();
+        }
+
+        /**
+         * Runs the stage unless another thread already took it
+         *
+         * @return true if this call ran the stage
+         */
+        private boolean tryRun() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+
+            ReadConsistency previous = ReadConsistency.current();
+            ReadConsistency.attach(readConsistency);
+            long start = System.nanoTime();
+            try {
+                T value = loader.get();
+                nanos = record(stage, start);
+                result.complete(value);
+            } catch (RuntimeException e) {
+                nanos = record(stage, start);
+                result.completeExceptionally(e);
+            } finally {
+                ReadConsistency.attach(previous);
+            }
+            return true;
+        }
+
+        /**
+         * Waits for the result, running the stage here if no pool thread has taken it
+         *
+         * @return Stage result
+         */
+        T join() {
+            if (tryRun()) {
+                inlineStageCount.incrementAndGet();
+            }
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final TopicViewAssembler INSTANCE = new TopicViewAssembler();
+    }
+}
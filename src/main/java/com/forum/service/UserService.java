@@ -1,9 +1,13 @@
 package com.forum.service;
 
+import com.forum.cache.FragmentCache;
+import com.forum.cache.TopicListCache;
+import com.forum.cache.UserCache;
 import com.forum.dao.UserDAO;
 import com.forum.model.User;
 import com.forum.util.PasswordHashUtil;
 import com.forum.util.ForumLogUtil;
+import com.forum.util.HtmlSanitizer;
 
 import java.sql.Timestamp;
 import java.util.List;
@@ -15,7 +19,7 @@ import java.util.logging.Logger;
  * Handles user operations and validation
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.4
  * @since 2025-06-03
  */
 public class UserService {
@@ -26,11 +30,15 @@ public class UserService {
     /** User DAO for database operations */
     private final UserDAO userDAO;
 
+    /** Shared cache of user records */
+    private final UserCache userCache;
+
     /**
      * Constructor to initialize UserService
      */
     public UserService() {
         this.userDAO = new UserDAO();
+        this.userCache = UserCache.getInstance();
     }
 
     /**
@@ -72,6 +80,8 @@ public class UserService {
         User user = new User(email, password, firstName, lastName, phone);
 
         if (userDAO.createUser(user)) {
+            TopicListCache.getInstance().invalidateUsers();
+
             // Log user registration
             ForumLogUtil.logUserRegistration(user.getUserId(), user.getEmail(),
                     user.getFullName());
@@ -102,6 +112,9 @@ public class UserService {
         User user = userDAO.validateLogin(email, password);
 
         if (user != null) {
+            // The login time changed
+            userCache.invalidate(user.getUserId());
+
             // Log successful login
             ForumLogUtil.logUserLogin(user.getUserId(), user.getEmail());
             LOGGER.info("User login successful: " + email);
@@ -129,21 +142,29 @@ public class UserService {
             return false;
         }
 
-        // Get existing user
+        // Get existing user; loaded from the database as it is modified below
         User user = userDAO.getUserById(userId);
         if (user == null) {
             LOGGER.warning("User not found: " + userId);
             return false;
         }
 
+        // Author names are part of rendered topics, comments and replies; other fields are not
+        boolean nameChanged = !firstName.equals(user.getFirstName()) || !lastName.equals(user.getLastName());
+
         // Update user information
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setPhone(phone);
 
         boolean success = userDAO.updateUser(user);
+        userCache.invalidate(userId);
 
         if (success) {
+            if (nameChanged) {
+                FragmentCache.getInstance().invalidateAll();
+                TopicListCache.getInstance().invalidateTopics();
+            }
             LOGGER.info("User profile updated successfully: " + userId);
         } else {
             LOGGER.warning("Failed to update user profile: " + userId);
@@ -173,7 +194,7 @@ public class UserService {
             return false;
         }
 
-        // Get user and verify current password
+        // Get user and verify current password; cached users carry no password hash
         User user = userDAO.getUserById(userId);
         if (user == null) {
             LOGGER.warning("User not found: " + userId);
@@ -187,6 +208,7 @@ public class UserService {
 
         // Update password
         boolean success = userDAO.updatePassword(userId, newPassword);
+        userCache.invalidate(userId);
 
         if (success) {
             LOGGER.info("Password changed successfully for user: " + userId);
@@ -265,6 +287,7 @@ public class UserService {
 
         // Update password
         boolean passwordUpdated = userDAO.updatePassword(user.getUserId(), newPassword);
+        userCache.invalidate(user.getUserId());
 
         if (passwordUpdated) {
             // Clear reset token
@@ -278,13 +301,14 @@ public class UserService {
     }
 
     /**
-     * Retrieves user by ID
+     * Retrieves user by ID from the user cache
+     * The returned user carries no password hash or reset token
      *
      * @param userId User ID
      * @return User object if found, null otherwise
      */
     public User getUserById(int userId) {
-        return userDAO.getUserById(userId);
+        return userCache.getUser(userId, userDAO::getUserById);
     }
 
     /**
@@ -309,6 +333,15 @@ public class UserService {
         return userDAO.getAllUsers();
     }
 
+    /**
+     * Gets the number of active users, cached for the forum index statistics
+     *
+     * @return Number of active users
+     */
+    public int getActiveUserCount() {
+        return TopicListCache.getInstance().getUserCount(userDAO::getActiveUserCount);
+    }
+
     /**
      * Validates email format
      *
@@ -362,7 +395,7 @@ public class UserService {
             return false;
         }
 
-        User user = userDAO.getUserById(userId);
+        User user = getUserById(userId);
         return user != null && user.isActive();
     }
 
@@ -379,22 +412,15 @@ public class UserService {
      * Validates user input for XSS and injection attacks
      *
      * @param input Input string to validate
-     * @return Sanitized input string
+     * @return Sanitized input string, the input itself when nothing was removed
      */
     public String sanitizeInput(String input) {
         if (input == null) {
             return null;
         }
 
-        // Basic XSS protection - remove script tags and suspicious characters
-        return input.replaceAll("<script.*?>.*?</script>", "")
-                .replaceAll("<.*?>", "")
-                .replaceAll("javascript:", "")
-                .replaceAll("vbscript:", "")
-                .replaceAll("onload", "")
-                .replaceAll("onerror", "")
-                .replaceAll("onclick", "")
-                .trim();
+        // Basic XSS protection - remove markup, script elements, script schemes and event handlers
+        return HtmlSanitizer.sanitize(input);
     }
 
     /**
@@ -1,10 +1,17 @@
 package com.forum.servlet;
 
+import com.forum.cache.FragmentCache;
+import com.forum.config.DatabaseConfig;
 import com.forum.service.ForumService;
+import com.forum.service.TopicViewAssembler;
 import com.forum.service.UserService;
+import com.forum.model.Page;
 import com.forum.model.Topic;
+import com.forum.model.TopicView;
 import com.forum.model.Comment;
+import com.forum.model.Reply;
 import com.forum.model.User;
+import com.forum.util.ConditionalGet;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -13,15 +20,24 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Servlet for handling forum-related HTTP requests
  * Manages topics, comments, and forum navigation
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.6
  * @since 2025-06-05
  */
 
@@ -33,12 +49,45 @@ public class ForumServlet extends HttpServlet {
     /** Logger instance for servlet operations */
     private static final Logger LOGGER = Logger.getLogger(ForumServlet.class.getName());
 
+    /** Number of topics shown per index page */
+    private static final int TOPICS_PER_PAGE = 20;
+
+    /** Number of comments shown per topic page */
+    private static final int COMMENTS_PER_PAGE = 50;
+
+    /** Fragment rendering one page of a topic's comments */
+    private static final String THREAD_FRAGMENT = "/WEB-INF/jsp/fragments/topic-thread.jsp";
+
+    /** Fragment rendering one comment with its replies */
+    private static final String COMMENT_FRAGMENT = "/WEB-INF/jsp/fragments/comment.jsp";
+
+    /** Fragment rendering one topic's row in the forum index */
+    private static final String TOPIC_ROW_FRAGMENT = "/WEB-INF/jsp/fragments/topic-row.jsp";
+
+    /** Where a comment goes in a cached thread, with the comment's ID, author ID and stamp */
+    private static final Pattern COMMENT_SLOT = Pattern.compile("<!--comment-slot (\\d+) (\\d+) ([0-9a-f:]+)-->");
+
+    /** Server-Timing stage for rendering fragments that were not cached */
+    private static final String STAGE_RENDER = "render";
+
     /** Forum service for business logic */
     private ForumService forumService;
 
     /** User service for user operations */
     private UserService userService;
 
+    /** Runs database-bound requests off the container threads */
+    private RequestExecutor requestExecutor;
+
+    /** Loads the topic page's queries concurrently */
+    private TopicViewAssembler topicViewAssembler;
+
+    /** Rendered topic threads, comments and index rows */
+    private FragmentCache fragmentCache;
+
+    /** Whether topic pages report their stage timings in a Server-Timing header */
+    private boolean serverTimingEnabled;
+
     /**
      * Initializes the servlet and services
      */
@@ -47,15 +96,28 @@ public class ForumServlet extends HttpServlet {
         super.init();
         forumService = new ForumService();
         userService = new UserService();
+        requestExecutor = RequestExecutor.getInstance();
+        topicViewAssembler = TopicViewAssembler.getInstance();
+        fragmentCache = FragmentCache.getInstance();
+        serverTimingEnabled = Boolean.parseBoolean(
+                DatabaseConfig.getInstance().getProperty("view.serverTiming", "false"));
         LOGGER.info("ForumServlet initialized successfully");
     }
 
     /**
-     * Handles GET requests for forum operations
+     * Handles GET requests for forum operations on the request executor
      */
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        requestExecutor.execute(request, response, this::processGet);
+    }
+
+    /**
+     * Routes a GET request to its handler
+     */
+    private void processGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String pathInfo = request.getPathInfo();
 
@@ -89,11 +151,19 @@ public class ForumServlet extends HttpServlet {
     }
 
     /**
-     * Handles POST requests for forum operations
+     * Handles POST requests for forum operations on the request executor
      */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        requestExecutor.execute(request, response, this::processPost);
+    }
+
+    /**
+     * Routes a POST request to its handler
+     */
+    private void processPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String pathInfo = request.getPathInfo();
 
@@ -129,13 +199,16 @@ public class ForumServlet extends HttpServlet {
     private void handleForumIndex(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
-        // Get all topics
-        List<Topic> topics = forumService.getAllTopics();
-        request.setAttribute("topics", topics);
+        // Get one page of topics
+        Page<Topic> page = forumService.getTopicsPage(request.getParameter("cursor"), TOPICS_PER_PAGE);
+        request.setAttribute("topics", page.getItems());
+        request.setAttribute("topicRows", renderTopicRows(request, response, page.getItems()));
+        request.setAttribute("nextCursor", page.getNextCursor());
+        request.setAttribute("prevCursor", page.getPrevCursor());
 
         // Get basic statistics
-        request.setAttribute("totalTopics", topics.size());
-        request.setAttribute("totalUsers", userService.getAllUsers().size());
+        request.setAttribute("totalTopics", forumService.getTotalTopicCount());
+        request.setAttribute("totalUsers", userService.getActiveUserCount());
 
         request.getRequestDispatcher("/WEB-INF/jsp/forum-index.jsp").forward(request, response);
     }
@@ -208,18 +281,63 @@ public class ForumServlet extends HttpServlet {
         try {
             int topicId = Integer.parseInt(topicIdStr);
 
-            // Get topic with comments
-            Topic topic = forumService.getTopicWithComments(topicId);
-            if (topic == null) {
+            // Revalidate against the topic row before loading the thread
+            Topic version = forumService.getTopicVersion(topicId);
+            if (version == null) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
+            long lastModified = version.getLastActivity().getTime();
+            // The page shows controls for the signed-in user, so each user gets their own tag
+            Integer viewerId = getUserIdFromSession(request);
+            String eTag = ConditionalGet.weakETag(topicId, lastModified, version.getCommentCount(),
+                    viewerId != null ? viewerId : 0);
+            if (ConditionalGet.isNotModified(request, response, eTag, lastModified)) {
+                return;
+            }
 
-            // Get comments for topic
-            List<Comment> comments = forumService.getCommentsForTopic(topicId);
+            // A cached thread needs only the topic header loaded. Guests and members share one
+            // thread each; its comment slots are filled with the viewer's comment variants
+            String cursor = request.getParameter("cursor");
+            String threadKey = "thread:" + topicId + ":" + lastModified + ":" + version.getCommentCount() + ":"
+                    + (viewerId != null ? "member" : "guest") + ":" + (cursor != null ? cursor : "");
+            String threadShell = fragmentCache.get(FragmentCache.Region.THREAD, threadKey);
+            String threadHtml = threadShell != null ? fillCommentSlots(threadShell, viewerId, null) : null;
+            Topic topic;
+            Map<String, Long> stageNanos = new LinkedHashMap<>();
+            if (threadHtml != null) {
+                long start = System.nanoTime();
+                topic = forumService.getTopic(topicId);
+                if (topic == null) {
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                stageNanos.put(TopicViewAssembler.STAGE_TOPIC, System.nanoTime() - start);
+            } else {
+                // Load the topic and one page of comments with their replies
+                TopicView view = topicViewAssembler.assemble(version, cursor, COMMENTS_PER_PAGE);
+                if (view == null) {
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                topic = view.getTopic();
+                stageNanos.putAll(view.getStageNanos());
+
+                long renderStart = System.nanoTime();
+                Map<Integer, String> commentHtml = new HashMap<>();
+                threadShell = renderThread(request, response, view, viewerId, commentHtml);
+                threadHtml = fillCommentSlots(threadShell, viewerId, commentHtml);
+                stageNanos.put(STAGE_RENDER, System.nanoTime() - renderStart);
+                fragmentCache.put(threadKey, threadShell, FragmentCache.topicGroup(topicId));
+            }
+            if (serverTimingEnabled) {
+                // Database timings are for developers, not every client
+                response.setHeader("Server-Timing", serverTiming(stageNanos));
+            }
 
             request.setAttribute("topic", topic);
-            request.setAttribute("comments", comments);
+            request.setAttribute("totalComments", version.getCommentCount());
+            request.setAttribute("threadHtml", threadHtml);
             request.getRequestDispatcher("/WEB-INF/jsp/topic-view.jsp").forward(request, response);
 
         } catch (NumberFormatException e) {
@@ -348,6 +466,188 @@ public class ForumServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Renders one page of a topic's comments as a thread with a slot for each comment
+     * The thread is the same for every guest and for every member; the viewer's comment
+     * fragments are rendered, or taken from the cache, into commentHtml
+     *
+     * @param request Current request
+     * @param response Current response
+     * @param view Loaded topic page
+     * @param viewerId Signed-in user's ID, or null for guests
+     * @param commentHtml Receives the viewer's rendered comments by comment ID
+     * @return Rendered HTML with comment slots, for {@link #fillCommentSlots(String, Integer, Map)}
+     */
+    private String renderThread(HttpServletRequest request, HttpServletResponse response, TopicView view,
+                                Integer viewerId, Map<Integer, String> commentHtml)
+            throws ServletException, IOException {
+
+        Page<Comment> page = view.getComments();
+        List<String> commentFragments = new ArrayList<>(page.getItems().size());
+        for (Comment comment : page.getItems()) {
+            commentHtml.put(comment.getCommentId(), renderComment(request, response, comment, viewerId));
+            commentFragments.add("<!--comment-slot " + comment.getCommentId() + " " + comment.getUserId() + " "
+                    + commentStamp(comment) + "-->");
+        }
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("topic", view.getTopic());
+        attributes.put("commentFragments", commentFragments);
+        attributes.put("nextCursor", page.getNextCursor());
+        attributes.put("prevCursor", page.getPrevCursor());
+        attributes.put("canComment", viewerId != null);
+        return FragmentRenderer.render(request, response, THREAD_FRAGMENT, attributes);
+    }
+
+    /**
+     * Fills a thread's comment slots with the viewer's variant of each comment
+     *
+     * @param threadShell Thread rendered by {@link #renderThread}
+     * @param viewerId Signed-in user's ID, or null for guests
+     * @param commentHtml Rendered comments by comment ID, or null to take them from the fragment cache
+     * @return Rendered HTML, or null if a comment is not cached and the thread must be rendered again
+     */
+    private String fillCommentSlots(String threadShell, Integer viewerId, Map<Integer, String> commentHtml) {
+        Matcher slot = COMMENT_SLOT.matcher(threadShell);
+        StringBuilder html = new StringBuilder(threadShell.length() + 8192);
+        while (slot.find()) {
+            int commentId = Integer.parseInt(slot.group(1));
+            String comment = commentHtml != null ? commentHtml.get(commentId)
+                    : fragmentCache.get(FragmentCache.Region.COMMENT, commentKey(commentId, slot.group(3),
+                            viewerKind(viewerId, Integer.parseInt(slot.group(2)))));
+            if (comment == null) {
+                return null;
+            }
+            slot.appendReplacement(html, Matcher.quoteReplacement(comment));
+        }
+        slot.appendTail(html);
+        return html.toString();
+    }
+
+    /**
+     * Renders a comment with its replies, or takes it from the fragment cache
+     * Guests, members and the comment's author see different controls, so each gets their own fragment
+     *
+     * @param request Current request
+     * @param response Current response
+     * @param comment Comment with its replies
+     * @param viewerId Signed-in user's ID, or null for guests
+     * @return Rendered HTML
+     */
+    private String renderComment(HttpServletRequest request, HttpServletResponse response, Comment comment,
+                                 Integer viewerId) throws ServletException, IOException {
+
+        String viewer = viewerKind(viewerId, comment.getUserId());
+        String key = commentKey(comment.getCommentId(), commentStamp(comment), viewer);
+        String html = fragmentCache.get(FragmentCache.Region.COMMENT, key);
+        if (html == null) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("comment", comment);
+            attributes.put("canReply", viewerId != null);
+            attributes.put("canEdit", "author".equals(viewer));
+            html = FragmentRenderer.render(request, response, COMMENT_FRAGMENT, attributes);
+            fragmentCache.put(key, html, FragmentCache.commentGroup(comment.getCommentId()));
+        }
+        return html;
+    }
+
+    /**
+     * Gets which variant of a comment a viewer sees
+     *
+     * @param viewerId Signed-in user's ID, or null for guests
+     * @param authorId Comment author's user ID
+     * @return "guest", "member" or "author"
+     */
+    private static String viewerKind(Integer viewerId, int authorId) {
+        return viewerId == null ? "guest" : viewerId == authorId ? "author" : "member";
+    }
+
+    /**
+     * Gets the fragment cache key of a comment variant
+     *
+     * @param commentId Comment ID
+     * @param stamp Stamp from {@link #commentStamp(Comment)}
+     * @param viewer Variant from {@link #viewerKind(Integer, int)}
+     * @return Cache key
+     */
+    private static String commentKey(int commentId, String stamp, String viewer) {
+        return "comment:" + commentId + ":" + stamp + ":" + viewer;
+    }
+
+    /**
+     * Renders the forum index rows of a page of topics, reusing cached rows
+     *
+     * @param request Current request
+     * @param response Current response
+     * @param topics Topics on the page
+     * @return Rendered HTML per topic, in page order
+     */
+    private List<String> renderTopicRows(HttpServletRequest request, HttpServletResponse response,
+                                         List<Topic> topics) throws ServletException, IOException {
+
+        List<String> rows = new ArrayList<>(topics.size());
+        for (Topic topic : topics) {
+            long lastActivity = topic.getLastActivity() != null ? topic.getLastActivity().getTime() : 0L;
+            String key = "row:" + topic.getTopicId() + ":" + lastActivity + ":" + topic.getCommentCount() + ":"
+                    + Integer.toHexString(Objects.hash(topic.getTitle(), topic.getDescription(),
+                            authorName(topic.getUser())));
+            String html = fragmentCache.get(FragmentCache.Region.TOPIC_ROW, key);
+            if (html == null) {
+                html = FragmentRenderer.render(request, response, TOPIC_ROW_FRAGMENT,
+                        Collections.singletonMap("topic", topic));
+                fragmentCache.put(key, html, FragmentCache.topicGroup(topic.getTopicId()));
+            }
+            rows.add(html);
+        }
+        return rows;
+    }
+
+    /**
+     * Stamps what a comment fragment shows, so an edited comment or reply, a new reply,
+     * or a renamed author, renders afresh even if the invalidation from the write raced a render
+     *
+     * @param comment Comment with its replies
+     * @return Version stamp
+     */
+    private static String commentStamp(Comment comment) {
+        int hash = Objects.hash(comment.getCommentText(), authorName(comment.getUser()));
+        List<Reply> replies = comment.getReplies() != null ? comment.getReplies() : Collections.emptyList();
+        for (Reply reply : replies) {
+            hash = 31 * (31 * hash + reply.getReplyId()) + Objects.hash(reply.getReplyText(),
+                    authorName(reply.getUser()));
+        }
+        return replies.size() + ":" + Integer.toHexString(hash);
+    }
+
+    /**
+     * Gets the author name a fragment shows, for its cache key
+     *
+     * @param author Author joined to the topic, comment or reply, or null
+     * @return Full name, or null if the author is not known
+     */
+    private static String authorName(User author) {
+        return author != null ? author.getFullName() : null;
+    }
+
+    /**
+     * Formats stage durations as a Server-Timing header, so browser developer tools show
+     * where the page's time went
+     *
+     * @param stageNanos Stage durations in nanoseconds by stage name
+     * @return Header value, such as "topic;dur=1.20, comments;dur=3.45"
+     */
+    private static String serverTiming(Map<String, Long> stageNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, Long> stage : stageNanos.entrySet()) {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(stage.getKey()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.2f", stage.getValue() / 1_000_000.0));
+        }
+        return header.toString();
+    }
+
     /**
      * Gets user ID from session
      */
@@ -0,0 +1,126 @@
+package com.forum.servlet;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders a JSP fragment to a string instead of the response, so it can be cached
+ * The fragment sees the given request attributes only while it renders; the request's
+ * own attributes of the same names are restored afterwards
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class FragmentRenderer {
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private FragmentRenderer() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Renders a fragment
+     *
+     * @param request Current request
+     * @param response Current response, which receives nothing
+     * @param path Fragment path, such as /WEB-INF/jsp/fragments/comment.jsp
+     * @param attributes Request attributes the fragment reads
+     * @return Rendered HTML
+     * @throws ServletException if the fragment fails
+     * @throws IOException if the fragment fails
+     */
+    static String render(HttpServletRequest request, HttpServletResponse response, String path,
+                         Map<String, Object> attributes) throws ServletException, IOException {
+
+        Map<String, Object> previous = new HashMap<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            previous.put(attribute.getKey(), request.getAttribute(attribute.getKey()));
+            request.setAttribute(attribute.getKey(), attribute.getValue());
+        }
+
+        CapturedResponse captured = new CapturedResponse(response);
+        try {
+            request.getRequestDispatcher(path).include(request, captured);
+        } finally {
+            for (Map.Entry<String, Object> attribute : previous.entrySet()) {
+                if (attribute.getValue() == null) {
+                    request.removeAttribute(attribute.getKey());
+                } else {
+                    request.setAttribute(attribute.getKey(), attribute.getValue());
+                }
+            }
+        }
+        return captured.getOutput();
+    }
+
+    /**
+     * Response that keeps what is written to it
+     */
+    private static final class CapturedResponse extends HttpServletResponseWrapper {
+
+        /** Characters written so far */
+        private final CharArrayWriter output = new CharArrayWriter(4096);
+
+        /** Writer handed to the fragment */
+        private final PrintWriter writer = new PrintWriter(output);
+
+        /**
+         * Wraps a response
+         *
+         * @param response Response to wrap
+         */
+        CapturedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        /**
+         * Gets the capturing writer
+         *
+         * @return Writer
+         */
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        /**
+         * Fragments write characters only
+         *
+         * @return never
+         * @throws IllegalStateException always
+         */
+        @Override
+        public ServletOutputStream getOutputStream() {
+            throw new IllegalStateException("Fragments are captured through getWriter()");
+        }
+
+        /**
+         * Keeps the wrapped response uncommitted
+         */
+        @Override
+        public void flushBuffer() {
+            writer.flush();
+        }
+
+        /**
+         * Gets what was written
+         *
+         * @return Captured text
+         */
+        String getOutput() {
+            writer.flush();
+            return output.toString();
+        }
+    }
+}
@@ -0,0 +1,639 @@
+package com.forum.servlet;
+
+import com.forum.cache.UserCache;
+import com.forum.config.DatabaseConfig;
+import com.forum.config.ReadConsistency;
+import com.forum.metrics.LatencyHistogram;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.util.VirtualThreads;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs database-bound requests on a bounded worker pool instead of container threads
+ * A request handed over goes async and its container thread returns at once, so a slow
+ * database stalls only the workers, which are sized to the connection pool, while
+ * static content and cheap routes keep being served. Requests beyond the queue depth,
+ * and queued requests that wait past the timeout, are shed with 503 and Retry-After.
+ * A request that has started owns its response until it finishes: cutting it off would
+ * leave a half-written page, so its run time is bounded by the connection pool's borrow
+ * timeout and the database instead. Until started, and after stopping, requests run on
+ * the calling thread. A handler may keep the request open past its return, as the topic
+ * event streams do, by taking over its async context and calling handOver()
+ *
+ * With async.mode=virtual on Java 21 and later, each request gets its own virtual thread
+ * instead, and a fair semaphore with one permit per worker caps how many run at once.
+ * Blocked JDBC calls then park cheaply instead of holding a platform thread, while the
+ * database still sees no more concurrent requests than in the pooled mode
+ *
+ * @author Simphiwe Radebe
+ * @version 1.2
+ * @since 2026-10-18
+ */
+public class RequestExecutor {
+
+    /** Logger instance for executor operations */
+    private static final Logger LOGGER = Logger.getLogger(RequestExecutor.class.getName());
+
+    /** Task state: waiting for a worker */
+    private static final int QUEUED = 0;
+
+    /** Task state: running on a worker */
+    private static final int RUNNING = 1;
+
+    /** Task state: finished, shed or timed out */
+    private static final int DONE = 2;
+
+    /** Request attribute marking a request whose handler kept it open */
+    private static final String HANDED_OVER = RequestExecutor.class.getName() + ".handedOver";
+
+    /**
+     * Handles one request; the same contract as a servlet's doGet or doPost
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Handles the request
+         *
+         * @param request HTTP request
+         * @param response HTTP response
+         * @throws ServletException if servlet error occurs
+         * @throws IOException if I/O error occurs
+         */
+        void handle(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException;
+    }
+
+    /** Whether requests are handed to workers at all */
+    private final boolean enabled;
+
+    /** Whether each request runs on its own virtual thread instead of a pooled worker */
+    private final boolean virtual;
+
+    /** Number of worker threads, or of requests running at once on virtual threads */
+    private final int threads;
+
+    /** Shortest pinning of a virtual thread that is reported, in milliseconds; 0 disables */
+    private final long pinningThresholdMillis;
+
+    /** Running-request permits in virtual-thread mode; fair, so waiting requests start in order */
+    private final Semaphore permits;
+
+    /** Requests waiting for a permit in virtual-thread mode */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /** Number of times a virtual thread blocked while pinned to its carrier */
+    private final AtomicLong pinnedCount = new AtomicLong();
+
+    /** Most requests waiting for a worker */
+    private final int queueDepth;
+
+    /** Longest a request may wait for a worker, in milliseconds */
+    private final long timeoutMillis;
+
+    /** Retry-After value sent with shed requests, in seconds */
+    private final String retryAfterSeconds;
+
+    /** Time requests wait for a worker */
+    private final LatencyHistogram queueWaits = new LatencyHistogram();
+
+    /** Time requests run on a worker */
+    private final LatencyHistogram executionTimes = new LatencyHistogram();
+
+    /** Number of requests shed because the queue was full */
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /** Number of requests shed after waiting past the timeout */
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /** Worker pool, null unless started */
+    private volatile ThreadPoolExecutor executor;
+
+    /** Timer shedding requests that wait too long, null unless started with pooled workers */
+    private volatile ScheduledThreadPoolExecutor timer;
+
+    /** Factory for per-request virtual threads, null unless started in virtual-thread mode */
+    private volatile ThreadFactory virtualThreads;
+
+    /** Stops the pinning monitor, or null */
+    private AutoCloseable pinningMonitor;
+
+    /**
+     * Private constructor; reads the pool limits from application.properties
+     * The worker count defaults to the primary connection pool's size, as more workers
+     * would only wait for connections. Virtual-thread mode falls back to pooled workers
+     * on JVMs without virtual threads
+     */
+    private RequestExecutor() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("async.enabled", "true"));
+        boolean virtualRequested = "virtual".equalsIgnoreCase(config.getProperty("async.mode", "platform"));
+        if (virtualRequested && !VirtualThreads.isSupported()) {
+            LOGGER.warning("async.mode=virtual needs Java 21 or later; using pooled platform threads");
+        }
+        this.virtual = virtualRequested && VirtualThreads.isSupported();
+        int configuredThreads = config.getIntProperty("async.threads", 0);
+        this.threads = configuredThreads > 0 ? configuredThreads : config.getConnectionPool().getMaxSize();
+        this.pinningThresholdMillis = config.getLongProperty("async.virtual.pinningThresholdMs", 20L);
+        this.permits = new Semaphore(threads, true);
+        this.queueDepth = Math.max(1, config.getIntProperty("async.queueDepth", 200));
+        this.timeoutMillis = config.getLongProperty("async.timeoutMs", 30_000L);
+        this.retryAfterSeconds = String.valueOf(config.getIntProperty("async.retryAfterSeconds", 5));
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerHistogram("forum_request_queue_wait_seconds",
+                "Time requests waited for a request worker", queueWaits);
+        metrics.registerHistogram("forum_request_execution_seconds",
+                "Time requests ran on a request worker", executionTimes);
+        metrics.registerGauge("forum_request_queue_depth", "Requests waiting for a request worker",
+                this::getQueueDepth);
+        metrics.registerGauge("forum_request_workers_active", "Request workers running a request",
+                this::getActiveWorkers);
+        metrics.registerGauge("forum_request_rejected", "Requests shed because the request queue was full",
+                rejectedCount::get);
+        metrics.registerGauge("forum_request_timeouts", "Requests shed after waiting past the timeout",
+                timeoutCount::get);
+        if (virtual) {
+            metrics.registerGauge("forum_virtual_threads_pinned",
+                    "Times a request's virtual thread blocked while pinned to its carrier", pinnedCount::get);
+        }
+    }
+
+    /**
+     * Gets the singleton instance of RequestExecutor
+     *
+     * @return RequestExecutor singleton instance
+     */
+    public static RequestExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Marks a request as kept open by its handler, which has taken over its async context
+     * The worker then returns without completing it; the new owner must complete it
+     *
+     * @param request HTTP request being handled on a worker
+     */
+    public static void handOver(HttpServletRequest request) {
+        request.setAttribute(HANDED_OVER, Boolean.TRUE);
+    }
+
+    /**
+     * Starts the worker pool, or virtual-thread mode, unless async.enabled is false
+     */
+    public synchronized void start() {
+        if (executor != null || virtualThreads != null || !enabled) {
+            return;
+        }
+
+        if (virtual) {
+            virtualThreads = VirtualThreads.newThreadFactory("forum-request");
+            if (pinningThresholdMillis > 0) {
+                pinningMonitor = VirtualThreads.monitorPinning(pinningThresholdMillis, pinnedCount);
+            }
+            LOGGER.info("Request executor started (virtual threads, " + threads + " running at once, queue "
+                    + queueDepth + ", timeout " + timeoutMillis + " ms)");
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), runnable -> {
+                    Thread thread = new Thread(runnable, "forum-request-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "forum-request-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most timeouts are cancelled when their request starts
+        timer.setRemoveOnCancelPolicy(true);
+        LOGGER.info("Request executor started (" + threads + " workers, queue " + queueDepth
+                + ", timeout " + timeoutMillis + " ms)");
+    }
+
+    /**
+     * Stops taking requests and lets queued and running ones finish
+     */
+    public synchronized void stop() {
+        if (virtualThreads != null) {
+            stopVirtual();
+            return;
+        }
+
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            return;
+        }
+
+        executor = null;
+        timer.shutdownNow();
+        timer = null;
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(timeoutMillis > 0 ? timeoutMillis : 30_000L, TimeUnit.MILLISECONDS)) {
+                LOGGER.warning("Request executor stopped with " + pool.getActiveCount() + " requests running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Request executor stopped");
+    }
+
+    /**
+     * Stops handing requests to virtual threads and waits for started ones
+     * Taking every permit from the fair semaphore succeeds only once the requests queued
+     * before it have run
+     */
+    private void stopVirtual() {
+        virtualThreads = null;
+        try {
+            if (permits.tryAcquire(threads, timeoutMillis > 0 ? timeoutMillis : 30_000L, TimeUnit.MILLISECONDS)) {
+                permits.release(threads);
+            } else {
+                LOGGER.warning("Request executor stopped with " + (threads - permits.availablePermits()) + " requests running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (pinningMonitor != null) {
+            try {
+                pinningMonitor.close();
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Error stopping the pinning monitor", e);
+            }
+            pinningMonitor = null;
+        }
+        LOGGER.info("Request executor stopped");
+    }
+
+    /**
+     * Hands a request to a worker, or sheds it with 503 if the queue is full
+     * Runs the handler on the calling thread if the executor is not running or the
+     * request cannot go async
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param handler Handler to run
+     * @throws ServletException if the handler fails on the calling thread
+     * @throws IOException if the handler fails on the calling thread
+     */
+    public void execute(HttpServletRequest request, HttpServletResponse response, Handler handler)
+            throws ServletException, IOException {
+        ThreadPoolExecutor pool = executor;
+        ThreadFactory virtualFactory = virtualThreads;
+        if ((pool == null && virtualFactory == null) || !request.isAsyncSupported() || request.isAsyncStarted()) {
+            handler.handle(request, response);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        // Queue waits are timed here; a running request is never cut off
+        asyncContext.setTimeout(0L);
+        Task task = new Task(asyncContext, handler);
+        asyncContext.addListener(task);
+
+        if (virtualFactory != null) {
+            startVirtual(virtualFactory, task);
+            return;
+        }
+
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            task.shed("request queue full");
+            return;
+        }
+
+        ScheduledThreadPoolExecutor timeouts = timer;
+        if (timeoutMillis > 0 && timeouts != null) {
+            try {
+                task.timeout = timeouts.schedule(task::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Stopping; queued requests are run before the pool closes
+            }
+        }
+    }
+
+    /**
+     * Starts a virtual thread that waits for a permit and runs the task, or sheds the
+     * request if too many are already waiting
+     *
+     * @param factory Virtual thread factory
+     * @param task Task to run
+     */
+    private void startVirtual(ThreadFactory factory, Task task) {
+        if (waiting.incrementAndGet() > queueDepth) {
+            waiting.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            task.shed("request queue full");
+            return;
+        }
+        factory.newThread(() -> runWithPermit(task)).start();
+    }
+
+    /**
+     * Waits up to the timeout for a running-request permit, then runs the task
+     * A request that finds no permit in time is shed like one that waited too long for
+     * a pooled worker
+     *
+     * @param task Task to run
+     */
+    private void runWithPermit(Task task) {
+        boolean acquired = false;
+        try {
+            if (timeoutMillis > 0) {
+                acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                permits.acquire();
+                acquired = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!acquired) {
+            task.expire();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Gets the number of worker threads, or of requests running at once on virtual threads
+     *
+     * @return worker count
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the Retry-After value sent with 503 responses
+     *
+     * @return delay in seconds, as a header value
+     */
+    public String getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Whether requests run on virtual threads
+     *
+     * @return true if started, or to be started, in virtual-thread mode
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Gets the number of requests waiting to run
+     *
+     * @return queue depth
+     */
+    private int getQueueDepth() {
+        ThreadPoolExecutor pool = executor;
+        return pool != null ? pool.getQueue().size() : waiting.get();
+    }
+
+    /**
+     * Gets the number of requests running
+     *
+     * @return running request count
+     */
+    private int getActiveWorkers() {
+        ThreadPoolExecutor pool = executor;
+        if (pool != null) {
+            return pool.getActiveCount();
+        }
+        return virtualThreads != null ? threads - permits.availablePermits() : 0;
+    }
+
+    /**
+     * One request waiting for or running on a worker
+     */
+    private final class Task implements Runnable, AsyncListener {
+
+        /** Async context of the request */
+        private final AsyncContext asyncContext;
+
+        /** Handler to run */
+        private final Handler handler;
+
+        /** Read-your-writes state of the request, carried to the worker */
+        private final ReadConsistency readConsistency;
+
+        /** Time the request was handed over, from System.nanoTime() */
+        private final long queuedAt = System.nanoTime();
+
+        /** QUEUED, RUNNING or DONE */
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        /** Pending shed of the request if it waits too long, or null */
+        private volatile ScheduledFuture<?> timeout;
+
+        /**
+         * Creates a task on the container thread
+         *
+         * @param asyncContext Async context of the request
+         * @param handler Handler to run
+         */
+        Task(AsyncContext asyncContext, Handler handler) {
+            this.asyncContext = asyncContext;
+            this.handler = handler;
+            this.readConsistency = ReadConsistency.current();
+        }
+
+        /**
+         * Runs the handler with the request's thread state and completes the request,
+         * unless the handler handed it over
+         */
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                // Shed while it waited
+                return;
+            }
+            queueWaits.recordSince(queuedAt);
+            ScheduledFuture<?> pendingTimeout = timeout;
+            if (pendingTimeout != null) {
+                pendingTimeout.cancel(false);
+            }
+
+            HttpServletRequest request = (HttpServletRequest) asyncContext.getRequest();
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            long started = System.nanoTime();
+            ReadConsistency.attach(readConsistency);
+            UserCache.beginRequest();
+            try {
+                handler.handle(request, response);
+            } catch (ServletException | IOException | RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error handling " + request.getMethod() + " " + request.getRequestURI(), e);
+                sendError(response);
+            } finally {
+                UserCache.endRequest();
+                ReadConsistency.detach();
+                executionTimes.recordSince(started);
+            }
+
+            state.set(DONE);
+            if (request.getAttribute(HANDED_OVER) == null) {
+                complete();
+            }
+        }
+
+        /**
+         * Answers 503 with Retry-After, unless the request has already started
+         *
+         * @param reason Reason recorded in the log
+         * @return true if the request was shed
+         */
+        boolean shed(String reason) {
+            if (!abandon()) {
+                return false;
+            }
+
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            LOGGER.warning("Shed " + ((HttpServletRequest) asyncContext.getRequest()).getRequestURI() + ": " + reason);
+            try {
+                response.setHeader("Retry-After", retryAfterSeconds);
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, please retry");
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.log(Level.FINE, "Could not answer shed request", e);
+            }
+            complete();
+            return true;
+        }
+
+        /**
+         * Sheds the request if it is still waiting for a worker
+         */
+        void expire() {
+            if (shed("waited " + timeoutMillis + " ms for a worker")) {
+                timeoutCount.incrementAndGet();
+            }
+        }
+
+        /**
+         * Not called, as the container timeout is disabled
+         *
+         * @param event Async event
+         */
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Queue waits are timed by expire()
+        }
+
+        /**
+         * Drops the task if the request ended while it waited
+         *
+         * @param event Async event
+         */
+        @Override
+        public void onComplete(AsyncEvent event) {
+            abandon();
+        }
+
+        /**
+         * Drops the task if the request failed while it waited
+         *
+         * @param event Async event
+         */
+        @Override
+        public void onError(AsyncEvent event) {
+            abandon();
+        }
+
+        /**
+         * Called if the request goes async again, which handlers here do not do; a handler
+         * that keeps the request open reuses its async context instead
+         *
+         * @param event Async event
+         */
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Handlers run once
+        }
+
+        /**
+         * Takes a waiting task out of the queue and cancels its timeout
+         *
+         * @return true if the task was waiting
+         */
+        private boolean abandon() {
+            if (!state.compareAndSet(QUEUED, DONE)) {
+                return false;
+            }
+            ThreadPoolExecutor pool = executor;
+            if (pool != null) {
+                pool.remove(this);
+            }
+            ScheduledFuture<?> pendingTimeout = timeout;
+            if (pendingTimeout != null) {
+                pendingTimeout.cancel(false);
+            }
+            return true;
+        }
+
+        /**
+         * Sends a 500 if the handler failed before committing the response
+         *
+         * @param response HTTP response
+         */
+        private void sendError(HttpServletResponse response) {
+            try {
+                if (!response.isCommitted()) {
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                }
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.log(Level.FINE, "Could not answer failed request", e);
+            }
+        }
+
+        /**
+         * Completes the request, which may already have been ended by the container
+         */
+        private void complete() {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                LOGGER.log(Level.FINE, "Request already completed", e);
+            }
+        }
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final RequestExecutor INSTANCE = new RequestExecutor();
+    }
+}
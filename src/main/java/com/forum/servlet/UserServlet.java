@@ -17,7 +17,7 @@ import java.util.logging.Logger;
  * Manages registration, login, logout, and profile updates
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.1
  * @since 2025-06-03
  */
 
@@ -32,6 +32,9 @@ public class UserServlet extends HttpServlet {
     /** User service for business logic */
     private UserService userService;
 
+    /** Runs database-bound requests off the container threads */
+    private RequestExecutor requestExecutor;
+
     /**
      * Initializes the servlet and user service
      */
@@ -39,11 +42,14 @@ public class UserServlet extends HttpServlet {
     public void init() throws ServletException {
         super.init();
         userService = new UserService();
+        requestExecutor = RequestExecutor.getInstance();
         LOGGER.info("UserServlet initialized successfully");
     }
 
     /**
      * Handles GET requests for user operations
+     * Pages that load the user run on the request executor; the form pages do not
+     * touch the database and stay on the container thread
      *
      * @param request HTTP request
      * @param response HTTP response
@@ -53,6 +59,24 @@ public class UserServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null || pathInfo.equals("/") || pathInfo.equals("/profile")) {
+            requestExecutor.execute(request, response, this::processGet);
+        } else {
+            processGet(request, response);
+        }
+    }
+
+    /**
+     * Routes a GET request to its handler
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @throws ServletException if servlet error occurs
+     * @throws IOException if I/O error occurs
+     */
+    private void processGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String pathInfo = request.getPathInfo();
 
@@ -92,7 +116,7 @@ public class UserServlet extends HttpServlet {
     }
 
     /**
-     * Handles POST requests for user operations
+     * Handles POST requests for user operations on the request executor
      *
      * @param request HTTP request
      * @param response HTTP response
@@ -102,6 +126,19 @@ public class UserServlet extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        requestExecutor.execute(request, response, this::processPost);
+    }
+
+    /**
+     * Routes a POST request to its handler
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @throws ServletException if servlet error occurs
+     * @throws IOException if I/O error occurs
+     */
+    private void processPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String pathInfo = request.getPathInfo();
 
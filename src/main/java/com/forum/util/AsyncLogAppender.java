@@ -0,0 +1,574 @@
+package com.forum.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-writer asynchronous appender for the forum audit log files
+ * Request threads enqueue entries into a bounded queue per file; one flusher thread
+ * drains them in batches through channels that stay open for the life of the appender.
+ * Entries that reach a queue after the flusher's final pass are written synchronously
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class AsyncLogAppender {
+
+    /**
+     * How far each batch is pushed towards the disk
+     */
+    public enum Durability {
+        /** Write each batch to the operating system; no explicit fsync */
+        BATCH,
+        /** Additionally fsync files with new data at most once per fsync interval */
+        FSYNC
+    }
+
+    /**
+     * What a request thread does when a file's queue is full
+     */
+    public enum OverflowPolicy {
+        /** Drop the new entry immediately and count it */
+        DROP,
+        /** Wait up to the offer timeout for space, then drop and count it */
+        BLOCK
+    }
+
+    /** Logger instance for appender operations */
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogAppender.class.getName());
+
+    /** Maximum number of entries written per batch */
+    private static final int MAX_BATCH_SIZE = 512;
+
+    /** Longest time the flusher sleeps when there is nothing to write */
+    private static final long MAX_IDLE_WAIT_MILLIS = 1_000L;
+
+    /** Timestamp format of log entries */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    /** Line separator appended to every entry */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** Directory holding the log files */
+    private final Path directory;
+
+    /** Capacity of each file's queue */
+    private final int queueCapacity;
+
+    /** Durability mode */
+    private final Durability durability;
+
+    /** Minimum interval between fsyncs of a file in FSYNC mode */
+    private final long fsyncIntervalMillis;
+
+    /** Queue overflow policy */
+    private final OverflowPolicy overflowPolicy;
+
+    /** Longest time a request thread waits for queue space under BLOCK */
+    private final long offerTimeoutMillis;
+
+    /** Per-file queues and channels keyed by file name */
+    private final ConcurrentHashMap<String, LogFile> files = new ConcurrentHashMap<>();
+
+    /** Signals the flusher that entries are waiting */
+    private final Semaphore pending = new Semaphore(0);
+
+    /** Dedicated flusher thread */
+    private final Thread flusher;
+
+    /** Whether new entries are accepted */
+    private volatile boolean running = true;
+
+    /** Entries accepted into a queue */
+    private final AtomicLong enqueuedCount = new AtomicLong();
+
+    /** Entries written to disk */
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /** Entries rejected because their queue was full */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** Entries lost to I/O errors */
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /** Batches written */
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /** fsync calls issued */
+    private final AtomicLong fsyncCount = new AtomicLong();
+
+    /** Epoch second of the cached timestamp, used only by the flusher thread */
+    private long cachedSecond = Long.MIN_VALUE;
+
+    /** Formatted timestamp for cachedSecond, used only by the flusher thread */
+    private String cachedTimestamp;
+
+    /**
+     * Creates the appender and starts its flusher thread
+     *
+     * @param directory Directory holding the log files
+     * @param queueCapacity Capacity of each file's queue
+     * @param durability Durability mode
+     * @param fsyncIntervalMillis Minimum interval between fsyncs in FSYNC mode
+     * @param overflowPolicy Queue overflow policy
+     * @param offerTimeoutMillis Longest wait for queue space under BLOCK
+     */
+    public AsyncLogAppender(String directory, int queueCapacity, Durability durability,
+                            long fsyncIntervalMillis, OverflowPolicy overflowPolicy, long offerTimeoutMillis) {
+        this.directory = Paths.get(directory);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.durability = durability;
+        this.fsyncIntervalMillis = Math.max(0L, fsyncIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMillis = Math.max(0L, offerTimeoutMillis);
+
+        this.flusher = new Thread(this::runFlusher, "forum-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an entry for a log file; never performs I/O on the calling thread while running
+     *
+     * @param fileName Log file name inside the directory
+     * @param timestampMillis Time of the event
+     * @param message Entry text without timestamp or line separator
+     * @return true if the entry was queued, false if it was dropped
+     */
+    public boolean append(String fileName, long timestampMillis, String message) {
+        if (!running) {
+            return appendAfterShutdown(fileName, timestampMillis, message);
+        }
+
+        LogFile file = files.computeIfAbsent(fileName, name -> new LogFile(name, queueCapacity));
+        LogRecord record = new LogRecord(timestampMillis, message);
+
+        boolean queued;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queued = file.queue.offer(record, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = file.queue.offer(record);
+        }
+
+        if (!queued) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        enqueuedCount.incrementAndGet();
+        pending.release();
+
+        if (!running && !flusher.isAlive()) {
+            // Shutdown completed while this entry was being queued, so no one else will write it
+            drainAfterShutdown(file);
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting entries, drains every queue to disk and closes the files
+     *
+     * @param timeoutMillis Longest time to wait for the drain
+     * @return true if the flusher finished within the timeout
+     */
+    public boolean shutdown(long timeoutMillis) {
+        running = false;
+        pending.release();
+
+        try {
+            flusher.join(Math.max(1L, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (flusher.isAlive()) {
+            LOGGER.warning("Audit log flusher did not drain within " + timeoutMillis + " ms; "
+                    + getQueuedCount() + " entries pending");
+            return false;
+        }
+
+        // Appends that checked running just before it was cleared may have queued entries,
+        // or created files, after the flusher's final pass
+        int late = 0;
+        for (LogFile file : files.values()) {
+            late += drainAfterShutdown(file);
+        }
+
+        LOGGER.info("Audit log appender drained: " + writtenCount.get() + " written ("
+                + late + " after the final pass), " + droppedCount.get() + " dropped, "
+                + failedCount.get() + " failed");
+        return true;
+    }
+
+    /**
+     * Flusher loop: waits for entries, writes them in batches and applies the durability mode
+     */
+    private void runFlusher() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        StringBuilder buffer = new StringBuilder(8192);
+        long waitMillis = durability == Durability.FSYNC && fsyncIntervalMillis > 0
+                ? Math.min(fsyncIntervalMillis, MAX_IDLE_WAIT_MILLIS) : MAX_IDLE_WAIT_MILLIS;
+
+        while (running) {
+            try {
+                pending.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Only shutdown interrupts matter; the loop condition handles it
+            }
+            // Clear the signal before draining so entries offered during the drain re-signal
+            pending.drainPermits();
+
+            for (LogFile file : files.values()) {
+                writePending(file, batch, buffer);
+                if (durability == Durability.FSYNC) {
+                    forceIfDue(file, false);
+                }
+            }
+        }
+
+        // Final drain after shutdown: write everything left, sync and close
+        for (LogFile file : files.values()) {
+            writePending(file, batch, buffer);
+            forceIfDue(file, true);
+            file.close();
+        }
+    }
+
+    /**
+     * Writes every queued entry of a file in batches
+     *
+     * @param file Log file to write
+     * @param batch Reusable batch list
+     * @param buffer Reusable text buffer
+     */
+    private void writePending(LogFile file, List<LogRecord> batch, StringBuilder buffer) {
+        while (file.queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            buffer.setLength(0);
+            for (LogRecord record : batch) {
+                buffer.append('[').append(formatTimestamp(record.timestamp)).append("] ")
+                        .append(record.message).append(LINE_SEPARATOR);
+            }
+
+            try {
+                FileChannel channel = file.open(directory);
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(buffer));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                file.dirty = true;
+                writtenCount.addAndGet(batch.size());
+                batchCount.incrementAndGet();
+            } catch (IOException e) {
+                failedCount.addAndGet(batch.size());
+                LOGGER.log(Level.SEVERE, "Error writing to log file: " + file.name, e);
+                // Reopen on the next batch in case the file was rotated or removed
+                file.close();
+            }
+
+            batch.clear();
+        }
+    }
+
+    /**
+     * Fsyncs a file that has unsynced data when the interval has elapsed
+     *
+     * @param file Log file
+     * @param always Whether to ignore the interval
+     */
+    private void forceIfDue(LogFile file, boolean always) {
+        if (!file.dirty || file.channel == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!always && now - file.lastForceMillis < fsyncIntervalMillis) {
+            return;
+        }
+
+        try {
+            file.channel.force(false);
+            fsyncCount.incrementAndGet();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error syncing log file: " + file.name, e);
+        }
+        file.dirty = false;
+        file.lastForceMillis = now;
+    }
+
+    /**
+     * Formats a timestamp, reusing the previous result within the same second
+     *
+     * @param timestampMillis Epoch milliseconds
+     * @return Formatted timestamp
+     */
+    private String formatTimestamp(long timestampMillis) {
+        long second = Math.floorDiv(timestampMillis, 1000L);
+        if (second != cachedSecond) {
+            cachedTimestamp = TIMESTAMP_FORMAT.format(Instant.ofEpochSecond(second));
+            cachedSecond = second;
+        }
+        return cachedTimestamp;
+    }
+
+    /**
+     * Writes an entry synchronously once the flusher has stopped, so late events are not lost
+     *
+     * @param fileName Log file name
+     * @param timestampMillis Time of the event
+     * @param message Entry text
+     * @return true if the entry was written
+     */
+    private boolean appendAfterShutdown(String fileName, long timestampMillis, String message) {
+        return writeSynchronously(fileName, formatLine(timestampMillis, message), 1);
+    }
+
+    /**
+     * Writes a file's queued entries synchronously once the flusher has stopped
+     *
+     * @param file Log file whose queue to empty
+     * @return Number of entries written
+     */
+    private int drainAfterShutdown(LogFile file) {
+        List<LogRecord> records = new ArrayList<>();
+        file.queue.drainTo(records);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (LogRecord record : records) {
+            text.append(formatLine(record.timestamp, record.message));
+        }
+        return writeSynchronously(file.name, text.toString(), records.size()) ? records.size() : 0;
+    }
+
+    /**
+     * Formats one entry on the calling thread
+     *
+     * @param timestampMillis Time of the event
+     * @param message Entry text
+     * @return Entry line with timestamp and line separator
+     */
+    private static String formatLine(long timestampMillis, String message) {
+        return "[" + TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(timestampMillis)) + "] "
+                + message + LINE_SEPARATOR;
+    }
+
+    /**
+     * Appends text to a log file on the calling thread, one writer at a time
+     *
+     * @param fileName Log file name
+     * @param text Entry lines to append
+     * @param entries Number of entries in the text
+     * @return true if the text was written
+     */
+    private synchronized boolean writeSynchronously(String fileName, String text, int entries) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(fileName), text.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            writtenCount.addAndGet(entries);
+            return true;
+        } catch (IOException e) {
+            failedCount.addAndGet(entries);
+            LOGGER.log(Level.SEVERE, "Error writing to log file: " + fileName, e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of entries waiting in all queues
+     *
+     * @return queued entry count
+     */
+    public int getQueuedCount() {
+        int queued = 0;
+        for (LogFile file : files.values()) {
+            queued += file.queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Gets the number of entries accepted into a queue
+     *
+     * @return enqueued entry count
+     */
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    /**
+     * Gets the number of entries written to disk
+     *
+     * @return written entry count
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Gets the number of entries dropped because their queue was full
+     *
+     * @return dropped entry count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of entries lost to I/O errors
+     *
+     * @return failed entry count
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Gets the number of batches written
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Gets the number of fsync calls issued
+     *
+     * @return fsync count
+     */
+    public long getFsyncCount() {
+        return fsyncCount.get();
+    }
+
+    /**
+     * Gets the durability mode
+     *
+     * @return durability mode
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Gets the queue overflow policy
+     *
+     * @return overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Queued log entry
+     */
+    private static final class LogRecord {
+
+        /** Time of the event in epoch milliseconds */
+        private final long timestamp;
+
+        /** Entry text */
+        private final String message;
+
+        /**
+         * Creates a log record
+         *
+         * @param timestamp Time of the event
+         * @param message Entry text
+         */
+        private LogRecord(long timestamp, String message) {
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Queue and open channel of one log file; the channel is touched only by the flusher
+     */
+    private static final class LogFile {
+
+        /** File name inside the log directory */
+        private final String name;
+
+        /** Bounded queue of pending entries */
+        private final ArrayBlockingQueue<LogRecord> queue;
+
+        /** Open append channel, null until the first write */
+        private FileChannel channel;
+
+        /** Whether data has been written since the last fsync */
+        private boolean dirty;
+
+        /** Time of the last fsync */
+        private long lastForceMillis;
+
+        /**
+         * Creates the per-file state
+         *
+         * @param name File name
+         * @param capacity Queue capacity
+         */
+        private LogFile(String name, int capacity) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Opens the append channel if it is not already open
+         *
+         * @param directory Log directory
+         * @return Open channel
+         * @throws IOException if the file cannot be opened
+         */
+        private FileChannel open(Path directory) throws IOException {
+            if (channel == null) {
+                Files.createDirectories(directory);
+                channel = FileChannel.open(directory.resolve(name),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            return channel;
+        }
+
+        /**
+         * Closes the channel, ignoring errors
+         */
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Error closing log file: " + name, e);
+                }
+                channel = null;
+            }
+        }
+    }
+}
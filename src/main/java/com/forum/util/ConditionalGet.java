@@ -0,0 +1,118 @@
+package com.forum.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Utility class for answering conditional GET requests
+ * Sets ETag and Last-Modified on the response and answers 304 Not Modified when the
+ * request's If-None-Match or If-Modified-Since shows the client's copy is current.
+ * If-None-Match takes precedence, as RFC 7232 requires
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ConditionalGet {
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private ConditionalGet() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Builds a weak entity tag from the parts that identify a version of a resource
+     *
+     * @param parts Version parts, such as the ID, last modification time and a count
+     * @return Weak ETag, such as W/"42-lx3k9a-17"
+     */
+    public static String weakETag(Object... parts) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            Object part = parts[i];
+            tag.append(part instanceof Long ? Long.toString((Long) part, 36) : String.valueOf(part));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Sets the validators on the response and answers 304 if the client's copy is current
+     * Clients are told to revalidate before each reuse, and shared caches not to store
+     * the response, since pages vary with the signed-in user
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param eTag Entity tag of the current version
+     * @param lastModifiedMillis Last modification time of the current version
+     * @return true if a 304 was sent and the caller must not write a body
+     */
+    public static boolean isNotModified(HttpServletRequest request, HttpServletResponse response,
+                                        String eTag, long lastModifiedMillis) {
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModifiedMillis);
+        response.setHeader("Cache-Control", "private, no-cache");
+
+        boolean notModified;
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            notModified = matches(ifNoneMatch, eTag);
+        } else {
+            notModified = isUnmodifiedSince(request, lastModifiedMillis);
+        }
+
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    /**
+     * Checks an If-None-Match header against an entity tag using weak comparison
+     *
+     * @param ifNoneMatch Header value: "*" or a comma-separated list of tags
+     * @param eTag Entity tag of the current version
+     * @return true if any listed tag matches
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        String opaqueTag = stripWeakPrefix(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || opaqueTag.equals(stripWeakPrefix(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks If-Modified-Since at the one-second resolution of HTTP dates
+     *
+     * @param request HTTP request
+     * @param lastModifiedMillis Last modification time of the current version
+     * @return true if the header is present, valid and not older than the last modification
+     */
+    private static boolean isUnmodifiedSince(HttpServletRequest request, long lastModifiedMillis) {
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince >= 0 && lastModifiedMillis / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Removes the weak indicator from an entity tag
+     *
+     * @param tag Entity tag
+     * @return Opaque tag in quotes
+     */
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
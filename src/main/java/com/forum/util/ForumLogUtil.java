@@ -1,17 +1,22 @@
 package com.forum.util;
 
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.Page;
+
 import java.io.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.Paths;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Utility class for logging forum activities to files
  * Logs comments and replies to separate log files as required
+ * Entries are handed to an asynchronous appender so request threads never touch the disk
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.5
  * @since 2025-06-05
  */
 public class ForumLogUtil {
@@ -19,8 +24,8 @@ public class ForumLogUtil {
     /** Logger instance for logging operations */
     private static final Logger LOGGER = Logger.getLogger(ForumLogUtil.class.getName());
 
-    /** Directory path for log files */
-    private static final String LOG_DIRECTORY = "logs";
+    /** Default directory for log files, relative to the working directory */
+    private static final String DEFAULT_LOG_DIRECTORY = "logs";
 
     /** Comment log file name */
     private static final String COMMENT_LOG_FILE = "comments.log";
@@ -28,8 +33,8 @@ public class ForumLogUtil {
     /** Reply log file name */
     private static final String REPLY_LOG_FILE = "replies.log";
 
-    /** Date format for log entries */
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    /** Slow-query log file name */
+    private static final String SLOW_QUERY_LOG_FILE = "slow-queries.log";
 
     /** File separator for cross-platform compatibility */
     private static final String FILE_SEPARATOR = System.getProperty("file.separator");
@@ -41,21 +46,6 @@ public class ForumLogUtil {
         // Utility class should not be instantiated
     }
 
-    /**
-     * Initializes the log directory and files if they don't exist
-     */
-    private static void initializeLogDirectory() {
-        File logDir = new File(LOG_DIRECTORY);
-        if (!logDir.exists()) {
-            boolean created = logDir.mkdirs();
-            if (created) {
-                LOGGER.info("Log directory created: " + LOG_DIRECTORY);
-            } else {
-                LOGGER.warning("Failed to create log directory: " + LOG_DIRECTORY);
-            }
-        }
-    }
-
     /**
      * Logs a comment creation event to the comment log file
      *
@@ -67,10 +57,8 @@ public class ForumLogUtil {
      */
     public static void logComment(int commentId, int topicId, int userId,
                                   String userName, String commentText) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] COMMENT_CREATED | CommentID: %d | TopicID: %d | UserID: %d | User: %s | Text: %s%n",
-                DATE_FORMAT.format(new Date()), commentId, topicId, userId, userName,
+        String logEntry = String.format("COMMENT_CREATED | CommentID: %d | TopicID: %d | UserID: %d | User: %s | Text: %s",
+                commentId, topicId, userId, userName,
                 truncateText(commentText, 200));
 
         writeToLogFile(COMMENT_LOG_FILE, logEntry);
@@ -88,10 +76,8 @@ public class ForumLogUtil {
      */
     public static void logReply(int replyId, int commentId, int userId,
                                 String userName, String replyText) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] REPLY_CREATED | ReplyID: %d | CommentID: %d | UserID: %d | User: %s | Text: %s%n",
-                DATE_FORMAT.format(new Date()), replyId, commentId, userId, userName,
+        String logEntry = String.format("REPLY_CREATED | ReplyID: %d | CommentID: %d | UserID: %d | User: %s | Text: %s",
+                replyId, commentId, userId, userName,
                 truncateText(replyText, 200));
 
         writeToLogFile(REPLY_LOG_FILE, logEntry);
@@ -109,10 +95,8 @@ public class ForumLogUtil {
      */
     public static void logCommentUpdate(int commentId, int userId, String userName,
                                         String oldText, String newText) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] COMMENT_UPDATED | CommentID: %d | UserID: %d | User: %s | OldText: %s | NewText: %s%n",
-                DATE_FORMAT.format(new Date()), commentId, userId, userName,
+        String logEntry = String.format("COMMENT_UPDATED | CommentID: %d | UserID: %d | User: %s | OldText: %s | NewText: %s",
+                commentId, userId, userName,
                 truncateText(oldText, 100), truncateText(newText, 100));
 
         writeToLogFile(COMMENT_LOG_FILE, logEntry);
@@ -130,10 +114,8 @@ public class ForumLogUtil {
      */
     public static void logReplyUpdate(int replyId, int userId, String userName,
                                       String oldText, String newText) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] REPLY_UPDATED | ReplyID: %d | UserID: %d | User: %s | OldText: %s | NewText: %s%n",
-                DATE_FORMAT.format(new Date()), replyId, userId, userName,
+        String logEntry = String.format("REPLY_UPDATED | ReplyID: %d | UserID: %d | User: %s | OldText: %s | NewText: %s",
+                replyId, userId, userName,
                 truncateText(oldText, 100), truncateText(newText, 100));
 
         writeToLogFile(REPLY_LOG_FILE, logEntry);
@@ -148,10 +130,8 @@ public class ForumLogUtil {
      * @param userName User's full name
      */
     public static void logCommentDeletion(int commentId, int userId, String userName) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] COMMENT_DELETED | CommentID: %d | UserID: %d | User: %s%n",
-                DATE_FORMAT.format(new Date()), commentId, userId, userName);
+        String logEntry = String.format("COMMENT_DELETED | CommentID: %d | UserID: %d | User: %s",
+                commentId, userId, userName);
 
         writeToLogFile(COMMENT_LOG_FILE, logEntry);
         LOGGER.info("Comment deletion logged: ID " + commentId);
@@ -165,10 +145,8 @@ public class ForumLogUtil {
      * @param userName User's full name
      */
     public static void logReplyDeletion(int replyId, int userId, String userName) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] REPLY_DELETED | ReplyID: %d | UserID: %d | User: %s%n",
-                DATE_FORMAT.format(new Date()), replyId, userId, userName);
+        String logEntry = String.format("REPLY_DELETED | ReplyID: %d | UserID: %d | User: %s",
+                replyId, userId, userName);
 
         writeToLogFile(REPLY_LOG_FILE, logEntry);
         LOGGER.info("Reply deletion logged: ID " + replyId);
@@ -182,10 +160,8 @@ public class ForumLogUtil {
      * @param fullName User's full name
      */
     public static void logUserRegistration(int userId, String email, String fullName) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] USER_REGISTERED | UserID: %d | Email: %s | Name: %s%n",
-                DATE_FORMAT.format(new Date()), userId, email, fullName);
+        String logEntry = String.format("USER_REGISTERED | UserID: %d | Email: %s | Name: %s",
+                userId, email, fullName);
 
         writeToLogFile("users.log", logEntry);
         LOGGER.info("User registration logged: " + email);
@@ -198,10 +174,8 @@ public class ForumLogUtil {
      * @param email User email
      */
     public static void logUserLogin(int userId, String email) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] USER_LOGIN | UserID: %d | Email: %s%n",
-                DATE_FORMAT.format(new Date()), userId, email);
+        String logEntry = String.format("USER_LOGIN | UserID: %d | Email: %s",
+                userId, email);
 
         writeToLogFile("users.log", logEntry);
         LOGGER.info("User login logged: " + email);
@@ -216,33 +190,70 @@ public class ForumLogUtil {
      * @param title Topic title
      */
     public static void logTopicCreation(int topicId, int userId, String userName, String title) {
-        initializeLogDirectory();
-
-        String logEntry = String.format("[%s] TOPIC_CREATED | TopicID: %d | UserID: %d | User: %s | Title: %s%n",
-                DATE_FORMAT.format(new Date()), topicId, userId, userName, truncateText(title, 100));
+        String logEntry = String.format("TOPIC_CREATED | TopicID: %d | UserID: %d | User: %s | Title: %s",
+                topicId, userId, userName, truncateText(title, 100));
 
         writeToLogFile("topics.log", logEntry);
         LOGGER.info("Topic creation logged: ID " + topicId);
     }
 
     /**
-     * Writes a log entry to the specified log file
+     * Logs a statement that took longer than the slow-query threshold
+     * Only the types of bound parameters are logged, so user data stays out of the file
+     *
+     * @param statement Statement name or SQL fingerprint
+     * @param elapsedMillis Time spent executing
+     * @param rows Rows read or affected, or -1 if not known
+     * @param failed Whether the statement threw
+     * @param parameters Types of the bound parameters, or null for none
+     * @param sql SQL text
+     */
+    public static void logSlowQuery(String statement, long elapsedMillis, long rows, boolean failed,
+                                    String parameters, String sql) {
+        String logEntry = String.format("SLOW_QUERY | Statement: %s | Elapsed: %d ms | Rows: %s | Status: %s | Params: %s | SQL: %s",
+                statement, elapsedMillis, rows < 0 ? "unknown" : String.valueOf(rows),
+                failed ? "FAILED" : "OK", parameters != null ? parameters : "[]",
+                truncateText(sql, 500));
+
+        writeToLogFile(SLOW_QUERY_LOG_FILE, logEntry);
+    }
+
+    /**
+     * Queues a log entry for the specified log file
      *
      * @param fileName Log file name
-     * @param logEntry Log entry to write
+     * @param logEntry Log entry to write, without timestamp or line break
      */
     private static void writeToLogFile(String fileName, String logEntry) {
-        String filePath = LOG_DIRECTORY + FILE_SEPARATOR + fileName;
+        AppenderHolder.APPENDER.append(fileName, System.currentTimeMillis(), logEntry);
+    }
 
-        try (FileWriter fileWriter = new FileWriter(filePath, true);
-             BufferedWriter bufferedWriter = new BufferedWriter(fileWriter)) {
+    /**
+     * Gets the directory holding the log files
+     * Set with log.directory; the load test and benchmark harnesses point it under target/
+     *
+     * @return Log directory path
+     */
+    public static String getLogDirectory() {
+        return DatabaseConfig.getInstance().getProperty("log.directory", DEFAULT_LOG_DIRECTORY);
+    }
 
-            bufferedWriter.write(logEntry);
-            bufferedWriter.flush();
+    /**
+     * Gets the asynchronous appender for statistics reporting
+     *
+     * @return AsyncLogAppender instance
+     */
+    public static AsyncLogAppender getAppender() {
+        return AppenderHolder.APPENDER;
+    }
 
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error writing to log file: " + filePath, e);
-        }
+    /**
+     * Drains queued entries to disk and closes the log files
+     * Called when the application shuts down
+     */
+    public static void shutdown() {
+        long timeoutMillis = DatabaseConfig.getInstance().getLongProperty("log.async.shutdownTimeoutMs", 5_000L);
+        AppenderHolder.APPENDER.shutdown(timeoutMillis);
     }
 
     /**
@@ -268,7 +279,7 @@ public class ForumLogUtil {
     /**
      * Gets the log file path for a given log type
      *
-     * @param logType Type of log (comment, reply, user, topic)
+     * @param logType Type of log (comment, reply, user, topic, slowquery)
      * @return Full path to the log file
      */
     public static String getLogFilePath(String logType) {
@@ -286,43 +297,83 @@ public class ForumLogUtil {
             case "topic":
                 fileName = "topics.log";
                 break;
+            case "slowquery":
+                fileName = SLOW_QUERY_LOG_FILE;
+                break;
             default:
                 fileName = "forum.log";
         }
 
-        return LOG_DIRECTORY + FILE_SEPARATOR + fileName;
+        return getLogDirectory() + FILE_SEPARATOR + fileName;
     }
 
     /**
      * Reads the last N lines from a log file
+     * Seeks backwards from the end of the file, so only the tail is read
      *
      * @param logType Type of log to read
      * @param lineCount Number of lines to read
      * @return List of log entries
      */
     public static java.util.List<String> getRecentLogEntries(String logType, int lineCount) {
-        java.util.List<String> entries = new java.util.ArrayList<>();
-        String filePath = getLogFilePath(logType);
+        return getLogEntries(logType, null, null, null, lineCount).getItems();
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            java.util.List<String> allLines = new java.util.ArrayList<>();
-            String line;
+    /**
+     * Reads one page of log entries, newest page first, optionally filtered by event type and user
+     * Entries still queued in the asynchronous appender are not yet visible
+     *
+     * @param logType Type of log to read
+     * @param eventType Event type to keep (e.g. COMMENT_CREATED), null for all
+     * @param userId User ID to keep, null for all
+     * @param cursor Cursor from a previous page to continue with older entries, null for the newest
+     * @param lineCount Number of entries per page
+     * @return Page of entries, oldest first, whose nextCursor continues with older entries
+     */
+    public static Page<String> getLogEntries(String logType, String eventType, Integer userId,
+                                             String cursor, int lineCount) {
+        String filePath = getLogFilePath(logType);
 
-            while ((line = reader.readLine()) != null) {
-                allLines.add(line);
+        long endOffset = -1L;
+        if (cursor != null) {
+            try {
+                endOffset = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                LOGGER.fine("Ignoring invalid log cursor: " + cursor);
             }
+        }
 
-            // Get the last N lines
-            int startIndex = Math.max(0, allLines.size() - lineCount);
-            for (int i = startIndex; i < allLines.size(); i++) {
-                entries.add(allLines.get(i));
-            }
+        try {
+            LogTailReader.Result result = LogTailReader.readBackward(Paths.get(filePath), endOffset,
+                    lineCount, buildFilter(eventType, userId));
+            String nextCursor = result.hasMore() ? String.valueOf(result.getResumeOffset()) : null;
+            return new Page<>(result.getLines(), nextCursor, null);
 
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Error reading log file: " + filePath, e);
         }
 
-        return entries;
+        return new Page<>(new java.util.ArrayList<>(), null, null);
+    }
+
+    /**
+     * Builds a line filter for an event type and user ID
+     *
+     * @param eventType Event type to keep, null for all
+     * @param userId User ID to keep, null for all
+     * @return Filter, or null when neither criterion is set
+     */
+    private static Predicate<String> buildFilter(String eventType, Integer userId) {
+        String eventMarker = eventType != null && !eventType.trim().isEmpty()
+                ? "] " + eventType.trim().toUpperCase() + " |" : null;
+        String userMarker = userId != null ? "| UserID: " + userId + " |" : null;
+
+        if (eventMarker == null && userMarker == null) {
+            return null;
+        }
+
+        return line -> (eventMarker == null || line.contains(eventMarker))
+                && (userMarker == null || line.contains(userMarker));
     }
 
     /**
@@ -337,4 +388,50 @@ public class ForumLogUtil {
         LOGGER.info("Log cleanup requested for " + logType + " (keeping " + daysToKeep + " days)");
         // Implementation details would go here
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily created appender configured from application.properties
+     */
+    private static final class AppenderHolder {
+        private static final AsyncLogAppender APPENDER = createAppender();
+
+        /**
+         * Builds the appender from the log.async.* settings
+         *
+         * @return AsyncLogAppender instance
+         */
+        private static AsyncLogAppender createAppender() {
+            DatabaseConfig config = DatabaseConfig.getInstance();
+
+            AsyncLogAppender.Durability durability;
+            AsyncLogAppender.OverflowPolicy overflowPolicy;
+            try {
+                durability = AsyncLogAppender.Durability.valueOf(
+                        config.getProperty("log.async.durability", "BATCH").toUpperCase());
+                overflowPolicy = AsyncLogAppender.OverflowPolicy.valueOf(
+                        config.getProperty("log.async.overflowPolicy", "DROP").toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOGGER.warning("Invalid log.async settings, using BATCH durability and DROP policy");
+                durability = AsyncLogAppender.Durability.BATCH;
+                overflowPolicy = AsyncLogAppender.OverflowPolicy.DROP;
+            }
+
+            AsyncLogAppender appender = new AsyncLogAppender(getLogDirectory(),
+                    config.getIntProperty("log.async.queueCapacity", 10_000),
+                    durability,
+                    config.getLongProperty("log.async.fsyncIntervalMs", 1_000L),
+                    overflowPolicy,
+                    config.getLongProperty("log.async.offerTimeoutMs", 50L));
+
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.registerGauge("forum_audit_log_queued", "Audit log entries waiting to be written",
+                    appender::getQueuedCount);
+            metrics.registerGauge("forum_audit_log_written", "Audit log entries written", appender::getWrittenCount);
+            metrics.registerGauge("forum_audit_log_dropped", "Audit log entries dropped on overflow",
+                    appender::getDroppedCount);
+            metrics.registerGauge("forum_audit_log_failed", "Audit log entries that failed to write",
+                    appender::getFailedCount);
+            return appender;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.forum.util;
+
+/**
+ * Single-pass sanitizer for user-entered text
+ * Removes markup, script elements, javascript: and vbscript: schemes and event
+ * handler names in one scan per pass, copying only when something is removed.
+ * Passes repeat until the text is stable, so removals cannot join fragments into
+ * new markup, and the result is trimmed. Input that needs no change is returned
+ * as the same instance.
+ *
+ * The output is never less strict than the regular expressions it replaces:
+ * schemes and handler names match in any case, schemes split by tabs or line
+ * breaks are caught, a '&lt;' that opens a tag without closing it on its line is
+ * dropped, and any on*= handler name is removed, not only onload, onerror and
+ * onclick. Tags and script elements end on the line they start on, as before
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class HtmlSanitizer {
+
+    /** Opening of a script element; also matches tag names that start with it, as before */
+    private static final String SCRIPT_OPEN = "<script";
+
+    /** End tag of a script element */
+    private static final String SCRIPT_CLOSE = "</script>";
+
+    /** Schemes removed wherever they occur */
+    private static final String[] SCHEMES = {"javascript", "vbscript"};
+
+    /** Handler names removed wherever they occur, even inside words */
+    private static final String[] HANDLERS = {"onload", "onerror", "onclick"};
+
+    /** Shortest name after "on" treated as an event handler when followed by '=' */
+    private static final int MIN_HANDLER_SUFFIX = 3;
+
+    /** ASCII characters that can start an unsafe span: '<' and the first letters of schemes and handlers */
+    private static final boolean[] TRIGGERS = new boolean[128];
+
+    static {
+        for (char c : new char[] {'<', 'j', 'J', 'v', 'V', 'o', 'O'}) {
+            TRIGGERS[c] = true;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private HtmlSanitizer() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Sanitizes user input
+     *
+     * @param input Text to sanitize, may be null
+     * @return Sanitized and trimmed text, the input itself if nothing changed, or null for null input
+     */
+    public static String sanitize(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        String current = input;
+        String next = removeUnsafe(current);
+        while (next != current) {
+            current = next;
+            next = removeUnsafe(current);
+        }
+        return current.trim();
+    }
+
+    /**
+     * Scans the text once, removing every unsafe span found
+     *
+     * @param text Text to scan
+     * @return Text without the spans, or the same instance if none were found
+     */
+    private static String removeUnsafe(String text) {
+        int length = text.length();
+        StringBuilder out = null;
+        int copied = 0;
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = c < TRIGGERS.length && TRIGGERS[c] ? unsafeSpanEnd(text, i, c) : -1;
+            if (end < 0) {
+                i++;
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(length);
+            }
+            out.append(text, copied, i);
+            copied = end;
+            i = end;
+        }
+
+        if (out == null) {
+            return text;
+        }
+        return out.append(text, copied, length).toString();
+    }
+
+    /**
+     * Checks whether an unsafe span starts at a position
+     *
+     * @param text Text being scanned
+     * @param start Position to check
+     * @param c Character at start
+     * @return End of the span (exclusive), or -1 if the text at start is safe
+     */
+    private static int unsafeSpanEnd(String text, int start, char c) {
+        switch (c) {
+            case '<':
+                return tagEnd(text, start);
+            case 'j': case 'J': case 'v': case 'V':
+                for (String scheme : SCHEMES) {
+                    int end = schemeEnd(text, start, scheme);
+                    if (end >= 0) {
+                        return end;
+                    }
+                }
+                return -1;
+            case 'o': case 'O':
+                return handlerEnd(text, start);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Finds the end of the markup opening at a '&lt;'
+     * A tag runs to the next '&gt;' on the same line, skipping over any script element
+     * inside it, since those were always removed before tags. A script element runs
+     * from its start tag to the first end tag on the same line so the script body goes
+     * with it. A '&lt;' that would start a tag but is not closed on its line is dropped
+     * on its own, so a tag split over several lines cannot survive
+     *
+     * @param text Text being scanned
+     * @param start Position of the '&lt;'
+     * @return End of the span (exclusive), or -1 if the '&lt;' is kept
+     */
+    private static int tagEnd(String text, int start) {
+        int end = scriptElementEnd(text, start);
+        if (end >= 0) {
+            return end;
+        }
+
+        int length = text.length();
+        int i = start + 1;
+        boolean skippedScript = false;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '>') {
+                return i + 1;
+            }
+            if (isLineTerminator(c)) {
+                break;
+            }
+            if (c == '<' && (end = scriptElementEnd(text, i)) >= 0) {
+                i = end;
+                skippedScript = true;
+            } else {
+                i++;
+            }
+        }
+
+        if (skippedScript) {
+            return i;
+        }
+        return start + 1 < length && isTagStart(text.charAt(start + 1)) ? start + 1 : -1;
+    }
+
+    /**
+     * Finds the end of a script element that starts and ends on one line
+     *
+     * @param text Text being scanned
+     * @param start Position to match at
+     * @return End of the element's end tag (exclusive), or -1 if no complete element starts here
+     */
+    private static int scriptElementEnd(String text, int start) {
+        if (!text.startsWith(SCRIPT_OPEN, start)) {
+            return -1;
+        }
+
+        int length = text.length();
+        boolean opened = false;
+        for (int i = start + SCRIPT_OPEN.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (isLineTerminator(c)) {
+                return -1;
+            }
+            if (!opened) {
+                opened = c == '>';
+            } else if (c == '<' && text.startsWith(SCRIPT_CLOSE, i)) {
+                return i + SCRIPT_CLOSE.length();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Matches a scheme name followed by ':' at a position
+     * Tabs and line breaks inside the name are skipped, as browsers do when parsing URLs
+     *
+     * @param text Text being scanned
+     * @param start Position to match at
+     * @param scheme Lower-case scheme name without the colon
+     * @return End of the match (exclusive), or -1 if it does not match
+     */
+    private static int schemeEnd(String text, int start, String scheme) {
+        int length = text.length();
+        int i = start;
+        for (int k = 0; k < scheme.length(); k++) {
+            while (k > 0 && i < length && isUrlWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i >= length || Character.toLowerCase(text.charAt(i)) != scheme.charAt(k)) {
+                return -1;
+            }
+            i++;
+        }
+        while (i < length && (isUrlWhitespace(text.charAt(i)) || text.charAt(i) == ' ')) {
+            i++;
+        }
+        return i < length && text.charAt(i) == ':' ? i + 1 : -1;
+    }
+
+    /**
+     * Matches an event handler name at a position
+     * The legacy handler names match anywhere; any other on* name matches at the start
+     * of a word when an '=' follows it
+     *
+     * @param text Text being scanned
+     * @param start Position to match at
+     * @return End of the handler name (exclusive), or -1 if it does not match
+     */
+    private static int handlerEnd(String text, int start) {
+        if (!text.regionMatches(true, start, "on", 0, 2)) {
+            return -1;
+        }
+        for (String handler : HANDLERS) {
+            if (text.regionMatches(true, start, handler, 0, handler.length())) {
+                return start + handler.length();
+            }
+        }
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return -1;
+        }
+
+        int length = text.length();
+        int nameEnd = start + 2;
+        while (nameEnd < length && isAsciiLetter(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd - start - 2 < MIN_HANDLER_SUFFIX) {
+            return -1;
+        }
+        int i = nameEnd;
+        while (i < length && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i < length && text.charAt(i) == '=' ? nameEnd : -1;
+    }
+
+    /**
+     * Whether a character after '&lt;' makes it a tag, comment or declaration
+     *
+     * @param c Character
+     * @return true if it would start markup
+     */
+    private static boolean isTagStart(char c) {
+        return isAsciiLetter(c) || c == '/' || c == '!' || c == '?';
+    }
+
+    /**
+     * Whether a character is an ASCII letter
+     *
+     * @param c Character
+     * @return true for a-z and A-Z
+     */
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Whether a character ends a line, as for '.' in a regular expression
+     *
+     * @param c Character
+     * @return true for line feed, carriage return, next line and the line and paragraph separators
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Whether a character is stripped from URLs by browsers
+     *
+     * @param c Character
+     * @return true for tab, line feed and carriage return
+     */
+    private static boolean isUrlWhitespace(char c) {
+        return c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -0,0 +1,516 @@
+package com.forum.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+/**
+ * Streaming JSON writer that encodes UTF-8 straight into a byte buffer
+ * Values are written as they are produced, so no intermediate object tree or
+ * String copy of the document is built; field names are encoded once up front
+ * as {@link Name} constants and copied as raw bytes
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class JsonStreamWriter implements Flushable {
+
+    /** Default size of the output buffer in bytes */
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    /** Smallest output buffer; a number is written in one piece of up to 20 bytes */
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    /** Maximum nesting depth of objects and arrays */
+    private static final int MAX_DEPTH = 64;
+
+    /** Hexadecimal digits used for unicode escapes */
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /** Encoded form of the literal null */
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /** Encoded form of the literal true */
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+
+    /** Encoded form of the literal false */
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    /** Encoded form of Long.MIN_VALUE, which cannot be negated */
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    /** Destination stream */
+    private final OutputStream out;
+
+    /** Output buffer */
+    private final byte[] buffer;
+
+    /** Number of bytes currently held in the buffer */
+    private int position;
+
+    /** Per nesting level, whether the next value needs a leading comma */
+    private final boolean[] needsComma = new boolean[MAX_DEPTH];
+
+    /** Current nesting depth */
+    private int depth;
+
+    /** Whether a field name was just written and its value is pending */
+    private boolean afterName;
+
+    /**
+     * Pre-encoded object field name, including its quotes and trailing colon
+     */
+    public static final class Name {
+
+        /** Encoded bytes of the field name */
+        private final byte[] encoded;
+
+        /**
+         * Creates a name from its encoded bytes
+         *
+         * @param encoded Encoded bytes
+         */
+        private Name(byte[] encoded) {
+            this.encoded = encoded;
+        }
+
+        /**
+         * Encodes a field name once for repeated use
+         *
+         * @param name Field name
+         * @return Pre-encoded name
+         */
+        public static Name of(String name) {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream(name.length() + 3);
+            JsonStreamWriter writer = new JsonStreamWriter(sink, name.length() * 6 + 3);
+            try {
+                writer.writeString(name);
+                writer.writeByte((byte) ':');
+                writer.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("In-memory encoding failed", e);
+            }
+            return new Name(sink.toByteArray());
+        }
+    }
+
+    /**
+     * Creates a writer with the default buffer size
+     *
+     * @param out Destination stream
+     */
+    public JsonStreamWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer
+     *
+     * @param out Destination stream
+     * @param bufferSize Output buffer size in bytes
+     */
+    public JsonStreamWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+    }
+
+    /**
+     * Opens an object
+     *
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter beginObject() throws IOException {
+        open((byte) '{');
+        return this;
+    }
+
+    /**
+     * Closes the current object
+     *
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter endObject() throws IOException {
+        close((byte) '}');
+        return this;
+    }
+
+    /**
+     * Opens an array
+     *
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter beginArray() throws IOException {
+        open((byte) '[');
+        return this;
+    }
+
+    /**
+     * Closes the current array
+     *
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter endArray() throws IOException {
+        close((byte) ']');
+        return this;
+    }
+
+    /**
+     * Writes a field name; the next call must write its value
+     *
+     * @param name Pre-encoded field name
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter name(Name name) throws IOException {
+        separate();
+        writeBytes(name.encoded);
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or null
+     *
+     * @param value String value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a timestamp as a string in {@link Timestamp#toString()} form, or null
+     *
+     * @param value Timestamp value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter value(Timestamp value) throws IOException {
+        return value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Writes a numeric value
+     *
+     * @param value Numeric value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter value(long value) throws IOException {
+        separate();
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value
+     *
+     * @param value Boolean value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter value(boolean value) throws IOException {
+        separate();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    /**
+     * Writes a null value
+     *
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter nullValue() throws IOException {
+        separate();
+        writeBytes(NULL);
+        return this;
+    }
+
+    /**
+     * Writes a string field, omitting it when the value is null
+     *
+     * @param name Pre-encoded field name
+     * @param value String value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter field(Name name, String value) throws IOException {
+        return value != null ? name(name).value(value) : this;
+    }
+
+    /**
+     * Writes a timestamp field, omitting it when the value is null
+     *
+     * @param name Pre-encoded field name
+     * @param value Timestamp value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter field(Name name, Timestamp value) throws IOException {
+        return value != null ? name(name).value(value.toString()) : this;
+    }
+
+    /**
+     * Writes a numeric field
+     *
+     * @param name Pre-encoded field name
+     * @param value Numeric value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter field(Name name, long value) throws IOException {
+        return name(name).value(value);
+    }
+
+    /**
+     * Writes a boolean field
+     *
+     * @param name Pre-encoded field name
+     * @param value Boolean value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonStreamWriter field(Name name, boolean value) throws IOException {
+        return name(name).value(value);
+    }
+
+    /**
+     * Writes buffered bytes to the destination stream and flushes it
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes an opening bracket and enters a new nesting level
+     *
+     * @param bracket Opening bracket
+     * @throws IOException if the stream cannot be written
+     */
+    private void open(byte bracket) throws IOException {
+        if (depth == MAX_DEPTH - 1) {
+            throw new IllegalStateException("JSON nesting deeper than " + (MAX_DEPTH - 1));
+        }
+        separate();
+        writeByte(bracket);
+        needsComma[++depth] = false;
+    }
+
+    /**
+     * Writes a closing bracket and leaves the current nesting level
+     *
+     * @param bracket Closing bracket
+     * @throws IOException if the stream cannot be written
+     */
+    private void close(byte bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No open JSON object or array");
+        }
+        depth--;
+        writeByte(bracket);
+    }
+
+    /**
+     * Writes the comma separating this value from the previous one, if needed
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (needsComma[depth]) {
+            writeByte((byte) ',');
+        } else {
+            needsComma[depth] = true;
+        }
+    }
+
+    /**
+     * Writes a quoted, escaped string encoded as UTF-8
+     * Escapes match org.json, including "&lt;/" so output is safe inside HTML script blocks
+     *
+     * @param value String to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeString(String value) throws IOException {
+        writeByte((byte) '"');
+        char previous = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (position + 12 > buffer.length) {
+                drain();
+            }
+            switch (c) {
+                case '"':
+                    buffer[position++] = '\\';
+                    buffer[position++] = '"';
+                    break;
+                case '\\':
+                    buffer[position++] = '\\';
+                    buffer[position++] = '\\';
+                    break;
+                case '/':
+                    if (previous == '<') {
+                        buffer[position++] = '\\';
+                    }
+                    buffer[position++] = '/';
+                    break;
+                case '\b':
+                    buffer[position++] = '\\';
+                    buffer[position++] = 'b';
+                    break;
+                case '\t':
+                    buffer[position++] = '\\';
+                    buffer[position++] = 't';
+                    break;
+                case '\n':
+                    buffer[position++] = '\\';
+                    buffer[position++] = 'n';
+                    break;
+                case '\f':
+                    buffer[position++] = '\\';
+                    buffer[position++] = 'f';
+                    break;
+                case '\r':
+                    buffer[position++] = '\\';
+                    buffer[position++] = 'r';
+                    break;
+                default:
+                    if (c < 0x20 || (c >= 0x80 && c < 0xa0) || (c >= 0x2000 && c < 0x2100)) {
+                        writeUnicodeEscape(c);
+                    } else if (c < 0x80) {
+                        buffer[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        buffer[position++] = (byte) (0xc0 | (c >> 6));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                    } else if (Character.isSurrogate(c)) {
+                        // Unpaired surrogates cannot be encoded as UTF-8
+                        writeUnicodeEscape(c);
+                    } else {
+                        buffer[position++] = (byte) (0xe0 | (c >> 12));
+                        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                    }
+            }
+            previous = c;
+        }
+        writeByte((byte) '"');
+    }
+
+    /**
+     * Writes a \\uXXXX escape; the caller guarantees six bytes of buffer space
+     *
+     * @param c Character to escape
+     */
+    private void writeUnicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xf];
+        buffer[position++] = HEX[(c >> 8) & 0xf];
+        buffer[position++] = HEX[(c >> 4) & 0xf];
+        buffer[position++] = HEX[c & 0xf];
+    }
+
+    /**
+     * Writes the decimal digits of a number without allocating
+     *
+     * @param value Number to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(LONG_MIN);
+            return;
+        }
+        if (position + 20 > buffer.length) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * Writes a single byte
+     *
+     * @param b Byte to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeByte(byte b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = b;
+    }
+
+    /**
+     * Writes raw bytes
+     *
+     * @param bytes Bytes to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes buffered bytes to the destination stream without flushing it
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
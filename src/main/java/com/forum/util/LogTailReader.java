@@ -0,0 +1,231 @@
+package com.forum.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reads log files backwards from a byte offset in fixed-size blocks
+ * Only the blocks holding the requested lines are read, so cost depends on the
+ * number of lines returned rather than on the size of the file
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class LogTailReader {
+
+    /** Bytes read per backward step */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /** Empty byte array used when no partial line is carried between blocks */
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private LogTailReader() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Result of a backward read
+     */
+    public static final class Result {
+
+        /** Matching lines, oldest first */
+        private final List<String> lines;
+
+        /** Byte offset of the oldest returned line; resume from here for older lines */
+        private final long resumeOffset;
+
+        /**
+         * Creates a result
+         *
+         * @param lines Matching lines, oldest first
+         * @param resumeOffset Offset to resume from, 0 when the start of the file was reached
+         */
+        private Result(List<String> lines, long resumeOffset) {
+            this.lines = lines;
+            this.resumeOffset = resumeOffset;
+        }
+
+        /**
+         * Gets the matching lines, oldest first
+         *
+         * @return list of lines
+         */
+        public List<String> getLines() {
+            return lines;
+        }
+
+        /**
+         * Gets the byte offset to pass as endOffset to read older lines
+         *
+         * @return resume offset, 0 when no older lines remain
+         */
+        public long getResumeOffset() {
+            return resumeOffset;
+        }
+
+        /**
+         * Checks whether older lines may remain before the resume offset
+         *
+         * @return true if another read could return lines
+         */
+        public boolean hasMore() {
+            return resumeOffset > 0;
+        }
+    }
+
+    /**
+     * Reads up to lineCount matching lines ending before a byte offset
+     *
+     * @param file Log file to read
+     * @param endOffset Offset to read backwards from; negative or beyond EOF means the end of the file
+     * @param lineCount Maximum number of lines to return
+     * @param filter Lines to keep, or null to keep every non-empty line
+     * @return Matching lines (oldest first) and the offset to resume from
+     * @throws IOException if the file cannot be read
+     */
+    public static Result readBackward(Path file, long endOffset, int lineCount,
+                                      Predicate<String> filter) throws IOException {
+        List<String> lines = new ArrayList<>(Math.max(0, Math.min(lineCount, 1024)));
+        if (lineCount <= 0) {
+            return new Result(lines, Math.max(0L, endOffset));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = endOffset < 0 || endOffset > size ? size : endOffset;
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, Math.max(1L, position)));
+            byte[] block = buffer.array();
+            // Bytes of the line currently being assembled that lie after the block being scanned
+            byte[] carry = EMPTY;
+
+            while (position > 0) {
+                int length = (int) Math.min(block.length, position);
+                long blockStart = position - length;
+                readFully(channel, buffer, blockStart, length);
+
+                int segmentEnd = length;
+                for (int i = length - 1; i >= 0; i--) {
+                    if (block[i] != '\n') {
+                        continue;
+                    }
+
+                    String line = decode(block, i + 1, segmentEnd, carry);
+                    carry = EMPTY;
+                    segmentEnd = i;
+
+                    if (accept(line, filter)) {
+                        lines.add(line);
+                        if (lines.size() >= lineCount) {
+                            Collections.reverse(lines);
+                            return new Result(lines, blockStart + i + 1);
+                        }
+                    }
+                }
+
+                carry = prepend(block, segmentEnd, carry);
+                position = blockStart;
+            }
+
+            // The first line of the file has no preceding newline
+            String line = decode(block, 0, 0, carry);
+            if (accept(line, filter)) {
+                lines.add(line);
+            }
+        }
+
+        Collections.reverse(lines);
+        return new Result(lines, 0L);
+    }
+
+    /**
+     * Reads exactly length bytes at a position into the buffer
+     *
+     * @param channel File channel
+     * @param buffer Target buffer
+     * @param position File position
+     * @param length Number of bytes
+     * @throws IOException if the file is shorter than expected or cannot be read
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, int length)
+            throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Log file truncated while reading");
+            }
+        }
+    }
+
+    /**
+     * Decodes one line from a block segment followed by carried bytes, dropping a trailing CR
+     *
+     * @param block Current block
+     * @param from Segment start (inclusive)
+     * @param to Segment end (exclusive)
+     * @param carry Bytes of the same line from later blocks
+     * @return Decoded line
+     */
+    private static String decode(byte[] block, int from, int to, byte[] carry) {
+        byte[] bytes;
+        int length;
+        if (carry.length == 0) {
+            bytes = block;
+            length = to - from;
+        } else {
+            bytes = new byte[(to - from) + carry.length];
+            System.arraycopy(block, from, bytes, 0, to - from);
+            System.arraycopy(carry, 0, bytes, to - from, carry.length);
+            from = 0;
+            length = bytes.length;
+        }
+
+        if (length > 0 && bytes[from + length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, from, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prepends the unconsumed head of a block to the carried bytes
+     *
+     * @param block Current block
+     * @param length Number of leading bytes not yet consumed
+     * @param carry Bytes carried from later blocks
+     * @return Combined bytes
+     */
+    private static byte[] prepend(byte[] block, int length, byte[] carry) {
+        if (length == 0) {
+            return carry;
+        }
+        byte[] combined = new byte[length + carry.length];
+        System.arraycopy(block, 0, combined, 0, length);
+        System.arraycopy(carry, 0, combined, length, carry.length);
+        return combined;
+    }
+
+    /**
+     * Checks whether a line should be returned
+     *
+     * @param line Decoded line
+     * @param filter Optional filter
+     * @return true if the line is non-empty and matches the filter
+     */
+    private static boolean accept(String line, Predicate<String> filter) {
+        return !line.isEmpty() && (filter == null || filter.test(line));
+    }
+}
@@ -0,0 +1,151 @@
+package com.forum.util;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.logging.Logger;
+
+/**
+ * Opaque keyset pagination cursor
+ * Identifies a row by its (timestamp, id) sort key and the direction to page in
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class PageCursor {
+
+    /** Logger instance for cursor decoding */
+    private static final Logger LOGGER = Logger.getLogger(PageCursor.class.getName());
+
+    /** Token prefix for cursors pointing forward */
+    private static final char FORWARD = 'a';
+
+    /** Token prefix for cursors pointing backward */
+    private static final char BACKWARD = 'b';
+
+    /** Sort key timestamp in epoch seconds */
+    private final long epochSeconds;
+
+    /** Sort key timestamp nanosecond fraction */
+    private final int nanos;
+
+    /** Sort key tie-breaking row ID */
+    private final int id;
+
+    /** Whether this cursor pages toward the start of the ordering */
+    private final boolean backward;
+
+    /**
+     * Private constructor; use after(), before() or decode()
+     */
+    private PageCursor(long epochSeconds, int nanos, int id, boolean backward) {
+        this.epochSeconds = epochSeconds;
+        this.nanos = nanos;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    /**
+     * Creates a cursor for the rows following the given sort key
+     *
+     * @param timestamp Sort key timestamp of the last row shown
+     * @param id Row ID of the last row shown
+     * @return Forward cursor
+     */
+    public static PageCursor after(Timestamp timestamp, int id) {
+        return of(timestamp, id, false);
+    }
+
+    /**
+     * Creates a cursor for the rows preceding the given sort key
+     *
+     * @param timestamp Sort key timestamp of the first row shown
+     * @param id Row ID of the first row shown
+     * @return Backward cursor
+     */
+    public static PageCursor before(Timestamp timestamp, int id) {
+        return of(timestamp, id, true);
+    }
+
+    /**
+     * Decodes a cursor token produced by encode()
+     *
+     * @param token Cursor token from a request
+     * @return PageCursor, or null if the token is empty or malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = decoded.substring(1).split("\\.");
+            char direction = decoded.charAt(0);
+
+            if (parts.length != 3 || (direction != FORWARD && direction != BACKWARD)) {
+                throw new IllegalArgumentException("unexpected cursor layout");
+            }
+
+            int nanos = Integer.parseInt(parts[1]);
+            if (nanos < 0 || nanos > 999_999_999) {
+                throw new IllegalArgumentException("nanos out of range");
+            }
+
+            return new PageCursor(Long.parseLong(parts[0]), nanos, Integer.parseInt(parts[2]),
+                    direction == BACKWARD);
+
+        } catch (RuntimeException e) {
+            LOGGER.warning("Ignoring malformed page cursor: " + token);
+            return null;
+        }
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token
+     *
+     * @return Cursor token
+     */
+    public String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + Long.toString(epochSeconds) + "." + nanos + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the sort key timestamp
+     *
+     * @return timestamp with full nanosecond precision
+     */
+    public Timestamp getTimestamp() {
+        Timestamp timestamp = new Timestamp(epochSeconds * 1000L);
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+
+    /**
+     * Gets the tie-breaking row ID
+     *
+     * @return row ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Checks if this cursor pages toward the start of the ordering
+     *
+     * @return true if backward, false if forward
+     */
+    public boolean isBackward() {
+        return backward;
+    }
+
+    /**
+     * Builds a cursor from a timestamp, keeping sub-millisecond precision
+     */
+    private static PageCursor of(Timestamp timestamp, int id, boolean backward) {
+        long epochSeconds = Math.floorDiv(timestamp.getTime(), 1000L);
+        return new PageCursor(epochSeconds, timestamp.getNanos(), id, backward);
+    }
+}
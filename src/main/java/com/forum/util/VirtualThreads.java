@@ -0,0 +1,174 @@
+package com.forum.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Utility class for virtual threads, which the application uses when the JVM has them
+ * The build targets Java 11, so Thread.ofVirtual() and the JFR event stream are reached
+ * through reflection; on older JVMs {@link #isSupported()} is false and callers keep
+ * their platform threads
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class VirtualThreads {
+
+    /** Logger instance for virtual thread diagnostics */
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class.getName());
+
+    /** JFR event recorded when a virtual thread blocks while pinned to its carrier */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /** Thread.ofVirtual(), or null before Java 21 */
+    private static final Method OF_VIRTUAL = findOfVirtual();
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private VirtualThreads() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Whether the JVM can create virtual threads
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory for virtual threads named prefix-1, prefix-2 and so on
+     *
+     * @param prefix Thread name prefix
+     * @return Thread factory
+     * @throws IllegalStateException if virtual threads are not supported
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 1L);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Reports virtual threads that block while pinned to their carrier thread, as they do
+     * inside synchronized blocks and native calls on Java 21 to 23
+     * Every pinned block is counted; the first pinning at each application code
+     * location is logged with its stack trace. Uses an in-process JFR event stream
+     *
+     * @param thresholdMillis Shortest pinned block reported
+     * @param pinnedCount Counter incremented per pinned block
+     * @return Handle that stops the monitor, or null if the JVM cannot stream the event
+     */
+    public static AutoCloseable monitorPinning(long thresholdMillis, AtomicLong pinnedCount) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+
+        try {
+            Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+            Consumer<RecordedEvent> onPinned = event -> {
+                pinnedCount.incrementAndGet();
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                String site = siteOf(stackTrace);
+                if (reportedSites.add(site)) {
+                    LOGGER.warning("Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + site
+                            + stackTraceOf(stackTrace));
+                }
+            };
+            Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Object stream = streamClass.getConstructor().newInstance();
+            Object settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            settingsClass.getMethod("withThreshold", Duration.class).invoke(settings, Duration.ofMillis(thresholdMillis));
+            settingsClass.getMethod("withStackTrace").invoke(settings);
+            streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onPinned);
+            streamClass.getMethod("startAsync").invoke(stream);
+            LOGGER.info("Monitoring virtual thread pinning longer than " + thresholdMillis + " ms");
+            return (AutoCloseable) stream;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Virtual thread pinning cannot be monitored", e);
+            return null;
+        }
+    }
+
+    /**
+     * Finds where application code caused a pinning: the first frame outside the JDK
+     *
+     * @param stackTrace Stack trace, or null
+     * @return Frame description, or "unknown"
+     */
+    private static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return describe(frame);
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Formats a stack frame as class.method:line
+     *
+     * @param frame Stack frame
+     * @return Frame description
+     */
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Formats the frames of a recorded stack trace, one per line
+     *
+     * @param stackTrace Stack trace, or null
+     * @return Frames, each on a new line
+     */
+    private static String stackTraceOf(RecordedStackTrace stackTrace) {
+        StringBuilder text = new StringBuilder();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                text.append("\n\tat ").append(describe(frame));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Looks up Thread.ofVirtual()
+     *
+     * @return Method, or null if the JVM has no virtual threads
+     */
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
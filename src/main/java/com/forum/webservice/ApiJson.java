@@ -0,0 +1,306 @@
+package com.forum.webservice;
+
+import com.forum.model.Comment;
+import com.forum.model.Page;
+import com.forum.model.Reply;
+import com.forum.model.Topic;
+import com.forum.model.User;
+import com.forum.util.JsonStreamWriter;
+import com.forum.util.JsonStreamWriter.Name;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reflection-free JSON encoders for the API representations of forum entities
+ * Field names are encoded once at class load and entities are streamed straight
+ * into a {@link JsonStreamWriter}; null values are omitted as org.json does
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class ApiJson {
+
+    /** Field name: topicId */
+    static final Name TOPIC_ID = Name.of("topicId");
+
+    /** Field name: commentId */
+    static final Name COMMENT_ID = Name.of("commentId");
+
+    /** Field name: replyId */
+    static final Name REPLY_ID = Name.of("replyId");
+
+    /** Field name: userId */
+    static final Name USER_ID = Name.of("userId");
+
+    /** Field name: title */
+    static final Name TITLE = Name.of("title");
+
+    /** Field name: description */
+    static final Name DESCRIPTION = Name.of("description");
+
+    /** Field name: commentText */
+    static final Name COMMENT_TEXT = Name.of("commentText");
+
+    /** Field name: replyText */
+    static final Name REPLY_TEXT = Name.of("replyText");
+
+    /** Field name: dateCreated */
+    static final Name DATE_CREATED = Name.of("dateCreated");
+
+    /** Field name: lastActivity */
+    static final Name LAST_ACTIVITY = Name.of("lastActivity");
+
+    /** Field name: datePosted */
+    static final Name DATE_POSTED = Name.of("datePosted");
+
+    /** Field name: dateRegistered */
+    static final Name DATE_REGISTERED = Name.of("dateRegistered");
+
+    /** Field name: isActive */
+    static final Name IS_ACTIVE = Name.of("isActive");
+
+    /** Field name: userFullName */
+    static final Name USER_FULL_NAME = Name.of("userFullName");
+
+    /** Field name: fullName */
+    static final Name FULL_NAME = Name.of("fullName");
+
+    /** Field name: firstName */
+    static final Name FIRST_NAME = Name.of("firstName");
+
+    /** Field name: lastName */
+    static final Name LAST_NAME = Name.of("lastName");
+
+    /** Field name: email */
+    static final Name EMAIL = Name.of("email");
+
+    /** Field name: commentCount */
+    static final Name COMMENT_COUNT = Name.of("commentCount");
+
+    /** Field name: user */
+    static final Name USER = Name.of("user");
+
+    /** Field name: data */
+    static final Name DATA = Name.of("data");
+
+    /** Field name: nextCursor */
+    static final Name NEXT_CURSOR = Name.of("nextCursor");
+
+    /** Field name: prevCursor */
+    static final Name PREV_CURSOR = Name.of("prevCursor");
+
+    /** Field name: success */
+    static final Name SUCCESS = Name.of("success");
+
+    /** Field name: message */
+    static final Name MESSAGE = Name.of("message");
+
+    /** Field name: total */
+    static final Name TOTAL = Name.of("total");
+
+    /** Field name: searchTerm */
+    static final Name SEARCH_TERM = Name.of("searchTerm");
+
+    /** Field name: error */
+    static final Name ERROR = Name.of("error");
+
+    /** Field name: statusCode */
+    static final Name STATUS_CODE = Name.of("statusCode");
+
+    /**
+     * Encodes a single entity into an open writer
+     *
+     * @param <T> Entity type
+     */
+    @FunctionalInterface
+    interface Encoder<T> {
+
+        /**
+         * Writes one entity as a JSON value
+         *
+         * @param writer Destination writer
+         * @param item Entity to write
+         * @throws IOException if the stream cannot be written
+         */
+        void write(JsonStreamWriter writer, T item) throws IOException;
+    }
+
+    /**
+     * Writes a complete JSON document
+     */
+    @FunctionalInterface
+    interface Body {
+
+        /**
+         * Writes the document
+         *
+         * @param writer Destination writer
+         * @throws IOException if the stream cannot be written
+         */
+        void write(JsonStreamWriter writer) throws IOException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private ApiJson() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Writes a topic as returned by /api/topics
+     *
+     * @param writer Destination writer
+     * @param topic Topic to write
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeTopic(JsonStreamWriter writer, Topic topic) throws IOException {
+        writer.beginObject()
+                .field(TOPIC_ID, topic.getTopicId())
+                .field(TITLE, topic.getTitle())
+                .field(DESCRIPTION, topic.getDescription())
+                .field(USER_ID, topic.getUserId())
+                .field(DATE_CREATED, topic.getDateCreated())
+                .field(LAST_ACTIVITY, topic.getLastActivity())
+                .field(IS_ACTIVE, topic.isActive());
+
+        if (topic.getUser() != null) {
+            writer.field(USER_FULL_NAME, topic.getUser().getFullName());
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes a comment as returned by /api/comments
+     *
+     * @param writer Destination writer
+     * @param comment Comment to write
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeComment(JsonStreamWriter writer, Comment comment) throws IOException {
+        writer.beginObject()
+                .field(COMMENT_ID, comment.getCommentId())
+                .field(TOPIC_ID, comment.getTopicId())
+                .field(USER_ID, comment.getUserId())
+                .field(COMMENT_TEXT, comment.getCommentText())
+                .field(DATE_POSTED, comment.getDatePosted())
+                .field(IS_ACTIVE, comment.isActive());
+
+        if (comment.getUser() != null) {
+            writer.field(USER_FULL_NAME, comment.getUser().getFullName());
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes a reply as returned by /api/comments/{id}/replies
+     *
+     * @param writer Destination writer
+     * @param reply Reply to write
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeReply(JsonStreamWriter writer, Reply reply) throws IOException {
+        writer.beginObject()
+                .field(REPLY_ID, reply.getReplyId())
+                .field(COMMENT_ID, reply.getCommentId())
+                .field(USER_ID, reply.getUserId())
+                .field(REPLY_TEXT, reply.getReplyText())
+                .field(DATE_POSTED, reply.getDatePosted())
+                .field(IS_ACTIVE, reply.isActive());
+
+        if (reply.getUser() != null) {
+            writer.field(USER_FULL_NAME, reply.getUser().getFullName());
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes the public profile of a user
+     *
+     * @param writer Destination writer
+     * @param user User to write
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeUser(JsonStreamWriter writer, User user) throws IOException {
+        writeUser(writer, user, false);
+    }
+
+    /**
+     * Writes a user, optionally including the email address
+     *
+     * @param writer Destination writer
+     * @param user User to write
+     * @param includeEmail Whether to include the email address
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeUser(JsonStreamWriter writer, User user, boolean includeEmail) throws IOException {
+        writer.beginObject()
+                .field(USER_ID, user.getUserId());
+
+        if (includeEmail) {
+            writer.field(EMAIL, user.getEmail());
+        }
+
+        writer.field(FIRST_NAME, user.getFirstName())
+                .field(LAST_NAME, user.getLastName())
+                .field(DATE_REGISTERED, user.getDateRegistered())
+                .endObject();
+    }
+
+    /**
+     * Writes a list of entities as a JSON array
+     *
+     * @param <T> Entity type
+     * @param writer Destination writer
+     * @param items Entities to write
+     * @param encoder Encoder for a single entity
+     * @throws IOException if the stream cannot be written
+     */
+    static <T> void writeArray(JsonStreamWriter writer, List<T> items, Encoder<? super T> encoder)
+            throws IOException {
+        writer.beginArray();
+        for (T item : items) {
+            encoder.write(writer, item);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes a page of entities with its neighbouring cursor tokens
+     *
+     * @param <T> Entity type
+     * @param writer Destination writer
+     * @param page Page to write
+     * @param encoder Encoder for a single entity
+     * @throws IOException if the stream cannot be written
+     */
+    static <T> void writePage(JsonStreamWriter writer, Page<T> page, Encoder<? super T> encoder)
+            throws IOException {
+        writer.beginObject().name(DATA);
+        writeArray(writer, page.getItems(), encoder);
+        writer.name(NEXT_CURSOR).value(page.getNextCursor())
+                .name(PREV_CURSOR).value(page.getPrevCursor())
+                .endObject();
+    }
+
+    /**
+     * Writes the API error body
+     *
+     * @param writer Destination writer
+     * @param statusCode HTTP status code
+     * @param message Error message
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeError(JsonStreamWriter writer, int statusCode, String message) throws IOException {
+        writer.beginObject()
+                .field(ERROR, true)
+                .field(MESSAGE, message)
+                .field(STATUS_CODE, statusCode)
+                .endObject();
+    }
+}
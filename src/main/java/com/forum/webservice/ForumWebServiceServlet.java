@@ -1,7 +1,24 @@
 package com.forum.webservice;
 
+import com.forum.cache.ReadThroughCache;
+import com.forum.cache.TopicListCache;
+import com.forum.cache.UserCache;
+import com.forum.config.ConnectionPool;
+import com.forum.config.DatabaseConfig;
+import com.forum.config.ReplicaRouter;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.search.SearchIndex;
+import com.forum.service.CounterWriter;
 import com.forum.service.ForumService;
+import com.forum.service.TopicActivityWriter;
 import com.forum.service.UserService;
+import com.forum.servlet.RequestExecutor;
+import com.forum.util.AsyncLogAppender;
+import com.forum.util.ConditionalGet;
+import com.forum.util.ForumLogUtil;
+import com.forum.util.JsonStreamWriter;
+import com.forum.model.Page;
+import com.forum.model.Reply;
 import com.forum.model.Topic;
 import com.forum.model.Comment;
 import com.forum.model.User;
@@ -15,6 +32,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -23,7 +42,7 @@ import java.util.logging.Logger;
  * Provides API endpoints for external integration
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.11
  * @since 2025-06-08
  */
 
@@ -35,12 +54,21 @@ public class ForumWebServiceServlet extends HttpServlet {
     /** Logger instance for web service operations */
     private static final Logger LOGGER = Logger.getLogger(ForumWebServiceServlet.class.getName());
 
+    /** Page size used when a paginated request does not specify a limit */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     /** Forum service for business logic */
     private ForumService forumService;
 
     /** User service for user operations */
     private UserService userService;
 
+    /** Hub serving the topic event streams */
+    private TopicStreamHub topicStreamHub;
+
+    /** Runs database-bound requests off the container threads */
+    private RequestExecutor requestExecutor;
+
     /**
      * Initializes the servlet and services
      */
@@ -49,15 +77,32 @@ public class ForumWebServiceServlet extends HttpServlet {
         super.init();
         forumService = new ForumService();
         userService = new UserService();
+        topicStreamHub = TopicStreamHub.getInstance();
+        requestExecutor = RequestExecutor.getInstance();
         LOGGER.info("ForumWebServiceServlet initialized successfully");
     }
 
     /**
      * Handles GET requests for API endpoints
+     * Resource lookups run on the request executor, including the topic check that opens
+     * an event stream; the API index, health and metrics stay on the container thread,
+     * so they answer even when the database is slow
      */
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        if (isDatabaseBound(request.getPathInfo())) {
+            requestExecutor.execute(request, response, this::processGet);
+        } else {
+            processGet(request, response);
+        }
+    }
+
+    /**
+     * Routes a GET request to its handler
+     */
+    private void processGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -92,6 +137,9 @@ public class ForumWebServiceServlet extends HttpServlet {
                 case "health":
                     sendHealthCheck(response);
                     break;
+                case "metrics":
+                    sendMetrics(request, response);
+                    break;
                 default:
                     sendError(response, HttpServletResponse.SC_NOT_FOUND, "Resource not found");
             }
@@ -103,11 +151,19 @@ public class ForumWebServiceServlet extends HttpServlet {
     }
 
     /**
-     * Handles POST requests for API endpoints
+     * Handles POST requests for API endpoints on the request executor
      */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        requestExecutor.execute(request, response, this::processPost);
+    }
+
+    /**
+     * Routes a POST request to its handler
+     */
+    private void processPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -155,29 +211,57 @@ public class ForumWebServiceServlet extends HttpServlet {
     private void handleTopicsGet(HttpServletRequest request, HttpServletResponse response, String[] pathParts)
             throws IOException {
 
-        if (pathParts.length == 2) {
+        if (pathParts.length == 2 && isPaginated(request)) {
+            // GET /api/topics?cursor={token}&limit={n} - Get one page of topics
+            Page<Topic> page = forumService.getTopicsPage(request.getParameter("cursor"),
+                    getPageSize(request));
+            writeJson(response, writer -> ApiJson.writePage(writer, page, ApiJson::writeTopic));
+
+        } else if (pathParts.length == 2) {
             // GET /api/topics - Get all topics
             List<Topic> topics = forumService.getAllTopics();
-            JSONArray jsonArray = new JSONArray();
-
-            for (Topic topic : topics) {
-                jsonArray.put(topicToJson(topic));
-            }
-
-            response.getWriter().write(jsonArray.toString());
+            writeJson(response, writer -> ApiJson.writeArray(writer, topics, ApiJson::writeTopic));
 
         } else if (pathParts.length == 3) {
             // GET /api/topics/{id} - Get specific topic
             try {
                 int topicId = Integer.parseInt(pathParts[2]);
-                Topic topic = forumService.getTopicWithComments(topicId);
+
+                // Revalidate against the topic row before loading the topic
+                Topic version = forumService.getTopicVersion(topicId);
+                if (version == null) {
+                    sendError(response, HttpServletResponse.SC_NOT_FOUND, "Topic not found");
+                    return;
+                }
+                long lastModified = version.getLastActivity().getTime();
+                String eTag = ConditionalGet.weakETag(topicId, lastModified, version.getCommentCount());
+                if (ConditionalGet.isNotModified(request, response, eTag, lastModified)) {
+                    return;
+                }
+
+                Topic topic = forumService.getTopic(topicId);
 
                 if (topic != null) {
-                    response.getWriter().write(topicToJson(topic).toString());
+                    writeJson(response, writer -> ApiJson.writeTopic(writer, topic));
                 } else {
                     sendError(response, HttpServletResponse.SC_NOT_FOUND, "Topic not found");
                 }
 
+            } catch (NumberFormatException e) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid topic ID");
+            }
+        } else if (pathParts.length == 4 && "stream".equals(pathParts[3])) {
+            // GET /api/topics/{id}/stream - Server-Sent Events for new comments and replies
+            try {
+                int topicId = Integer.parseInt(pathParts[2]);
+
+                if (forumService.getTopicVersion(topicId) == null) {
+                    sendError(response, HttpServletResponse.SC_NOT_FOUND, "Topic not found");
+                } else if (!topicStreamHub.subscribe(request, response, topicId)) {
+                    response.setHeader("Retry-After", requestExecutor.getRetryAfterSeconds());
+                    sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many open streams");
+                }
+
             } catch (NumberFormatException e) {
                 sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid topic ID");
             }
@@ -213,7 +297,7 @@ public class ForumWebServiceServlet extends HttpServlet {
 
             if (topic != null) {
                 response.setStatus(HttpServletResponse.SC_CREATED);
-                response.getWriter().write(topicToJson(topic).toString());
+                writeJson(response, writer -> ApiJson.writeTopic(writer, topic));
             } else {
                 sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to create topic");
             }
@@ -231,18 +315,46 @@ public class ForumWebServiceServlet extends HttpServlet {
 
         String topicIdParam = request.getParameter("topicId");
 
-        if (topicIdParam != null) {
-            // GET /api/comments?topicId={id} - Get comments for topic
+        if (pathParts.length == 4 && "replies".equals(pathParts[3])) {
+            // GET /api/comments/{id}/replies?cursor={token}&limit={n} - Get one page of replies
+            try {
+                int commentId = Integer.parseInt(pathParts[2]);
+                Page<Reply> page = forumService.getRepliesPage(commentId,
+                        request.getParameter("cursor"), getPageSize(request));
+
+                if (page == null) {
+                    sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid comment ID");
+                    return;
+                }
+
+                writeJson(response, writer -> ApiJson.writePage(writer, page, ApiJson::writeReply));
+
+            } catch (NumberFormatException e) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid comment ID");
+            }
+        } else if (topicIdParam != null && isPaginated(request)) {
+            // GET /api/comments?topicId={id}&cursor={token}&limit={n} - Get one page of comments
             try {
                 int topicId = Integer.parseInt(topicIdParam);
-                List<Comment> comments = forumService.getCommentsForTopic(topicId);
-                JSONArray jsonArray = new JSONArray();
+                Page<Comment> page = forumService.getCommentsPage(topicId,
+                        request.getParameter("cursor"), getPageSize(request));
 
-                for (Comment comment : comments) {
-                    jsonArray.put(commentToJson(comment));
+                if (page == null) {
+                    sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid topic ID");
+                    return;
                 }
 
-                response.getWriter().write(jsonArray.toString());
+                writeJson(response, writer -> ApiJson.writePage(writer, page, ApiJson::writeComment));
+
+            } catch (NumberFormatException e) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid topic ID");
+            }
+        } else if (topicIdParam != null) {
+            // GET /api/comments?topicId={id} - Get comments for topic
+            try {
+                int topicId = Integer.parseInt(topicIdParam);
+                List<Comment> comments = forumService.getCommentsForTopic(topicId);
+                writeJson(response, writer -> ApiJson.writeArray(writer, comments, ApiJson::writeComment));
 
             } catch (NumberFormatException e) {
                 sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid topic ID");
@@ -279,7 +391,7 @@ public class ForumWebServiceServlet extends HttpServlet {
 
             if (comment != null) {
                 response.setStatus(HttpServletResponse.SC_CREATED);
-                response.getWriter().write(commentToJson(comment).toString());
+                writeJson(response, writer -> ApiJson.writeComment(writer, comment));
             } else {
                 sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to create comment");
             }
@@ -298,18 +410,7 @@ public class ForumWebServiceServlet extends HttpServlet {
         if (pathParts.length == 2) {
             // GET /api/users - Get all users (limited info for security)
             List<User> users = userService.getAllUsers();
-            JSONArray jsonArray = new JSONArray();
-
-            for (User user : users) {
-                JSONObject userJson = new JSONObject();
-                userJson.put("userId", user.getUserId());
-                userJson.put("firstName", user.getFirstName());
-                userJson.put("lastName", user.getLastName());
-                userJson.put("dateRegistered", user.getDateRegistered());
-                jsonArray.put(userJson);
-            }
-
-            response.getWriter().write(jsonArray.toString());
+            writeJson(response, writer -> ApiJson.writeArray(writer, users, ApiJson::writeUser));
 
         } else if (pathParts.length == 3) {
             // GET /api/users/{id} - Get specific user
@@ -318,13 +419,7 @@ public class ForumWebServiceServlet extends HttpServlet {
                 User user = userService.getUserById(userId);
 
                 if (user != null) {
-                    JSONObject userJson = new JSONObject();
-                    userJson.put("userId", user.getUserId());
-                    userJson.put("firstName", user.getFirstName());
-                    userJson.put("lastName", user.getLastName());
-                    userJson.put("dateRegistered", user.getDateRegistered());
-
-                    response.getWriter().write(userJson.toString());
+                    writeJson(response, writer -> ApiJson.writeUser(writer, user));
                 } else {
                     sendError(response, HttpServletResponse.SC_NOT_FOUND, "User not found");
                 }
@@ -365,15 +460,8 @@ public class ForumWebServiceServlet extends HttpServlet {
             User user = userService.registerUser(email, password, firstName, lastName, phone);
 
             if (user != null) {
-                JSONObject userJson = new JSONObject();
-                userJson.put("userId", user.getUserId());
-                userJson.put("email", user.getEmail());
-                userJson.put("firstName", user.getFirstName());
-                userJson.put("lastName", user.getLastName());
-                userJson.put("dateRegistered", user.getDateRegistered());
-
                 response.setStatus(HttpServletResponse.SC_CREATED);
-                response.getWriter().write(userJson.toString());
+                writeJson(response, writer -> ApiJson.writeUser(writer, user, true));
             } else {
                 sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to create user");
             }
@@ -395,9 +483,10 @@ public class ForumWebServiceServlet extends HttpServlet {
                 .put("/api/topics")
                 .put("/api/comments")
                 .put("/api/users")
-                .put("/api/health"));
+                .put("/api/health")
+                .put("/api/metrics"));
 
-        response.getWriter().write(apiInfo.toString());
+        writeJson(response, apiInfo);
     }
 
     /**
@@ -409,7 +498,118 @@ public class ForumWebServiceServlet extends HttpServlet {
         health.put("timestamp", System.currentTimeMillis());
         health.put("service", "Forum Application API");
 
-        response.getWriter().write(health.toString());
+        ConnectionPool pool = DatabaseConfig.getInstance().getConnectionPool();
+        JSONObject database = new JSONObject();
+        database.put("activeConnections", pool.getActiveConnections());
+        database.put("idleConnections", pool.getIdleConnections());
+        database.put("totalConnections", pool.getTotalConnections());
+        database.put("maxConnections", pool.getMaxSize());
+        database.put("pendingBorrowers", pool.getPendingBorrowers());
+        database.put("borrowCount", pool.getBorrowCount());
+        database.put("averageWaitMillis", pool.getAverageWaitMillis());
+        database.put("maxWaitMillis", pool.getMaxWaitMillis());
+        database.put("timeoutCount", pool.getTimeoutCount());
+        database.put("leakCount", pool.getLeakCount());
+        database.put("evictionCount", pool.getEvictionCount());
+
+        ReplicaRouter replicaRouter = DatabaseConfig.getInstance().getReplicaRouter();
+        if (replicaRouter != null) {
+            JSONArray replicas = new JSONArray();
+            for (ReplicaRouter.Replica replica : replicaRouter.getReplicas()) {
+                ConnectionPool replicaPool = replica.getPool();
+                JSONObject replicaJson = new JSONObject();
+                replicaJson.put("name", replica.getName());
+                replicaJson.put("healthy", replica.isHealthy());
+                replicaJson.put("reads", replica.getReadCount());
+                replicaJson.put("activeConnections", replicaPool.getActiveConnections());
+                replicaJson.put("idleConnections", replicaPool.getIdleConnections());
+                replicaJson.put("timeoutCount", replicaPool.getTimeoutCount());
+                replicas.put(replicaJson);
+            }
+            database.put("replicaSelection", replicaRouter.getSelection().name());
+            database.put("replicas", replicas);
+        }
+        health.put("database", database);
+
+        List<ReadThroughCache<?, ?>> allCaches = new ArrayList<>(TopicListCache.getInstance().getCaches());
+        allCaches.add(UserCache.getInstance().getCache());
+
+        JSONArray caches = new JSONArray();
+        for (ReadThroughCache<?, ?> cache : allCaches) {
+            JSONObject cacheJson = new JSONObject();
+            cacheJson.put("name", cache.getName());
+            cacheJson.put("size", cache.size());
+            cacheJson.put("hits", cache.getHitCount());
+            cacheJson.put("misses", cache.getMissCount());
+            cacheJson.put("coalescedMisses", cache.getCoalescedCount());
+            cacheJson.put("loads", cache.getLoadCount());
+            cacheJson.put("loadFailures", cache.getLoadFailureCount());
+            cacheJson.put("averageLoadMillis", cache.getAverageLoadMillis());
+            cacheJson.put("evictions", cache.getEvictionCount());
+            caches.put(cacheJson);
+        }
+        health.put("caches", caches);
+
+        TopicActivityWriter activityWriter = TopicActivityWriter.getInstance();
+        JSONObject topicActivity = new JSONObject();
+        topicActivity.put("flushIntervalMillis", activityWriter.getFlushIntervalMillis());
+        topicActivity.put("pending", activityWriter.getPendingCount());
+        topicActivity.put("recorded", activityWriter.getRecordedCount());
+        topicActivity.put("written", activityWriter.getWrittenCount());
+        topicActivity.put("flushes", activityWriter.getFlushCount());
+        topicActivity.put("failedFlushes", activityWriter.getFailedFlushCount());
+        health.put("topicActivity", topicActivity);
+
+        CounterWriter counterWriter = CounterWriter.getInstance();
+        JSONObject counters = new JSONObject();
+        counters.put("flushIntervalMillis", counterWriter.getFlushIntervalMillis());
+        counters.put("pending", counterWriter.getPendingCount());
+        counters.put("written", counterWriter.getWrittenCount());
+        counters.put("failedFlushes", counterWriter.getFailedFlushCount());
+        health.put("counters", counters);
+
+        AsyncLogAppender appender = ForumLogUtil.getAppender();
+        JSONObject auditLog = new JSONObject();
+        auditLog.put("durability", appender.getDurability().name());
+        auditLog.put("overflowPolicy", appender.getOverflowPolicy().name());
+        auditLog.put("queued", appender.getQueuedCount());
+        auditLog.put("enqueued", appender.getEnqueuedCount());
+        auditLog.put("written", appender.getWrittenCount());
+        auditLog.put("dropped", appender.getDroppedCount());
+        auditLog.put("failed", appender.getFailedCount());
+        auditLog.put("batches", appender.getBatchCount());
+        auditLog.put("fsyncs", appender.getFsyncCount());
+        health.put("auditLog", auditLog);
+
+        SearchIndex searchIndex = SearchIndex.getInstance();
+        JSONObject search = new JSONObject();
+        search.put("ready", searchIndex.isReady());
+        search.put("buildMillis", searchIndex.getBuildMillis());
+        search.put("topics", searchIndex.getTopicCount());
+        search.put("comments", searchIndex.getCommentCount());
+        search.put("replies", searchIndex.getReplyCount());
+        health.put("search", search);
+
+        writeJson(response, health);
+    }
+
+    /**
+     * Sends latency histograms, counters and gauges
+     * Prometheus text format is returned for ?format=prometheus or a text/plain Accept header, JSON otherwise
+     */
+    private void sendMetrics(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        String format = request.getParameter("format");
+        String accept = request.getHeader("Accept");
+
+        if ("prometheus".equals(format) || (format == null && accept != null && accept.contains("text/plain"))) {
+            StringBuilder body = new StringBuilder(16 * 1024);
+            metrics.writePrometheus(body);
+            response.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+            response.getOutputStream().write(body.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            writeJson(response, metrics.toJson());
+        }
     }
 
     /**
@@ -417,51 +617,56 @@ public class ForumWebServiceServlet extends HttpServlet {
      */
     private void sendError(HttpServletResponse response, int statusCode, String message) throws IOException {
         response.setStatus(statusCode);
-        JSONObject error = new JSONObject();
-        error.put("error", true);
-        error.put("message", message);
-        error.put("statusCode", statusCode);
+        writeJson(response, writer -> ApiJson.writeError(writer, statusCode, message));
+    }
 
-        response.getWriter().write(error.toString());
+    /**
+     * Streams a JSON body to the response without building an intermediate tree or String
+     */
+    private void writeJson(HttpServletResponse response, ApiJson.Body body) throws IOException {
+        JsonStreamWriter writer = new JsonStreamWriter(response.getOutputStream());
+        body.write(writer);
+        writer.flush();
     }
 
     /**
-     * Converts Topic object to JSON
+     * Writes a small org.json document, such as the health report, as UTF-8
      */
-    private JSONObject topicToJson(Topic topic) {
-        JSONObject json = new JSONObject();
-        json.put("topicId", topic.getTopicId());
-        json.put("title", topic.getTitle());
-        json.put("description", topic.getDescription());
-        json.put("userId", topic.getUserId());
-        json.put("dateCreated", topic.getDateCreated());
-        json.put("lastActivity", topic.getLastActivity());
-        json.put("isActive", topic.isActive());
-
-        if (topic.getUser() != null) {
-            json.put("userFullName", topic.getUser().getFullName());
+    private void writeJson(HttpServletResponse response, JSONObject json) throws IOException {
+        response.getOutputStream().write(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether a GET path reads forum data from the database
+     */
+    private static boolean isDatabaseBound(String pathInfo) {
+        if (pathInfo == null) {
+            return false;
         }
+        return pathInfo.startsWith("/topics") || pathInfo.startsWith("/comments") || pathInfo.startsWith("/users");
+    }
 
-        return json;
+    /**
+     * Checks if the request asks for a cursor-paginated response
+     */
+    private boolean isPaginated(HttpServletRequest request) {
+        return request.getParameter("cursor") != null || request.getParameter("limit") != null;
     }
 
     /**
-     * Converts Comment object to JSON
+     * Gets the requested page size, falling back to the default
      */
-    private JSONObject commentToJson(Comment comment) {
-        JSONObject json = new JSONObject();
-        json.put("commentId", comment.getCommentId());
-        json.put("topicId", comment.getTopicId());
-        json.put("userId", comment.getUserId());
-        json.put("commentText", comment.getCommentText());
-        json.put("datePosted", comment.getDatePosted());
-        json.put("isActive", comment.isActive());
-
-        if (comment.getUser() != null) {
-            json.put("userFullName", comment.getUser().getFullName());
+    private int getPageSize(HttpServletRequest request) {
+        String limit = request.getParameter("limit");
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
         }
 
-        return json;
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            return DEFAULT_PAGE_SIZE;
+        }
     }
 
     /**
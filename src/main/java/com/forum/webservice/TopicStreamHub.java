@@ -0,0 +1,403 @@
+package com.forum.webservice;
+
+import com.forum.config.DatabaseConfig;
+import com.forum.metrics.MetricsRegistry;
+import com.forum.model.Comment;
+import com.forum.model.Reply;
+import com.forum.service.ForumEventListener;
+import com.forum.service.ForumEvents;
+import com.forum.servlet.RequestExecutor;
+import com.forum.util.JsonStreamWriter;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fan-out hub for the Server-Sent Events streams at /api/topics/{id}/stream
+ * New comments and replies are encoded once into an SSE frame and handed to a single
+ * dispatch thread, which offers the frame to every stream open on the topic. Streams
+ * write with non-blocking I/O, so no container thread is held per subscriber and a
+ * slow client only ever fills its own bounded buffer before it is disconnected.
+ * A heartbeat comment keeps idle connections open through proxies and finds dead ones.
+ * Events are not stored: a client that reconnects receives new posts from then on
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class TopicStreamHub implements ForumEventListener {
+
+    /** Logger instance for stream operations */
+    private static final Logger LOGGER = Logger.getLogger(TopicStreamHub.class.getName());
+
+    /** Heartbeat frame; SSE comments are ignored by EventSource */
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    /** Most frames buffered per stream before the client is disconnected */
+    private final int bufferEvents;
+
+    /** Interval between heartbeats in milliseconds */
+    private final long heartbeatMillis;
+
+    /** Time limit of one stream in milliseconds; clients reconnect when it ends */
+    private final long timeoutMillis;
+
+    /** Most streams open at once across all topics */
+    private final int maxSubscribers;
+
+    /** Frame sent first on every stream: the reconnect delay and a comment */
+    private final byte[] openingFrame;
+
+    /** Open streams by topic ID */
+    private final ConcurrentHashMap<Integer, Set<TopicStreamSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    /** Number of open streams */
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    /** Last event ID handed out */
+    private final AtomicLong lastEventId = new AtomicLong();
+
+    /** Number of events published to at least one stream */
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    /** Number of frames offered to streams */
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    /** Number of streams disconnected for falling behind */
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /** Number of stream requests refused because the hub was full */
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /** Dispatch and heartbeat thread, null unless started */
+    private volatile ScheduledExecutorService dispatcher;
+
+    /**
+     * Private constructor; reads the stream limits from application.properties
+     */
+    private TopicStreamHub() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.bufferEvents = Math.max(1, config.getIntProperty("stream.bufferEvents", 64));
+        this.heartbeatMillis = config.getLongProperty("stream.heartbeatMs", 15_000L);
+        this.timeoutMillis = config.getLongProperty("stream.timeoutMs", 1_800_000L);
+        this.maxSubscribers = config.getIntProperty("stream.maxSubscribers", 1_000);
+        this.openingFrame = ("retry: " + config.getLongProperty("stream.retryMs", 5_000L) + "\n: connected\n\n")
+                .getBytes(StandardCharsets.US_ASCII);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerGauge("forum_stream_subscribers", "Open topic event streams", subscriberCount::get);
+        metrics.registerGauge("forum_stream_events_published", "Topic events published to open streams",
+                publishedCount::get);
+        metrics.registerGauge("forum_stream_frames_delivered", "Event frames offered to open streams",
+                deliveredCount::get);
+        metrics.registerGauge("forum_stream_evictions", "Topic event streams disconnected for falling behind",
+                evictedCount::get);
+        metrics.registerGauge("forum_stream_rejections", "Topic event streams refused at the subscriber limit",
+                rejectedCount::get);
+    }
+
+    /**
+     * Gets the singleton instance of TopicStreamHub
+     *
+     * @return TopicStreamHub singleton instance
+     */
+    public static TopicStreamHub getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts the dispatch thread and subscribes to new posts
+     */
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-topic-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (heartbeatMillis > 0) {
+            executor.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        dispatcher = executor;
+        ForumEvents.getInstance().addListener(this);
+        LOGGER.info("Topic event streams started (buffer " + bufferEvents + " events, heartbeat "
+                + heartbeatMillis + " ms)");
+    }
+
+    /**
+     * Unsubscribes from new posts and ends every open stream
+     */
+    public synchronized void stop() {
+        ScheduledExecutorService executor = dispatcher;
+        if (executor == null) {
+            return;
+        }
+
+        ForumEvents.getInstance().removeListener(this);
+        dispatcher = null;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (TopicStreamSubscriber subscriber : snapshot()) {
+            subscriber.close("server shutting down");
+        }
+        LOGGER.info("Topic event streams stopped");
+    }
+
+    /**
+     * Opens an event stream on a topic for the current request
+     * The request goes into async mode and the calling thread returns to the container.
+     * A request already running on a request worker keeps its async context, which the
+     * stream takes over from the worker
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param topicId Topic ID to follow; the caller checks that it exists
+     * @return false if streams are not running or the subscriber limit is reached,
+     *         leaving the response untouched
+     * @throws IOException if the response stream cannot be opened
+     */
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, int topicId)
+            throws IOException {
+        if (dispatcher == null || !reserveSlot()) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+
+        boolean registered = false;
+        try {
+            response.setContentType("text/event-stream");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Cache-Control", "no-cache");
+            // Stops buffering reverse proxies from holding back events
+            response.setHeader("X-Accel-Buffering", "no");
+
+            boolean onWorker = request.isAsyncStarted();
+            AsyncContext asyncContext = onWorker ? request.getAsyncContext() : request.startAsync(request, response);
+            asyncContext.setTimeout(timeoutMillis);
+            TopicStreamSubscriber subscriber = new TopicStreamSubscriber(this, topicId, asyncContext, bufferEvents);
+            asyncContext.addListener(subscriber);
+
+            // Queued until the stream starts; events published meanwhile queue behind it
+            subscriber.offer(openingFrame);
+            subscribers.compute(topicId, (id, streams) -> {
+                Set<TopicStreamSubscriber> set = streams != null ? streams : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+            registered = true;
+            if (onWorker) {
+                RequestExecutor.handOver(request);
+            }
+
+            try {
+                subscriber.start();
+            } catch (RuntimeException e) {
+                subscriber.close("failed to start: " + e.getMessage());
+                throw e;
+            }
+            return true;
+        } finally {
+            if (!registered) {
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Publishes a new comment to the streams on its topic
+     *
+     * @param comment New comment, with its author set
+     */
+    @Override
+    public void commentCreated(Comment comment) {
+        publish(comment.getTopicId(), "comment", writer -> ApiJson.writeComment(writer, comment));
+    }
+
+    /**
+     * Publishes a new reply to the streams on its topic
+     *
+     * @param topicId Topic ID of the comment replied to
+     * @param reply New reply, with its author set
+     */
+    @Override
+    public void replyCreated(int topicId, Reply reply) {
+        publish(topicId, "reply", writer -> ApiJson.writeReply(writer, reply));
+    }
+
+    /**
+     * Gets the number of open streams
+     *
+     * @return open stream count
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Unregisters a stream that has closed
+     *
+     * @param subscriber Closed stream
+     */
+    void remove(TopicStreamSubscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.getTopicId(), (id, streams) -> {
+            removed[0] = streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a stream disconnected for falling behind
+     */
+    void recordEviction() {
+        evictedCount.incrementAndGet();
+    }
+
+    /**
+     * Takes a subscriber slot if one is free
+     *
+     * @return true if a slot was taken
+     */
+    private boolean reserveSlot() {
+        while (true) {
+            int count = subscriberCount.get();
+            if (maxSubscribers > 0 && count >= maxSubscribers) {
+                return false;
+            }
+            if (subscriberCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Encodes an event once and hands it to the dispatch thread
+     * Nothing is encoded for topics no one is following
+     *
+     * @param topicId Topic ID
+     * @param event Event name
+     * @param data Writes the event's JSON data
+     */
+    private void publish(int topicId, String event, ApiJson.Body data) {
+        ScheduledExecutorService executor = dispatcher;
+        if (executor == null || !subscribers.containsKey(topicId)) {
+            return;
+        }
+
+        byte[] frame;
+        try {
+            frame = encode(lastEventId.incrementAndGet(), event, data);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to encode " + event + " event for topic " + topicId, e);
+            return;
+        }
+
+        try {
+            executor.execute(() -> fanOut(topicId, frame));
+        } catch (RejectedExecutionException e) {
+            // Stopping; the streams are being closed
+        }
+    }
+
+    /**
+     * Offers a frame to every stream open on a topic
+     *
+     * @param topicId Topic ID
+     * @param frame Encoded frame
+     */
+    private void fanOut(int topicId, byte[] frame) {
+        Set<TopicStreamSubscriber> streams = subscribers.get(topicId);
+        if (streams == null) {
+            return;
+        }
+
+        publishedCount.incrementAndGet();
+        for (TopicStreamSubscriber subscriber : streams) {
+            if (subscriber.offer(frame)) {
+                deliveredCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat on every open stream
+     * Streams whose connection has gone are closed by the failed write
+     */
+    private void sendHeartbeats() {
+        try {
+            for (TopicStreamSubscriber subscriber : snapshot()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Topic stream heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Copies the open streams so they can be closed while iterating
+     *
+     * @return open streams
+     */
+    private List<TopicStreamSubscriber> snapshot() {
+        List<TopicStreamSubscriber> all = new ArrayList<>(subscriberCount.get());
+        for (Set<TopicStreamSubscriber> streams : subscribers.values()) {
+            all.addAll(streams);
+        }
+        return all;
+    }
+
+    /**
+     * Encodes an SSE frame with an ID, event name and single-line JSON data
+     *
+     * @param id Event ID
+     * @param event Event name
+     * @param data Writes the event's JSON data
+     * @return Encoded frame
+     * @throws IOException if the data cannot be encoded
+     */
+    private static byte[] encode(long id, String event, ApiJson.Body data) throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(512);
+        frame.write(("id: " + id + "\nevent: " + event + "\ndata: ").getBytes(StandardCharsets.US_ASCII));
+        JsonStreamWriter writer = new JsonStreamWriter(frame, 512);
+        data.write(writer);
+        writer.flush();
+        frame.write('\n');
+        frame.write('\n');
+        return frame.toByteArray();
+    }
+
+    /**
+     * Lazily created singleton holder
+     */
+    private static final class Holder {
+        private static final TopicStreamHub INSTANCE = new TopicStreamHub();
+    }
+}
@@ -0,0 +1,235 @@
+package com.forum.webservice;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One open event stream on a topic
+ * Frames queue in a bounded buffer and are written with non-blocking I/O: whichever
+ * thread adds a frame, or the container once the socket drains, writes as much as the
+ * connection accepts and returns. No thread waits on a slow client; a client whose
+ * buffer fills is disconnected, and its EventSource reconnects
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class TopicStreamSubscriber implements WriteListener, AsyncListener {
+
+    /** Logger instance for stream operations */
+    private static final Logger LOGGER = Logger.getLogger(TopicStreamSubscriber.class.getName());
+
+    /** Hub the stream is registered with */
+    private final TopicStreamHub hub;
+
+    /** Topic ID the stream follows */
+    private final int topicId;
+
+    /** Async context of the stream's request */
+    private final AsyncContext asyncContext;
+
+    /** Response stream, in non-blocking mode once the write listener is set */
+    private final ServletOutputStream out;
+
+    /** Most frames held for the client */
+    private final int capacity;
+
+    /** Encoded frames not yet written, guarded by this */
+    private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+
+    /** Whether the write listener is set, so the stream may be written; guarded by this */
+    private boolean started;
+
+    /** Whether frames were written since the last flush, guarded by this */
+    private boolean unflushed;
+
+    /** Whether the stream has been closed, guarded by this */
+    private boolean closed;
+
+    /**
+     * Creates a stream for a request that has been put into async mode
+     *
+     * @param hub Hub the stream is registered with
+     * @param topicId Topic ID the stream follows
+     * @param asyncContext Async context of the request
+     * @param capacity Most frames held for the client
+     * @throws IOException if the response stream cannot be opened
+     */
+    TopicStreamSubscriber(TopicStreamHub hub, int topicId, AsyncContext asyncContext, int capacity)
+            throws IOException {
+        this.hub = hub;
+        this.topicId = topicId;
+        this.asyncContext = asyncContext;
+        this.out = asyncContext.getResponse().getOutputStream();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the topic ID the stream follows
+     *
+     * @return Topic ID
+     */
+    int getTopicId() {
+        return topicId;
+    }
+
+    /**
+     * Switches the response to non-blocking mode; the container then calls
+     * {@link #onWritePossible()} to write the frames queued so far
+     */
+    synchronized void start() {
+        started = true;
+        out.setWriteListener(this);
+    }
+
+    /**
+     * Queues a frame and writes what the connection accepts
+     * A client that has fallen a full buffer behind is disconnected instead
+     *
+     * @param frame Encoded frame
+     * @return false if the stream is closed or was closed for being too slow
+     */
+    boolean offer(byte[] frame) {
+        String failure;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (pending.size() < capacity) {
+                pending.add(frame);
+                failure = drain();
+                if (failure == null) {
+                    return true;
+                }
+            } else {
+                hub.recordEviction();
+                failure = "slow consumer, " + pending.size() + " frames behind";
+            }
+        }
+        close(failure);
+        return false;
+    }
+
+    /**
+     * Called by the container when the connection can take more data
+     */
+    @Override
+    public void onWritePossible() {
+        String failure;
+        synchronized (this) {
+            failure = drain();
+        }
+        if (failure != null) {
+            close(failure);
+        }
+    }
+
+    /**
+     * Writes queued frames until the queue is empty or the connection stops accepting
+     * data, flushing once the queue is empty; the caller holds the lock
+     *
+     * @return Reason the stream must close, or null if it is healthy
+     */
+    private String drain() {
+        try {
+            while (started && !closed && out.isReady()) {
+                byte[] frame = pending.poll();
+                if (frame != null) {
+                    out.write(frame);
+                    unflushed = true;
+                } else if (unflushed) {
+                    unflushed = false;
+                    out.flush();
+                } else {
+                    break;
+                }
+            }
+            return null;
+        } catch (IOException | IllegalStateException e) {
+            return "write failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Ends the stream and unregisters it; later calls have no effect
+     * The request is completed outside the lock, as the container may call back into
+     * this stream while completing it
+     *
+     * @param reason Reason recorded in the log
+     */
+    void close(String reason) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        hub.remove(this);
+        LOGGER.fine("Closed event stream on topic " + topicId + ": " + reason);
+
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // The container has already completed or recycled the request
+            LOGGER.log(Level.FINEST, "Event stream already completed", e);
+        }
+    }
+
+    /**
+     * Called by the container when a write fails, typically after the client disconnects
+     *
+     * @param throwable Failure
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        close("connection error: " + throwable.getMessage());
+    }
+
+    /**
+     * Called when the request completes
+     *
+     * @param event Async event
+     */
+    @Override
+    public void onComplete(AsyncEvent event) {
+        close("completed");
+    }
+
+    /**
+     * Called when the stream reaches its time limit; the client reconnects
+     *
+     * @param event Async event
+     */
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close("timed out");
+    }
+
+    /**
+     * Called when the async request fails
+     *
+     * @param event Async event
+     */
+    @Override
+    public void onError(AsyncEvent event) {
+        close("async error: " + event.getThrowable());
+    }
+
+    /**
+     * Called if the request is put into async mode again, which streams never do
+     *
+     * @param event Async event
+     */
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // Streams are started once
+    }
+}
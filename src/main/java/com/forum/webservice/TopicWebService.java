@@ -2,9 +2,13 @@ package com.forum.webservice;
 
 import com.forum.service.ForumService;
 import com.forum.model.Topic;
+import com.forum.model.User;
+import com.forum.util.JsonStreamWriter;
 import org.json.JSONObject;
-import org.json.JSONArray;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -13,7 +17,7 @@ import java.util.logging.Logger;
  * Provides JSON-based API for topic management
  *
  * @author Simphiwe Radebe
- * @version 1.0
+ * @version 1.2
  * @since 2025-06-08
  */
 public class TopicWebService {
@@ -39,19 +43,14 @@ public class TopicWebService {
     public String getAllTopicsJson() {
         try {
             List<Topic> topics = forumService.getAllTopics();
-            JSONArray jsonArray = new JSONArray();
-
-            for (Topic topic : topics) {
-                jsonArray.put(topicToJson(topic));
-            }
-
-            JSONObject response = new JSONObject();
-            response.put("success", true);
-            response.put("data", jsonArray);
-            response.put("total", topics.size());
+            String response = render(writer -> {
+                writer.beginObject().field(ApiJson.SUCCESS, true).name(ApiJson.DATA);
+                ApiJson.writeArray(writer, topics, this::writeTopic);
+                writer.field(ApiJson.TOTAL, topics.size()).endObject();
+            });
 
             LOGGER.info("Retrieved " + topics.size() + " topics via web service");
-            return response.toString();
+            return response;
 
         } catch (Exception e) {
             LOGGER.severe("Error getting all topics: " + e.getMessage());
@@ -67,15 +66,17 @@ public class TopicWebService {
      */
     public String getTopicByIdJson(int topicId) {
         try {
-            Topic topic = forumService.getTopicWithComments(topicId);
+            Topic topic = forumService.getTopic(topicId);
 
             if (topic != null) {
-                JSONObject response = new JSONObject();
-                response.put("success", true);
-                response.put("data", topicToJson(topic));
+                String response = render(writer -> {
+                    writer.beginObject().field(ApiJson.SUCCESS, true).name(ApiJson.DATA);
+                    writeTopic(writer, topic);
+                    writer.endObject();
+                });
 
                 LOGGER.info("Retrieved topic " + topicId + " via web service");
-                return response.toString();
+                return response;
             } else {
                 return createErrorResponse("Topic not found");
             }
@@ -110,13 +111,17 @@ public class TopicWebService {
             Topic topic = forumService.createTopic(title, description, userId);
 
             if (topic != null) {
-                JSONObject response = new JSONObject();
-                response.put("success", true);
-                response.put("message", "Topic created successfully");
-                response.put("data", topicToJson(topic));
+                String response = render(writer -> {
+                    writer.beginObject()
+                            .field(ApiJson.SUCCESS, true)
+                            .field(ApiJson.MESSAGE, "Topic created successfully")
+                            .name(ApiJson.DATA);
+                    writeTopic(writer, topic);
+                    writer.endObject();
+                });
 
                 LOGGER.info("Created topic via web service: " + topic.getTopicId());
-                return response.toString();
+                return response;
             } else {
                 return createErrorResponse("Failed to create topic");
             }
@@ -177,20 +182,16 @@ public class TopicWebService {
     public String searchTopicsJson(String searchTerm) {
         try {
             List<Topic> topics = forumService.searchTopics(searchTerm);
-            JSONArray jsonArray = new JSONArray();
-
-            for (Topic topic : topics) {
-                jsonArray.put(topicToJson(topic));
-            }
-
-            JSONObject response = new JSONObject();
-            response.put("success", true);
-            response.put("data", jsonArray);
-            response.put("total", topics.size());
-            response.put("searchTerm", searchTerm);
+            String response = render(writer -> {
+                writer.beginObject().field(ApiJson.SUCCESS, true).name(ApiJson.DATA);
+                ApiJson.writeArray(writer, topics, this::writeTopic);
+                writer.field(ApiJson.TOTAL, topics.size())
+                        .field(ApiJson.SEARCH_TERM, searchTerm)
+                        .endObject();
+            });
 
             LOGGER.info("Search returned " + topics.size() + " topics for term: " + searchTerm);
-            return response.toString();
+            return response;
 
         } catch (Exception e) {
             LOGGER.severe("Error searching topics: " + e.getMessage());
@@ -207,20 +208,16 @@ public class TopicWebService {
     public String getTopicsByUserJson(int userId) {
         try {
             List<Topic> topics = forumService.getTopicsByUser(userId);
-            JSONArray jsonArray = new JSONArray();
-
-            for (Topic topic : topics) {
-                jsonArray.put(topicToJson(topic));
-            }
-
-            JSONObject response = new JSONObject();
-            response.put("success", true);
-            response.put("data", jsonArray);
-            response.put("total", topics.size());
-            response.put("userId", userId);
+            String response = render(writer -> {
+                writer.beginObject().field(ApiJson.SUCCESS, true).name(ApiJson.DATA);
+                ApiJson.writeArray(writer, topics, this::writeTopic);
+                writer.field(ApiJson.TOTAL, topics.size())
+                        .field(ApiJson.USER_ID, userId)
+                        .endObject();
+            });
 
             LOGGER.info("Retrieved " + topics.size() + " topics for user: " + userId);
-            return response.toString();
+            return response;
 
         } catch (Exception e) {
             LOGGER.severe("Error getting topics for user " + userId + ": " + e.getMessage());
@@ -260,34 +257,50 @@ public class TopicWebService {
     }
 
     /**
-     * Converts Topic object to JSON
+     * Writes a Topic object as JSON, including its comment count and author
      *
-     * @param topic Topic object to convert
-     * @return JSONObject representation of the topic
+     * @param writer Destination writer
+     * @param topic Topic object to write
+     * @throws IOException if the output cannot be written
      */
-    private JSONObject topicToJson(Topic topic) {
-        JSONObject json = new JSONObject();
-
-        json.put("topicId", topic.getTopicId());
-        json.put("title", topic.getTitle());
-        json.put("description", topic.getDescription());
-        json.put("userId", topic.getUserId());
-        json.put("dateCreated", topic.getDateCreated() != null ? topic.getDateCreated().toString() : null);
-        json.put("lastActivity", topic.getLastActivity() != null ? topic.getLastActivity().toString() : null);
-        json.put("isActive", topic.isActive());
-        json.put("commentCount", topic.getCommentCount());
+    private void writeTopic(JsonStreamWriter writer, Topic topic) throws IOException {
+        writer.beginObject()
+                .field(ApiJson.TOPIC_ID, topic.getTopicId())
+                .field(ApiJson.TITLE, topic.getTitle())
+                .field(ApiJson.DESCRIPTION, topic.getDescription())
+                .field(ApiJson.USER_ID, topic.getUserId())
+                .field(ApiJson.DATE_CREATED, topic.getDateCreated())
+                .field(ApiJson.LAST_ACTIVITY, topic.getLastActivity())
+                .field(ApiJson.IS_ACTIVE, topic.isActive())
+                .field(ApiJson.COMMENT_COUNT, topic.getCommentCount());
 
         // Add user information if available
-        if (topic.getUser() != null) {
-            JSONObject userJson = new JSONObject();
-            userJson.put("userId", topic.getUser().getUserId());
-            userJson.put("fullName", topic.getUser().getFullName());
-            userJson.put("firstName", topic.getUser().getFirstName());
-            userJson.put("lastName", topic.getUser().getLastName());
-            json.put("user", userJson);
+        User user = topic.getUser();
+        if (user != null) {
+            writer.name(ApiJson.USER).beginObject()
+                    .field(ApiJson.USER_ID, user.getUserId())
+                    .field(ApiJson.FULL_NAME, user.getFullName())
+                    .field(ApiJson.FIRST_NAME, user.getFirstName())
+                    .field(ApiJson.LAST_NAME, user.getLastName())
+                    .endObject();
         }
 
-        return json;
+        writer.endObject();
+    }
+
+    /**
+     * Renders a streamed JSON document into a response string
+     *
+     * @param body Writes the document
+     * @return JSON string
+     * @throws IOException if the document cannot be written
+     */
+    private String render(ApiJson.Body body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        JsonStreamWriter writer = new JsonStreamWriter(out);
+        body.write(writer);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
     }
 
     /**
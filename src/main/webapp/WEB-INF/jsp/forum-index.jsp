@@ -116,86 +116,27 @@
         <div class="space-y-6">
             <c:choose>
                 <c:when test="${not empty topics}">
-                    <c:forEach var="topic" items="${topics}">
-                        <div class="bg-white rounded-2xl shadow-lg border border-gray-100 p-6 card-hover animate-fade-in">
-                            <div class="flex items-start space-x-4">
-                                <!-- Author Avatar -->
-                                <div class="flex-shrink-0">
-                                    <div class="w-12 h-12 rounded-full avatar flex items-center justify-center text-white font-semibold">
-                                        ${fn:substring(topic.user.firstName, 0, 1)}${fn:substring(topic.user.lastName, 0, 1)}
-                                    </div>
-                                </div>
-
-                                <!-- Topic Content -->
-                                <div class="flex-1 min-w-0">
-                                    <div class="flex items-start justify-between">
-                                        <div class="flex-1">
-                                            <h3 class="text-xl font-semibold text-gray-900 mb-2">
-                                                <a href="${pageContext.request.contextPath}/forum/topic/${topic.topicId}"
-                                                   class="hover:text-primary-600 transition-colors duration-200">
-                                                    ${topic.title}
-                                                </a>
-                                            </h3>
-                                            <p class="text-gray-600 mb-4 line-clamp-3">
-                                                ${fn:length(topic.description) > 200 ? fn:substring(topic.description, 0, 200).concat('...') : topic.description}
-                                            </p>
-                                            <div class="flex items-center space-x-6 text-sm text-gray-500">
-                                                <div class="flex items-center">
-                                                    <i class="fas fa-user mr-2"></i>
-                                                    <span class="font-medium text-gray-700">${topic.user.fullName}</span>
-                                                </div>
-                                                <div class="flex items-center">
-                                                    <i class="fas fa-calendar mr-2"></i>
-                                                    <fmt:formatDate value="${topic.dateCreated}" pattern="MMM dd, yyyy"/>
-                                                </div>
-                                                <c:if test="${topic.lastActivity != topic.dateCreated}">
-                                                    <div class="flex items-center">
-                                                        <i class="fas fa-clock mr-2"></i>
-                                                        <span>Last activity: <fmt:formatDate value="${topic.lastActivity}" pattern="MMM dd, yyyy"/></span>
-                                                    </div>
-                                                </c:if>
-                                            </div>
-                                        </div>
-
-                                        <!-- Topic Stats -->
-                                        <div class="flex flex-col items-end space-y-3">
-                                            <div class="bg-gradient-to-r from-primary-500 to-secondary-500 text-white px-4 py-2 rounded-full text-sm font-medium">
-                                                <i class="fas fa-comments mr-2"></i>
-                                                ${topic.commentCount} ${topic.commentCount == 1 ? 'comment' : 'comments'}
-                                            </div>
-                                            <a href="${pageContext.request.contextPath}/forum/topic/${topic.topicId}"
-                                               class="bg-gray-100 hover:bg-gray-200 text-gray-700 px-4 py-2 rounded-full text-sm font-medium transition-colors duration-200">
-                                                <i class="fas fa-eye mr-2"></i>View Topic
-                                            </a>
-                                        </div>
-                                    </div>
-                                </div>
-                            </div>
-                        </div>
+                    <c:forEach var="topicRow" items="${topicRows}">
+                        ${topicRow}
                     </c:forEach>
 
                     <!-- Pagination -->
-                    <c:if test="${totalPages > 1}">
+                    <c:if test="${not empty prevCursor or not empty nextCursor}">
                         <div class="flex justify-center mt-8">
                             <nav class="flex items-center space-x-2">
-                                <c:if test="${currentPage > 1}">
-                                    <a href="?page=${currentPage - 1}&sort=${param.sort}"
+                                <c:if test="${not empty prevCursor}">
+                                    <c:url var="prevUrl" value="/forum"><c:param name="cursor" value="${prevCursor}"/></c:url>
+                                    <a href="${prevUrl}"
                                        class="px-3 py-2 text-sm font-medium text-gray-500 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 hover:text-gray-700 transition-colors duration-200">
-                                        <i class="fas fa-chevron-left mr-1"></i>Previous
+                                        <i class="fas fa-chevron-left mr-1"></i>Newer
                                     </a>
                                 </c:if>
 
-                                <c:forEach begin="1" end="${totalPages}" var="page">
-                                    <a href="?page=${page}&sort=${param.sort}"
-                                       class="px-3 py-2 text-sm font-medium transition-colors duration-200 ${page == currentPage ? 'bg-primary-500 text-white border-primary-500' : 'text-gray-500 bg-white border-gray-300 hover:bg-gray-50 hover:text-gray-700'} border rounded-lg">
-                                        ${page}
-                                    </a>
-                                </c:forEach>
-
-                                <c:if test="${currentPage < totalPages}">
-                                    <a href="?page=${currentPage + 1}&sort=${param.sort}"
+                                <c:if test="${not empty nextCursor}">
+                                    <c:url var="nextUrl" value="/forum"><c:param name="cursor" value="${nextCursor}"/></c:url>
+                                    <a href="${nextUrl}"
                                        class="px-3 py-2 text-sm font-medium text-gray-500 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 hover:text-gray-700 transition-colors duration-200">
-                                        Next<i class="fas fa-chevron-right ml-1"></i>
+                                        Older<i class="fas fa-chevron-right ml-1"></i>
                                     </a>
                                 </c:if>
                             </nav>
@@ -442,4 +383,4 @@
         }
     </style>
 </body>
-</html>
\ No newline at end of file
+</html>
@@ -0,0 +1,97 @@
+<%@ include file="../includes/taglibs.jsp" %>
+<%@ page session="false" trimDirectiveWhitespaces="true" %>
+<%-- One comment with its replies; cached per comment and viewer kind, so it reads canReply and canEdit rather than the session --%>
+<div class="p-6" id="comment-${comment.commentId}">
+    <div class="flex items-start space-x-4">
+        <div class="flex-shrink-0">
+            <div class="w-10 h-10 bg-gradient-to-r from-blue-500 to-purple-500 rounded-full flex items-center justify-center">
+                <span class="text-white text-sm font-bold">
+                    ${comment.user.firstName.substring(0,1).toUpperCase()}
+                </span>
+            </div>
+        </div>
+
+        <div class="flex-1">
+            <div class="flex items-center space-x-2 mb-2">
+                <span class="font-medium text-gray-900">${comment.user.firstName}</span>
+                <span class="text-gray-500 text-sm">
+                    <fmt:formatDate value="${comment.datePosted}" pattern="MMM dd, yyyy 'at' HH:mm"/>
+                </span>
+            </div>
+
+            <div class="prose prose-sm prose-gray max-w-none">
+                <p class="text-gray-700">${comment.commentText}</p>
+            </div>
+
+            <div class="mt-4 flex items-center space-x-4">
+                <c:if test="${canReply}">
+                    <button onclick="toggleReplyForm(${comment.commentId})"
+                            class="text-primary-600 hover:text-primary-700 text-sm font-medium transition-colors duration-200">
+                        <i class="fas fa-reply mr-1"></i>Reply
+                    </button>
+                </c:if>
+                <c:if test="${canEdit}">
+                    <button onclick="editComment(${comment.commentId})"
+                            class="text-gray-600 hover:text-gray-700 text-sm font-medium transition-colors duration-200">
+                        <i class="fas fa-edit mr-1"></i>Edit
+                    </button>
+                </c:if>
+            </div>
+
+            <!-- Reply Form -->
+            <div id="reply-form-${comment.commentId}" class="hidden mt-4">
+                <form action="${pageContext.request.contextPath}/forum/add-reply" method="post" class="space-y-4">
+                    <input type="hidden" name="commentId" value="${comment.commentId}">
+                    <input type="hidden" name="topicId" value="${comment.topicId}">
+
+                    <textarea name="replyText"
+                              placeholder="Write your reply..."
+                              rows="3"
+                              required
+                              class="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-primary-500 focus:border-primary-500 transition-colors duration-200 resize-none"></textarea>
+
+                    <div class="flex items-center space-x-3">
+                        <button type="submit"
+                                class="bg-primary-500 text-white px-4 py-2 rounded-lg text-sm font-medium hover:bg-primary-600 transition-colors duration-200">
+                            <i class="fas fa-reply mr-1"></i>Post Reply
+                        </button>
+                        <button type="button"
+                                onclick="toggleReplyForm(${comment.commentId})"
+                                class="bg-gray-100 text-gray-700 px-4 py-2 rounded-lg text-sm font-medium hover:bg-gray-200 transition-colors duration-200">
+                            Cancel
+                        </button>
+                    </div>
+                </form>
+            </div>
+
+            <!-- Replies -->
+            <c:if test="${not empty comment.replies}">
+                <div class="mt-6 space-y-4">
+                    <c:forEach var="reply" items="${comment.replies}">
+                        <div class="bg-gray-50 rounded-lg p-4 border-l-4 border-primary-300">
+                            <div class="flex items-start space-x-3">
+                                <div class="flex-shrink-0">
+                                    <div class="w-8 h-8 bg-gradient-to-r from-green-500 to-teal-500 rounded-full flex items-center justify-center">
+                                        <span class="text-white text-xs font-bold">
+                                            ${reply.user.firstName.substring(0,1).toUpperCase()}
+                                        </span>
+                                    </div>
+                                </div>
+
+                                <div class="flex-1">
+                                    <div class="flex items-center space-x-2 mb-1">
+                                        <span class="font-medium text-gray-900 text-sm">${reply.user.firstName}</span>
+                                        <span class="text-gray-500 text-xs">
+                                            <fmt:formatDate value="${reply.datePosted}" pattern="MMM dd 'at' HH:mm"/>
+                                        </span>
+                                    </div>
+                                    <p class="text-gray-700 text-sm">${reply.replyText}</p>
+                                </div>
+                            </div>
+                        </div>
+                    </c:forEach>
+                </div>
+            </c:if>
+        </div>
+    </div>
+</div>
@@ -0,0 +1,58 @@
+<%@ include file="../includes/taglibs.jsp" %>
+<%@ page session="false" trimDirectiveWhitespaces="true" %>
+<%-- One topic's row in the forum index --%>
+<div class="bg-white rounded-2xl shadow-lg border border-gray-100 p-6 card-hover animate-fade-in">
+    <div class="flex items-start space-x-4">
+        <!-- Author Avatar -->
+        <div class="flex-shrink-0">
+            <div class="w-12 h-12 rounded-full avatar flex items-center justify-center text-white font-semibold">
+                ${fn:substring(topic.user.firstName, 0, 1)}${fn:substring(topic.user.lastName, 0, 1)}
+            </div>
+        </div>
+
+        <!-- Topic Content -->
+        <div class="flex-1 min-w-0">
+            <div class="flex items-start justify-between">
+                <div class="flex-1">
+                    <h3 class="text-xl font-semibold text-gray-900 mb-2">
+                        <a href="${pageContext.request.contextPath}/forum/topic/${topic.topicId}"
+                           class="hover:text-primary-600 transition-colors duration-200">
+                            ${topic.title}
+                        </a>
+                    </h3>
+                    <p class="text-gray-600 mb-4 line-clamp-3">
+                        ${fn:length(topic.description) > 200 ? fn:substring(topic.description, 0, 200).concat('...') : topic.description}
+                    </p>
+                    <div class="flex items-center space-x-6 text-sm text-gray-500">
+                        <div class="flex items-center">
+                            <i class="fas fa-user mr-2"></i>
+                            <span class="font-medium text-gray-700">${topic.user.fullName}</span>
+                        </div>
+                        <div class="flex items-center">
+                            <i class="fas fa-calendar mr-2"></i>
+                            <fmt:formatDate value="${topic.dateCreated}" pattern="MMM dd, yyyy"/>
+                        </div>
+                        <c:if test="${topic.lastActivity != topic.dateCreated}">
+                            <div class="flex items-center">
+                                <i class="fas fa-clock mr-2"></i>
+                                <span>Last activity: <fmt:formatDate value="${topic.lastActivity}" pattern="MMM dd, yyyy"/></span>
+                            </div>
+                        </c:if>
+                    </div>
+                </div>
+
+                <!-- Topic Stats -->
+                <div class="flex flex-col items-end space-y-3">
+                    <div class="bg-gradient-to-r from-primary-500 to-secondary-500 text-white px-4 py-2 rounded-full text-sm font-medium">
+                        <i class="fas fa-comments mr-2"></i>
+                        ${topic.commentCount} ${topic.commentCount == 1 ? 'comment' : 'comments'}
+                    </div>
+                    <a href="${pageContext.request.contextPath}/forum/topic/${topic.topicId}"
+                       class="bg-gray-100 hover:bg-gray-200 text-gray-700 px-4 py-2 rounded-full text-sm font-medium transition-colors duration-200">
+                        <i class="fas fa-eye mr-2"></i>View Topic
+                    </a>
+                </div>
+            </div>
+        </div>
+    </div>
+</div>
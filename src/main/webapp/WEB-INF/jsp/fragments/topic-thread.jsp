@@ -0,0 +1,50 @@
+<%@ include file="../includes/taglibs.jsp" %>
+<%@ page session="false" trimDirectiveWhitespaces="true" %>
+<%-- One page of a topic's comments with its pagination; the comments arrive already rendered in commentFragments --%>
+<c:choose>
+    <c:when test="${not empty commentFragments}">
+        <div class="divide-y divide-gray-100">
+            <c:forEach var="commentHtml" items="${commentFragments}">
+                ${commentHtml}
+            </c:forEach>
+        </div>
+
+        <!-- Pagination -->
+        <c:if test="${not empty prevCursor or not empty nextCursor}">
+            <div class="flex justify-center p-6 border-t border-gray-100">
+                <nav class="flex items-center space-x-2">
+                    <c:if test="${not empty prevCursor}">
+                        <c:url var="prevUrl" value="/forum/topic/${topic.topicId}"><c:param name="cursor" value="${prevCursor}"/></c:url>
+                        <a href="${prevUrl}"
+                           class="px-3 py-2 text-sm font-medium text-gray-500 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 hover:text-gray-700 transition-colors duration-200">
+                            <i class="fas fa-chevron-left mr-1"></i>Earlier comments
+                        </a>
+                    </c:if>
+
+                    <c:if test="${not empty nextCursor}">
+                        <c:url var="nextUrl" value="/forum/topic/${topic.topicId}"><c:param name="cursor" value="${nextCursor}"/></c:url>
+                        <a href="${nextUrl}"
+                           class="px-3 py-2 text-sm font-medium text-gray-500 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 hover:text-gray-700 transition-colors duration-200">
+                            Later comments<i class="fas fa-chevron-right ml-1"></i>
+                        </a>
+                    </c:if>
+                </nav>
+            </div>
+        </c:if>
+    </c:when>
+    <c:otherwise>
+        <div class="p-12 text-center">
+            <div class="w-16 h-16 bg-gray-100 rounded-full flex items-center justify-center mx-auto mb-4">
+                <i class="fas fa-comments text-gray-400 text-2xl"></i>
+            </div>
+            <h3 class="text-lg font-medium text-gray-900 mb-2">No comments yet</h3>
+            <p class="text-gray-600 mb-6">Be the first to start the discussion!</p>
+            <c:if test="${canComment}">
+                <button onclick="scrollToCommentForm()"
+                        class="bg-primary-500 text-white px-6 py-3 rounded-lg font-medium hover:bg-primary-600 transition-colors duration-200">
+                    <i class="fas fa-comment mr-2"></i>Add First Comment
+                </button>
+            </c:if>
+        </div>
+    </c:otherwise>
+</c:choose>
@@ -0,0 +1,55 @@
+package com.forum.dao;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the failures UnitOfWork retries
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UnitOfWorkTest {
+
+    /**
+     * Serialization failures, deadlocks and lock wait timeouts are retried
+     */
+    @Test
+    public void transientFailuresAreRetried() {
+        assertTrue(UnitOfWork.isTransient(new SQLTransactionRollbackException("rolled back", "40001")));
+        assertTrue(UnitOfWork.isTransient(new SQLException("Deadlock found", "40001", 1213)));
+        assertTrue(UnitOfWork.isTransient(new SQLException("Deadlock found", "HY000", 1213)));
+        assertTrue(UnitOfWork.isTransient(new SQLException("Lock wait timeout exceeded", "HY000", 1205)));
+    }
+
+    /**
+     * Failures that would fail again are not retried
+     */
+    @Test
+    public void permanentFailuresAreNotRetried() {
+        assertFalse(UnitOfWork.isTransient(new SQLIntegrityConstraintViolationException("Duplicate", "23000", 1062)));
+        assertFalse(UnitOfWork.isTransient(new SQLException("Syntax error", "42000", 1064)));
+        assertFalse(UnitOfWork.isTransient(new SQLException("Connection refused", "08001")));
+        assertFalse(UnitOfWork.isTransient(new SQLException("no state")));
+    }
+
+    /**
+     * A deadlock wrapped by the driver, as a cause or a chained exception, is still retried
+     */
+    @Test
+    public void wrappedDeadlocksAreRetried() {
+        SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+        assertTrue(UnitOfWork.isTransient(new SQLException("Batch failed", "HY000", 0, deadlock)));
+
+        SQLException batch = new SQLException("Batch failed", "HY000");
+        batch.setNextException(new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+        assertTrue(UnitOfWork.isTransient(batch));
+    }
+}
@@ -0,0 +1,79 @@
+package com.forum.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for LatencyHistogram bucket bounds and percentiles
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Values below the linear limit each get their own bucket
+     */
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, LatencyHistogram.bucketIndex(value));
+            assertEquals(value, LatencyHistogram.bucketUpperBound((int) value));
+        }
+    }
+
+    /**
+     * Buckets are contiguous: each upper bound falls in its own bucket and the next value in the next one
+     */
+    @Test
+    public void bucketsAreContiguous() {
+        int last = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(last));
+
+        for (int index = 0; index < last; index++) {
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertEquals("upper bound of bucket " + index, index, LatencyHistogram.bucketIndex(upper));
+            assertEquals("value after bucket " + index, index + 1, LatencyHistogram.bucketIndex(upper + 1));
+        }
+    }
+
+    /**
+     * A bucket's upper bound overstates any value in it by less than 1/32 of the value
+     */
+    @Test
+    public void relativeErrorIsBounded() {
+        long[] values = {64, 65, 100, 1_000, 999_999, 1_000_000, 123_456_789, 5_000_000_000L,
+                Long.MAX_VALUE / 3, Long.MAX_VALUE - 1};
+        for (long value : values) {
+            long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertTrue("bound below value " + value, upper >= value);
+            assertTrue("bound too far above value " + value, upper - value < value / 32 + 1);
+        }
+    }
+
+    /**
+     * Percentiles report bucket upper bounds, capped at the largest value recorded
+     */
+    @Test
+    public void percentilesUseBucketBoundsCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value * 1_000);
+        }
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(101, snapshot.getCount());
+        assertEquals(5_050_000, snapshot.getSum());
+        assertEquals(100_000, snapshot.getMax());
+        assertEquals(0, snapshot.getPercentile(0.5));
+
+        long p50 = snapshot.getPercentile(50);
+        assertTrue("p50 " + p50, p50 >= 50_000 && p50 < 50_000 + 50_000 / 32 + 1);
+        assertEquals(100_000, snapshot.getPercentile(100));
+        assertEquals(0, new LatencyHistogram().snapshot().getPercentile(99));
+    }
+}
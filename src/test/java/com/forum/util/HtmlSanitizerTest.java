@@ -0,0 +1,236 @@
+package com.forum.util;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for HtmlSanitizer, including a differential check against the legacy regular expressions
+ * For every input in src/test/resources/sanitizer-corpus.txt, plus a fixed set of generated
+ * inputs, the output must either equal the legacy output or be stricter: a subsequence of it
+ * that contains no markup, script scheme or event handler
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HtmlSanitizerTest {
+
+    /** Corpus resource; one input per line, \n, \r, \t and \\ unescaped, # starts a comment */
+    private static final String CORPUS = "/sanitizer-corpus.txt";
+
+    /** Number of generated inputs */
+    private static final int GENERATED_CASES = 200_000;
+
+    /** Fragments generated inputs are assembled from */
+    private static final String[] FRAGMENTS = {"<", ">", "</", "script", "SCRIPT", "<script>", "</script>",
+            "<b>", "</b>", "<img src=x ", "javascript", "JavaScript", "vbscript", ":", "java", "script:",
+            "on", "load", "error", "click", "onmouseover", "=", "\n", "\r", "\u2028", "\t", " ", "a", "text",
+            "é", "&lt;"};
+
+    /** Markup left in the output */
+    private static final Pattern MARKUP = Pattern.compile("<[a-zA-Z/!?]");
+
+    /** Script schemes left in the output, allowing the characters browsers skip in URLs */
+    private static final Pattern SCHEME = Pattern.compile(
+            "(?i)(j[\\t\\n\\r]*a[\\t\\n\\r]*v[\\t\\n\\r]*a|v[\\t\\n\\r]*b)[\\t\\n\\r]*s[\\t\\n\\r]*c[\\t\\n\\r]*r" +
+            "[\\t\\n\\r]*i[\\t\\n\\r]*p[\\t\\n\\r]*t[\\t\\n\\r ]*:");
+
+    /** Event handlers left in the output */
+    private static final Pattern HANDLER = Pattern.compile("(?i)onload|onerror|onclick|\\bon[a-z]{3,}\\s*=");
+
+    /**
+     * Null input stays null
+     */
+    @Test
+    public void nullInputReturnsNull() {
+        assertNull(HtmlSanitizer.sanitize(null));
+    }
+
+    /**
+     * Text that needs no change comes back as the same instance
+     */
+    @Test
+    public void cleanInputIsReturnedUnchanged() {
+        String input = "Is 3 < 5? Email someone@example.com";
+        assertSame(input, HtmlSanitizer.sanitize(input));
+    }
+
+    /**
+     * Tags and whole script elements are removed and the result is trimmed
+     */
+    @Test
+    public void removesMarkupAndScriptElements() {
+        assertEquals("bold text", HtmlSanitizer.sanitize("<b>bold</b> text"));
+        assertEquals("hi", HtmlSanitizer.sanitize("<script>alert(1)</script>hi"));
+        assertEquals("", HtmlSanitizer.sanitize("<img src=x onerror=alert(1)>"));
+        assertEquals("padded", HtmlSanitizer.sanitize("  padded  "));
+    }
+
+    /**
+     * Schemes match in any case and when split by tabs or line breaks
+     */
+    @Test
+    public void removesScriptSchemes() {
+        assertEquals("alert(1)", HtmlSanitizer.sanitize("JavaScript:alert(1)"));
+        assertEquals("alert(1)", HtmlSanitizer.sanitize("java\tscript:alert(1)"));
+        assertEquals("x", HtmlSanitizer.sanitize("VBScript:x"));
+    }
+
+    /**
+     * Any on*= handler name is removed, while ordinary words starting with "on" are kept
+     */
+    @Test
+    public void removesEventHandlers() {
+        assertEquals("say =alert(1)", HtmlSanitizer.sanitize("say onmouseover=alert(1)"));
+        assertEquals("=x", HtmlSanitizer.sanitize("onLoad=x"));
+        assertEquals("online now", HtmlSanitizer.sanitize("online now"));
+    }
+
+    /**
+     * Removing a fragment cannot join the remaining text into new markup or a new scheme
+     */
+    @Test
+    public void removalsDoNotReassembleUnsafeText() {
+        assertEquals("alert(1)", HtmlSanitizer.sanitize("<scr<script>x</script>ipt>alert(1)</script>"));
+        assertEquals("alert(1)", HtmlSanitizer.sanitize("jajavascript:vascript:alert(1)"));
+        assertEquals("", HtmlSanitizer.sanitize("onclickonclick"));
+    }
+
+    /**
+     * Every corpus and generated input gives the legacy output or a stricter, safe subsequence of it
+     *
+     * @throws IOException if the corpus cannot be read
+     */
+    @Test
+    public void outputIsEqualToOrStricterThanLegacy() throws IOException {
+        List<String> inputs = readCorpus();
+        assertTrue("corpus is empty", !inputs.isEmpty());
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < GENERATED_CASES; i++) {
+            StringBuilder input = new StringBuilder();
+            int parts = 1 + random.nextInt(12);
+            for (int p = 0; p < parts; p++) {
+                input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            inputs.add(input.toString());
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (String input : inputs) {
+            String legacy = LegacySanitizer.sanitize(input);
+            String current = HtmlSanitizer.sanitize(input);
+
+            String problem = null;
+            if (current.equals(input) && current != input) {
+                problem = "unchanged input returned as a copy";
+            } else if (!HtmlSanitizer.sanitize(current).equals(current)) {
+                problem = "output changes when sanitized again";
+            } else if (!current.equals(legacy) && !isSubsequence(current, legacy)) {
+                problem = "output keeps text the legacy sanitizer removed";
+            } else if (!current.equals(legacy) && !isSafe(current)) {
+                problem = "output differs from legacy but still contains unsafe text";
+            }
+
+            if (problem != null && violations.size() < 20) {
+                violations.add(problem + "\n    input:   " + escape(input) +
+                        "\n    legacy:  " + escape(legacy) + "\n    current: " + escape(current));
+            }
+        }
+
+        assertTrue(String.join("\n", violations), violations.isEmpty());
+    }
+
+    /**
+     * Reads the corpus inputs
+     *
+     * @return Inputs in file order
+     * @throws IOException if the corpus cannot be read
+     */
+    private static List<String> readCorpus() throws IOException {
+        List<String> inputs = new ArrayList<>();
+        try (InputStream stream = HtmlSanitizerTest.class.getResourceAsStream(CORPUS)) {
+            assertNotNull("missing " + CORPUS, stream);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("#") && !line.isEmpty()) {
+                    inputs.add(unescape(line));
+                }
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Whether every character of a string appears in another in the same order
+     *
+     * @param candidate Possible subsequence
+     * @param text Text to look in
+     * @return true if candidate can be obtained from text by deleting characters
+     */
+    private static boolean isSubsequence(String candidate, String text) {
+        int j = 0;
+        for (int i = 0; i < text.length() && j < candidate.length(); i++) {
+            if (text.charAt(i) == candidate.charAt(j)) {
+                j++;
+            }
+        }
+        return j == candidate.length();
+    }
+
+    /**
+     * Whether text is free of markup, script schemes and event handlers
+     *
+     * @param text Text to check
+     * @return true if nothing unsafe is found
+     */
+    private static boolean isSafe(String text) {
+        return !MARKUP.matcher(text).find() && !SCHEME.matcher(text).find() && !HANDLER.matcher(text).find();
+    }
+
+    /**
+     * Decodes the escapes used in the corpus file
+     *
+     * @param line Corpus line
+     * @return Input text
+     */
+    private static String unescape(String line) {
+        StringBuilder text = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                text.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next == 't' ? '\t' : next);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Encodes control characters for failure messages
+     *
+     * @param text Text
+     * @return Printable text
+     */
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+    }
+}
@@ -0,0 +1,145 @@
+package com.forum.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for JsonStreamWriter, checking its string escaping against org.json
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class JsonStreamWriterTest {
+
+    /** Strings covering every escape rule org.json applies */
+    private static final String[] SAMPLES = {"", "plain", "quote \" and backslash \\", "</script>", "a/b", "<//",
+            "\b\t\n\f\r", "\u0000\u0001\u001f", "\u007f\u0080\u009f\u00a0", "\u2028\u2029\u20ac\u2100",
+            "café naïve 日本語", "emoji \ud83d\ude42 pair"};
+
+    /**
+     * Fixed samples are quoted exactly as JSONObject.quote does
+     *
+     * @throws IOException never for an in-memory stream
+     */
+    @Test
+    public void escapesLikeOrgJson() throws IOException {
+        for (String sample : SAMPLES) {
+            assertEquals(JSONObject.quote(sample), writeValue(sample, 8 * 1024));
+        }
+    }
+
+    /**
+     * Random text, written through a buffer small enough to drain mid-string, matches org.json
+     *
+     * @throws IOException never for an in-memory stream
+     */
+    @Test
+    public void randomTextMatchesOrgJsonAcrossBufferDrains() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 0; n < 2_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(200);
+            while (text.length() < length) {
+                int codePoint = random.nextInt(4) == 0 ? random.nextInt(0x300) : random.nextInt(0x10ffff);
+                if (codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE) {
+                    text.appendCodePoint(codePoint);
+                }
+            }
+            String sample = text.toString();
+            assertEquals(JSONObject.quote(sample), writeValue(sample, 16));
+        }
+    }
+
+    /**
+     * Unpaired surrogates, which UTF-8 cannot carry, are written as escapes
+     *
+     * @throws IOException never for an in-memory stream
+     */
+    @Test
+    public void escapesUnpairedSurrogates() throws IOException {
+        assertEquals("\"a\\ud800b\"", writeValue("a\ud800b", 64));
+        assertEquals("\"\\udc00\"", writeValue("\udc00", 64));
+    }
+
+    /**
+     * A document written field by field parses back with org.json to the same values
+     *
+     * @throws IOException never for an in-memory stream
+     */
+    @Test
+    public void documentParsesWithOrgJson() throws IOException {
+        Timestamp posted = Timestamp.valueOf("2026-10-18 12:00:00.5");
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        JsonStreamWriter writer = new JsonStreamWriter(sink, 16);
+        writer.beginObject()
+                .field(JsonStreamWriter.Name.of("title"), "Say \"hi\"\n")
+                .field(JsonStreamWriter.Name.of("missing"), (String) null)
+                .field(JsonStreamWriter.Name.of("posted"), posted)
+                .field(JsonStreamWriter.Name.of("min"), Long.MIN_VALUE)
+                .field(JsonStreamWriter.Name.of("max"), Long.MAX_VALUE)
+                .field(JsonStreamWriter.Name.of("zero"), 0L)
+                .field(JsonStreamWriter.Name.of("active"), true)
+                .name(JsonStreamWriter.Name.of("items")).beginArray()
+                .value(-7L).value("x").nullValue().value(false)
+                .beginObject().endObject()
+                .endArray()
+                .field(JsonStreamWriter.Name.of("quoted \"name\""), 1L)
+                .endObject()
+                .flush();
+
+        JSONObject parsed = new JSONObject(new String(sink.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("Say \"hi\"\n", parsed.getString("title"));
+        assertFalse(parsed.has("missing"));
+        assertEquals(posted.toString(), parsed.getString("posted"));
+        assertEquals(Long.MIN_VALUE, parsed.getLong("min"));
+        assertEquals(Long.MAX_VALUE, parsed.getLong("max"));
+        assertEquals(0L, parsed.getLong("zero"));
+        assertTrue(parsed.getBoolean("active"));
+        assertEquals(1L, parsed.getLong("quoted \"name\""));
+
+        JSONArray items = parsed.getJSONArray("items");
+        assertEquals(5, items.length());
+        assertEquals(-7L, items.getLong(0));
+        assertEquals("x", items.getString(1));
+        assertTrue(items.isNull(2));
+        assertFalse(items.getBoolean(3));
+        assertEquals(0, items.getJSONObject(4).length());
+    }
+
+    /**
+     * Closing more than was opened is rejected
+     *
+     * @throws IOException never for an in-memory stream
+     */
+    @Test(expected = IllegalStateException.class)
+    public void rejectsUnbalancedClose() throws IOException {
+        new JsonStreamWriter(new ByteArrayOutputStream()).beginArray().endArray().endArray();
+    }
+
+    /**
+     * Writes one string value and returns the output
+     *
+     * @param value String value
+     * @param bufferSize Writer buffer size
+     * @return JSON text
+     * @throws IOException never for an in-memory stream
+     */
+    private static String writeValue(String value, int bufferSize) throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        JsonStreamWriter writer = new JsonStreamWriter(sink, bufferSize);
+        writer.value(value).flush();
+        return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
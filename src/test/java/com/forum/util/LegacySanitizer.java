@@ -0,0 +1,40 @@
+package com.forum.util;
+
+/**
+ * The regular-expression implementation UserService.sanitizeInput used before HtmlSanitizer,
+ * kept as the reference for the sanitizer benchmark and the differential test
+ *
+ * @author Simphiwe Radebe
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class LegacySanitizer {
+
+    /**
+     * Private constructor to prevent instantiation of utility class
+     */
+    private LegacySanitizer() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Sanitizes input exactly as the previous implementation did
+     *
+     * @param input Input string
+     * @return Sanitized input string, or null for null input
+     */
+    public static String sanitize(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        return input.replaceAll("<script.*?>.*?</script>", "")
+                .replaceAll("<.*?>", "")
+                .replaceAll("javascript:", "")
+                .replaceAll("vbscript:", "")
+                .replaceAll("onload", "")
+                .replaceAll("onerror", "")
+                .replaceAll("onclick", "")
+                .trim();
+    }
+}
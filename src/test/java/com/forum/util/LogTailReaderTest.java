@@ -0,0 +1,166 @@
+package com.forum.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for LogTailReader, around its 64 KiB block boundaries and CRLF line endings
+ * Blocks are read backwards from the end of the file, so block boundaries lie at
+ * multiples of 64 KiB before the end
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LogTailReaderTest {
+
+    /** Block size used by the reader */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /** Temporary directory for log files */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Paging backwards through a multi-block file returns every line once, in order
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void pagesThroughMultipleBlocks() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 3 * BLOCK_SIZE) {
+            StringBuilder line = new StringBuilder("entry " + expected.size() + " ");
+            int extra = random.nextInt(300);
+            for (int i = 0; i < extra; i++) {
+                line.append(random.nextInt(10) == 0 ? "€" : "x");
+            }
+            expected.add(line.toString());
+            content.append(line).append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        Path file = write(content.toString());
+
+        List<String> read = new ArrayList<>();
+        long offset = -1;
+        LogTailReader.Result page;
+        do {
+            page = LogTailReader.readBackward(file, offset, 37, null);
+            List<String> lines = new ArrayList<>(page.getLines());
+            Collections.reverse(lines);
+            read.addAll(lines);
+            offset = page.getResumeOffset();
+        } while (page.hasMore());
+
+        Collections.reverse(read);
+        assertEquals(expected, read);
+    }
+
+    /**
+     * A CR at the end of one block and its LF at the start of the next still end one line
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void crlfSplitAcrossBlocks() throws IOException {
+        // The LF lands on the first byte of the last block, its CR on the last byte of the one before
+        String last = repeat('b', BLOCK_SIZE - 2);
+        Path file = write("first\r\n" + last + "\n");
+        assertEquals(BLOCK_SIZE + 6, Files.size(file));
+
+        LogTailReader.Result result = LogTailReader.readBackward(file, -1, 10, null);
+        assertEquals(Arrays.asList("first", last), result.getLines());
+        assertFalse(result.hasMore());
+    }
+
+    /**
+     * A multi-byte character split between two blocks is decoded whole
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void multiByteCharacterSplitAcrossBlocks() throws IOException {
+        // "€" is three bytes; the last block starts at its third byte
+        String line = "€" + repeat('z', BLOCK_SIZE - 2);
+        Path file = write(line + "\n");
+        assertEquals(BLOCK_SIZE + 2, Files.size(file));
+
+        assertEquals(Collections.singletonList(line), LogTailReader.readBackward(file, -1, 10, null).getLines());
+    }
+
+    /**
+     * The resume offset points at the oldest returned line, and the filter skips lines
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void resumeOffsetAndFilter() throws IOException {
+        Path file = write("one\r\ntwo\r\nthree\r\n\r\nfour");
+
+        LogTailReader.Result newest = LogTailReader.readBackward(file, -1, 2, null);
+        assertEquals(Arrays.asList("three", "four"), newest.getLines());
+        assertEquals("one\r\ntwo\r\n".length(), newest.getResumeOffset());
+        assertTrue(newest.hasMore());
+
+        LogTailReader.Result older = LogTailReader.readBackward(file, newest.getResumeOffset(), 5, null);
+        assertEquals(Arrays.asList("one", "two"), older.getLines());
+        assertFalse(older.hasMore());
+
+        LogTailReader.Result filtered = LogTailReader.readBackward(file, -1, 5, line -> line.startsWith("t"));
+        assertEquals(Arrays.asList("two", "three"), filtered.getLines());
+    }
+
+    /**
+     * An empty file gives no lines
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void emptyFile() throws IOException {
+        LogTailReader.Result result = LogTailReader.readBackward(write(""), -1, 5, null);
+        assertTrue(result.getLines().isEmpty());
+        assertFalse(result.hasMore());
+    }
+
+    /**
+     * Writes a log file
+     *
+     * @param content File content
+     * @return Path of the file
+     * @throws IOException if the file cannot be written
+     */
+    private Path write(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Builds a string of one repeated character
+     *
+     * @param c Character
+     * @param count Number of repetitions
+     * @return Repeated text
+     */
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,99 @@
+package com.forum.util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for PageCursor token encoding and decoding
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PageCursorTest {
+
+    /**
+     * A forward cursor decodes to the same key, keeping nanosecond precision
+     */
+    @Test
+    public void forwardCursorRoundTrips() {
+        Timestamp timestamp = Timestamp.valueOf("2026-10-18 09:15:30.123456789");
+        PageCursor decoded = PageCursor.decode(PageCursor.after(timestamp, 42).encode());
+
+        assertNotNull(decoded);
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(123_456_789, decoded.getTimestamp().getNanos());
+        assertEquals(42, decoded.getId());
+        assertFalse(decoded.isBackward());
+    }
+
+    /**
+     * A backward cursor keeps its direction
+     */
+    @Test
+    public void backwardCursorRoundTrips() {
+        Timestamp timestamp = Timestamp.valueOf("2026-01-01 00:00:00");
+        PageCursor decoded = PageCursor.decode(PageCursor.before(timestamp, Integer.MAX_VALUE).encode());
+
+        assertNotNull(decoded);
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(Integer.MAX_VALUE, decoded.getId());
+        assertTrue(decoded.isBackward());
+    }
+
+    /**
+     * Timestamps before the epoch round down to whole seconds, not toward zero
+     */
+    @Test
+    public void timestampBeforeEpochRoundTrips() {
+        Timestamp timestamp = new Timestamp(-1_500L);
+        timestamp.setNanos(500_000_001);
+        PageCursor decoded = PageCursor.decode(PageCursor.after(timestamp, 1).encode());
+
+        assertNotNull(decoded);
+        assertEquals(timestamp, decoded.getTimestamp());
+    }
+
+    /**
+     * Tokens are URL-safe and unpadded
+     */
+    @Test
+    public void tokenIsUrlSafe() {
+        String token = PageCursor.after(Timestamp.valueOf("2026-10-18 23:59:59.999"), 987_654).encode();
+        assertTrue(token, token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    /**
+     * Empty and malformed tokens decode to null instead of failing the request
+     */
+    @Test
+    public void malformedTokensDecodeToNull() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode("  "));
+        assertNull(PageCursor.decode("not a cursor!"));
+        assertNull(PageCursor.decode(encodeRaw("x1.0.1")));
+        assertNull(PageCursor.decode(encodeRaw("a1.0")));
+        assertNull(PageCursor.decode(encodeRaw("a1.1000000000.1")));
+        assertNull(PageCursor.decode(encodeRaw("a1.0.abc")));
+        assertNull(PageCursor.decode(encodeRaw("")));
+    }
+
+    /**
+     * Encodes a raw cursor body as a token
+     *
+     * @param raw Cursor body
+     * @return Token
+     */
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.forum.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for PasswordHashUtil
+ *
+ * @author Simphiwe Radebe
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PasswordHashUtilTest {
+
+    /**
+     * A hash verifies the password it was made from and no other
+     */
+    @Test
+    public void hashVerifiesOnlyItsPassword() {
+        String hash = PasswordHashUtil.hashPassword("Secret-Pass1");
+
+        assertTrue(PasswordHashUtil.verifyPassword("Secret-Pass1", hash));
+        assertFalse(PasswordHashUtil.verifyPassword("secret-pass1", hash));
+        assertFalse(PasswordHashUtil.verifyPassword("", hash));
+    }
+
+    /**
+     * Each hash gets its own salt
+     */
+    @Test
+    public void hashesAreSalted() {
+        assertNotEquals(PasswordHashUtil.hashPassword("Secret-Pass1"), PasswordHashUtil.hashPassword("Secret-Pass1"));
+    }
+
+    /**
+     * Malformed stored hashes fail verification instead of throwing
+     */
+    @Test
+    public void malformedStoredHashFails() {
+        assertFalse(PasswordHashUtil.verifyPassword("Secret-Pass1", "no-separator"));
+        assertFalse(PasswordHashUtil.verifyPassword("Secret-Pass1", "a:b:c"));
+        assertFalse(PasswordHashUtil.verifyPassword("Secret-Pass1", "!!!:???"));
+    }
+
+    /**
+     * Strong passwords need eight characters with upper and lower case, a digit and a symbol
+     */
+    @Test
+    public void passwordStrength() {
+        assertTrue(PasswordHashUtil.isPasswordStrong("Secret-Pass1"));
+        assertFalse(PasswordHashUtil.isPasswordStrong(null));
+        assertFalse(PasswordHashUtil.isPasswordStrong("Sh-1rt"));
+        assertFalse(PasswordHashUtil.isPasswordStrong("secret-pass1"));
+        assertFalse(PasswordHashUtil.isPasswordStrong("SECRET-PASS1"));
+        assertFalse(PasswordHashUtil.isPasswordStrong("Secret-Pass"));
+        assertFalse(PasswordHashUtil.isPasswordStrong("SecretPass1"));
+    }
+}